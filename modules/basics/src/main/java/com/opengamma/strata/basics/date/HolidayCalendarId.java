@@ -9,6 +9,7 @@ import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
@@ -18,6 +19,7 @@ import org.joda.convert.ToString;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ReferenceDataId;
 import com.opengamma.strata.basics.ReferenceDataNotFoundException;
@@ -26,6 +28,7 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.named.Named;
+import com.opengamma.strata.collect.tuple.Pair;
 
 /**
  * An identifier for a holiday calendar.
@@ -56,6 +59,11 @@ public final class HolidayCalendarId
    * Implementations of this function must only call {@link ReferenceData#queryValueOrNull(ReferenceDataId)}.
    */
   private final transient BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver;
+  /**
+   * The last combined calendar, keyed by the underlying calendars it was created from.
+   * Only used by identifiers that combine two or more calendars.
+   */
+  private transient volatile Pair<List<HolidayCalendar>, HolidayCalendar> combined;
 
   //-------------------------------------------------------------------------
   /**
@@ -97,16 +105,16 @@ public final class HolidayCalendarId
       if (cal != null) {
         return cal;
       }
-      cal = HolidayCalendars.NO_HOLIDAYS;
+      List<HolidayCalendar> splitCals = new ArrayList<>(ids.size());
       for (HolidayCalendarId splitId : ids) {
         HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
         if (splitCal == null) {
           throw new ReferenceDataNotFoundException(Messages.format(
               "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
         }
-        cal = cal.combinedWith(splitCal);
+        splitCals.add(splitCal);
       }
-      return cal;
+      return id.combine(splitCals);
     };
     // cache under the normalized and non-normalized names
     HolidayCalendarId id = CACHE.computeIfAbsent(normalizedName, n -> new HolidayCalendarId(normalizedName, resolver));
@@ -151,6 +159,43 @@ public final class HolidayCalendarId
     return of(name);
   }
 
+  // combines the underlying calendars
+  // if they are all immutable, the combined calendar is precompiled and cached against the identifier
+  // the cache is only used if the same underlying calendar instances are passed in, thus is safe for
+  // different reference data and avoids combining the calendars every time the identifier is resolved
+  private HolidayCalendar combine(List<HolidayCalendar> splitCals) {
+    Pair<List<HolidayCalendar>, HolidayCalendar> cached = combined;
+    if (cached != null && isSameInstances(cached.getFirst(), splitCals)) {
+      return cached.getSecond();
+    }
+    if (!splitCals.isEmpty() && splitCals.stream().allMatch(ImmutableHolidayCalendar.class::isInstance)) {
+      ImmutableHolidayCalendar immutableCal = (ImmutableHolidayCalendar) splitCals.get(0);
+      for (int i = 1; i < splitCals.size(); i++) {
+        immutableCal = ImmutableHolidayCalendar.combined(immutableCal, (ImmutableHolidayCalendar) splitCals.get(i));
+      }
+      combined = Pair.of(ImmutableList.copyOf(splitCals), immutableCal);
+      return immutableCal;
+    }
+    HolidayCalendar cal = HolidayCalendars.NO_HOLIDAYS;
+    for (HolidayCalendar splitCal : splitCals) {
+      cal = cal.combinedWith(splitCal);
+    }
+    return cal;
+  }
+
+  // checks if the two lists contain the same instances
+  private static boolean isSameInstances(List<HolidayCalendar> list1, List<HolidayCalendar> list2) {
+    if (list1.size() != list2.size()) {
+      return false;
+    }
+    for (int i = 0; i < list1.size(); i++) {
+      if (list1.get(i) != list2.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the name that uniquely identifies this calendar.
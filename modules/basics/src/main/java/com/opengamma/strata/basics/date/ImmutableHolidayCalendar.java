@@ -57,6 +57,8 @@ public final class ImmutableHolidayCalendar
   // each bit within the int represents a date, where 0 is a holiday and 1 is a business day
   // (most logic involves finding business days, finding 1 is easier than finding 0
   // when using Integer.numberOfTrailingZeros and Integer.numberOfLeadingZeros)
+  // a second int array holds the cumulative count of business days at the start of each month
+  // this allows shift() and daysBetween() to find the target month directly rather than stepping day-by-day
   // benchmarking showed nextOrSame() and previousOrSame() do not need to be overridden
   // out-of-range and weekend-only (used in testing) are handled using exceptions to fast-path the common case
 
@@ -90,6 +92,12 @@ public final class ImmutableHolidayCalendar
    * Trailing bits are set to 0 so they act as holidays, avoiding month length logic.
    */
   private final transient int[] lookup;  // not a property
+  /**
+   * The cumulative count of business days, where each item represents the start of a month.
+   * Item {@code i} is the number of business days in the lookup table before month {@code i}.
+   * This has one more item than the lookup table, the last item being the total count.
+   */
+  private final transient int[] counts;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -172,11 +180,13 @@ public final class ImmutableHolidayCalendar
       // special case where no holiday dates are specified
       this.startYear = 0;
       this.lookup = new int[0];
+      this.counts = new int[1];
     } else {
       // normal case where holidays are specified
       this.startYear = holidays.first().getYear();
       int endYearExclusive = holidays.last().getYear() + 1;
       this.lookup = buildLookupArray(holidays, weekendDays, startYear, endYearExclusive);
+      this.counts = buildCountsArray(lookup);
     }
   }
 
@@ -215,6 +225,17 @@ public final class ImmutableHolidayCalendar
     return array;
   }
 
+  // create and populate the int[] counts
+  // the count for a month is the number of business days in all earlier months
+  private static int[] buildCountsArray(int[] lookup) {
+    int[] array = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      // use JDK bitCount() method which is mapped to a fast intrinsic
+      array[i + 1] = array[i] + Integer.bitCount(lookup[i]);
+    }
+    return array;
+  }
+
   // ensure standard constructor is invoked
   private Object readResolve() {
     return new ImmutableHolidayCalendar(id, holidays, weekendDays);
@@ -247,11 +268,12 @@ public final class ImmutableHolidayCalendar
   public LocalDate shift(LocalDate date, int amount) {
     try {
       if (amount > 0) {
-        // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
-        return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
+        // day-of-month: count including the input date, giving the ordinal of the next business day
+        // minus one as the amount is one-based
+        return businessDayAt(ordinal(date.getYear(), date.getMonthValue(), date.getDayOfMonth()) + amount - 1);
       } else if (amount < 0) {
-        // day-of-month: minus one to start from previous day
-        return shiftPrev(date.getYear(), date.getMonthValue(), date.getDayOfMonth() - 1, amount);
+        // day-of-month: minus one to count excluding the input date, giving one more than the previous business day
+        return businessDayAt(ordinal(date.getYear(), date.getMonthValue(), date.getDayOfMonth() - 1) + amount);
       }
       return date;
 
@@ -260,6 +282,43 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  // finds the number of business days in the lookup table before the zero-based day-of-month
+  // this is the zero-based ordinal of the first business day on or after the zero-based day-of-month
+  private int ordinal(int year, int month, int dom0) {
+    // find data for month
+    int index = (year - startYear) * 12 + month - 1;
+    int monthData = lookup[index];
+    // mask to keep the bits before the zero-based day-of-month, and count them
+    // use JDK bitCount() method which is mapped to a fast intrinsic
+    return counts[index] + Integer.bitCount(monthData & ((1 << dom0) - 1));
+  }
+
+  // finds the business day with the specified zero-based ordinal in the lookup table
+  // throws ArrayIndexOutOfBoundsException if the ordinal is outside the lookup table
+  private LocalDate businessDayAt(int ordinal) {
+    if (ordinal < 0 || ordinal >= counts[counts.length - 1]) {
+      throw new ArrayIndexOutOfBoundsException(ordinal);
+    }
+    // binary search for the last month starting at or before the ordinal
+    int low = 0;
+    int high = lookup.length - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (counts[mid] <= ordinal) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    // clear the lower business days in the month, leaving the target as the least significant bit
+    int monthData = lookup[low];
+    for (int i = counts[low]; i < ordinal; i++) {
+      monthData &= monthData - 1;
+    }
+    int dom = Integer.numberOfTrailingZeros(monthData) + 1;
+    return LocalDate.of(startYear + low / 12, low % 12 + 1, dom);
+  }
+
   // pulled out to aid hotspot inlining
   private LocalDate shiftOutOfRange(LocalDate date, int amount) {
     if (date.getYear() >= 0 && date.getYear() < 10000) {
@@ -268,6 +327,24 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    if (!endExclusive.isAfter(startInclusive)) {
+      return 0;
+    }
+    try {
+      // day-of-month: minus one to count excluding the input date
+      int startOrdinal =
+          ordinal(startInclusive.getYear(), startInclusive.getMonthValue(), startInclusive.getDayOfMonth() - 1);
+      int endOrdinal = ordinal(endExclusive.getYear(), endExclusive.getMonthValue(), endExclusive.getDayOfMonth() - 1);
+      return endOrdinal - startOrdinal;
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDate next(LocalDate date) {
@@ -13,10 +13,12 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ImmutableReferenceData;
 import com.opengamma.strata.basics.ReferenceData;
@@ -97,6 +99,28 @@ public class HolidayCalendarIdTest {
     assertEquals(refData.getValue(combined), combinedCal);
   }
 
+  public void test_resolve_combined_immutable() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendar gbCal = ImmutableHolidayCalendar.of(
+        gb, ImmutableList.of(LocalDate.of(2016, 8, 29)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendar euCal = ImmutableHolidayCalendar.of(
+        eu, ImmutableList.of(LocalDate.of(2016, 8, 30)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    HolidayCalendarId combined = gb.combinedWith(eu);
+    ReferenceData refData = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal));
+    HolidayCalendar test = combined.resolve(refData);
+    assertEquals(test.getClass(), ImmutableHolidayCalendar.class);
+    assertEquals(test.getId(), combined);
+    assertEquals(test.shift(LocalDate.of(2016, 8, 26), 1), LocalDate.of(2016, 8, 31));
+    assertSame(combined.resolve(refData), test);
+    // different underlying instances are not cached
+    HolidayCalendar gbCal2 = ImmutableHolidayCalendar.of(
+        gb, ImmutableList.of(LocalDate.of(2016, 8, 31)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    ReferenceData refData2 = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal2, eu, euCal));
+    HolidayCalendar test2 = combined.resolve(refData2);
+    assertEquals(test2.shift(LocalDate.of(2016, 8, 26), 1), LocalDate.of(2016, 8, 29));
+  }
+
   @Test
   public void testImmutableReferenceDataWithMergedHolidays() {
     HolidayCalendar hc = HolidayCalendars.FRI_SAT.combinedWith(HolidayCalendars.SAT_SUN);
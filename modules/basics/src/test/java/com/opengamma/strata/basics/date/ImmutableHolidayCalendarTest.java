@@ -456,6 +456,15 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.shift(LocalDate.MAX.minusDays(1), 1));
   }
 
+  public void test_shift_acrossRange() {
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 12, 30), 3), date(2015, 1, 2));
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 1, 2), -2), date(2013, 12, 31));
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 7, 11), 120), date(2014, 12, 30));
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 7, 11), 125), date(2015, 1, 6));
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 7, 17), -139), date(2014, 1, 1));
+    assertEquals(HOLCAL_MON_WED.shift(date(2014, 7, 17), -140), date(2013, 12, 31));
+  }
+
   @Test(dataProvider = "shift")
   public void test_adjustBy(LocalDate date, int amount, LocalDate expected) {
     assertEquals(date.with(HOLCAL_MON_WED.adjustBy(amount)), expected);
@@ -751,6 +760,13 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(HOLCAL_MON_WED.daysBetween(start, end), expected);
   }
 
+  public void test_daysBetween_range() {
+    assertEquals(HOLCAL_MON_WED.daysBetween(date(2014, 1, 1), date(2015, 1, 1)), 259);
+    assertEquals(HOLCAL_MON_WED.daysBetween(date(2013, 12, 30), date(2015, 1, 3)), 263);
+    assertEquals(HOLCAL_MON_WED.daysBetween(TUE_2014_07_22, FRI_2014_07_11), 0);
+    assertEquals(HOLCAL_SAT_SUN.daysBetween(FRI_2014_07_11, TUE_2014_07_22), 7);
+  }
+
   //-------------------------------------------------------------------------
   public void test_combinedWith() {
     Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
@@ -830,6 +846,21 @@ public class ImmutableHolidayCalendarTest {
         assertEquals(test.isHoliday(checkDate), dow == SATURDAY || dow == SUNDAY || set.contains(checkDate));
         checkDate = checkDate.plusDays(1);
       }
+      // check shift and daysBetween work using simple algorithm
+      for (int j = 0; j < 20; j++) {
+        LocalDate base = start.plusDays(random.nextInt(3650));
+        int amount = random.nextInt(1000) - 500;
+        LocalDate expected = base;
+        for (int k = 0; k < Math.abs(amount); k++) {
+          expected = amount > 0 ? test.next(expected) : test.previous(expected);
+        }
+        assertEquals(test.shift(base, amount), expected);
+        LocalDate first = amount > 0 ? base : expected;
+        LocalDate second = amount > 0 ? expected : base;
+        assertEquals(test.daysBetween(first, second), LocalDateUtils.stream(first, second)
+            .filter(test::isBusinessDay)
+            .count());
+      }
     }
   }
 
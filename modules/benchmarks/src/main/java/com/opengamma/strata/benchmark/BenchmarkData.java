@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.deposit.type.IborFixingDepositTemplate;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+
+/**
+ * Synthetic market data and trades shared by the benchmarks.
+ * <p>
+ * The data is generated rather than loaded, so that the benchmarks do not depend on external files.
+ * It consists of a USD curve group, with an OIS discounting curve and a LIBOR 3M forward curve,
+ * together with portfolios of vanilla fixed versus LIBOR 3M swaps.
+ */
+public final class BenchmarkData {
+
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The valuation date.
+   */
+  public static final LocalDate VAL_DATE = LocalDate.of(2018, 6, 29);
+  /**
+   * The curve group name.
+   */
+  public static final CurveGroupName GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M");
+  /**
+   * The discounting curve name.
+   */
+  public static final CurveName DSC_NAME = CurveName.of("USD-DSCON-OIS");
+  /**
+   * The forward curve name.
+   */
+  public static final CurveName FWD_NAME = CurveName.of("USD-LIBOR3M-IRS");
+
+  private static final String SCHEME = "BENCHMARK";
+  private static final Tenor[] DSC_TENORS = {
+      Tenor.TENOR_1M, Tenor.TENOR_3M, Tenor.TENOR_6M, Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_3Y,
+      Tenor.TENOR_5Y, Tenor.TENOR_7Y, Tenor.TENOR_10Y, Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+  private static final Tenor[] FWD_TENORS = {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_3Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y,
+      Tenor.TENOR_10Y, Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the definition of the curve group.
+   *
+   * @return the curve group definition
+   */
+  public static RatesCurveGroupDefinition curveGroupDefinition() {
+    List<CurveNode> dscNodes = new ArrayList<>();
+    for (Tenor tenor : DSC_TENORS) {
+      dscNodes.add(FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, tenor, USD_FIXED_1Y_FED_FUND_OIS),
+          quoteId("OIS" + tenor)));
+    }
+    List<CurveNode> fwdNodes = new ArrayList<>();
+    fwdNodes.add(IborFixingDepositCurveNode.of(IborFixingDepositTemplate.of(USD_LIBOR_3M), quoteId("FIXING")));
+    for (Tenor tenor : FWD_TENORS) {
+      fwdNodes.add(FixedIborSwapCurveNode.of(
+          FixedIborSwapTemplate.of(Period.ZERO, tenor, USD_FIXED_6M_LIBOR_3M),
+          quoteId("IRS" + tenor)));
+    }
+    return RatesCurveGroupDefinition.builder()
+        .name(GROUP_NAME)
+        .addCurve(curveDefinition(DSC_NAME, dscNodes), USD, USD_FED_FUND)
+        .addForwardCurve(curveDefinition(FWD_NAME, fwdNodes), USD_LIBOR_3M)
+        .build();
+  }
+
+  // creates a curve definition interpolating zero rates
+  private static InterpolatedNodalCurveDefinition curveDefinition(CurveName name, List<CurveNode> nodes) {
+    return InterpolatedNodalCurveDefinition.builder()
+        .name(name)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(ACT_365F)
+        .interpolator(CurveInterpolators.NATURAL_SPLINE)
+        .extrapolatorLeft(CurveExtrapolators.FLAT)
+        .extrapolatorRight(CurveExtrapolators.FLAT)
+        .nodes(nodes)
+        .build();
+  }
+
+  /**
+   * Obtains the market quotes used to calibrate the curve group.
+   * <p>
+   * The quotes form upward sloping curves.
+   *
+   * @return the market quotes
+   */
+  public static ImmutableMarketData marketQuotes() {
+    return marketQuotes(0d);
+  }
+
+  /**
+   * Obtains the market quotes used to calibrate the curve group, with all the quotes shifted.
+   *
+   * @param shift  the amount added to each quote
+   * @return the market quotes
+   */
+  public static ImmutableMarketData marketQuotes(double shift) {
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < DSC_TENORS.length; i++) {
+      builder.addValue(quoteId("OIS" + DSC_TENORS[i]), 0.0180 + 0.0008 * i + shift);
+    }
+    builder.addValue(quoteId("FIXING"), 0.0230 + shift);
+    for (int i = 0; i < FWD_TENORS.length; i++) {
+      builder.addValue(quoteId("IRS" + FWD_TENORS[i]), 0.0240 + 0.0009 * i + shift);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Obtains the rates provider calibrated to the market quotes.
+   *
+   * @return the calibrated rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider() {
+    return RatesCurveCalibrator.standard().calibrate(curveGroupDefinition(), marketQuotes(), REF_DATA);
+  }
+
+  /**
+   * Obtains the market data for the calculation runner, containing the calibrated curves.
+   *
+   * @return the market data
+   */
+  public static MarketData calibratedMarketData() {
+    ImmutableRatesProvider provider = ratesProvider();
+    return marketQuotes().toBuilder()
+        .addValue(CurveId.of(GROUP_NAME, DSC_NAME), provider.getDiscountCurves().get(USD))
+        .addValue(CurveId.of(GROUP_NAME, FWD_NAME), provider.getIndexCurves().get(USD_LIBOR_3M))
+        .build();
+  }
+
+  /**
+   * Obtains the lookup used by the calculation runner to find the curves in the market data.
+   *
+   * @return the rates lookup
+   */
+  public static RatesMarketDataLookup ratesLookup() {
+    return RatesMarketDataLookup.of(curveGroupDefinition());
+  }
+
+  /**
+   * Creates a portfolio of fixed versus LIBOR 3M swaps.
+   * <p>
+   * The swaps have maturities from 1 to 30 years, and a range of fixed rates.
+   *
+   * @param count  the number of swaps
+   * @return the swaps
+   */
+  public static List<SwapTrade> swapTrades(int count) {
+    List<SwapTrade> trades = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      trades.add(USD_FIXED_6M_LIBOR_3M.createTrade(
+          VAL_DATE,
+          Tenor.ofYears(1 + i % 30),
+          i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+          1_000_000d * (1 + i % 10),
+          0.0200 + 0.0001 * (i % 50),
+          REF_DATA));
+    }
+    return trades;
+  }
+
+  // creates a quote identifier
+  private static QuoteId quoteId(String value) {
+    return QuoteId.of(StandardId.of(SCHEME, value));
+  }
+
+}
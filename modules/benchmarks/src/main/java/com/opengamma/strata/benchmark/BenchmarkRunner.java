@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main entry point to run the benchmarks.
+ * <p>
+ * The results are written in JSON format, so that they can be compared between releases.
+ * <p>
+ * The first argument is an optional regular expression selecting the benchmarks to run, which defaults to all.
+ * The second argument is an optional file name for the results, which defaults to {@code jmh-result.json}.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * The default result file.
+   */
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the optional benchmark regular expression and result file
+   * @throws RunnerException if the benchmarks fail
+   */
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+    String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT_FILE;
+    Options options = new OptionsBuilder()
+        .include(include)
+        .resultFormat(ResultFormatType.JSON)
+        .result(resultFile)
+        .build();
+    new Runner(options).run();
+  }
+
+}
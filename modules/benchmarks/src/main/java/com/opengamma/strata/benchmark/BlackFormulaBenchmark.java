@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Benchmarks {@link BlackFormulaRepository}.
+ * <p>
+ * Each invocation processes a fixed set of randomly generated options.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BlackFormulaBenchmark {
+
+  private static final int SIZE = 1000;
+
+  private final double[] forwards = new double[SIZE];
+  private final double[] strikes = new double[SIZE];
+  private final double[] expiries = new double[SIZE];
+  private final double[] vols = new double[SIZE];
+  private final double[] prices = new double[SIZE];
+
+  /**
+   * Sets up the options.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(1);
+    for (int i = 0; i < SIZE; i++) {
+      forwards[i] = 0.01 + 0.04 * random.nextDouble();
+      strikes[i] = forwards[i] * (0.5 + random.nextDouble());
+      expiries[i] = 0.1 + 10d * random.nextDouble();
+      vols[i] = 0.1 + 0.5 * random.nextDouble();
+      prices[i] = BlackFormulaRepository.price(forwards[i], strikes[i], expiries[i], vols[i], true);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the price.
+   *
+   * @return the total price
+   */
+  @Benchmark
+  public double price() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += BlackFormulaRepository.price(forwards[i], strikes[i], expiries[i], vols[i], true);
+    }
+    return total;
+  }
+
+  /**
+   * Benchmarks the price and its derivatives.
+   *
+   * @return the total of the derivative with respect to the volatility
+   */
+  @Benchmark
+  public double priceAdjoint() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      ValueDerivatives derivatives =
+          BlackFormulaRepository.priceAdjoint(forwards[i], strikes[i], expiries[i], vols[i], true);
+      total += derivatives.getDerivative(3);
+    }
+    return total;
+  }
+
+  /**
+   * Benchmarks the implied volatility.
+   *
+   * @return the total implied volatility
+   */
+  @Benchmark
+  public double impliedVolatility() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], expiries[i], true);
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.Trade;
+
+/**
+ * Benchmarks the default calculation runner.
+ * <p>
+ * A portfolio of swaps is valued, calculating the present value and the bucketed PV01.
+ * The number of trades and the kind of runner are parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01_CALIBRATED_BUCKETED));
+
+  /**
+   * The number of trades.
+   */
+  @Param({"100", "1000"})
+  public int tradeCount;
+  /**
+   * The kind of runner.
+   */
+  @Param({"multiThreaded", "workStealing"})
+  public String runnerType;
+
+  private CalculationRunner runner;
+  private CalculationRules rules;
+  private List<Trade> trades;
+  private MarketData marketData;
+
+  /**
+   * Sets up the runner, trades and market data.
+   */
+  @Setup
+  public void setup() {
+    runner = runnerType.equals("workStealing") ?
+        CalculationRunner.ofWorkStealing(100) :
+        CalculationRunner.ofMultiThreaded();
+    rules = CalculationRules.of(StandardComponents.calculationFunctions(), BenchmarkData.ratesLookup());
+    trades = ImmutableList.copyOf(BenchmarkData.swapTrades(tradeCount));
+    marketData = BenchmarkData.calibratedMarketData();
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the calculation of the portfolio.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculate(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCdsProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks {@link IsdaCdsProductPricer}.
+ * <p>
+ * A single CDS is priced using ISDA compliant curves, with the maturity as a parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CdsPricerBenchmark {
+
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final StandardId LEGAL_ENTITY = StandardId.of("BENCHMARK", "ABC");
+  private static final DoubleArray TIME_YC = DoubleArray.of(0.25, 0.5, 1, 2, 3, 5, 7, 10, 15, 20, 30);
+  private static final DoubleArray TIME_CC = DoubleArray.of(0.5, 1, 2, 3, 5, 7, 10);
+
+  /**
+   * The maturity of the CDS in years.
+   */
+  @Param({"1", "5", "10"})
+  public int maturityYears;
+
+  private ResolvedCds cds;
+  private ImmutableCreditRatesProvider provider;
+
+  /**
+   * Sets up the CDS and the curves.
+   */
+  @Setup
+  public void setup() {
+    IsdaCreditDiscountFactors yieldCurve = IsdaCreditDiscountFactors.of(
+        USD, VAL_DATE, curve("yield", TIME_YC, TIME_YC.map(t -> 0.015 + 0.001 * t)));
+    IsdaCreditDiscountFactors creditCurve = IsdaCreditDiscountFactors.of(
+        USD, VAL_DATE, curve("credit", TIME_CC, TIME_CC.map(t -> 0.01 + 0.002 * t)));
+    provider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, creditCurve)))
+        .discountCurves(ImmutableMap.of(USD, yieldCurve))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VAL_DATE, 0.4)))
+        .build();
+    LocalDate start = LocalDate.of(2018, 6, 20);
+    LocalDate end = LocalDate.of(2018 + maturityYears, 6, 20);
+    cds = Cds.of(BuySell.BUY, LEGAL_ENTITY, USD, 1e7, start, end, Frequency.P3M, HolidayCalendarIds.SAT_SUN, 0.01)
+        .resolve(REF_DATA);
+  }
+
+  // creates an ISDA compliant zero rate curve
+  private static InterpolatedNodalCurve curve(String name, DoubleArray times, DoubleArray rates) {
+    CurveMetadata metadata = Curves.zeroRates(name, ACT_365F);
+    return InterpolatedNodalCurve.of(
+        metadata, times, rates, CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT,
+        CurveExtrapolators.PRODUCT_LINEAR);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(cds, provider, VAL_DATE, PriceType.DIRTY, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the par spread.
+   *
+   * @return the par spread
+   */
+  @Benchmark
+  public double parSpread() {
+    return PRICER.parSpread(cds, provider, VAL_DATE, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the point sensitivity of the present value.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(cds, provider, VAL_DATE, REF_DATA).build();
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks {@link RatesCurveCalibrator}.
+ * <p>
+ * A curve group with a discounting and a forward curve is calibrated, from scratch,
+ * in parallel mode, and starting from the curves calibrated to slightly different quotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.standard();
+  private static final RatesCurveCalibrator CALIBRATOR_PARALLEL = CALIBRATOR.withParallel(true);
+
+  private RatesCurveGroupDefinition definition;
+  private ImmutableMarketData quotes;
+  private ImmutableMarketData shiftedQuotes;
+  private ImmutableRatesProvider previousProvider;
+
+  /**
+   * Sets up the curve definitions and quotes.
+   */
+  @Setup
+  public void setup() {
+    definition = BenchmarkData.curveGroupDefinition();
+    quotes = BenchmarkData.marketQuotes();
+    previousProvider = CALIBRATOR.calibrate(definition, quotes, REF_DATA);
+    // all quotes shifted by one basis point, as seen when the market moves between two calibrations
+    shiftedQuotes = BenchmarkData.marketQuotes(0.0001);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks calibration from scratch.
+   *
+   * @return the calibrated rates provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(definition, quotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks calibration in parallel mode.
+   *
+   * @return the calibrated rates provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateParallel() {
+    return CALIBRATOR_PARALLEL.calibrate(definition, quotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks recalibration to shifted quotes, starting from the previous curves.
+   *
+   * @return the calibrated rates provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider recalibrate() {
+    return CALIBRATOR.recalibrate(definition, previousProvider, shiftedQuotes, REF_DATA);
+  }
+
+}
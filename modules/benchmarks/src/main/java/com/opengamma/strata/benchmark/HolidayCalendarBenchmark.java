@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Benchmarks {@link ImmutableHolidayCalendar}.
+ * <p>
+ * Each invocation queries the calendar for every date in a ten year period.
+ * Both a single calendar and a combined calendar are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  private static final LocalDate START = LocalDate.of(2018, 1, 1);
+  private static final int DAYS = 3653;
+
+  private HolidayCalendar calendar;
+  private HolidayCalendar combined;
+
+  /**
+   * Sets up the calendars.
+   */
+  @Setup
+  public void setup() {
+    calendar = HolidayCalendarIds.GBLO.resolve(REF_DATA);
+    combined = HolidayCalendarIds.GBLO.combinedWith(HolidayCalendarIds.USNY).resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks shifting by a number of business days.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  public void shift(Blackhole bh) {
+    shift(calendar, bh);
+  }
+
+  /**
+   * Benchmarks shifting by a number of business days in a combined calendar.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  public void shiftCombined(Blackhole bh) {
+    shift(combined, bh);
+  }
+
+  /**
+   * Benchmarks checking for holidays.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  public void isHoliday(Blackhole bh) {
+    LocalDate date = START;
+    for (int i = 0; i < DAYS; i++) {
+      bh.consume(calendar.isHoliday(date));
+      date = date.plusDays(1);
+    }
+  }
+
+  /**
+   * Benchmarks finding the next business day.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  public void next(Blackhole bh) {
+    LocalDate date = START;
+    for (int i = 0; i < DAYS; i++) {
+      bh.consume(calendar.next(date));
+      date = date.plusDays(1);
+    }
+  }
+
+  // shifts every date forwards and backwards
+  private static void shift(HolidayCalendar calendar, Blackhole bh) {
+    LocalDate date = START;
+    for (int i = 0; i < DAYS; i++) {
+      bh.consume(calendar.shift(date, 2));
+      bh.consume(calendar.shift(date, -5));
+      date = date.plusDays(1);
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks {@link PeriodicSchedule#createSchedule(com.opengamma.strata.basics.ReferenceData)}.
+ * <p>
+ * A quarterly schedule with a stub and a combined holiday calendar is created,
+ * with the length of the schedule as a parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PeriodicScheduleBenchmark {
+
+  private static final LocalDate START = LocalDate.of(2018, 7, 3);
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(
+      BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.GBLO.combinedWith(HolidayCalendarIds.USNY));
+
+  /**
+   * The length of the schedule in years.
+   */
+  @Param({"2", "10", "30"})
+  public int years;
+
+  private PeriodicSchedule schedule;
+  private PeriodicSchedule scheduleEom;
+
+  /**
+   * Sets up the schedule definitions.
+   */
+  @Setup
+  public void setup() {
+    LocalDate end = START.plusYears(years).plusMonths(1);
+    schedule = PeriodicSchedule.of(START, end, Frequency.P3M, BDA, StubConvention.SHORT_INITIAL, RollConventions.NONE);
+    scheduleEom = PeriodicSchedule.of(START, end, Frequency.P3M, BDA, StubConvention.SHORT_INITIAL, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks schedule creation.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createSchedule() {
+    return schedule.createSchedule(REF_DATA);
+  }
+
+  /**
+   * Benchmarks schedule creation, preferring the end of month.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createScheduleEom() {
+    return scheduleEom.createSchedule(REF_DATA);
+  }
+
+}
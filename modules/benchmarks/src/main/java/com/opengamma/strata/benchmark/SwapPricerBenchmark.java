@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Benchmarks {@link DiscountingSwapProductPricer}.
+ * <p>
+ * A single fixed versus LIBOR 3M swap is priced, with the maturity as a parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SwapPricerBenchmark {
+
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The maturity of the swap in years.
+   */
+  @Param({"2", "10", "30"})
+  public int maturityYears;
+
+  private ResolvedSwap swap;
+  private ImmutableRatesProvider provider;
+
+  /**
+   * Sets up the swap and the calibrated curves.
+   */
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    swap = BenchmarkData.swapTrades(30).get(maturityYears - 1).getProduct().resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  /**
+   * Benchmarks the point sensitivity of the present value.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  /**
+   * Benchmarks the parameter sensitivity of the present value, as used for bucketed PV01.
+   *
+   * @return the parameter sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities presentValueParameterSensitivity() {
+    return provider.parameterSensitivity(PRICER.presentValueSensitivity(swap, provider).build());
+  }
+
+}
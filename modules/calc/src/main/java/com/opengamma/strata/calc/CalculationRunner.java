@@ -66,6 +66,58 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that runs tasks in batches on a work-stealing pool.
+   * <p>
+   * Tasks are grouped into batches by function and target type, with each batch having a total cost of
+   * approximately the batch size. The cost of a task is the number of cells it calculates.
+   * See {@link CalculationTaskRunner#ofWorkStealing(int)} for more details.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing(100)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing(int batchSize) {
+    return DefaultCalculationRunner.ofWorkStealing(batchSize);
+  }
+
+  /**
+   * Creates a calculation runner that runs each task on its own virtual thread.
+   * <p>
+   * Virtual threads are used when running on a JVM that supports them.
+   * Otherwise, a pool of daemon threads is used, basing the number of threads on the number of available processors.
+   * See {@link CalculationTaskRunner#ofVirtualThreads()} for more details.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofVirtualThreads()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofVirtualThreads() {
+    return DefaultCalculationRunner.ofVirtualThreads();
+  }
+
+  /**
+   * Creates a calculation runner that queries market data on virtual threads and prices on the specified executor.
+   * <p>
+   * See {@link CalculationTaskRunner#ofVirtualThreads(ExecutorService)} for more details.
+   * It is the callers responsibility to manage the life-cycle of the pricing executor.
+   * 
+   * @param pricingExecutor  the executor used to perform the calculations
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofVirtualThreads(ExecutorService pricingExecutor) {
+    return DefaultCalculationRunner.ofVirtualThreads(pricingExecutor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -47,6 +47,35 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.ofMultiThreaded());
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that runs tasks in batches on a work-stealing pool.
+   * 
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing(int batchSize) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing(batchSize));
+  }
+
+  /**
+   * Creates a calculation runner that runs each task on its own virtual thread.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofVirtualThreads() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofVirtualThreads());
+  }
+
+  /**
+   * Creates a calculation runner that queries market data on virtual threads and prices on the specified executor.
+   * 
+   * @param pricingExecutor  the executor used to perform the calculations
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofVirtualThreads(ExecutorService pricingExecutor) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofVirtualThreads(pricingExecutor));
+  }
+
   /**
    * Creates a calculation runner capable of performing calculations, specifying the executor.
    * <p>
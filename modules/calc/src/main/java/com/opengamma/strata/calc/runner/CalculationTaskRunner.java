@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,93 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the parallelism on the number of available processors.
+   * Tasks are grouped into batches by function and target type, with each batch having a total cost of
+   * approximately the batch size. The cost of a task is the number of cells it calculates.
+   * The results of each batch are passed to the listener together.
+   * <p>
+   * This reduces scheduling overhead and contention when there are a large number of cheap tasks.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing(100)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(int batchSize) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(batchSize);
+  }
+
+  /**
+   * Creates a calculation task runner that runs each task on its own virtual thread.
+   * <p>
+   * Virtual threads are used when running on a JVM that supports them.
+   * Otherwise, a pool of daemon threads is used, basing the number of threads on the number of available processors.
+   * <p>
+   * This is intended for calculations that block on I/O, for example where market data is
+   * obtained on demand from a remote source. A task that is blocked does not prevent other tasks from running.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofVirtualThreads()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofVirtualThreads() {
+    return DefaultCalculationTaskRunner.ofVirtualThreads();
+  }
+
+  /**
+   * Creates a calculation task runner that queries market data on virtual threads and prices on the specified executor.
+   * <p>
+   * This is similar to {@link #ofVirtualThreads()}, but each task is split in two.
+   * The market data required by the task is first queried on a virtual thread, which is where any
+   * blocking I/O occurs. The calculation itself is then performed by the pricing executor,
+   * using the results of those queries rather than querying the market data again.
+   * This allows the CPU-intensive pricing to be bounded, typically by the number of processors,
+   * while any number of tasks wait for market data.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pricing executor.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  ExecutorService pricingExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofVirtualThreads(pricingExecutor)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param pricingExecutor  the executor used to perform the calculations
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofVirtualThreads(ExecutorService pricingExecutor) {
+    return DefaultCalculationTaskRunner.ofVirtualThreads(pricingExecutor);
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations in batches, specifying the executor.
+   * <p>
+   * Tasks are grouped into batches by function and target type, with each batch having a total cost of
+   * approximately the batch size. The cost of a task is the number of cells it calculates.
+   * A batch size of one means that each task is run separately.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, int batchSize) {
+    return DefaultCalculationTaskRunner.of(executor, batchSize);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
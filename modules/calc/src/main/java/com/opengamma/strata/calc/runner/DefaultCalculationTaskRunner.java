@@ -7,10 +7,17 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -22,6 +29,7 @@ import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -30,6 +38,17 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is submitted to the executor separately.
+ * If a batch size greater than one is specified, tasks are instead grouped into batches.
+ * Each batch only contains tasks with the same function and target type, and has a total cost
+ * of approximately the batch size, where the cost of a task is the number of cells it calculates.
+ * The results of each batch are delivered to the listener in bulk.
+ * This reduces the scheduling overhead and lock contention when there are many cheap tasks.
+ * <p>
+ * If a separate pricing executor is specified, each task first queries the market data it requires
+ * using the main executor, so that any blocking lookups happen there, and then performs the calculation
+ * using the pricing executor.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
@@ -38,6 +57,14 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The target cost of each batch of tasks, one if tasks are not batched.
+   */
+  private final int batchSize;
+  /**
+   * Executes the calculations once the market data has been queried, the same as the executor by default.
+   */
+  private final ExecutorService pricingExecutor;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +81,57 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), 1);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the parallelism on the number of available processors.
+   * Tasks are grouped into batches by function and target type, with each batch having a total cost of
+   * approximately the batch size. The cost of a task is the number of cells it calculates.
+   * It is recommended to use try-with-resources to manage the runner.
+   *
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(int batchSize) {
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    ExecutorService executor = createWorkStealingExecutor(Runtime.getRuntime().availableProcessors());
+    return new DefaultCalculationTaskRunner(executor, batchSize);
+  }
+
+  /**
+   * Creates a calculation task runner that runs each task on its own virtual thread.
+   * <p>
+   * Virtual threads are used when running on a JVM that supports them.
+   * Otherwise, a pool of daemon threads is used, basing the number of threads on the number of available processors.
+   * This suits calculations that block on I/O, for example when market data is loaded on demand.
+   * It is recommended to use try-with-resources to manage the runner.
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofVirtualThreads() {
+    return new DefaultCalculationTaskRunner(createVirtualThreadExecutor(), 1);
+  }
+
+  /**
+   * Creates a calculation task runner that queries market data on virtual threads and prices on the specified executor.
+   * <p>
+   * Virtual threads are used when running on a JVM that supports them.
+   * Otherwise, a pool of daemon threads is used, basing the number of threads on the number of available processors.
+   * The market data required by each task is queried on a virtual thread, and the calculation
+   * is then performed by the pricing executor, which would normally be bounded by the number of processors.
+   * The calculation uses the results of the queries, including any failures, without querying again.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pricing executor.
+   *
+   * @param pricingExecutor  the executor used to perform the calculations
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofVirtualThreads(ExecutorService pricingExecutor) {
+    ArgChecker.notNull(pricingExecutor, "pricingExecutor");
+    return new DefaultCalculationTaskRunner(createVirtualThreadExecutor(), 1, pricingExecutor);
   }
 
   /**
@@ -66,7 +143,24 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, 1);
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations in batches, specifying the executor.
+   * <p>
+   * Tasks are grouped into batches by function and target type, with each batch having a total cost of
+   * approximately the batch size. The cost of a task is the number of cells it calculates.
+   * A batch size of one means that each task is run separately.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @param batchSize  the target cost of each batch of tasks, one or greater
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, int batchSize) {
+    return new DefaultCalculationTaskRunner(executor, batchSize);
   }
 
   // create an executor with daemon threads
@@ -81,14 +175,51 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing executor with daemon threads
+  private static ExecutorService createWorkStealingExecutor(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, true);
+  }
+
+  // create an executor with one virtual thread per task, falling back to a fixed pool of daemon threads
+  // reflection is used as virtual threads are not available on all supported versions of Java
+  private static ExecutorService createVirtualThreadExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException ex) {
+      return createExecutor(Runtime.getRuntime().availableProcessors());
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param batchSize  the target cost of each batch of tasks, one if tasks are not batched
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, int batchSize) {
+    this(executor, batchSize, executor);
+  }
+
+  /**
+   * Creates an instance specifying the executors to use.
+   *
+   * @param executor  the executor that is used to query market data and perform the calculations
+   * @param batchSize  the target cost of each batch of tasks, one if tasks are not batched
+   * @param pricingExecutor  the executor that is used to perform the calculations, if different
+   */
+  private DefaultCalculationTaskRunner(ExecutorService executor, int batchSize, ExecutorService pricingExecutor) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    this.pricingExecutor = ArgChecker.notNull(pricingExecutor, "pricingExecutor");
   }
 
   //-------------------------------------------------------------------------
@@ -176,11 +307,16 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
+    ListenerWrapper consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    if (batchSize > 1) {
+      // run each batch of tasks using the executor
+      batches(taskList, batchSize).forEach(batch -> runBatch(batch, marketData, refData, consumer));
+    } else {
+      // run each task using the executor
+      taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -192,8 +328,55 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
-    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    if (pricingExecutor == executor) {
+      CompletableFuture.supplyAsync(() -> task.execute(marketData, refData), executor).thenAccept(consumer);
+    } else {
+      // the market data is queried first, so that blocking lookups do not occupy the pricing executor
+      // the calculation then uses the results of the queries, including any failures
+      CompletableFuture.supplyAsync(() -> PrefetchedScenarioMarketData.of(marketData, task, refData), executor)
+          .thenApplyAsync(prefetched -> task.execute(prefetched, refData), pricingExecutor)
+          .thenAccept(consumer);
+    }
+  }
+
+  // submits a batch of tasks to the executor to be run, with the results delivered in bulk
+  private void runBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ListenerWrapper consumer) {
+
+    Supplier<List<CalculationResults>> batchExecutor = () -> {
+      List<CalculationResults> results = new ArrayList<>(batch.size());
+      for (CalculationTask task : batch) {
+        results.add(task.execute(marketData, refData));
+      }
+      return results;
+    };
+    CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(consumer::acceptAll);
+  }
+
+  // groups the tasks into batches with the same function and target type
+  // the cost of a task is the number of cells, with each batch having a cost of approximately the batch size
+  static List<List<CalculationTask>> batches(List<CalculationTask> tasks, int batchSize) {
+    Map<Pair<Class<?>, Class<?>>, List<CalculationTask>> open = new LinkedHashMap<>();
+    Map<Pair<Class<?>, Class<?>>, Integer> openCosts = new LinkedHashMap<>();
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    for (CalculationTask task : tasks) {
+      Pair<Class<?>, Class<?>> key = Pair.of(task.getFunction().getClass(), task.getTarget().getClass());
+      List<CalculationTask> batch = open.computeIfAbsent(key, k -> new ArrayList<>());
+      batch.add(task);
+      int cost = openCosts.getOrDefault(key, 0) + task.getCells().size();
+      if (cost >= batchSize) {
+        batches.add(batch);
+        open.remove(key);
+        openCosts.remove(key);
+      } else {
+        openCosts.put(key, cost);
+      }
+    }
+    batches.addAll(open.values());
+    return batches;
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableSortedSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Performs repeated calculations of a fixed set of tasks, only recalculating the results
+ * affected by a change in market data.
+ * <p>
+ * The market data requirements of each task are used to build an index from each
+ * {@link MarketDataId} to the rows of the grid of results that depend on it.
+ * When {@link #calculate(MarketData)} is invoked, the market data is compared to the market data
+ * passed to the previous call. Only the rows depending on a value or time-series that has changed
+ * are recalculated, the results of the other rows are reused from the previous call.
+ * All rows are calculated on the first call, and whenever the valuation date changes.
+ * <p>
+ * A row is the unit of recalculation, thus all the cells of an affected row are recalculated.
+ * This relies on the requirements of each task being complete.
+ * If a function uses market data that it does not declare in its requirements,
+ * the results of the function will not be recalculated when that market data changes.
+ * <p>
+ * This class is mutable, but thread-safe, with calls to {@code calculate} being serialized.
+ * It does not manage the life-cycle of the task runner.
+ */
+public final class IncrementalCalculator {
+
+  /**
+   * The underlying task runner.
+   */
+  private final CalculationTaskRunner taskRunner;
+  /**
+   * The tasks to calculate.
+   */
+  private final CalculationTasks tasks;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The column headers of the results.
+   */
+  private final List<ColumnHeader> headers;
+  /**
+   * The tasks, keyed by row index.
+   */
+  private final ImmutableListMultimap<Integer, CalculationTask> tasksByRow;
+  /**
+   * The rows that depend on each market data value.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, Integer> rowsByValueId;
+  /**
+   * The rows that depend on each time-series.
+   */
+  private final ImmutableSetMultimap<ObservableId, Integer> rowsByTimeSeriesId;
+
+  /**
+   * The market data used in the previous calculation, null if none.
+   */
+  private MarketData previousMarketData;
+  /**
+   * The results of the previous calculation, indexed by row and then column.
+   */
+  private Result<?>[] previousResults;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that will calculate the specified tasks.
+   * <p>
+   * The market data requirements of every task are determined when this method is called.
+   *
+   * @param taskRunner  the task runner used to perform the calculations
+   * @param tasks  the tasks to calculate
+   * @param refData  the reference data to be used in the calculations
+   * @return the incremental calculator
+   * @throws RuntimeException if unable to obtain the requirements of a task
+   */
+  public static IncrementalCalculator of(
+      CalculationTaskRunner taskRunner,
+      CalculationTasks tasks,
+      ReferenceData refData) {
+
+    return new IncrementalCalculator(taskRunner, tasks, refData);
+  }
+
+  // creates an instance
+  private IncrementalCalculator(CalculationTaskRunner taskRunner, CalculationTasks tasks, ReferenceData refData) {
+    this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.headers = tasks.getColumns().stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+
+    // build the reverse index from market data to rows
+    ImmutableListMultimap.Builder<Integer, CalculationTask> tasksByRowBuilder = ImmutableListMultimap.builder();
+    ImmutableSetMultimap.Builder<MarketDataId<?>, Integer> rowsByValueIdBuilder = ImmutableSetMultimap.builder();
+    ImmutableSetMultimap.Builder<ObservableId, Integer> rowsByTimeSeriesIdBuilder = ImmutableSetMultimap.builder();
+    for (CalculationTask task : tasks.getTasks()) {
+      int rowIndex = task.getRowIndex();
+      tasksByRowBuilder.put(rowIndex, task);
+      MarketDataRequirements requirements = task.requirements(refData);
+      requirements.getObservables().forEach(id -> rowsByValueIdBuilder.put(id, rowIndex));
+      requirements.getNonObservables().forEach(id -> rowsByValueIdBuilder.put(id, rowIndex));
+      requirements.getTimeSeries().forEach(id -> rowsByTimeSeriesIdBuilder.put(id, rowIndex));
+    }
+    this.tasksByRow = tasksByRowBuilder.build();
+    this.rowsByValueId = rowsByValueIdBuilder.build();
+    this.rowsByTimeSeriesId = rowsByTimeSeriesIdBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs the calculations, only recalculating the rows affected by changes in the market data.
+   * <p>
+   * The results of rows that are not affected by the changes since the previous call are reused.
+   *
+   * @param marketData  the market data to be used in the calculations
+   * @return the grid of calculation results, based on the tasks and market data
+   */
+  public synchronized Results calculate(MarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    Set<Integer> rows = rowsToRecalculate(marketData);
+    int columnCount = headers.size();
+    Result<?>[] results = previousResults != null ?
+        previousResults.clone() :
+        new Result<?>[tasks.getTargets().size() * columnCount];
+    if (!rows.isEmpty()) {
+      // the tasks are re-indexed so that the recalculated rows form a contiguous grid
+      List<Integer> rowIndices = ImmutableList.copyOf(rows);
+      List<CalculationTask> recalcTasks = new ArrayList<>();
+      for (int i = 0; i < rowIndices.size(); i++) {
+        for (CalculationTask task : tasksByRow.get(rowIndices.get(i))) {
+          recalcTasks.add(withRowIndex(task, i));
+        }
+      }
+      CellsListener listener = new CellsListener();
+      taskRunner.calculateAsync(CalculationTasks.of(recalcTasks, tasks.getColumns()), marketData, refData, listener);
+      for (CalculationResult result : listener.result()) {
+        int rowIndex = rowIndices.get(result.getRowIndex());
+        results[rowIndex * columnCount + result.getColumnIndex()] = result.getResult();
+      }
+    }
+    previousMarketData = marketData;
+    previousResults = results;
+    return Results.of(headers, Arrays.asList(results));
+  }
+
+  /**
+   * Determines the rows that will be recalculated if the specified market data is used.
+   * <p>
+   * This compares the market data with that passed to the previous call to {@link #calculate(MarketData)}.
+   * A row is returned if it depends on a value or time-series that has been added, removed or changed.
+   * All rows are returned if there has been no previous calculation or if the valuation date has changed.
+   *
+   * @param marketData  the market data to be used in the calculations
+   * @return the indices of the rows that will be recalculated, sorted
+   */
+  public synchronized ImmutableSortedSet<Integer> rowsToRecalculate(MarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    if (previousMarketData == null || !previousMarketData.getValuationDate().equals(marketData.getValuationDate())) {
+      return IntStream.range(0, tasks.getTargets().size())
+          .boxed()
+          .collect(toImmutableSortedSet(Integer::compare));
+    }
+    Set<Integer> affected = new HashSet<>();
+    for (MarketDataId<?> id : rowsByValueId.keySet()) {
+      Set<Integer> idRows = rowsByValueId.get(id);
+      // avoid comparing values if all the dependent rows are already known to be affected
+      if (!affected.containsAll(idRows) && !previousMarketData.findValue(id).equals(marketData.findValue(id))) {
+        affected.addAll(idRows);
+      }
+    }
+    for (ObservableId id : rowsByTimeSeriesId.keySet()) {
+      Set<Integer> idRows = rowsByTimeSeriesId.get(id);
+      if (!affected.containsAll(idRows) &&
+          !previousMarketData.getTimeSeries(id).equals(marketData.getTimeSeries(id))) {
+        affected.addAll(idRows);
+      }
+    }
+    return ImmutableSortedSet.copyOf(affected);
+  }
+
+  // creates a copy of the task with a different row index
+  private static CalculationTask withRowIndex(CalculationTask task, int rowIndex) {
+    List<CalculationTaskCell> cells = task.getCells().stream()
+        .map(cell -> CalculationTaskCell.of(
+            rowIndex, cell.getColumnIndex(), cell.getMeasure(), cell.getReportingCurrency()))
+        .collect(toImmutableList());
+    return CalculationTask.of(task.getTarget(), task.getFunction(), task.getParameters(), cells);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that collects the individual results of the calculations.
+   */
+  private static final class CellsListener extends AggregatingCalculationListener<List<CalculationResult>> {
+
+    /** The results, populated as they arrive. */
+    private final List<CalculationResult> results = new ArrayList<>();
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      results.add(result);
+    }
+
+    @Override
+    protected List<CalculationResult> createAggregateResult() {
+      return results;
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Market data that holds the results of querying the market data required by a calculation task.
+ * <p>
+ * The values and time-series specified by the requirements are queried from the underlying market data
+ * when this instance is created, which may block, for example when the market data is loaded on demand.
+ * When the calculation later reads the same items, the results of the queries are returned without
+ * querying the underlying market data again. Any other item is queried from the underlying market data.
+ * <p>
+ * If a query fails, the exception is held and thrown when the calculation reads the same item,
+ * thus the failure is reported in the results of the calculation.
+ * If the requirements cannot be determined, the exception is thrown when the calculation reads any item.
+ * <p>
+ * This class is immutable and thread-safe, as the underlying market data must be.
+ */
+final class PrefetchedScenarioMarketData implements ScenarioMarketData {
+
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+  /**
+   * The results of querying the values, an empty optional if not found or the exception if the query failed.
+   */
+  private final Map<MarketDataId<?>, Object> values;
+  /**
+   * The results of querying the time-series, the exception if the query failed.
+   */
+  private final Map<ObservableId, Object> timeSeries;
+  /**
+   * The exception thrown when determining the requirements, null if determined.
+   */
+  private final RuntimeException failure;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Queries the market data required by a calculation task.
+   * <p>
+   * This queries all the values and time-series of the requirements.
+   * Failures are held and thrown when the calculation reads the same item.
+   *
+   * @param underlying  the underlying market data
+   * @param task  the task whose market data is queried
+   * @param refData  the reference data
+   * @return the market data holding the results of the queries
+   */
+  static PrefetchedScenarioMarketData of(
+      ScenarioMarketData underlying,
+      CalculationTask task,
+      ReferenceData refData) {
+
+    MarketDataRequirements requirements;
+    try {
+      requirements = task.requirements(refData);
+    } catch (RuntimeException ex) {
+      return new PrefetchedScenarioMarketData(underlying, new HashMap<>(), new HashMap<>(), ex);
+    }
+    Map<MarketDataId<?>, Object> values = new HashMap<>();
+    for (MarketDataId<?> id : requirements.getNonObservables()) {
+      values.put(id, query(() -> underlying.findValue(id)));
+    }
+    for (ObservableId id : requirements.getObservables()) {
+      values.put(id, query(() -> underlying.findValue(id)));
+    }
+    Map<ObservableId, Object> timeSeries = new HashMap<>();
+    for (ObservableId id : requirements.getTimeSeries()) {
+      timeSeries.put(id, query(() -> underlying.getTimeSeries(id)));
+    }
+    return new PrefetchedScenarioMarketData(underlying, values, timeSeries, null);
+  }
+
+  // queries an item, returning the exception if the query fails
+  private static Object query(Supplier<?> query) {
+    try {
+      return query.get();
+    } catch (RuntimeException ex) {
+      return ex;
+    }
+  }
+
+  // restricted constructor
+  private PrefetchedScenarioMarketData(
+      ScenarioMarketData underlying,
+      Map<MarketDataId<?>, Object> values,
+      Map<ObservableId, Object> timeSeries,
+      RuntimeException failure) {
+
+    this.underlying = underlying;
+    this.values = values;
+    this.timeSeries = timeSeries;
+    this.failure = failure;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    checkFailure();
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    checkFailure();
+    return underlying.getScenarioCount();
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return findValue(id).isPresent();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    checkFailure();
+    Object result = values.get(id);
+    if (result == null) {
+      return underlying.findValue(id);
+    }
+    if (result instanceof RuntimeException) {
+      throw (RuntimeException) result;
+    }
+    return (Optional<MarketDataBox<T>>) result;
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    checkFailure();
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    checkFailure();
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    checkFailure();
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    checkFailure();
+    Object result = timeSeries.get(id);
+    if (result == null) {
+      return underlying.getTimeSeries(id);
+    }
+    if (result instanceof RuntimeException) {
+      throw (RuntimeException) result;
+    }
+    return (LocalDateDoubleTimeSeries) result;
+  }
+
+  // throws the exception thrown when determining the requirements
+  private void checkFailure() {
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "PrefetchedScenarioMarketData[" + underlying + "]";
+  }
+
+}
@@ -53,6 +53,7 @@ public class DefaultCalculationTaskRunnerTest {
   private static final TestTarget TARGET = new TestTarget();
   private static final LocalDate VAL_DATE = date(2011, 3, 8);
   private static final Set<Measure> MEASURES = ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+  private static final Measure PV = TestingMeasures.PRESENT_VALUE;
 
   //-------------------------------------------------------------------------
   // Test that ScenarioArrays containing a single value are unwrapped.
@@ -154,6 +155,103 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  public void batches() {
+    ScenarioResultFunction fn1 = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTaskTest.TestFunction fn2 = new CalculationTaskTest.TestFunction();
+    CalculationTask task0 = CalculationTask.of(TARGET, fn1, CalculationTaskCell.of(0, 0, PV, NATURAL));
+    CalculationTask task1 = CalculationTask.of(TARGET, fn2, CalculationTaskCell.of(1, 0, PV, NATURAL));
+    CalculationTask task2 = CalculationTask.of(TARGET, fn1, CalculationTaskCell.of(2, 0, PV, NATURAL));
+    CalculationTask task3 = CalculationTask.of(TARGET, fn1, CalculationTaskCell.of(3, 0, PV, NATURAL));
+    CalculationTask task4 = CalculationTask.of(TARGET, fn2, CalculationTaskCell.of(4, 0, PV, NATURAL));
+    CalculationTask task5 = CalculationTask.of(TARGET, fn2, CalculationTaskCell.of(5, 0, PV, NATURAL));
+    ImmutableList<CalculationTask> tasks = ImmutableList.of(task0, task1, task2, task3, task4, task5);
+
+    assertThat(DefaultCalculationTaskRunner.batches(tasks, 2)).containsExactly(
+        ImmutableList.of(task0, task2),
+        ImmutableList.of(task1, task4),
+        ImmutableList.of(task3),
+        ImmutableList.of(task5));
+    assertThat(DefaultCalculationTaskRunner.batches(tasks, 10)).containsExactly(
+        ImmutableList.of(task0, task2, task3),
+        ImmutableList.of(task1, task4, task5));
+    assertThat(DefaultCalculationTaskRunner.batches(ImmutableList.of(), 10)).isEmpty();
+  }
+
+  public void calculateBatched() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 25; i++) {
+      taskBuilder.add(CalculationTask.of(TARGET, fn, CalculationTaskCell.of(i, 0, PV, NATURAL)));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner direct = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 4);
+    Results results1 = direct.calculate(tasks, marketData, REF_DATA);
+    assertThat(results1.getRowCount()).isEqualTo(25);
+    for (int i = 0; i < 25; i++) {
+      assertThat(results1.get(i, 0)).hasValue("foo");
+    }
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing(4)) {
+      Results results2 = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results2.getRowCount()).isEqualTo(25);
+      for (int i = 0; i < 25; i++) {
+        assertThat(results2.get(i, 0)).hasValue("foo");
+      }
+    }
+  }
+
+  public void calculateVirtualThreads() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 10; i++) {
+      taskBuilder.add(CalculationTask.of(TARGET, fn, CalculationTaskCell.of(i, 0, PV, NATURAL)));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofVirtualThreads()) {
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(10);
+      for (int i = 0; i < 10; i++) {
+        assertThat(results.get(i, 0)).hasValue("foo");
+      }
+    }
+  }
+
+  public void calculateVirtualThreadsWithPricingExecutor() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 10; i++) {
+      taskBuilder.add(CalculationTask.of(TARGET, fn, CalculationTaskCell.of(i, 0, PV, NATURAL)));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    ExecutorService pricingExecutor = Executors.newFixedThreadPool(2);
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofVirtualThreads(pricingExecutor)) {
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(10);
+      for (int i = 0; i < 10; i++) {
+        assertThat(results.get(i, 0)).hasValue("foo");
+      }
+    } finally {
+      pricingExecutor.shutdown();
+    }
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofVirtualThreads(null));
+  }
+
+  public void ofBatched_invalid() {
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 0));
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofWorkStealing(0));
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
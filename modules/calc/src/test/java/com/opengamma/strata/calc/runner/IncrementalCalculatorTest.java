@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculator}.
+ */
+@Test
+public class IncrementalCalculatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final Measure PV = TestingMeasures.PRESENT_VALUE;
+  private static final Measure PAR_RATE = TestingMeasures.PAR_RATE;
+  private static final TestId ID1 = TestId.of("1");
+  private static final TestId ID2 = TestId.of("2");
+  private static final TestObservableId TS_ID = TestObservableId.of("3");
+  private static final LocalDateDoubleTimeSeries TS = LocalDateDoubleTimeSeries.of(date(2011, 3, 7), 1d);
+
+  //-------------------------------------------------------------------------
+  public void calculate() {
+    ValueFunction fn1 = new ValueFunction(ID1);
+    ValueFunction fn2 = new ValueFunction(ID2);
+    ImmutableList<Column> columns = ImmutableList.of(Column.of(PV), Column.of(PAR_RATE));
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(task(fn1, 0), task(fn2, 1), task(fn1, 2)),
+        columns);
+    IncrementalCalculator test = IncrementalCalculator.of(
+        CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()), tasks, REF_DATA);
+
+    // first calculation calculates everything
+    MarketData marketData1 = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, "a", ID2, "b"), ImmutableMap.of(TS_ID, TS));
+    assertThat(test.rowsToRecalculate(marketData1)).containsExactly(0, 1, 2);
+    Results results1 = test.calculate(marketData1);
+    assertThat(results1.getRowCount()).isEqualTo(3);
+    assertThat(results1.getColumnCount()).isEqualTo(2);
+    assertThat(results1.get(0, 0)).hasValue("a");
+    assertThat(results1.get(0, 1)).hasValue("a");
+    assertThat(results1.get(1, 0)).hasValue("b");
+    assertThat(results1.get(2, 0)).hasValue("a");
+    assertThat(fn1.count.get()).isEqualTo(2);
+    assertThat(fn2.count.get()).isEqualTo(1);
+
+    // unchanged market data recalculates nothing
+    MarketData marketData2 = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, "a", ID2, "b"), ImmutableMap.of(TS_ID, TS));
+    assertThat(test.rowsToRecalculate(marketData2)).isEmpty();
+    Results results2 = test.calculate(marketData2);
+    assertThat(results2).isEqualTo(results1);
+    assertThat(fn1.count.get()).isEqualTo(2);
+    assertThat(fn2.count.get()).isEqualTo(1);
+
+    // changed value only recalculates the dependent row
+    MarketData marketData3 = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, "a", ID2, "c"), ImmutableMap.of(TS_ID, TS));
+    assertThat(test.rowsToRecalculate(marketData3)).containsExactly(1);
+    Results results3 = test.calculate(marketData3);
+    assertThat(results3.get(0, 0)).hasValue("a");
+    assertThat(results3.get(1, 0)).hasValue("c");
+    assertThat(results3.get(1, 1)).hasValue("c");
+    assertThat(results3.get(2, 0)).hasValue("a");
+    assertThat(fn1.count.get()).isEqualTo(2);
+    assertThat(fn2.count.get()).isEqualTo(2);
+
+    // changed time-series recalculates all rows depending on it
+    LocalDateDoubleTimeSeries ts2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 7), 2d);
+    MarketData marketData4 = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, "a", ID2, "c"), ImmutableMap.of(TS_ID, ts2));
+    assertThat(test.rowsToRecalculate(marketData4)).containsExactly(0, 1, 2);
+
+    // removed value recalculates the dependent rows
+    MarketData marketData5 = MarketData.of(VAL_DATE, ImmutableMap.of(ID2, "c"), ImmutableMap.of(TS_ID, TS));
+    assertThat(test.rowsToRecalculate(marketData5)).containsExactly(0, 2);
+    Results results5 = test.calculate(marketData5);
+    assertThat(results5.get(0, 0).isFailure()).isTrue();
+    assertThat(results5.get(1, 0)).hasValue("c");
+    assertThat(results5.get(2, 0).isFailure()).isTrue();
+
+    // changed valuation date recalculates everything
+    MarketData marketData6 = MarketData.of(VAL_DATE.plusDays(1), ImmutableMap.of(ID2, "c"), ImmutableMap.of(TS_ID, TS));
+    assertThat(test.rowsToRecalculate(marketData6)).containsExactly(0, 1, 2);
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTask task(ValueFunction fn, int rowIndex) {
+    return CalculationTask.of(
+        new TestTarget(),
+        fn,
+        CalculationParameters.empty(),
+        ImmutableList.of(
+            CalculationTaskCell.of(rowIndex, 0, PV, NATURAL),
+            CalculationTaskCell.of(rowIndex, 1, PAR_RATE, NATURAL)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Function that returns a market data value, counting the number of invocations.
+   */
+  private static final class ValueFunction implements CalculationFunction<TestTarget> {
+
+    private final TestId id;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private ValueFunction(TestId id) {
+      this.id = id;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(PV, PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder()
+          .valueRequirements(id)
+          .timeSeriesRequirements(TS_ID)
+          .build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      count.incrementAndGet();
+      Result<?> result = Result.of(() -> ScenarioArray.of(marketData.getValue(id).getSingleValue()));
+      return ImmutableMap.of(PV, result, PAR_RATE, result);
+    }
+  }
+
+}
@@ -52,6 +52,33 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that results delivered in batches are all passed to the listener and counted towards completion.
+  public void concurrentExecutionBatched() throws InterruptedException {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    int batchesPerThread = 5;
+    int batchSize = 3;
+    ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    int expectedResultCount = nThreads * batchesPerThread * batchSize;
+    Listener listener = new Listener(errors, latch);
+    ListenerWrapper wrapper =
+        new ListenerWrapper(listener, expectedResultCount, ImmutableList.of(), ImmutableList.of());
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationTarget target = new CalculationTarget() {};
+    CalculationResults results = CalculationResults.of(target, ImmutableList.of(result));
+    ImmutableList<CalculationResults> batch = ImmutableList.of(results, results, results);
+    IntStream.range(0, nThreads * batchesPerThread).forEach(i -> executor.submit(() -> wrapper.acceptAll(batch)));
+
+    latch.await();
+    executor.shutdown();
+
+    if (!errors.isEmpty()) {
+      String allErrors = errors.stream().collect(joining("\n"));
+      fail(allErrors);
+    }
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.runner.CalculationTaskTest.OBS_SOURCE;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link PrefetchedScenarioMarketData}.
+ */
+@Test
+public class PrefetchedScenarioMarketDataTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestId ID1 = TestId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2", OBS_SOURCE);
+  private static final TestObservableId ID3 = TestObservableId.of("3", OBS_SOURCE);
+  private static final TestId ID4 = TestId.of("4");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.of(VAL_DATE, 1d);
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addValue(ID1, "a")
+      .addValue(ID2, 2d)
+      .addValue(ID4, "d")
+      .addTimeSeries(ID3, TIME_SERIES)
+      .build();
+  private static final CalculationTaskCell CELL =
+      CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, ReportingCurrency.NATURAL);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CountingMarketData underlying = new CountingMarketData(MARKET_DATA, null);
+    CalculationTask task = CalculationTask.of(new TestTarget(), new TestFunction(), CELL);
+    PrefetchedScenarioMarketData test = PrefetchedScenarioMarketData.of(underlying, task, REF_DATA);
+    assertThat(underlying.queries.get()).isEqualTo(3);
+
+    // the required items are not queried again
+    assertThat(test.getValue(ID1).getSingleValue()).isEqualTo("a");
+    assertThat(test.getValue(ID2).getSingleValue()).isEqualTo(2d);
+    assertThat(test.containsValue(ID1)).isTrue();
+    assertThat(test.getTimeSeries(ID3)).isEqualTo(TIME_SERIES);
+    assertThat(underlying.queries.get()).isEqualTo(3);
+
+    // other items are queried from the underlying market data
+    assertThat(test.getValue(ID4).getSingleValue()).isEqualTo("d");
+    assertThat(test.findValue(TestId.of("5"))).isEmpty();
+    assertThat(underlying.queries.get()).isEqualTo(5);
+    assertThat(test.getValuationDate()).isEqualTo(MARKET_DATA.getValuationDate());
+    assertThat(test.getScenarioCount()).isEqualTo(1);
+    assertThat(test.getIds()).isEqualTo(MARKET_DATA.getIds());
+    assertThat(test.getTimeSeriesIds()).isEqualTo(MARKET_DATA.getTimeSeriesIds());
+  }
+
+  public void test_of_queryFailure() {
+    IllegalStateException failure = new IllegalStateException("Unable to load");
+    CountingMarketData underlying = new CountingMarketData(MARKET_DATA, failure);
+    CalculationTask task = CalculationTask.of(new TestTarget(), new TestFunction(), CELL);
+    PrefetchedScenarioMarketData test = PrefetchedScenarioMarketData.of(underlying, task, REF_DATA);
+    assertThat(underlying.queries.get()).isEqualTo(3);
+
+    // the failure is thrown when the item is read, without querying again
+    assertThatThrownBy(() -> test.findValue(ID1)).isSameAs(failure);
+    assertThat(test.getTimeSeries(ID3)).isEqualTo(TIME_SERIES);
+    assertThat(underlying.queries.get()).isEqualTo(3);
+  }
+
+  public void test_of_requirementsFailure() {
+    CountingMarketData underlying = new CountingMarketData(MARKET_DATA, null);
+    CalculationTask task = CalculationTask.of(new TestTarget(), new RequirementsFailureFunction(), CELL);
+    PrefetchedScenarioMarketData test = PrefetchedScenarioMarketData.of(underlying, task, REF_DATA);
+    assertThat(underlying.queries.get()).isEqualTo(0);
+    assertThatThrownBy(() -> test.findValue(ID1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> test.getValuationDate()).isInstanceOf(IllegalArgumentException.class);
+
+    // the failure is reported in the results
+    CalculationResults results = task.execute(test, REF_DATA);
+    Result<?> result = results.getCells().get(0).getResult();
+    assertThat(result.isFailure()).isTrue();
+    assertThat(result.getFailure().getReason()).isEqualTo(FailureReason.CALCULATION_FAILED);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Market data that counts the values and time-series queried, optionally failing to find the first ID.
+   */
+  private static final class CountingMarketData implements ScenarioMarketData {
+
+    private final ScenarioMarketData underlying;
+    private final RuntimeException failure;
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private CountingMarketData(ScenarioMarketData underlying, RuntimeException failure) {
+      this.underlying = underlying;
+      this.failure = failure;
+    }
+
+    @Override
+    public MarketDataBox<LocalDate> getValuationDate() {
+      return underlying.getValuationDate();
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return underlying.getScenarioCount();
+    }
+
+    @Override
+    public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+      queries.incrementAndGet();
+      if (failure != null && id.equals(ID1)) {
+        throw failure;
+      }
+      return underlying.findValue(id);
+    }
+
+    @Override
+    public Set<MarketDataId<?>> getIds() {
+      return underlying.getIds();
+    }
+
+    @Override
+    public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+      return underlying.findIds(name);
+    }
+
+    @Override
+    public Set<ObservableId> getTimeSeriesIds() {
+      return underlying.getTimeSeriesIds();
+    }
+
+    @Override
+    public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+      queries.incrementAndGet();
+      return underlying.getTimeSeries(id);
+    }
+  }
+
+  /**
+   * Function whose requirements cannot be determined, and which reads market data.
+   */
+  private static final class RequirementsFailureFunction implements CalculationFunction<TestTarget> {
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      throw new IllegalArgumentException("Invalid target");
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(marketData.getValue(ID1)));
+    }
+  }
+
+}
@@ -9,6 +9,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -57,13 +58,20 @@ import com.opengamma.strata.collect.Unchecked;
  *    ImmutableList{@literal <String>} headers = csvIterator.headers();
  *  }
  * </pre>
+ * For large files, {@link #ofMappedFile(Path, boolean)} reads the file using a memory-mapped buffer.
+ * The fields of each row are then only converted to a {@code String} when they are accessed,
+ * and {@link CsvRow#getDouble(String)} can parse numbers directly from the buffer.
  */
 public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow> {
 
   /**
-   * The buffered reader.
+   * The buffered reader, null if reading a memory-mapped file.
    */
   private final BufferedReader reader;
+  /**
+   * The memory-mapped reader, null if using the buffered reader.
+   */
+  private final MappedCsvReader mappedReader;
   /**
    * The separator
    */
@@ -165,6 +173,67 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
     return create(breader, headerRow, separator);
   }
 
+  /**
+   * Parses the specified file as a CSV file using a memory-mapped buffer, using a comma as the separator.
+   * <p>
+   * This is intended for large files, avoiding the cost of decoding and copying each line.
+   * The file must be encoded in UTF-8. The rows returned are the same as those returned by
+   * {@link #of(CharSource, boolean)}, however each field is only converted to a {@code String} when accessed.
+   * <p>
+   * This method opens the CSV file for reading.
+   * The caller is responsible for closing it by calling {@link #close()}.
+   * 
+   * @param file  the CSV file, encoded in UTF-8
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvIterator ofMappedFile(Path file, boolean headerRow) {
+    return ofMappedFile(file, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified file as a CSV file using a memory-mapped buffer, where the separator is specified.
+   * <p>
+   * This is intended for large files, avoiding the cost of decoding and copying each line.
+   * The file must be encoded in UTF-8. The rows returned are the same as those returned by
+   * {@link #of(CharSource, boolean, char)}, however each field is only converted to a {@code String} when accessed.
+   * <p>
+   * This method opens the CSV file for reading.
+   * The caller is responsible for closing it by calling {@link #close()}.
+   * 
+   * @param file  the file, encoded in UTF-8
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @param separator  the separator used to separate each field, which must be an ASCII character
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvIterator ofMappedFile(Path file, boolean headerRow, char separator) {
+    ArgChecker.notNull(file, "file");
+    MappedCsvReader mappedReader = MappedCsvReader.of(file, separator);
+    try {
+      if (!headerRow) {
+        return new CsvIterator(mappedReader, separator, ImmutableList.of(), ImmutableMap.of());
+      }
+      List<String> headerFields = mappedReader.readFields();
+      if (headerFields == null) {
+        throw new IllegalArgumentException("Could not read header row from empty CSV file");
+      }
+      ImmutableList<String> headers = ImmutableList.copyOf(headerFields);
+      return new CsvIterator(mappedReader, separator, headers, CsvFile.buildSearchHeaders(headers));
+
+    } catch (RuntimeException ex) {
+      try {
+        mappedReader.close();
+      } catch (RuntimeException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw ex;
+    }
+  }
+
   // create the iterator
   private static CsvIterator create(BufferedReader breader, boolean headerRow, char separator) {
     try {
@@ -217,12 +286,34 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
       int currentLineNumber) {
 
     this.reader = reader;
+    this.mappedReader = null;
     this.separator = separator;
     this.headers = headers;
     this.searchHeaders = searchHeaders;
     this.currentLineNumber = currentLineNumber;
   }
 
+  /**
+   * Restricted constructor.
+   * 
+   * @param mappedReader  the memory-mapped reader
+   * @param headers  the header row
+   * @param searchHeaders  the search headers
+   */
+  private CsvIterator(
+      MappedCsvReader mappedReader,
+      char separator,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders) {
+
+    this.reader = null;
+    this.mappedReader = mappedReader;
+    this.separator = separator;
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.currentLineNumber = mappedReader.lineNumber();
+  }
+
   //------------------------------------------------------------------------
   /**
    * Gets the header row.
@@ -289,6 +380,14 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
   public boolean hasNext() {
     if (nextRow != null) {
       return true;
+    } else if (mappedReader != null) {
+      List<String> fields = mappedReader.readFields();
+      if (fields != null) {
+        currentLineNumber = mappedReader.lineNumber();
+        nextRow = new CsvRow(headers, searchHeaders, currentLineNumber, fields);
+        return true;
+      }
+      return false;
     } else {
       String line = null;
       while ((line = Unchecked.wrap(() -> reader.readLine())) != null) {
@@ -409,7 +508,11 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
    */
   @Override
   public void close() {
-    Unchecked.wrap(() -> reader.close());
+    if (mappedReader != null) {
+      mappedReader.close();
+    } else {
+      Unchecked.wrap(() -> reader.close());
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -6,9 +6,11 @@
 package com.opengamma.strata.collect.io;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableList;
@@ -33,8 +35,9 @@ public final class CsvRow {
   private final ImmutableMap<String, Integer> searchHeaders;
   /**
    * The fields in the row.
+   * This is an {@code ImmutableList}, unless the row was read from a memory-mapped file.
    */
-  private final ImmutableList<String> fields;
+  private final List<String> fields;
   /**
    * The line number in the source file.
    */
@@ -49,7 +52,7 @@ public final class CsvRow {
    * @param headers  the headers
    * @param fields  the fields
    */
-  private CsvRow(ImmutableList<String> headers, int lineNumber, ImmutableList<String> fields) {
+  private CsvRow(ImmutableList<String> headers, int lineNumber, List<String> fields) {
     this.headers = headers;
     // need to allow duplicate headers and only store the first instance
     Map<String, Integer> searchHeaders = new HashMap<>();
@@ -75,7 +78,7 @@ public final class CsvRow {
       ImmutableList<String> headers,
       ImmutableMap<String, Integer> searchHeaders,
       int lineNumber,
-      ImmutableList<String> fields) {
+      List<String> fields) {
 
     this.headers = headers;
     this.searchHeaders = searchHeaders;
@@ -106,11 +109,13 @@ public final class CsvRow {
 
   /**
    * Gets all fields in the row.
+   * <p>
+   * If the row was read from a memory-mapped file, this creates a copy of the fields.
    * 
    * @return the fields
    */
   public ImmutableList<String> fields() {
-    return fields;
+    return fields instanceof ImmutableList ? (ImmutableList<String>) fields : ImmutableList.copyOf(fields);
   }
 
   /**
@@ -272,6 +277,67 @@ public final class CsvRow {
     }
   }
 
+  /**
+   * Gets a single value from the row by header, parsed as a {@code double}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * If the row was read from a memory-mapped file, simple numbers are parsed without creating a {@code String}.
+   *
+   * @param header the column header
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found, the value is empty or the value is not a number
+   */
+  public double getDouble(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: '" + header + "'");
+    }
+    if (isEmpty(index)) {
+      throw new IllegalArgumentException("No value was found for field: '" + header + "'");
+    }
+    return parseDouble(index, header);
+  }
+
+  /**
+   * Gets a single value from the row by header, parsed as a {@code double}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * If the header is not found or the value is an empty string, then an empty optional is returned.
+   *
+   * @param header the column header
+   * @return the parsed field value, empty if not found
+   * @throws IllegalArgumentException if the value is not a number
+   */
+  public OptionalDouble findDouble(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null || isEmpty(index)) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(parseDouble(index, header));
+  }
+
+  // checks if the field is empty
+  private boolean isEmpty(int index) {
+    if (index >= fields.size()) {
+      return true;
+    }
+    return fields instanceof MappedCsvFields ? ((MappedCsvFields) fields).isEmpty(index) : fields.get(index).isEmpty();
+  }
+
+  // parses a non-empty field as a double
+  private double parseDouble(int index, String header) {
+    try {
+      return fields instanceof MappedCsvFields ?
+          ((MappedCsvFields) fields).parseDouble(index) :
+          Double.parseDouble(fields.get(index));
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(
+          "Unable to parse field '" + header + "' as a number: '" + fields.get(index) + "'", ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains a sub-row, containing a selection of fields by index.
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The fields of a CSV row, held as slices of a memory-mapped file.
+ * <p>
+ * Each field is identified by the start and end offsets of the trimmed field in the buffer.
+ * The {@code String} form of a field is only created, and then cached, when it is requested.
+ * Numeric fields can be parsed directly from the buffer without creating a {@code String}.
+ * <p>
+ * The buffer is assumed to contain UTF-8 text. Since the separator is an ASCII character,
+ * the field boundaries never split a multi-byte character.
+ * Fields containing quotes are not handled by this class.
+ */
+final class MappedCsvFields
+    extends AbstractList<String>
+    implements RandomAccess {
+
+  /**
+   * Powers of ten that can be represented exactly as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * The maximum number of significant digits that can be represented exactly in a double.
+   */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  /**
+   * The buffer, which is only accessed using absolute methods.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The start and end offsets of each field, in pairs.
+   */
+  private final int[] bounds;
+  /**
+   * The cached field values.
+   */
+  private final String[] values;
+
+  /**
+   * Creates an instance.
+   *
+   * @param buffer  the buffer
+   * @param bounds  the start and end offsets of each field, in pairs
+   */
+  MappedCsvFields(ByteBuffer buffer, int[] bounds) {
+    this.buffer = buffer;
+    this.bounds = bounds;
+    this.values = new String[bounds.length / 2];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public String get(int index) {
+    String value = values[index];
+    if (value == null) {
+      int start = bounds[index * 2];
+      byte[] bytes = new byte[bounds[index * 2 + 1] - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buffer.get(start + i);
+      }
+      value = new String(bytes, StandardCharsets.UTF_8);
+      values[index] = value;
+    }
+    return value;
+  }
+
+  /**
+   * Checks if the field is empty.
+   *
+   * @param index  the field index
+   * @return true if empty
+   */
+  boolean isEmpty(int index) {
+    return bounds[index * 2] == bounds[index * 2 + 1];
+  }
+
+  /**
+   * Parses the field as a {@code double}.
+   * <p>
+   * Simple decimal numbers are parsed directly from the buffer.
+   * A number is parsed directly when it has at most 15 significant digits and a decimal exponent
+   * of at most 22 in magnitude, as the result of a single multiplication or division is then correctly rounded.
+   * Otherwise, {@link Double#parseDouble(String)} is used, thus the result is always the same.
+   *
+   * @param index  the field index
+   * @return the parsed value
+   * @throws NumberFormatException if the field is not a number
+   */
+  double parseDouble(int index) {
+    int end = bounds[index * 2 + 1];
+    int pos = bounds[index * 2];
+    boolean negative = false;
+    if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+      negative = buffer.get(pos) == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean anyDigits = false;
+    while (pos < end && isDigit(pos)) {
+      mantissa = mantissa * 10 + (buffer.get(pos) - '0');
+      significantDigits += mantissa != 0 ? 1 : 0;
+      anyDigits = true;
+      pos++;
+    }
+    if (pos < end && buffer.get(pos) == '.') {
+      pos++;
+      while (pos < end && isDigit(pos)) {
+        mantissa = mantissa * 10 + (buffer.get(pos) - '0');
+        significantDigits += mantissa != 0 ? 1 : 0;
+        exponent--;
+        anyDigits = true;
+        pos++;
+      }
+    }
+    if (pos < end && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+        negativeExponent = buffer.get(pos) == '-';
+        pos++;
+      }
+      int explicitExponent = 0;
+      int exponentStart = pos;
+      while (pos < end && isDigit(pos) && explicitExponent < 1000) {
+        explicitExponent = explicitExponent * 10 + (buffer.get(pos) - '0');
+        pos++;
+      }
+      if (pos == exponentStart) {
+        return Double.parseDouble(get(index));
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    // anything unusual is handled by the JDK, including the error case
+    if (pos != end || !anyDigits || significantDigits > MAX_EXACT_DIGITS) {
+      return Double.parseDouble(get(index));
+    }
+    if (mantissa == 0) {
+      return negative ? -0d : 0d;
+    }
+    if (exponent < -22 || exponent > 22) {
+      return Double.parseDouble(get(index));
+    }
+    double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  // checks if the byte at the position is an ASCII digit
+  private boolean isDigit(int pos) {
+    byte b = buffer.get(pos);
+    return b >= '0' && b <= '9';
+  }
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * Reader of the rows of a CSV file using a memory-mapped file.
+ * <p>
+ * The file is mapped into memory in windows, avoiding copying the file into a character buffer.
+ * The fields of each row are located in the mapped buffer and returned as {@link MappedCsvFields},
+ * which only create the {@code String} form of a field when requested.
+ * A line containing a quote is decoded and parsed by {@link CsvFile#parseLine(String, int, char)}.
+ * <p>
+ * The file must be encoded in UTF-8, optionally with a byte order mark.
+ * Lines may be terminated by LF, CR or CRLF. A line cannot be longer than the mapping window.
+ */
+final class MappedCsvReader implements AutoCloseable {
+
+  /**
+   * The default size of the mapping window, 256Mb.
+   */
+  private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+  /**
+   * The file channel.
+   */
+  private final FileChannel channel;
+  /**
+   * The size of the file.
+   */
+  private final long fileSize;
+  /**
+   * The size of the mapping window.
+   */
+  private final int windowSize;
+  /**
+   * The separator.
+   */
+  private final byte separator;
+  /**
+   * The currently mapped window of the file.
+   */
+  private MappedByteBuffer buffer;
+  /**
+   * The offset of the current window in the file.
+   */
+  private long bufferOffset;
+  /**
+   * The position of the start of the next line in the current window.
+   */
+  private int position;
+  /**
+   * The line number of the last line read.
+   */
+  private int lineNumber;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens the file, using the default window size.
+   *
+   * @param file  the file
+   * @param separator  the separator, which must be an ASCII character
+   * @return the reader
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the separator is invalid
+   */
+  static MappedCsvReader of(Path file, char separator) {
+    return of(file, separator, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Opens the file, using the specified window size.
+   *
+   * @param file  the file
+   * @param separator  the separator, which must be an ASCII character
+   * @param windowSize  the size of the mapping window, which limits the length of a line
+   * @return the reader
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the separator is invalid
+   */
+  static MappedCsvReader of(Path file, char separator, int windowSize) {
+    if (separator >= 0x80 || separator == '"' || separator == '\r' || separator == '\n') {
+      throw new IllegalArgumentException("Separator must be an ASCII character other than quote or newline");
+    }
+    FileChannel channel = Unchecked.wrap(() -> FileChannel.open(file, StandardOpenOption.READ));
+    try {
+      return new MappedCsvReader(channel, (byte) separator, windowSize);
+    } catch (IOException ex) {
+      try {
+        channel.close();
+      } catch (IOException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // restricted constructor
+  private MappedCsvReader(FileChannel channel, byte separator, int windowSize) throws IOException {
+    this.channel = channel;
+    this.fileSize = channel.size();
+    this.separator = separator;
+    this.windowSize = windowSize;
+    map(0);
+    // skip the UTF-8 byte order mark
+    if (buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB &&
+        buffer.get(2) == (byte) 0xBF) {
+      position = 3;
+    }
+  }
+
+  // maps the window starting at the specified offset in the file
+  private void map(long offset) throws IOException {
+    long size = Math.min(windowSize, fileSize - offset);
+    buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+    bufferOffset = offset;
+    position = 0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the line number of the last line read.
+   *
+   * @return the line number, one-based
+   */
+  int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Reads the fields of the next row with content.
+   * <p>
+   * Blank lines, comment lines and lines containing only separators are skipped.
+   *
+   * @return the fields, null if the end of file has been reached
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  List<String> readFields() {
+    try {
+      while (true) {
+        int end = findLineEnd();
+        if (end < 0) {
+          return null;
+        }
+        lineNumber++;
+        List<String> fields = parseLine(position, end);
+        position = skipLineTerminator(end);
+        if (fields != null) {
+          return fields;
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // finds the end of the next line, remapping if necessary, returning -1 at the end of the file
+  private int findLineEnd() throws IOException {
+    int limit = buffer.limit();
+    if (position == limit) {
+      if (bufferOffset + limit == fileSize) {
+        return -1;
+      }
+      map(bufferOffset + limit);
+      limit = buffer.limit();
+    }
+    for (int i = position; i < limit; i++) {
+      byte b = buffer.get(i);
+      if (b == '\n' || b == '\r') {
+        return i;
+      }
+    }
+    if (bufferOffset + limit == fileSize) {
+      return limit;
+    }
+    // the line continues beyond the window, so map a new window starting at the line
+    if (position == 0) {
+      throw new IllegalArgumentException("CSV line " + (lineNumber + 1) + " is too long, must be less than " +
+          windowSize + " bytes");
+    }
+    map(bufferOffset + position);
+    return findLineEnd();
+  }
+
+  // skips the line terminator, returning the start of the next line
+  private int skipLineTerminator(int end) throws IOException {
+    int limit = buffer.limit();
+    if (end == limit) {
+      return end;
+    }
+    if (buffer.get(end) == '\r') {
+      if (end + 1 < limit) {
+        return buffer.get(end + 1) == '\n' ? end + 2 : end + 1;
+      }
+      // CR at the end of the window, which may be followed by LF at the start of the next window
+      if (bufferOffset + limit < fileSize) {
+        long next = bufferOffset + limit;
+        map(next);
+        return buffer.get(0) == '\n' ? 1 : 0;
+      }
+    }
+    return end + 1;
+  }
+
+  // parses the line, returning null if the line has no content
+  private List<String> parseLine(int start, int end) {
+    if (start == end || buffer.get(start) == '#' || buffer.get(start) == ';') {
+      return null;
+    }
+    int fieldCount = 1;
+    for (int i = start; i < end; i++) {
+      byte b = buffer.get(i);
+      if (b == '"') {
+        List<String> fields = CsvFile.parseLine(decode(start, end), lineNumber, (char) separator);
+        return fields.isEmpty() ? null : fields;
+      }
+      if (b == separator) {
+        fieldCount++;
+      }
+    }
+    int[] bounds = new int[fieldCount * 2];
+    boolean content = false;
+    int fieldStart = start;
+    for (int field = 0; field < fieldCount; field++) {
+      int fieldEnd = fieldStart;
+      while (fieldEnd < end && buffer.get(fieldEnd) != separator) {
+        fieldEnd++;
+      }
+      int trimmedStart = fieldStart;
+      int trimmedEnd = fieldEnd;
+      while (trimmedStart < trimmedEnd && (buffer.get(trimmedStart) & 0xFF) <= ' ') {
+        trimmedStart++;
+      }
+      while (trimmedEnd > trimmedStart && (buffer.get(trimmedEnd - 1) & 0xFF) <= ' ') {
+        trimmedEnd--;
+      }
+      bounds[field * 2] = trimmedStart;
+      bounds[field * 2 + 1] = trimmedEnd;
+      content |= trimmedStart < trimmedEnd;
+      fieldStart = fieldEnd + 1;
+    }
+    return content ? new MappedCsvFields(buffer, bounds) : null;
+  }
+
+  // decodes part of the buffer
+  private String decode(int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the file.
+   * <p>
+   * The mapped windows remain valid until they are garbage collected,
+   * thus rows that have already been read can still be used.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    Unchecked.wrap(() -> channel.close());
+  }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A file of named time-series that is accessed using a memory-mapped buffer.
+ * <p>
+ * Long histories of fixings for many indices can occupy a large amount of heap.
+ * This class allows a set of time-series to be written to a file once, then mapped into memory
+ * as a single read-only copy shared by all users, for example by every rates provider and scenario.
+ * <p>
+ * Each time-series obtained from this class is a view of the mapped file.
+ * Lookups by date use a binary search, and sub-series are views of the same memory.
+ * Methods that create new data, such as {@code mapValues()}, return a time-series held in memory.
+ * <p>
+ * The file contains a directory of names, sizes and offsets, followed by the data of each time-series,
+ * held as an array of values followed by an array of dates as epoch days.
+ * The file must be smaller than 2Gb and must not be altered while it is mapped.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class LocalDateDoubleTimeSeriesFile {
+
+  /**
+   * The marker at the start of the file, 'STTS'.
+   */
+  private static final int MAGIC = 0x53545453;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The time-series, keyed by name.
+   */
+  private final ImmutableMap<String, LocalDateDoubleTimeSeries> timeSeries;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a set of named time-series to the output stream.
+   * <p>
+   * The stream is not closed by this method.
+   *
+   * @param timeSeries  the time-series, keyed by name
+   * @param out  the output stream
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void write(Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries, OutputStream out) {
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    ArgChecker.notNull(out, "out");
+    try {
+      DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+      dataOut.writeInt(MAGIC);
+      dataOut.writeInt(VERSION);
+      dataOut.writeInt(timeSeries.size());
+      // the directory, with the offset of the data of each time-series aligned to 8 bytes
+      long directorySize = 12;
+      for (String name : timeSeries.keySet()) {
+        directorySize += 4 + name.getBytes(StandardCharsets.UTF_8).length + 12;
+      }
+      long offset = align(directorySize);
+      for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+        byte[] nameBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        int size = entry.getValue().size();
+        dataOut.writeInt(nameBytes.length);
+        dataOut.write(nameBytes);
+        dataOut.writeInt(size);
+        dataOut.writeLong(offset);
+        offset = align(offset + size * 12L);
+      }
+      // the data
+      long position = directorySize;
+      for (LocalDateDoubleTimeSeries series : timeSeries.values()) {
+        long aligned = align(position);
+        while (position < aligned) {
+          dataOut.writeByte(0);
+          position++;
+        }
+        for (double value : series.values().toArray()) {
+          dataOut.writeDouble(value);
+        }
+        for (LocalDate date : series.dates().toArray(LocalDate[]::new)) {
+          dataOut.writeInt(Math.toIntExact(date.toEpochDay()));
+        }
+        position += series.size() * 12L;
+      }
+      dataOut.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // aligns the position to 8 bytes
+  private static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Maps a file of named time-series into memory.
+   * <p>
+   * The file is mapped read-only, thus the time-series are only loaded into memory by the operating system
+   * as they are accessed, and the memory is shared with any other mapping of the same file.
+   * The mapping is released when this instance and all the time-series obtained from it are garbage collected.
+   *
+   * @param file  the file, as written by {@link #write(Map, OutputStream)}
+   * @return the mapped file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is invalid
+   */
+  public static LocalDateDoubleTimeSeriesFile map(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Time-series file is too large, must be less than 2Gb: " + file);
+      }
+      return of(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Obtains an instance from a buffer containing the content of a time-series file.
+   * <p>
+   * The buffer must not be altered after calling this method.
+   *
+   * @param buffer  the buffer, as written by {@link #write(Map, OutputStream)}
+   * @return the time-series file
+   * @throws IllegalArgumentException if the buffer is invalid
+   */
+  public static LocalDateDoubleTimeSeriesFile of(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    ByteBuffer in = buffer.duplicate();
+    ((Buffer) in).position(0);
+    try {
+      if (in.remaining() < 12 || in.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Invalid time-series file, incorrect file marker");
+      }
+      int version = in.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported time-series file version: " + version);
+      }
+      int count = in.getInt();
+      ImmutableMap.Builder<String, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+      for (int i = 0; i < count; i++) {
+        byte[] nameBytes = new byte[in.getInt()];
+        in.get(nameBytes);
+        int size = in.getInt();
+        int offset = Math.toIntExact(in.getLong());
+        builder.put(new String(nameBytes, StandardCharsets.UTF_8), timeSeries(buffer, offset, size));
+      }
+      return new LocalDateDoubleTimeSeriesFile(builder.build());
+    } catch (BufferUnderflowException | IndexOutOfBoundsException |
+        NegativeArraySizeException | ArithmeticException ex) {
+      throw new IllegalArgumentException("Invalid time-series file, unexpected end of data", ex);
+    }
+  }
+
+  // creates a time-series that is a view of the buffer
+  // the cast to Buffer avoids binding to the covariant overrides added in Java 9, which are absent in Java 8
+  private static LocalDateDoubleTimeSeries timeSeries(ByteBuffer buffer, int offset, int size) {
+    if (size == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    ByteBuffer valuesBuffer = buffer.duplicate();
+    ((Buffer) valuesBuffer).limit(offset + size * 8).position(offset);
+    DoubleBuffer values = valuesBuffer.slice().asDoubleBuffer();
+    ByteBuffer datesBuffer = buffer.duplicate();
+    ((Buffer) datesBuffer).limit(offset + size * 12).position(offset + size * 8);
+    IntBuffer dates = datesBuffer.slice().asIntBuffer();
+    return new MappedLocalDateDoubleTimeSeries(dates, values);
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  private LocalDateDoubleTimeSeriesFile(ImmutableMap<String, LocalDateDoubleTimeSeries> timeSeries) {
+    this.timeSeries = timeSeries;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the time-series in the file.
+   *
+   * @return the names
+   */
+  public Set<String> getNames() {
+    return timeSeries.keySet();
+  }
+
+  /**
+   * Gets the time-series with the specified name.
+   *
+   * @param name  the name
+   * @return the time-series
+   * @throws IllegalArgumentException if the name is not found
+   */
+  public LocalDateDoubleTimeSeries getTimeSeries(String name) {
+    return findTimeSeries(name)
+        .orElseThrow(() -> new IllegalArgumentException("Time-series not found: '" + name + "'"));
+  }
+
+  /**
+   * Finds the time-series with the specified name.
+   *
+   * @param name  the name
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> findTimeSeries(String name) {
+    return Optional.ofNullable(timeSeries.get(name));
+  }
+
+  /**
+   * Gets all the time-series, keyed by name.
+   * <p>
+   * Each time-series is a view of the mapped file.
+   *
+   * @return the time-series, keyed by name
+   */
+  public ImmutableMap<String, LocalDateDoubleTimeSeries> getTimeSeries() {
+    return timeSeries;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "LocalDateDoubleTimeSeriesFile" + timeSeries.keySet();
+  }
+
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} backed by a memory-mapped file.
+ * <p>
+ * The dates are held as epoch days and the values as doubles, in buffers that are views of
+ * a read-only memory-mapped file. See {@link LocalDateDoubleTimeSeriesFile}.
+ * Lookups use a binary search of the dates, and sub-series are views of the same buffers.
+ * Operations that create new data, such as {@link #mapValues(DoubleUnaryOperator)},
+ * return a time-series held in memory.
+ * <p>
+ * When serialized, this is replaced by an equivalent time-series held in memory.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates, as epoch days, ordered from earliest to latest.
+   * Only absolute methods are used, thus the buffer is never altered.
+   * Not serialized, as this instance is replaced when serialized.
+   */
+  private final transient IntBuffer dates;
+  /**
+   * The values, at the matching index.
+   * Only absolute methods are used, thus the buffer is never altered.
+   * Not serialized, as this instance is replaced when serialized.
+   */
+  private final transient DoubleBuffer values;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The buffers must have the same size and must not be altered.
+   *
+   * @param dates  the dates, as epoch days, ordered from earliest to latest
+   * @param values  the values
+   */
+  MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values) {
+    this.dates = dates;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return dates.limit();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return dates.limit() == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return findDatePosition(date) >= 0;
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return position >= 0 ? OptionalDouble.of(values.get(position)) : OptionalDouble.empty();
+  }
+
+  // binary search, with the same result as Arrays.binarySearch()
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    int low = 0;
+    int high = dates.limit() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midDay = dates.get(mid);
+      if (midDay < epochDay) {
+        low = mid + 1;
+      } else if (midDay > epochDay) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return date(0);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return values.get(0);
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return date(size() - 1);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values.get(size() - 1);
+  }
+
+  // the date at the index
+  private LocalDate date(int index) {
+    return LocalDate.ofEpochDay(dates.get(index));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // special case when this is empty or when the dates are the same
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    // where in the buffer would start/end be (whether or not it's actually in the series)
+    int startPos = findDatePosition(startInclusive);
+    startPos = startPos >= 0 ? startPos : -startPos - 1;
+    int endPos = findDatePosition(endExclusive);
+    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    return slice(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (numPoints >= size()) {
+      return this;
+    }
+    return slice(0, numPoints);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (numPoints >= size()) {
+      return this;
+    }
+    return slice(size() - numPoints, size());
+  }
+
+  // creates a view of part of this time-series, without copying
+  // the cast to Buffer avoids binding to the covariant overrides added in Java 9, which are absent in Java 8
+  private MappedLocalDateDoubleTimeSeries slice(int startInclusive, int endExclusive) {
+    IntBuffer datesSlice = dates.duplicate();
+    ((Buffer) datesSlice).position(startInclusive).limit(endExclusive);
+    DoubleBuffer valuesSlice = values.duplicate();
+    ((Buffer) valuesSlice).position(startInclusive).limit(endExclusive);
+    return new MappedLocalDateDoubleTimeSeries(datesSlice.slice(), valuesSlice.slice());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(date(i), values.get(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size()).mapToObj(this::date);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size()).mapToDouble(values::get);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(date(i), values.get(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    return toInMemory().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toInMemory().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toInMemory().filter(predicate);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    LocalDate[] datesArray = new LocalDate[size()];
+    double[] valuesArray = new double[size()];
+    for (int i = 0; i < datesArray.length; i++) {
+      datesArray[i] = date(i);
+      valuesArray[i] = values.get(i);
+    }
+    return new LocalDateDoubleTimeSeriesBuilder(datesArray, valuesArray);
+  }
+
+  // copies the time-series into memory
+  private LocalDateDoubleTimeSeries toInMemory() {
+    return toBuilder().build();
+  }
+
+  // replaces this instance with one held in memory when serialized
+  private Object writeReplace() {
+    return toInMemory();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this time-series with another memory-mapped time-series ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      if (size() != other.size()) {
+        return false;
+      }
+      for (int i = 0; i < size(); i++) {
+        if (dates.get(i) != other.dates.get(i) ||
+            Double.doubleToLongBits(values.get(i)) != Double.doubleToLongBits(other.values.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size(); i++) {
+      result = 31 * result + dates.get(i);
+      result = 31 * result + Double.hashCode(values.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
@@ -12,11 +12,14 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
 import java.util.regex.Pattern;
 
 import org.testng.annotations.Test;
@@ -386,6 +389,142 @@ public class CsvIteratorTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void test_getDouble() {
+    try (CsvIterator csvFile = CsvIterator.of(CharSource.wrap("a,b,c,d\n1.5,,x"), true)) {
+      CsvRow row = csvFile.next();
+      assertEquals(row.getDouble("A"), 1.5d);
+      assertEquals(row.findDouble("a"), OptionalDouble.of(1.5d));
+      assertEquals(row.findDouble("b"), OptionalDouble.empty());
+      assertEquals(row.findDouble("d"), OptionalDouble.empty());
+      assertEquals(row.findDouble("e"), OptionalDouble.empty());
+      assertThrowsIllegalArg(() -> row.getDouble("b"));
+      assertThrowsIllegalArg(() -> row.getDouble("c"));
+      assertThrowsIllegalArg(() -> row.getDouble("d"));
+      assertThrowsIllegalArg(() -> row.getDouble("e"));
+      assertThrowsIllegalArg(() -> row.findDouble("c"));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ofMappedFile() throws IOException {
+    assertMappedMatches(CSV1, true, ',');
+    assertMappedMatches(CSV1, false, ',');
+    assertMappedMatches(CSV1T, true, '\t');
+    assertMappedMatches(CSV2, true, ',');
+    assertMappedMatches(CSV3, false, ',');
+    assertMappedMatches(CSV4, true, ',');
+    assertMappedMatches(CSV5GROUPED, true, ',');
+    assertMappedMatches("h1,h2\r\nr11 , r12\r\n\r\nr21,\"r2,2\"\r\n", true, ',');
+    assertMappedMatches("h1,h2\rr11,r12\r\rr21,=\"r22\"\r", true, ',');
+    assertMappedMatches("\uFEFFh1,h2\n\u00e9\u00e8,\u20ac\n", true, ',');
+    assertMappedMatches("h1,h2,h3\nr11\n", true, ',');
+  }
+
+  public void test_ofMappedFile_smallWindow() throws IOException {
+    StringBuilder buf = new StringBuilder("id,value\r\n");
+    for (int i = 0; i < 200; i++) {
+      buf.append(i).append(',').append(i * 1.25).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    Path file = tempFile(buf.toString());
+    List<CsvRow> expected = CsvFile.of(CharSource.wrap(buf), true).rows();
+    for (int windowSize = 13; windowSize < 40; windowSize++) {
+      try (MappedCsvReader reader = MappedCsvReader.of(file, ',', windowSize)) {
+        List<String> headers = reader.readFields();
+        assertEquals(headers, ImmutableList.of("id", "value"));
+        for (CsvRow row : expected) {
+          List<String> fields = reader.readFields();
+          assertEquals(fields, row.fields());
+          assertEquals(reader.lineNumber(), row.lineNumber());
+        }
+        assertEquals(reader.readFields(), null);
+      }
+    }
+  }
+
+  public void test_ofMappedFile_lineTooLong() throws IOException {
+    Path file = tempFile("h1,h2\nr1,r2_is_too_long_for_the_window\n");
+    try (MappedCsvReader reader = MappedCsvReader.of(file, ',', 16)) {
+      reader.readFields();
+      assertThrowsIllegalArg(() -> reader.readFields());
+    }
+  }
+
+  public void test_ofMappedFile_empty() throws IOException {
+    Path file = tempFile("");
+    assertThrowsIllegalArg(() -> CsvIterator.ofMappedFile(file, true));
+    try (CsvIterator test = CsvIterator.ofMappedFile(file, false)) {
+      assertEquals(test.hasNext(), false);
+    }
+    assertThrowsIllegalArg(() -> CsvIterator.ofMappedFile(file, false, '\u00a3'));
+  }
+
+  public void test_ofMappedFile_mismatchedQuotes() throws IOException {
+    Path file = tempFile("h1,h2\n\"r1,r2\n");
+    try (CsvIterator test = CsvIterator.ofMappedFile(file, true)) {
+      assertThrowsIllegalArg(() -> test.next());
+    }
+  }
+
+  public void test_ofMappedFile_getDouble() throws IOException {
+    String[] values = {
+        "0", "-0", "1", "+1", "-1.5", "123456789012345", "1234567890123456789", "0.1", ".5", "5.", "1e3",
+        "1.25E-7", "2e22", "2e23", "3e-22", "3e-23", "0.000000000000000000000000001", "1e400", "NaN", "-Infinity",
+        "0x1p3", "1d", "12345678.12345678"};
+    StringBuilder buf = new StringBuilder("value\n");
+    for (String value : values) {
+      buf.append(value).append('\n');
+    }
+    Path file = tempFile(buf.toString());
+    try (CsvIterator test = CsvIterator.ofMappedFile(file, true)) {
+      for (String value : values) {
+        CsvRow row = test.next();
+        double expected = Double.parseDouble(value);
+        assertEquals(Double.doubleToLongBits(row.getDouble("value")), Double.doubleToLongBits(expected));
+        assertEquals(row.field(0), value);
+      }
+    }
+    Path invalidFile = tempFile("a,b,c,d,e\n1.5,,x,1e,.\n");
+    try (CsvIterator test = CsvIterator.ofMappedFile(invalidFile, true)) {
+      CsvRow row = test.next();
+      assertEquals(row.getDouble("a"), 1.5d);
+      assertEquals(row.findDouble("b"), OptionalDouble.empty());
+      assertThrowsIllegalArg(() -> row.getDouble("b"));
+      assertThrowsIllegalArg(() -> row.getDouble("c"));
+      assertThrowsIllegalArg(() -> row.getDouble("d"));
+      assertThrowsIllegalArg(() -> row.getDouble("e"));
+    }
+  }
+
+  // checks that the mapped file produces the same rows as the reader
+  private void assertMappedMatches(String csv, boolean headerRow, char separator) throws IOException {
+    Path file = tempFile(csv);
+    CharSource source = UnicodeBom.toCharSource(Files.asByteSource(file.toFile()));
+    try (CsvIterator expected = CsvIterator.of(source, headerRow, separator);
+        CsvIterator test = CsvIterator.ofMappedFile(file, headerRow, separator)) {
+      assertEquals(test.headers(), expected.headers());
+      while (expected.hasNext()) {
+        CsvRow expectedRow = expected.next();
+        CsvRow row = test.next();
+        assertEquals(row, expectedRow);
+        assertEquals(row.lineNumber(), expectedRow.lineNumber());
+        assertEquals(row.fields(), expectedRow.fields());
+        assertEquals(row.fieldCount(), expectedRow.fieldCount());
+        assertEquals(row.hashCode(), expectedRow.hashCode());
+        assertEquals(row.toString(), expectedRow.toString());
+      }
+      assertEquals(test.hasNext(), false);
+    }
+  }
+
+  // writes the content to a temporary file
+  private static Path tempFile(String content) throws IOException {
+    File file = File.createTempFile("csv-iterator-test", ".csv");
+    file.deleteOnExit();
+    Files.asCharSink(file, StandardCharsets.UTF_8).write(content);
+    return file.toPath();
+  }
+
   //-------------------------------------------------------------------------
   public void test_toString() {
     try (CsvIterator test = CsvIterator.of(CharSource.wrap(CSV1), true)) {
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link LocalDateDoubleTimeSeriesFile} and {@link MappedLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class LocalDateDoubleTimeSeriesFileTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final LocalDate DATE_2014_01_01 = date(2014, 1, 1);
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2010_01_01, 10)
+      .put(DATE_2011_01_01, 11)
+      .put(DATE_2012_01_01, 12)
+      .put(DATE_2013_01_01, 13)
+      .put(DATE_2014_01_01, 14)
+      .build();
+  private static final LocalDateDoubleTimeSeries DENSE = dense();
+  private static final ImmutableMap<String, LocalDateDoubleTimeSeries> SERIES = ImmutableMap.of(
+      "GBP-LIBOR-3M", SPARSE,
+      "Empty", LocalDateDoubleTimeSeries.empty(),
+      "GB-RPI", DENSE);
+
+  private static LocalDateDoubleTimeSeries dense() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = date(2000, 1, 3);
+    for (int i = 0; i < 3000; i++) {
+      builder.put(date.plusDays(i), i / 100d);
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_map() throws IOException {
+    LocalDateDoubleTimeSeriesFile test = LocalDateDoubleTimeSeriesFile.map(tempFile(SERIES));
+    assertEquals(test.getNames(), SERIES.keySet());
+    for (String name : SERIES.keySet()) {
+      LocalDateDoubleTimeSeries series = test.getTimeSeries(name);
+      assertEquals(series.toBuilder().build(), SERIES.get(name));
+      assertEquals(test.findTimeSeries(name), Optional.of(series));
+      assertEquals(test.getTimeSeries().get(name), series);
+    }
+    assertThat(test.getTimeSeries("GBP-LIBOR-3M")).isInstanceOf(MappedLocalDateDoubleTimeSeries.class);
+    assertEquals(test.getTimeSeries("Empty"), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.findTimeSeries("Unknown"), Optional.empty());
+    assertThrowsIllegalArg(() -> test.getTimeSeries("Unknown"));
+    assertThat(test.toString()).contains("GBP-LIBOR-3M");
+  }
+
+  public void test_of() {
+    LocalDateDoubleTimeSeriesFile test = LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(write(SERIES)));
+    assertEquals(test.getNames(), SERIES.keySet());
+    assertEquals(test.getTimeSeries("GB-RPI").toBuilder().build(), DENSE);
+  }
+
+  public void test_of_invalid() {
+    byte[] bytes = write(SERIES);
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(new byte[0])));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(new byte[12])));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(Arrays.copyOf(bytes, 30))));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(Arrays.copyOf(bytes, 200))));
+    byte[] badVersion = bytes.clone();
+    badVersion[7] = 2;
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(badVersion)), ".*version.*");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_get() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertEquals(test.size(), 5);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.get(DATE_2010_01_01), OptionalDouble.of(10));
+    assertEquals(test.get(DATE_2012_01_01), OptionalDouble.of(12));
+    assertEquals(test.get(DATE_2014_01_01), OptionalDouble.of(14));
+    assertEquals(test.get(date(2009, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.get(date(2012, 6, 1)), OptionalDouble.empty());
+    assertEquals(test.get(date(2015, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.containsDate(DATE_2013_01_01), true);
+    assertEquals(test.containsDate(date(2013, 1, 2)), false);
+  }
+
+  public void test_get_dense() {
+    LocalDateDoubleTimeSeries test = mapped(DENSE);
+    DENSE.forEach((date, value) -> assertEquals(test.get(date), OptionalDouble.of(value)));
+    assertEquals(test.get(date(2000, 1, 2)), OptionalDouble.empty());
+  }
+
+  public void test_earliestLatest() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertEquals(test.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(test.getEarliestValue(), 10d);
+    assertEquals(test.getLatestDate(), DATE_2014_01_01);
+    assertEquals(test.getLatestValue(), 14d);
+  }
+
+  public void test_earliestLatest_empty() {
+    LocalDateDoubleTimeSeries test = new MappedLocalDateDoubleTimeSeries(
+        ByteBuffer.allocate(0).asIntBuffer(), ByteBuffer.allocate(0).asDoubleBuffer());
+    assertEquals(test.isEmpty(), true);
+    assertThrows(() -> test.getEarliestDate(), NoSuchElementException.class);
+    assertThrows(() -> test.getEarliestValue(), NoSuchElementException.class);
+    assertThrows(() -> test.getLatestDate(), NoSuchElementException.class);
+    assertThrows(() -> test.getLatestValue(), NoSuchElementException.class);
+    assertEquals(test.subSeries(DATE_2010_01_01, DATE_2014_01_01), LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_subSeries() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertSeries(
+        test.subSeries(DATE_2011_01_01, DATE_2013_01_01),
+        SPARSE.subSeries(DATE_2011_01_01, DATE_2013_01_01));
+    assertSeries(
+        test.subSeries(date(2010, 6, 1), date(2013, 6, 1)),
+        SPARSE.subSeries(date(2010, 6, 1), date(2013, 6, 1)));
+    assertSeries(test.subSeries(date(2000, 1, 1), date(2020, 1, 1)), SPARSE);
+    assertEquals(test.subSeries(DATE_2011_01_01, DATE_2011_01_01), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.subSeries(date(2011, 6, 1), date(2011, 7, 1)).isEmpty(), true);
+    assertThrowsIllegalArg(() -> test.subSeries(DATE_2013_01_01, DATE_2011_01_01));
+  }
+
+  public void test_subSeries_ofSubSeries() {
+    LocalDateDoubleTimeSeries test = mapped(DENSE);
+    LocalDate start = date(2003, 1, 1);
+    LocalDate end = date(2005, 1, 1);
+    LocalDateDoubleTimeSeries sub = test.subSeries(start, end);
+    assertThat(sub).isInstanceOf(MappedLocalDateDoubleTimeSeries.class);
+    assertSeries(sub, DENSE.subSeries(start, end));
+    assertSeries(sub.subSeries(date(2004, 1, 1), date(2006, 1, 1)), DENSE.subSeries(date(2004, 1, 1), end));
+    assertSeries(sub.headSeries(10), DENSE.subSeries(start, end).headSeries(10));
+    assertSeries(sub.tailSeries(10), DENSE.subSeries(start, end).tailSeries(10));
+  }
+
+  public void test_headTailSeries() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertSeries(test.headSeries(2), SPARSE.headSeries(2));
+    assertSeries(test.tailSeries(2), SPARSE.tailSeries(2));
+    assertEquals(test.headSeries(5), test);
+    assertEquals(test.tailSeries(6), test);
+    assertEquals(test.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.tailSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> test.headSeries(-1));
+    assertThrowsIllegalArg(() -> test.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_streams() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertEquals(test.stream().collect(toList()), SPARSE.stream().collect(toList()));
+    assertEquals(test.dates().collect(toList()), SPARSE.dates().collect(toList()));
+    assertEquals(test.values().boxed().collect(toList()), SPARSE.values().boxed().collect(toList()));
+    StringBuilder buf = new StringBuilder();
+    test.forEach((date, value) -> buf.append(date).append('=').append(value).append(' '));
+    assertEquals(buf.toString(), "2010-01-01=10.0 2011-01-01=11.0 2012-01-01=12.0 2013-01-01=13.0 2014-01-01=14.0 ");
+  }
+
+  public void test_transformations() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    assertEquals(test.mapValues(v -> v * 2), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.mapDates(d -> d.plusDays(1)), SPARSE.mapDates(d -> d.plusDays(1)));
+    assertEquals(test.filter((d, v) -> v > 11), SPARSE.filter((d, v) -> v > 11));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(test);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(ois.readObject(), SPARSE);
+    }
+  }
+
+  public void test_equalsHashCodeToString() {
+    LocalDateDoubleTimeSeries test = mapped(SPARSE);
+    LocalDateDoubleTimeSeries test2 = mapped(SPARSE);
+    assertEquals(test, test);
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertNotEquals(test, mapped(SPARSE.mapValues(v -> v + 1)));
+    assertNotEquals(test, mapped(SPARSE.headSeries(4)));
+    assertNotEquals(test, SPARSE);
+    assertNotEquals(test, null);
+    assertEquals(test.tailSeries(2), mapped(SPARSE.tailSeries(2)));
+    assertEquals(test.toString(), SPARSE.toString());
+  }
+
+  //-------------------------------------------------------------------------
+  // asserts that the time-series is a mapped view equal to the expected series
+  private static void assertSeries(LocalDateDoubleTimeSeries test, LocalDateDoubleTimeSeries expected) {
+    assertThat(test).isInstanceOf(MappedLocalDateDoubleTimeSeries.class);
+    assertEquals(test.toBuilder().build(), expected);
+    assertEquals(test.size(), expected.size());
+  }
+
+  // maps the time-series via an in-memory file
+  private static LocalDateDoubleTimeSeries mapped(LocalDateDoubleTimeSeries series) {
+    byte[] bytes = write(ImmutableMap.of("Test", series));
+    return LocalDateDoubleTimeSeriesFile.of(ByteBuffer.wrap(bytes)).getTimeSeries("Test");
+  }
+
+  // writes the time-series to bytes
+  private static byte[] write(ImmutableMap<String, LocalDateDoubleTimeSeries> series) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalDateDoubleTimeSeriesFile.write(series, out);
+    return out.toByteArray();
+  }
+
+  // writes the time-series to a temporary file
+  private static Path tempFile(ImmutableMap<String, LocalDateDoubleTimeSeries> series) throws IOException {
+    File file = File.createTempFile("time-series-file-test", ".bin");
+    file.deleteOnExit();
+    try (OutputStream out = Files.newOutputStream(file.toPath())) {
+      LocalDateDoubleTimeSeriesFile.write(series, out);
+    }
+    return file.toPath();
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.function.ObjIntFunction;
 
 /**
@@ -100,6 +101,70 @@ public interface MarketDataBox<T> {
     return ScenarioMarketDataBox.of(scenarioValues);
   }
 
+  /**
+   * Obtains an instance containing values for multiple scenarios derived by perturbing market data.
+   * <p>
+   * This is an alternative to {@link #mapWithIndex(int, ObjIntFunction)} that avoids creating
+   * a perturbed copy of the market data for every scenario up front.
+   * The underlying market data is shared, and the value for a scenario is only created by
+   * the perturbation function when it is requested, for example via {@link #getValue(int)}.
+   * The perturbation function should therefore hold its data compactly, such as a vector of shifts,
+   * and must be safe to invoke more than once for the same scenario.
+   * The values created are held softly, thus may be created again if reclaimed by the garbage collector.
+   * <p>
+   * The box is never equal to a box created by {@link #ofScenarioValues(List)} or
+   * {@link #mapWithIndex(int, ObjIntFunction)}, even if the values are equal.
+   * <p>
+   * If the underlying box contains a single value it is used for all scenarios.
+   * Otherwise it must have the specified number of scenarios.
+   *
+   * @param <T> the type of the underlying market data value
+   * @param <R> the type of the perturbed market data value used in each scenario
+   * @param marketData  the underlying market data
+   * @param scenarioCount  the number of scenarios
+   * @param perturbation  the function that perturbs the underlying value, given the scenario index
+   * @return a box containing the perturbed market data, created on demand for each scenario
+   * @throws IllegalArgumentException if the scenario count does not match the underlying market data
+   */
+  public static <T, R> MarketDataBox<R> ofPerturbedValues(
+      MarketDataBox<T> marketData,
+      int scenarioCount,
+      ObjIntFunction<T, R> perturbation) {
+
+    return ScenarioMarketDataBox.of(PerturbedScenarioArray.of(marketData, scenarioCount, perturbation));
+  }
+
+  /**
+   * Obtains an instance containing values for multiple scenarios derived by applying a scenario perturbation.
+   * <p>
+   * This is equivalent to {@link #ofPerturbedValues(MarketDataBox, int, ObjIntFunction)}, where the
+   * number of scenarios is that of the scenario perturbation. The function creates the value for
+   * each scenario, and is expected to be derived from the scenario perturbation, such as a method reference.
+   * Two boxes created by this method are equal if the underlying market data and the scenario perturbations are equal.
+   * As such, the result of applying a perturbation is not equal to the result of the same perturbation
+   * applied eagerly, for example via {@link #mapWithIndex(int, ObjIntFunction)}.
+   * <p>
+   * If the underlying box contains a single value it is used for all scenarios.
+   * Otherwise it must have the same number of scenarios as the scenario perturbation.
+   *
+   * @param <T> the type of the underlying market data value
+   * @param <R> the type of the perturbed market data value used in each scenario
+   * @param marketData  the underlying market data
+   * @param scenarioPerturbation  the scenario perturbation, used for the scenario count and equality
+   * @param perturbation  the function that perturbs the underlying value, given the scenario index
+   * @return a box containing the perturbed market data, created on demand for each scenario
+   * @throws IllegalArgumentException if the scenario count does not match the underlying market data
+   */
+  public static <T, R> MarketDataBox<R> ofPerturbedValues(
+      MarketDataBox<T> marketData,
+      ScenarioPerturbation<?> scenarioPerturbation,
+      ObjIntFunction<T, R> perturbation) {
+
+    ArgChecker.notNull(scenarioPerturbation, "scenarioPerturbation");
+    return ScenarioMarketDataBox.of(PerturbedScenarioArray.of(
+        marketData, scenarioPerturbation.getScenarioCount(), perturbation, scenarioPerturbation));
+  }
+
   /**
    * Obtains an instance containing no market data.
    *
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+
+/**
+ * A scenario array where each value is created on demand by perturbing underlying market data.
+ * <p>
+ * Perturbing market data for a large number of scenarios would normally create a full copy
+ * of the data for each scenario, even though only a small set of shifts differs between scenarios.
+ * Instead, this array holds the underlying market data, which is shared, and the perturbation function,
+ * which typically holds the shifts compactly, such as one row of a matrix per scenario.
+ * The value for a scenario is only created when it is requested.
+ * <p>
+ * Once created, the value for a scenario is held by a soft reference, as it is normally requested
+ * repeatedly, for example once for each trade. The garbage collector can therefore reclaim the values
+ * when memory is needed, rather than all the perturbed copies being retained for the life of the array,
+ * in which case the value is created again when next requested. Concurrent requests for the same
+ * scenario may each create the value, in which case each caller receives an equal value.
+ * <p>
+ * Equality is based on the underlying market data, the scenario count and the source of the perturbation.
+ * The source is the object from which the perturbation function was derived, such as a {@link ScenarioPerturbation},
+ * since functions created from method references or lambdas are never equal.
+ * An instance is never equal to another type of scenario array, such as {@link DefaultScenarioArray},
+ * even if it contains equal values.
+ * <p>
+ * When serialized, the values of all the scenarios are created and stored.
+ *
+ * @param <T>  the type of the underlying market data
+ * @param <R>  the type of the perturbed market data
+ */
+final class PerturbedScenarioArray<T, R>
+    implements ScenarioArray<R>, Serializable {
+
+  /**
+   * The underlying market data, shared by all scenarios.
+   */
+  private final MarketDataBox<T> marketData;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The function that creates the value for a scenario from the underlying value and scenario index.
+   */
+  private final ObjIntFunction<T, R> perturbation;
+  /**
+   * The source of the perturbation, used for equality.
+   */
+  private final Object source;
+  /**
+   * The values that have been created, held softly, null for scenarios not yet requested.
+   */
+  private final transient AtomicReferenceArray<SoftReference<R>> values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the underlying market data and the perturbation.
+   * <p>
+   * If the underlying market data contains a single value, it is used for all scenarios.
+   * Otherwise, it must have the specified number of scenarios.
+   * The perturbation function is its own source for equality.
+   *
+   * @param <T>  the type of the underlying market data
+   * @param <R>  the type of the perturbed market data
+   * @param marketData  the underlying market data
+   * @param scenarioCount  the number of scenarios
+   * @param perturbation  the function that creates the value for a scenario
+   * @return the scenario array
+   */
+  static <T, R> PerturbedScenarioArray<T, R> of(
+      MarketDataBox<T> marketData,
+      int scenarioCount,
+      ObjIntFunction<T, R> perturbation) {
+
+    return of(marketData, scenarioCount, perturbation, perturbation);
+  }
+
+  /**
+   * Obtains an instance from the underlying market data, the perturbation and its source.
+   * <p>
+   * If the underlying market data contains a single value, it is used for all scenarios.
+   * Otherwise, it must have the specified number of scenarios.
+   *
+   * @param <T>  the type of the underlying market data
+   * @param <R>  the type of the perturbed market data
+   * @param marketData  the underlying market data
+   * @param scenarioCount  the number of scenarios
+   * @param perturbation  the function that creates the value for a scenario
+   * @param source  the object the perturbation function is derived from, used for equality
+   * @return the scenario array
+   */
+  static <T, R> PerturbedScenarioArray<T, R> of(
+      MarketDataBox<T> marketData,
+      int scenarioCount,
+      ObjIntFunction<T, R> perturbation,
+      Object source) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    ArgChecker.notNull(perturbation, "perturbation");
+    ArgChecker.notNull(source, "source");
+    if (marketData.isScenarioValue() && marketData.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "Scenario count {} does not equal the scenario count of the value {}",
+              scenarioCount,
+              marketData.getScenarioCount()));
+    }
+    return new PerturbedScenarioArray<>(marketData, scenarioCount, perturbation, source);
+  }
+
+  // restricted constructor
+  private PerturbedScenarioArray(
+      MarketDataBox<T> marketData,
+      int scenarioCount,
+      ObjIntFunction<T, R> perturbation,
+      Object source) {
+
+    this.marketData = marketData;
+    this.scenarioCount = scenarioCount;
+    this.perturbation = perturbation;
+    this.source = source;
+    this.values = new AtomicReferenceArray<>(scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public R get(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    SoftReference<R> cached = values.get(scenarioIndex);
+    R value = cached != null ? cached.get() : null;
+    if (value == null) {
+      value = perturbation.apply(marketData.getValue(scenarioIndex), scenarioIndex);
+      values.set(scenarioIndex, new SoftReference<>(value));
+    }
+    return value;
+  }
+
+  // replaces this instance with the values of all the scenarios when serialized
+  private Object writeReplace() {
+    return DefaultScenarioArray.of(scenarioCount, this::get);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof PerturbedScenarioArray) {
+      PerturbedScenarioArray<?, ?> other = (PerturbedScenarioArray<?, ?>) obj;
+      return scenarioCount == other.scenarioCount &&
+          marketData.equals(other.marketData) &&
+          source.equals(other.source);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(marketData, scenarioCount, source);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("PerturbedScenarioArray[marketData={}, scenarioCount={}]", marketData, scenarioCount);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+
+/**
+ * Test {@link PerturbedScenarioArray}.
+ */
+@Test
+public class PerturbedScenarioArrayTest {
+
+  private static final ObjIntFunction<Integer, Integer> ADD_INDEX = (v, idx) -> v + idx;
+
+  //-------------------------------------------------------------------------
+  public void test_ofPerturbedValues_single() {
+    AtomicInteger count = new AtomicInteger();
+    MarketDataBox<Integer> test = MarketDataBox.ofPerturbedValues(
+        MarketDataBox.ofSingleValue(27),
+        3,
+        (v, idx) -> {
+          count.incrementAndGet();
+          return v + idx;
+        });
+    assertThat(count.get()).isEqualTo(0);
+    assertThat(test.isScenarioValue()).isTrue();
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getValue(2)).isEqualTo(29);
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(test.getValue(2)).isEqualTo(29);
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(test.getValue(0)).isEqualTo(27);
+    assertThat(test.getValue(1)).isEqualTo(28);
+    assertThat(count.get()).isEqualTo(3);
+    assertThat(test.getValue(2)).isEqualTo(29);
+    assertThat(count.get()).isEqualTo(3);
+    assertThat(test.stream().collect(toList())).containsExactly(27, 28, 29);
+    assertThat(count.get()).isEqualTo(3);
+    assertThat(test.map(v -> v * 2)).isEqualTo(MarketDataBox.ofScenarioValues(54, 56, 58));
+  }
+
+  public void test_ofPerturbedValues_scenario() {
+    MarketDataBox<Integer> test = MarketDataBox.ofPerturbedValues(
+        MarketDataBox.ofScenarioValues(27, 28, 29), 3, ADD_INDEX);
+    assertThat(test.getScenarioValue()).isInstanceOf(PerturbedScenarioArray.class);
+    assertThat(test.getValue(0)).isEqualTo(27);
+    assertThat(test.getValue(1)).isEqualTo(29);
+    assertThat(test.getValue(2)).isEqualTo(31);
+    assertThat(test.getMarketDataType()).isEqualTo(Integer.class);
+  }
+
+  public void test_ofPerturbedValues_invalid() {
+    MarketDataBox<Integer> box = MarketDataBox.ofScenarioValues(27, 28, 29);
+    assertThrowsIllegalArg(() -> MarketDataBox.ofPerturbedValues(box, 4, ADD_INDEX));
+    assertThrowsIllegalArg(() -> MarketDataBox.ofPerturbedValues(box, 0, ADD_INDEX));
+    assertThrowsIllegalArg(() -> MarketDataBox.ofPerturbedValues(box, 3, null));
+    MarketDataBox<Integer> test = MarketDataBox.ofPerturbedValues(box, 3, ADD_INDEX);
+    assertThrowsIllegalArg(() -> test.getValue(-1));
+    assertThrowsIllegalArg(() -> test.getValue(3));
+  }
+
+  public void test_ofPerturbedValues_scenarioPerturbation() {
+    MarketDataBox<Integer> box = MarketDataBox.ofSingleValue(27);
+    ScenarioPerturbation<Integer> perturbation = new TestPerturbation(3);
+    MarketDataBox<Integer> test = MarketDataBox.ofPerturbedValues(box, perturbation, ADD_INDEX);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getValue(2)).isEqualTo(29);
+    assertThat(test).isEqualTo(MarketDataBox.ofPerturbedValues(box, new TestPerturbation(3), (v, idx) -> v + idx));
+    assertThat(test.hashCode())
+        .isEqualTo(MarketDataBox.ofPerturbedValues(box, new TestPerturbation(3), ADD_INDEX).hashCode());
+    assertThat(test).isNotEqualTo(MarketDataBox.ofPerturbedValues(box, new TestPerturbation(2), ADD_INDEX));
+    // never equal to the same values created eagerly
+    assertThat(test).isNotEqualTo(MarketDataBox.ofScenarioValues(27, 28, 29));
+    assertThat(test).isNotEqualTo(box.mapWithIndex(3, ADD_INDEX));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_serialization() throws Exception {
+    PerturbedScenarioArray<Integer, Integer> test =
+        PerturbedScenarioArray.of(MarketDataBox.ofSingleValue(27), 3, ADD_INDEX);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(test);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertThat(ois.readObject()).isEqualTo(ScenarioArray.of(27, 28, 29));
+    }
+  }
+
+  public void test_equalsHashCodeToString() {
+    MarketDataBox<Integer> box = MarketDataBox.ofSingleValue(27);
+    PerturbedScenarioArray<Integer, Integer> test = PerturbedScenarioArray.of(box, 3, ADD_INDEX);
+    assertThat(test).isEqualTo(test);
+    assertThat(test).isEqualTo(PerturbedScenarioArray.of(box, 3, ADD_INDEX));
+    assertThat(test.hashCode()).isEqualTo(PerturbedScenarioArray.of(box, 3, ADD_INDEX).hashCode());
+    assertThat(test).isNotEqualTo(PerturbedScenarioArray.of(box, 2, ADD_INDEX));
+    assertThat(test).isNotEqualTo(PerturbedScenarioArray.of(MarketDataBox.ofSingleValue(28), 3, ADD_INDEX));
+    assertThat(test).isNotEqualTo(PerturbedScenarioArray.of(box, 3, (v, idx) -> v));
+    assertThat(test).isNotEqualTo(ScenarioArray.of(27, 28, 29));
+    assertThat(test).isNotEqualTo(null);
+    assertThat(test).isNotEqualTo("");
+    assertThat(test.toString()).contains("scenarioCount=3");
+  }
+
+  //-------------------------------------------------------------------------
+  // a perturbation that is equal to another with the same scenario count
+  private static final class TestPerturbation implements ScenarioPerturbation<Integer> {
+
+    private final int scenarioCount;
+
+    private TestPerturbation(int scenarioCount) {
+      this.scenarioCount = scenarioCount;
+    }
+
+    @Override
+    public MarketDataBox<Integer> applyTo(MarketDataBox<Integer> marketData, ReferenceData refData) {
+      return MarketDataBox.ofPerturbedValues(marketData, this, ADD_INDEX);
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return scenarioCount;
+    }
+
+    @Override
+    public Class<Integer> getMarketDataType() {
+      return Integer.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof TestPerturbation && ((TestPerturbation) obj).scenarioCount == scenarioCount;
+    }
+
+    @Override
+    public int hashCode() {
+      return scenarioCount;
+    }
+  }
+
+}
@@ -21,7 +21,7 @@ import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.io.UnicodeBom;
@@ -211,18 +211,16 @@ public final class QuotesCsvLoader {
       CharSource resource,
       Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap) {
 
-    try {
-      CsvFile csv = CsvFile.of(resource, true);
-      for (CsvRow row : csv.rows()) {
+    try (CsvIterator csv = CsvIterator.of(resource, true)) {
+      for (CsvRow row : (Iterable<CsvRow>) () -> csv) {
         String dateText = row.getField(DATE_FIELD);
         LocalDate date = LoaderUtils.parseDate(dateText);
         if (datePredicate.test(date)) {
           String symbologyStr = row.getField(SYMBOLOGY_FIELD);
           String tickerStr = row.getField(TICKER_FIELD);
           String fieldNameStr = row.getField(FIELD_NAME_FIELD);
-          String valueStr = row.getField(VALUE_FIELD);
 
-          double value = Double.valueOf(valueStr);
+          double value = row.getDouble(VALUE_FIELD);
           StandardId id = StandardId.of(symbologyStr, tickerStr);
           FieldName fieldName = fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr);
 
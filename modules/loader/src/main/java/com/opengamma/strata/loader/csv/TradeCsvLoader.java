@@ -12,10 +12,18 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -195,6 +203,11 @@ import com.opengamma.strata.product.swap.type.SingleCurrencySwapConvention;
  * <p>
  * The quantity will normally be set from the 'Quantity' column.
  * If that column is not found, the 'Long Quantity' and 'Short Quantity' columns will be used instead.
+ * 
+ * <h4>Streaming</h4>
+ * <p>
+ * Large files can be parsed in batches using {@link #parseBatches(CharSource, Class, int)}.
+ * This avoids holding all the trades in memory, and allows the batches to be parsed in parallel.
  */
 public final class TradeCsvLoader {
 
@@ -395,6 +408,82 @@ public final class TradeCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a CSV format trade file as a stream of batches.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * This method uses {@link UnicodeBom} to interpret it.
+   * <p>
+   * See {@link #parseBatches(CharSource, Class, int)} for details of the stream.
+   * 
+   * @param resource  the CSV resource
+   * @param batchSize  the minimum number of rows in each batch, other than the last
+   * @return the stream of batches of loaded trades, all errors are captured in the batches
+   */
+  public Stream<ValueWithFailures<List<Trade>>> loadBatches(ResourceLocator resource, int batchSize) {
+    return parseBatches(UnicodeBom.toCharSource(resource.getByteSource()), Trade.class, batchSize);
+  }
+
+  /**
+   * Parses a CSV format trade file as a stream of batches with a quiet type filter.
+   * <p>
+   * The file is read lazily as the stream is consumed, with each element of the stream
+   * being the trades and failures parsed from a batch of rows.
+   * This allows very large files to be processed without holding all the trades in memory.
+   * For example, each batch could be passed to a calculation runner as soon as it is parsed.
+   * <p>
+   * Each batch contains at least the specified number of rows, other than the last.
+   * A batch may contain more rows to avoid splitting the rows that define a single trade.
+   * A trade type is specified to filter the trades.
+   * Trades that do not match the type are silently dropped.
+   * <p>
+   * The stream may be made {@linkplain Stream#parallel() parallel}, in which case the rows are read
+   * sequentially but the batches are parsed in parallel. Use {@link Stream#forEachOrdered(Consumer)}
+   * if the batches must be processed in the order of the file.
+   * <p>
+   * The stream holds the file open, thus it should be closed, such as using try-with-resources:
+   * <pre>
+   *  try (Stream&lt;ValueWithFailures&lt;List&lt;Trade&gt;&gt;&gt; stream = loader.loadBatches(file, 1000)) {
+   *    stream.parallel().forEach(batch -&gt; process(batch));
+   *  }
+   * </pre>
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSource  the CSV character source
+   * @param tradeType  the trade type to return
+   * @param batchSize  the minimum number of rows in each batch, other than the last
+   * @return the stream of batches of loaded trades, all errors are captured in the batches
+   */
+  public <T extends Trade> Stream<ValueWithFailures<List<T>>> parseBatches(
+      CharSource charSource,
+      Class<T> tradeType,
+      int batchSize) {
+
+    ArgChecker.notNull(charSource, "charSource");
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    CsvIterator csv;
+    try {
+      csv = CsvIterator.of(charSource, true);
+    } catch (RuntimeException ex) {
+      return Stream.of(ValueWithFailures.of(ImmutableList.of(), parseFailure(ex, charSource)));
+    }
+    if (!csv.headers().contains(TYPE_FIELD)) {
+      csv.close();
+      return Stream.of(ValueWithFailures.of(
+          ImmutableList.of(),
+          FailureItem.of(
+              FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, charSource)));
+    }
+    return StreamSupport.stream(new RowBatchSpliterator(csv, batchSize, charSource), false)
+        .map(batch -> parseBatch(batch, tradeType))
+        .onClose(csv::close);
+  }
+
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -403,7 +492,7 @@ public final class TradeCsvLoader {
             ImmutableList.of(),
             FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, charSource));
       }
-      return parseFile(csv, tradeType);
+      return parseRows(csv, tradeType);
 
     } catch (RuntimeException ex) {
       return ValueWithFailures.of(
@@ -413,8 +502,17 @@ public final class TradeCsvLoader {
     }
   }
 
-  // loads a single CSV file
-  private <T extends Trade> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> tradeType) {
+  // parses a batch of rows, retaining any failure that occurred when reading the rows
+  private <T extends Trade> ValueWithFailures<List<T>> parseBatch(
+      ValueWithFailures<List<CsvRow>> batch,
+      Class<T> tradeType) {
+
+    ValueWithFailures<List<T>> parsed = parseRows(Iterators.peekingIterator(batch.getValue().iterator()), tradeType);
+    return parsed.combinedWith(batch, (trades, rows) -> trades);
+  }
+
+  // parses the rows of a single CSV file, or a batch of rows from the file
+  private <T extends Trade> ValueWithFailures<List<T>> parseRows(PeekingIterator<CsvRow> csv, Class<T> tradeType) {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     while (csv.hasNext()) {
@@ -491,6 +589,17 @@ public final class TradeCsvLoader {
     return ValueWithFailures.of(trades, failures);
   }
 
+  // creates the failure when the file cannot be parsed
+  private static FailureItem parseFailure(RuntimeException ex, CharSource charSource) {
+    return FailureItem.of(
+        FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource);
+  }
+
+  // checks if the row is a 'Variable' row, which must be kept with the preceding 'Swap' row
+  private static boolean isVariable(CsvRow row) {
+    return row.findValue(TYPE_FIELD).map(type -> type.toUpperCase(Locale.ENGLISH).equals("VARIABLE")).orElse(false);
+  }
+
   // parse the trade info
   private TradeInfo parseTradeInfo(CsvRow row) {
     TradeInfoBuilder infoBuilder = TradeInfo.builder();
@@ -506,4 +615,70 @@ public final class TradeCsvLoader {
     return infoBuilder.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Spliterator that reads batches of rows from a CSV file.
+   * <p>
+   * Each split reads a single batch, so that the rows are read sequentially
+   * while the batches can be parsed in parallel.
+   * An error reading the file is returned as a failure in the batch, ending the iteration.
+   */
+  private static final class RowBatchSpliterator
+      extends Spliterators.AbstractSpliterator<ValueWithFailures<List<CsvRow>>> {
+
+    private final CsvIterator csv;
+    private final int batchSize;
+    private final CharSource charSource;
+    private boolean failed;
+
+    private RowBatchSpliterator(CsvIterator csv, int batchSize, CharSource charSource) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+      this.csv = csv;
+      this.batchSize = batchSize;
+      this.charSource = charSource;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ValueWithFailures<List<CsvRow>>> action) {
+      ValueWithFailures<List<CsvRow>> batch = nextBatch();
+      if (batch == null) {
+        return false;
+      }
+      action.accept(batch);
+      return true;
+    }
+
+    @Override
+    public Spliterator<ValueWithFailures<List<CsvRow>>> trySplit() {
+      ValueWithFailures<List<CsvRow>> batch = nextBatch();
+      if (batch == null) {
+        return null;
+      }
+      Iterator<ValueWithFailures<List<CsvRow>>> it = Iterators.singletonIterator(batch);
+      return Spliterators.spliterator(it, 1, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    // reads the next batch, keeping the 'Variable' rows with the preceding 'Swap'
+    private synchronized ValueWithFailures<List<CsvRow>> nextBatch() {
+      if (failed) {
+        return null;
+      }
+      List<CsvRow> rows = new ArrayList<>();
+      try {
+        while (rows.size() < batchSize && csv.hasNext()) {
+          rows.add(csv.next());
+        }
+        while (csv.hasNext() && isVariable(csv.peek())) {
+          rows.add(csv.next());
+        }
+        return rows.isEmpty() ? null : ValueWithFailures.of(rows);
+
+      } catch (RuntimeException ex) {
+        // the rows read before the error are retained
+        failed = true;
+        return ValueWithFailures.of(rows, parseFailure(ex, charSource));
+      }
+    }
+  }
+
 }
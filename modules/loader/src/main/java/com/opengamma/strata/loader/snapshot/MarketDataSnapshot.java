@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.MAGIC;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.TAG_BEAN;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.TAG_DOUBLE;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.TAG_NODAL_CURVE;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.TYPE_MARKET_DATA;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.TYPE_SCENARIO_MARKET_DATA;
+import static com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter.VERSION;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * The index of a binary market data snapshot.
+ * <p>
+ * This reads the identifiers in the snapshot, recording the location of each value.
+ * Each value is only decoded when it is first requested, and is then retained.
+ * <p>
+ * The buffer is only accessed using absolute positions, or via a duplicate, thus this class is thread-safe.
+ */
+final class MarketDataSnapshot {
+
+  /**
+   * The buffer containing the snapshot.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * Whether the snapshot is of scenario market data.
+   */
+  private final boolean scenarios;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The valuation date.
+   */
+  private final MarketDataBox<LocalDate> valuationDate;
+  /**
+   * The values, decoded on demand.
+   */
+  private final ImmutableMap<MarketDataId<?>, Supplier<MarketDataBox<?>>> values;
+  /**
+   * The time-series, decoded on demand.
+   */
+  private final ImmutableMap<ObservableId, Supplier<LocalDateDoubleTimeSeries>> timeSeries;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the index of the snapshot in the buffer.
+   *
+   * @param buffer  the buffer containing the snapshot, which must not be altered
+   * @return the snapshot
+   * @throws IllegalArgumentException if the buffer does not contain a valid snapshot
+   */
+  static MarketDataSnapshot read(ByteBuffer buffer) {
+    try {
+      return new MarketDataSnapshot(buffer);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+      throw new IllegalArgumentException("Invalid market data snapshot, unexpected end of data", ex);
+    }
+  }
+
+  // restricted constructor
+  private MarketDataSnapshot(ByteBuffer buffer) {
+    this.buffer = buffer;
+    ByteBuffer header = buffer.duplicate();
+    header.position(0);
+    if (header.remaining() < 8 || header.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Invalid market data snapshot, incorrect file marker");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported market data snapshot version: " + version);
+    }
+    byte type = header.get();
+    if (type != TYPE_MARKET_DATA && type != TYPE_SCENARIO_MARKET_DATA) {
+      throw new IllegalArgumentException("Invalid market data snapshot, unknown type: " + type);
+    }
+    this.scenarios = type == TYPE_SCENARIO_MARKET_DATA;
+    this.scenarioCount = header.getInt();
+    int dateCount = header.getInt();
+    this.valuationDate = box(dateCount, header.position(), 4, (pos) -> LocalDate.ofEpochDay(buffer.getInt(pos)));
+    header.position(header.position() + Math.max(dateCount, 1) * 4);
+    String[] strings = new String[header.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = readString(header);
+    }
+    ImmutableMap.Builder<MarketDataId<?>, Supplier<MarketDataBox<?>>> values = ImmutableMap.builder();
+    readQuotes(header, strings, values);
+    readFxRates(header, strings, values);
+    readOthers(header, values);
+    this.values = values.build();
+    this.timeSeries = readTimeSeries(header);
+  }
+
+  // reads the quote identifiers
+  private void readQuotes(
+      ByteBuffer in,
+      String[] strings,
+      ImmutableMap.Builder<MarketDataId<?>, Supplier<MarketDataBox<?>>> builder) {
+
+    int size = in.getInt();
+    int start = in.position();
+    int valuesPosition = start + size * 20;
+    for (int i = 0; i < size; i++) {
+      StandardId standardId = StandardId.of(
+          strings[in.getInt(start + i * 4)],
+          strings[in.getInt(start + (size + i) * 4)]);
+      FieldName fieldName = FieldName.of(strings[in.getInt(start + (size * 2 + i) * 4)]);
+      ObservableSource source = ObservableSource.of(strings[in.getInt(start + (size * 3 + i) * 4)]);
+      int count = in.getInt(start + (size * 4 + i) * 4);
+      int position = valuesPosition;
+      builder.put(
+          QuoteId.of(standardId, fieldName, source),
+          Suppliers.memoize(() -> box(count, position, 8, pos -> buffer.getDouble(pos))));
+      valuesPosition += Math.max(count, 1) * 8;
+    }
+    in.position(valuesPosition);
+  }
+
+  // reads the FX rate identifiers
+  private void readFxRates(
+      ByteBuffer in,
+      String[] strings,
+      ImmutableMap.Builder<MarketDataId<?>, Supplier<MarketDataBox<?>>> builder) {
+
+    int size = in.getInt();
+    int start = in.position();
+    int valuesPosition = start + size * 16;
+    for (int i = 0; i < size; i++) {
+      CurrencyPair pair = CurrencyPair.of(
+          Currency.of(strings[in.getInt(start + i * 4)]),
+          Currency.of(strings[in.getInt(start + (size + i) * 4)]));
+      ObservableSource source = ObservableSource.of(strings[in.getInt(start + (size * 2 + i) * 4)]);
+      int count = in.getInt(start + (size * 3 + i) * 4);
+      int position = valuesPosition;
+      builder.put(
+          FxRateId.of(pair, source),
+          Suppliers.memoize(() -> box(count, position, 8, pos -> FxRate.of(pair, buffer.getDouble(pos)))));
+      valuesPosition += Math.max(count, 1) * 8;
+    }
+    in.position(valuesPosition);
+  }
+
+  // reads the identifiers of the other values
+  private void readOthers(ByteBuffer in, ImmutableMap.Builder<MarketDataId<?>, Supplier<MarketDataBox<?>>> builder) {
+    int size = in.getInt();
+    for (int i = 0; i < size; i++) {
+      MarketDataId<?> id = readBean(in, MarketDataId.class);
+      byte tag = in.get();
+      int count = in.getInt();
+      int length = in.getInt();
+      int position = in.position();
+      if (tag == TAG_DOUBLE) {
+        builder.put(id, Suppliers.memoize(() -> box(count, position, 8, pos -> buffer.getDouble(pos))));
+      } else if (tag == TAG_NODAL_CURVE) {
+        builder.put(id, Suppliers.memoize(() -> readElements(count, position, MarketDataSnapshot::readNodalCurve)));
+      } else if (tag == TAG_BEAN) {
+        builder.put(id, Suppliers.memoize(() -> readElements(count, position, in2 -> readBean(in2, Object.class))));
+      } else {
+        throw new IllegalArgumentException("Invalid market data snapshot, unknown tag: " + tag);
+      }
+      in.position(position + length);
+    }
+  }
+
+  // reads the time-series identifiers
+  private ImmutableMap<ObservableId, Supplier<LocalDateDoubleTimeSeries>> readTimeSeries(ByteBuffer in) {
+    ImmutableMap.Builder<ObservableId, Supplier<LocalDateDoubleTimeSeries>> builder = ImmutableMap.builder();
+    int size = in.getInt();
+    for (int i = 0; i < size; i++) {
+      ObservableId id = readBean(in, ObservableId.class);
+      int points = in.getInt();
+      int position = in.position();
+      builder.put(id, Suppliers.memoize(() -> readTimeSeries(points, position)));
+      in.position(position + points * 12);
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // decodes a box of fixed size elements
+  private static <T> MarketDataBox<T> box(int count, int position, int elementSize, IntFunction<T> reader) {
+    if (count == 0) {
+      return MarketDataBox.ofSingleValue(reader.apply(position));
+    }
+    List<T> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      elements.add(reader.apply(position + i * elementSize));
+    }
+    return MarketDataBox.ofScenarioValues(elements);
+  }
+
+  // decodes a box of variable size elements
+  private MarketDataBox<?> readElements(int count, int position, Function<ByteBuffer, ?> reader) {
+    ByteBuffer in = buffer.duplicate();
+    in.position(position);
+    if (count == 0) {
+      return MarketDataBox.ofSingleValue(reader.apply(in));
+    }
+    List<Object> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      elements.add(reader.apply(in));
+    }
+    return MarketDataBox.ofScenarioValues(elements);
+  }
+
+  // decodes a curve
+  private static InterpolatedNodalCurve readNodalCurve(ByteBuffer in) {
+    CurveMetadata metadata = readBean(in, CurveMetadata.class);
+    CurveInterpolator interpolator = CurveInterpolator.of(readString(in));
+    CurveExtrapolator extrapolatorLeft = CurveExtrapolator.of(readString(in));
+    CurveExtrapolator extrapolatorRight = CurveExtrapolator.of(readString(in));
+    int size = in.getInt();
+    double[] xValues = new double[size];
+    in.asDoubleBuffer().get(xValues);
+    in.position(in.position() + size * 8);
+    double[] yValues = new double[size];
+    in.asDoubleBuffer().get(yValues);
+    in.position(in.position() + size * 8);
+    return InterpolatedNodalCurve.of(
+        metadata,
+        DoubleArray.ofUnsafe(xValues),
+        DoubleArray.ofUnsafe(yValues),
+        interpolator,
+        extrapolatorLeft,
+        extrapolatorRight);
+  }
+
+  // decodes a time-series
+  private LocalDateDoubleTimeSeries readTimeSeries(int points, int position) {
+    List<LocalDate> dates = new ArrayList<>(points);
+    for (int i = 0; i < points; i++) {
+      dates.add(LocalDate.ofEpochDay(buffer.getInt(position + i * 4)));
+    }
+    ByteBuffer in = buffer.duplicate();
+    in.position(position + points * 4);
+    double[] values = new double[points];
+    in.asDoubleBuffer().get(values);
+    return LocalDateDoubleTimeSeries.builder().putAll(dates, values).build();
+  }
+
+  // reads a bean
+  private static <T> T readBean(ByteBuffer in, Class<T> type) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return JodaBeanSer.COMPACT.binReader().read(bytes, type);
+  }
+
+  // reads a string
+  private static String readString(ByteBuffer in) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the snapshot contains scenario market data.
+   *
+   * @return true if the snapshot contains scenario market data
+   */
+  boolean isScenarios() {
+    return scenarios;
+  }
+
+  /**
+   * Gets the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  MarketDataBox<LocalDate> getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Gets the values, decoded on demand.
+   *
+   * @return the values
+   */
+  ImmutableMap<MarketDataId<?>, Supplier<MarketDataBox<?>>> getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the time-series, decoded on demand.
+   *
+   * @return the time-series
+   */
+  ImmutableMap<ObservableId, Supplier<LocalDateDoubleTimeSeries>> getTimeSeries() {
+    return timeSeries;
+  }
+
+}
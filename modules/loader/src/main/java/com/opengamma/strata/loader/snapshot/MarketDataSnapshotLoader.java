@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.common.io.ByteSource;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Loads market data from the binary snapshot format.
+ * <p>
+ * Snapshots are written by {@link MarketDataSnapshotWriter}.
+ * <p>
+ * Loading a snapshot only reads the identifiers of the market data it contains.
+ * Each value, such as a curve or time-series, is decoded from the snapshot when it is first requested,
+ * and is then retained. When loading from a file, the file is memory-mapped rather than read into memory.
+ * <p>
+ * The returned market data is thread-safe, but is not serializable.
+ * To obtain a serializable instance, copy the values into {@code ImmutableMarketData}.
+ */
+public final class MarketDataSnapshotLoader {
+
+  /**
+   * Loads a snapshot of market data from a file, using a memory-mapped buffer.
+   * <p>
+   * The file must not be altered while the market data is in use.
+   *
+   * @param file  the snapshot file
+   * @return the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not a valid snapshot of market data
+   */
+  public static MarketData load(Path file) {
+    return marketData(MarketDataSnapshot.read(map(file)));
+  }
+
+  /**
+   * Parses a snapshot of market data.
+   * <p>
+   * The snapshot is read into memory.
+   *
+   * @param source  the snapshot source
+   * @return the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the source is not a valid snapshot of market data
+   */
+  public static MarketData parse(ByteSource source) {
+    return marketData(MarketDataSnapshot.read(read(source)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a snapshot of scenario market data from a file, using a memory-mapped buffer.
+   * <p>
+   * The file must not be altered while the market data is in use.
+   *
+   * @param file  the snapshot file
+   * @return the scenario market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not a valid snapshot of scenario market data
+   */
+  public static ScenarioMarketData loadScenarios(Path file) {
+    return scenarioMarketData(MarketDataSnapshot.read(map(file)));
+  }
+
+  /**
+   * Parses a snapshot of scenario market data.
+   * <p>
+   * The snapshot is read into memory.
+   *
+   * @param source  the snapshot source
+   * @return the scenario market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the source is not a valid snapshot of scenario market data
+   */
+  public static ScenarioMarketData parseScenarios(ByteSource source) {
+    return scenarioMarketData(MarketDataSnapshot.read(read(source)));
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the market data
+  private static MarketData marketData(MarketDataSnapshot snapshot) {
+    if (snapshot.isScenarios()) {
+      throw new IllegalArgumentException("Snapshot contains scenario market data, use loadScenarios()");
+    }
+    return new SnapshotMarketData(snapshot);
+  }
+
+  // creates the scenario market data
+  private static ScenarioMarketData scenarioMarketData(MarketDataSnapshot snapshot) {
+    if (!snapshot.isScenarios()) {
+      throw new IllegalArgumentException("Snapshot contains market data without scenarios, use load()");
+    }
+    return new SnapshotScenarioMarketData(snapshot);
+  }
+
+  // maps the file into memory, the mapping remains valid after the channel is closed
+  private static ByteBuffer map(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Snapshot file is too large, must be less than 2Gb: " + file);
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the source into memory
+  private static ByteBuffer read(ByteSource source) {
+    ArgChecker.notNull(source, "source");
+    return ByteBuffer.wrap(Unchecked.wrap(() -> source.read()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private MarketDataSnapshotLoader() {
+  }
+
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Writes market data to the binary snapshot format.
+ * <p>
+ * The snapshot format is a compact binary representation of a complete set of {@link MarketData}
+ * or {@link ScenarioMarketData}, intended to be loaded quickly using {@link MarketDataSnapshotLoader}.
+ * <p>
+ * The format stores the common types of market data as primitive columns or arrays:
+ * <ul>
+ * <li>quotes keyed by {@link QuoteId}, as columns of identifiers and a column of values
+ * <li>FX rates keyed by {@link FxRateId}, as columns of currencies and a column of rates
+ * <li>{@linkplain InterpolatedNodalCurve nodal curves}, as arrays of x-values and y-values
+ * <li>time-series, as an array of dates and an array of values
+ * </ul>
+ * Other values, and the identifiers of curves and time-series, are stored using
+ * Joda-Beans binary serialization, thus they must be beans.
+ * <p>
+ * The snapshot file must be smaller than 2Gb.
+ */
+public final class MarketDataSnapshotWriter {
+
+  /**
+   * The marker at the start of a snapshot, 'STMD'.
+   */
+  static final int MAGIC = 0x53544D44;
+  /**
+   * The version of the format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The type of a snapshot of {@link MarketData}.
+   */
+  static final byte TYPE_MARKET_DATA = 0;
+  /**
+   * The type of a snapshot of {@link ScenarioMarketData}.
+   */
+  static final byte TYPE_SCENARIO_MARKET_DATA = 1;
+  /**
+   * The tag of a value that is a {@code Double}.
+   */
+  static final byte TAG_DOUBLE = 1;
+  /**
+   * The tag of a value that is an {@code InterpolatedNodalCurve}.
+   */
+  static final byte TAG_NODAL_CURVE = 2;
+  /**
+   * The tag of a value that is a bean.
+   */
+  static final byte TAG_BEAN = 3;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the market data to the output stream.
+   * <p>
+   * The stream is not closed by this method.
+   *
+   * @param marketData  the market data
+   * @param out  the output stream
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the market data contains an identifier or value that cannot be written
+   */
+  public static void write(MarketData marketData, OutputStream out) {
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(out, "out");
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new LinkedHashMap<>();
+    for (MarketDataId<?> id : marketData.getIds()) {
+      values.put(id, MarketDataBox.ofSingleValue(marketData.getValue(id)));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new LinkedHashMap<>();
+    for (ObservableId id : marketData.getTimeSeriesIds()) {
+      timeSeries.put(id, marketData.getTimeSeries(id));
+    }
+    write(TYPE_MARKET_DATA, 1, MarketDataBox.ofSingleValue(marketData.getValuationDate()), values, timeSeries, out);
+  }
+
+  /**
+   * Writes the scenario market data to the output stream.
+   * <p>
+   * The stream is not closed by this method.
+   *
+   * @param marketData  the scenario market data
+   * @param out  the output stream
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the market data contains an identifier or value that cannot be written
+   */
+  public static void write(ScenarioMarketData marketData, OutputStream out) {
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(out, "out");
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new LinkedHashMap<>();
+    for (MarketDataId<?> id : marketData.getIds()) {
+      values.put(id, marketData.getValue(id));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new LinkedHashMap<>();
+    for (ObservableId id : marketData.getTimeSeriesIds()) {
+      timeSeries.put(id, marketData.getTimeSeries(id));
+    }
+    write(
+        TYPE_SCENARIO_MARKET_DATA,
+        marketData.getScenarioCount(),
+        marketData.getValuationDate(),
+        values,
+        timeSeries,
+        out);
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the snapshot
+  private static void write(
+      byte type,
+      int scenarioCount,
+      MarketDataBox<LocalDate> valuationDate,
+      Map<MarketDataId<?>, MarketDataBox<?>> values,
+      Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries,
+      OutputStream out) {
+
+    // split the values into the sections of the snapshot
+    Map<QuoteId, MarketDataBox<?>> quotes = new LinkedHashMap<>();
+    Map<FxRateId, MarketDataBox<?>> fxRates = new LinkedHashMap<>();
+    Map<MarketDataId<?>, MarketDataBox<?>> others = new LinkedHashMap<>();
+    for (Entry<MarketDataId<?>, MarketDataBox<?>> entry : values.entrySet()) {
+      MarketDataId<?> id = entry.getKey();
+      MarketDataBox<?> box = entry.getValue();
+      checkType(id, box);
+      if (id instanceof QuoteId) {
+        quotes.put((QuoteId) id, box);
+      } else if (id instanceof FxRateId && isMatchingFxRate(((FxRateId) id), box)) {
+        fxRates.put((FxRateId) id, box);
+      } else {
+        others.put(id, box);
+      }
+    }
+    // build the string table used by the columns
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    for (QuoteId id : quotes.keySet()) {
+      strings.putIfAbsent(id.getStandardId().getScheme(), strings.size());
+      strings.putIfAbsent(id.getStandardId().getValue(), strings.size());
+      strings.putIfAbsent(id.getFieldName().getName(), strings.size());
+      strings.putIfAbsent(id.getObservableSource().getName(), strings.size());
+    }
+    for (FxRateId id : fxRates.keySet()) {
+      strings.putIfAbsent(id.getPair().getBase().getCode(), strings.size());
+      strings.putIfAbsent(id.getPair().getCounter().getCode(), strings.size());
+      strings.putIfAbsent(id.getObservableSource().getName(), strings.size());
+    }
+
+    try {
+      DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+      dataOut.writeInt(MAGIC);
+      dataOut.writeInt(VERSION);
+      dataOut.writeByte(type);
+      dataOut.writeInt(scenarioCount);
+      writeDates(dataOut, valuationDate);
+      dataOut.writeInt(strings.size());
+      for (String str : strings.keySet()) {
+        writeString(dataOut, str);
+      }
+      writeQuotes(dataOut, quotes, strings);
+      writeFxRates(dataOut, fxRates, strings);
+      writeOthers(dataOut, others);
+      writeTimeSeries(dataOut, timeSeries);
+      dataOut.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // checks if the rates in the box all have the same currency pair as the identifier
+  private static boolean isMatchingFxRate(FxRateId id, MarketDataBox<?> box) {
+    for (Object value : elements(box)) {
+      if (!(value instanceof FxRate) || !((FxRate) value).getPair().equals(id.getPair())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // writes the valuation dates
+  private static void writeDates(DataOutputStream out, MarketDataBox<LocalDate> box) throws IOException {
+    out.writeInt(count(box));
+    for (Object date : elements(box)) {
+      out.writeInt(Math.toIntExact(((LocalDate) date).toEpochDay()));
+    }
+  }
+
+  // writes the quotes as columns
+  private static void writeQuotes(
+      DataOutputStream out,
+      Map<QuoteId, MarketDataBox<?>> quotes,
+      Map<String, Integer> strings) throws IOException {
+
+    out.writeInt(quotes.size());
+    for (QuoteId id : quotes.keySet()) {
+      out.writeInt(strings.get(id.getStandardId().getScheme()));
+    }
+    for (QuoteId id : quotes.keySet()) {
+      out.writeInt(strings.get(id.getStandardId().getValue()));
+    }
+    for (QuoteId id : quotes.keySet()) {
+      out.writeInt(strings.get(id.getFieldName().getName()));
+    }
+    for (QuoteId id : quotes.keySet()) {
+      out.writeInt(strings.get(id.getObservableSource().getName()));
+    }
+    writeDoubleColumn(out, quotes.values());
+  }
+
+  // writes the FX rates as columns
+  private static void writeFxRates(
+      DataOutputStream out,
+      Map<FxRateId, MarketDataBox<?>> fxRates,
+      Map<String, Integer> strings) throws IOException {
+
+    out.writeInt(fxRates.size());
+    for (FxRateId id : fxRates.keySet()) {
+      out.writeInt(strings.get(id.getPair().getBase().getCode()));
+    }
+    for (FxRateId id : fxRates.keySet()) {
+      out.writeInt(strings.get(id.getPair().getCounter().getCode()));
+    }
+    for (FxRateId id : fxRates.keySet()) {
+      out.writeInt(strings.get(id.getObservableSource().getName()));
+    }
+    List<MarketDataBox<?>> rates = new ArrayList<>();
+    for (MarketDataBox<?> box : fxRates.values()) {
+      rates.add(box.map(value -> ((FxRate) value).fxRate(((FxRate) value).getPair())));
+    }
+    writeDoubleColumn(out, rates);
+  }
+
+  // writes the scenario counts, followed by the values
+  private static void writeDoubleColumn(DataOutputStream out, Iterable<MarketDataBox<?>> boxes) throws IOException {
+    for (MarketDataBox<?> box : boxes) {
+      out.writeInt(count(box));
+    }
+    for (MarketDataBox<?> box : boxes) {
+      for (Object value : elements(box)) {
+        out.writeDouble((Double) value);
+      }
+    }
+  }
+
+  // writes the other values, as a list of records
+  private static void writeOthers(
+      DataOutputStream out,
+      Map<MarketDataId<?>, MarketDataBox<?>> others) throws IOException {
+
+    out.writeInt(others.size());
+    for (Entry<MarketDataId<?>, MarketDataBox<?>> entry : others.entrySet()) {
+      MarketDataId<?> id = entry.getKey();
+      MarketDataBox<?> box = entry.getValue();
+      List<Object> elements = elements(box);
+      byte tag = tag(id, elements);
+      ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+      DataOutputStream payload = new DataOutputStream(payloadBytes);
+      for (Object value : elements) {
+        if (tag == TAG_DOUBLE) {
+          payload.writeDouble((Double) value);
+        } else if (tag == TAG_NODAL_CURVE) {
+          writeNodalCurve(payload, (InterpolatedNodalCurve) value);
+        } else {
+          writeBean(payload, (Bean) value, id);
+        }
+      }
+      writeBean(out, id, id);
+      out.writeByte(tag);
+      out.writeInt(count(box));
+      out.writeInt(payloadBytes.size());
+      payloadBytes.writeTo(out);
+    }
+  }
+
+  // checks the values are of the type of the identifier, as the type is not checked when read
+  private static void checkType(MarketDataId<?> id, MarketDataBox<?> box) {
+    Class<?> type = id.getMarketDataType();
+    for (Object value : elements(box)) {
+      if (!type.isInstance(value)) {
+        throw new IllegalArgumentException(Messages.format(
+            "Unable to write market data value to snapshot, expected type {} but was {}: {}",
+            type.getSimpleName(),
+            value.getClass().getSimpleName(),
+            id));
+      }
+    }
+  }
+
+    // determines how to write the value
+  private static byte tag(MarketDataId<?> id, List<Object> elements) {
+    if (elements.stream().allMatch(value -> value instanceof Double)) {
+      return TAG_DOUBLE;
+    }
+    if (elements.stream().allMatch(value -> value instanceof InterpolatedNodalCurve)) {
+      return TAG_NODAL_CURVE;
+    }
+    if (elements.stream().allMatch(value -> value instanceof Bean)) {
+      return TAG_BEAN;
+    }
+    throw new IllegalArgumentException("Unable to write market data value to snapshot, value is not a bean: " + id);
+  }
+
+  // writes a curve as arrays
+  private static void writeNodalCurve(DataOutputStream out, InterpolatedNodalCurve curve) throws IOException {
+    writeBean(out, curve.getMetadata(), curve.getName());
+    writeString(out, curve.getInterpolator().getName());
+    writeString(out, curve.getExtrapolatorLeft().getName());
+    writeString(out, curve.getExtrapolatorRight().getName());
+    out.writeInt(curve.getParameterCount());
+    for (int i = 0; i < curve.getParameterCount(); i++) {
+      out.writeDouble(curve.getXValues().get(i));
+    }
+    for (int i = 0; i < curve.getParameterCount(); i++) {
+      out.writeDouble(curve.getYValues().get(i));
+    }
+  }
+
+  // writes the time-series, as a list of records
+  private static void writeTimeSeries(
+      DataOutputStream out,
+      Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries) throws IOException {
+
+    out.writeInt(timeSeries.size());
+    for (Entry<ObservableId, LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+      ObservableId id = entry.getKey();
+      LocalDateDoubleTimeSeries series = entry.getValue();
+      writeBean(out, id, id);
+      out.writeInt(series.size());
+      for (LocalDate date : series.dates().toArray(LocalDate[]::new)) {
+        out.writeInt(Math.toIntExact(date.toEpochDay()));
+      }
+      for (double value : series.values().toArray()) {
+        out.writeDouble(value);
+      }
+    }
+  }
+
+  // writes a bean, which may be an identifier
+  private static void writeBean(DataOutputStream out, Object bean, Object description) throws IOException {
+    if (!(bean instanceof Bean)) {
+      throw new IllegalArgumentException(
+          "Unable to write market data to snapshot, identifier is not a bean: " + description);
+    }
+    byte[] bytes = JodaBeanSer.COMPACT.binWriter().write((Bean) bean);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  // writes a string
+  private static void writeString(DataOutputStream out, String str) throws IOException {
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  // the number of scenarios in the box, zero if a single value
+  private static int count(MarketDataBox<?> box) {
+    return box.isSingleValue() ? 0 : box.getScenarioCount();
+  }
+
+  // the values in the box
+  private static List<Object> elements(MarketDataBox<?> box) {
+    List<Object> elements = new ArrayList<>();
+    if (box.isSingleValue()) {
+      elements.add(box.getSingleValue());
+    } else {
+      for (int i = 0; i < box.getScenarioCount(); i++) {
+        elements.add(box.getValue(i));
+      }
+    }
+    return elements;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private MarketDataSnapshotWriter() {
+  }
+
+}
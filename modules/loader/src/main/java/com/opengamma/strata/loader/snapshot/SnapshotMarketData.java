@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.NamedMarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * Market data backed by a binary snapshot.
+ * <p>
+ * Each value is decoded from the snapshot when it is first requested.
+ */
+final class SnapshotMarketData
+    implements MarketData {
+
+  /**
+   * The snapshot.
+   */
+  private final MarketDataSnapshot snapshot;
+
+  /**
+   * Creates an instance.
+   *
+   * @param snapshot  the snapshot, which must not contain scenarios
+   */
+  SnapshotMarketData(MarketDataSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return snapshot.getValuationDate().getSingleValue();
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return snapshot.getValues().containsKey(id);
+  }
+
+  @Override
+  public <T> Optional<T> findValue(MarketDataId<T> id) {
+    Supplier<MarketDataBox<?>> supplier = snapshot.getValues().get(id);
+    if (supplier == null) {
+      return Optional.empty();
+    }
+    // no type check against id.getMarketDataType() as checked by MarketDataSnapshotWriter
+    @SuppressWarnings("unchecked")
+    T value = (T) supplier.get().getSingleValue();
+    return Optional.of(value);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return snapshot.getValues().keySet();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return snapshot.getValues().keySet().stream()
+        .filter(id -> id instanceof NamedMarketDataId)
+        .filter(id -> ((NamedMarketDataId<?>) id).getMarketDataName().equals(name))
+        .map(id -> (MarketDataId<T>) id)
+        .collect(toImmutableSet());
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return snapshot.getTimeSeries().keySet();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    Supplier<LocalDateDoubleTimeSeries> supplier = snapshot.getTimeSeries().get(id);
+    return supplier == null ? LocalDateDoubleTimeSeries.empty() : supplier.get();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SnapshotMarketData[valuationDate=" + getValuationDate() + ", values=" + getIds().size() +
+        ", timeSeries=" + getTimeSeriesIds().size() + "]";
+  }
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Loader and writer for binary snapshots of market data.
+ * <p>
+ * See {@link com.opengamma.strata.loader.snapshot.MarketDataSnapshotWriter}.
+ */
+package com.opengamma.strata.loader.snapshot;
@@ -19,6 +19,7 @@ import static com.opengamma.strata.basics.date.HolidayCalendarIds.EUTA;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
@@ -32,8 +33,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.testng.annotations.Test;
 
@@ -1241,6 +1244,61 @@ public class TradeCsvLoaderTest {
         "Trade type not allowed " + SwapTrade.class.getName() + ", only these types are supported: FraTrade, TermDepositTrade");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_loadBatches() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    ValueWithFailures<List<Trade>> expected = test.load(FILE);
+    for (int batchSize = 1; batchSize < 30; batchSize++) {
+      List<Trade> trades = new ArrayList<>();
+      List<FailureItem> failures = new ArrayList<>();
+      try (Stream<ValueWithFailures<List<Trade>>> stream = test.loadBatches(FILE, batchSize)) {
+        stream.forEach(batch -> {
+          trades.addAll(batch.getValue());
+          failures.addAll(batch.getFailures());
+        });
+      }
+      assertEquals(trades, expected.getValue());
+      assertEquals(failures, expected.getFailures());
+    }
+  }
+
+  public void test_parseBatches_parallel() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<SwapTrade> expected = test.parse(ImmutableList.of(FILE.getCharSource()), SwapTrade.class).getValue();
+    List<SwapTrade> trades = new ArrayList<>();
+    try (Stream<ValueWithFailures<List<SwapTrade>>> stream =
+        test.parseBatches(FILE.getCharSource(), SwapTrade.class, 2)) {
+      stream.parallel().forEachOrdered(batch -> trades.addAll(batch.getValue()));
+    }
+    assertEquals(trades, expected);
+  }
+
+  public void test_parseBatches_invalidFile() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    CharSource source = CharSource.wrap("Foo,Bar\n1,2");
+    List<ValueWithFailures<List<Trade>>> batches =
+        test.parseBatches(source, Trade.class, 10).collect(toImmutableList());
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getValue().size(), 0);
+    assertEquals(batches.get(0).getFailures().size(), 1);
+    assertEquals(batches.get(0).getFailures().get(0).getReason(), FailureReason.PARSING);
+  }
+
+  public void test_parseBatches_invalidRow() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    CharSource source = CharSource.wrap("Strata Trade Type,Id\nFoo,1\n\"Bar,2");
+    List<ValueWithFailures<List<Trade>>> batches = test.parseBatches(source, Trade.class, 1).collect(toImmutableList());
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getFailures().size(), 2);
+    assertEquals(batches.get(0).getFailures().get(0).getMessage(), "CSV file trade type 'Foo' is not known at line 2");
+    assertEquals(batches.get(0).getFailures().get(1).getReason(), FailureReason.PARSING);
+  }
+
+  public void test_parseBatches_invalidBatchSize() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    assertThrowsIllegalArg(() -> test.parseBatches(FILE.getCharSource(), Trade.class, 0));
+  }
+
   //-------------------------------------------------------------------------
   public void test_load_resolver() {
     AtomicInteger fraCount = new AtomicInteger();
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link MarketDataSnapshotLoader} and {@link MarketDataSnapshotWriter}.
+ */
+@Test
+public class MarketDataSnapshotLoaderTest {
+
+  private static final LocalDate VAL_DATE = date(2018, 6, 29);
+  private static final QuoteId QUOTE_ID1 = QuoteId.of(StandardId.of("OG", "Q1"));
+  private static final QuoteId QUOTE_ID2 =
+      QuoteId.of(StandardId.of("OG", "Q2"), FieldName.of("Bid"), ObservableSource.of("Vendor"));
+  private static final FxRateId FX_ID = FxRateId.of(GBP, USD);
+  private static final FxRateId FX_ID_INVERSE = FxRateId.of(USD, GBP);
+  private static final IndexQuoteId INDEX_ID = IndexQuoteId.of(GBP_LIBOR_3M);
+  private static final CurveId CURVE_ID = CurveId.of("Group", "Nodal");
+  private static final CurveId CURVE_ID2 = CurveId.of("Group", "Constant");
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates("Nodal", ACT_365F),
+      DoubleArray.of(0.5, 1, 2, 5, 10),
+      DoubleArray.of(0.010, 0.012, 0.015, 0.020, 0.022),
+      CurveInterpolators.NATURAL_SPLINE,
+      CurveExtrapolators.FLAT,
+      CurveExtrapolators.LINEAR);
+  private static final ConstantCurve CURVE2 = ConstantCurve.of(Curves.zeroRates("Constant", ACT_365F), 0.01);
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2018, 6, 27), 0.0071)
+      .put(date(2018, 6, 28), 0.0072)
+      .put(date(2018, 6, 29), 0.0073)
+      .build();
+  private static final LocalDateDoubleTimeSeries TIME_SERIES2 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2017, 6, 29), 101)
+      .put(date(2018, 6, 29), 102)
+      .build();
+
+  private static final ImmutableMarketData MARKET_DATA = ImmutableMarketData.builder(VAL_DATE)
+      .addValue(QUOTE_ID1, 1.25)
+      .addValue(QUOTE_ID2, -0.5)
+      .addValue(FX_ID, FxRate.of(GBP, USD, 1.31))
+      .addValue(FX_ID_INVERSE, FxRate.of(GBP, USD, 1.32))
+      .addValue(INDEX_ID, 0.0075)
+      .addValue(CURVE_ID, CURVE)
+      .addValue(CURVE_ID2, CURVE2)
+      .addTimeSeries(INDEX_ID, TIME_SERIES)
+      .addTimeSeries(QUOTE_ID1, TIME_SERIES2)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_parse() {
+    MarketData test = MarketDataSnapshotLoader.parse(ByteSource.wrap(write(MARKET_DATA)));
+    assertMarketData(test, MARKET_DATA);
+    assertThat(test.findIds(CurveName.of("Nodal"))).containsOnly(CURVE_ID);
+    assertThat(test.findValue(QuoteId.of(StandardId.of("OG", "Q3")))).isEmpty();
+    assertThrows(() -> test.getValue(QuoteId.of(StandardId.of("OG", "Q3"))), MarketDataNotFoundException.class);
+    assertThat(test.getTimeSeries(QUOTE_ID2)).isEqualTo(LocalDateDoubleTimeSeries.empty());
+    assertThat(test.toString()).contains("SnapshotMarketData");
+    // values are retained once decoded
+    assertThat(test.getValue(CURVE_ID)).isSameAs(test.getValue(CURVE_ID));
+  }
+
+  public void test_load() throws IOException {
+    Path file = tempFile(write(MARKET_DATA));
+    MarketData test = MarketDataSnapshotLoader.load(file);
+    assertMarketData(test, MARKET_DATA);
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.loadScenarios(file));
+  }
+
+  public void test_parse_empty() {
+    MarketData marketData = MarketData.empty(VAL_DATE);
+    MarketData test = MarketDataSnapshotLoader.parse(ByteSource.wrap(write(marketData)));
+    assertMarketData(test, marketData);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parseScenarios() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(
+        MarketDataBox.ofScenarioValues(VAL_DATE, VAL_DATE.plusDays(1), VAL_DATE.plusDays(2)))
+        .addScenarioValue(QUOTE_ID1, ImmutableList.of(1d, 2d, 3d))
+        .addValue(QUOTE_ID2, 4d)
+        .addScenarioValue(FX_ID, ImmutableList.of(
+            FxRate.of(GBP, USD, 1.3), FxRate.of(GBP, USD, 1.4), FxRate.of(GBP, USD, 1.5)))
+        .addValue(INDEX_ID, 0.0075)
+        .addScenarioValue(CURVE_ID, ImmutableList.of(CURVE, CURVE.withPerturbation((i, v, m) -> v + 0.001), CURVE))
+        .addValue(CURVE_ID2, CURVE2)
+        .addTimeSeries(INDEX_ID, TIME_SERIES)
+        .build();
+    ScenarioMarketData test = MarketDataSnapshotLoader.parseScenarios(ByteSource.wrap(write(marketData)));
+    assertThat(test.getValuationDate()).isEqualTo(marketData.getValuationDate());
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getIds()).isEqualTo(marketData.getIds());
+    for (MarketDataId<?> id : marketData.getIds()) {
+      assertThat(test.containsValue(id)).isTrue();
+      assertThat(test.getValue(id)).isEqualTo(marketData.getValue(id));
+    }
+    assertThat(test.getTimeSeriesIds()).isEqualTo(marketData.getTimeSeriesIds());
+    assertThat(test.getTimeSeries(INDEX_ID)).isEqualTo(TIME_SERIES);
+    assertThat(test.getTimeSeries(QUOTE_ID1)).isEqualTo(LocalDateDoubleTimeSeries.empty());
+    assertThat(test.findIds(CurveName.of("Constant"))).containsOnly(CURVE_ID2);
+    assertThat(test.findValue(QuoteId.of(StandardId.of("OG", "Q3")))).isEmpty();
+    assertThat(test.scenario(1).getValue(QUOTE_ID1)).isEqualTo(2d);
+    assertThat(test.toString()).contains("SnapshotScenarioMarketData");
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(write(marketData))));
+  }
+
+  public void test_loadScenarios() throws IOException {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(QUOTE_ID1, ImmutableList.of(1d, 2d))
+        .addTimeSeries(QUOTE_ID1, TIME_SERIES2)
+        .build();
+    ScenarioMarketData test = MarketDataSnapshotLoader.loadScenarios(tempFile(write(marketData)));
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getValue(QUOTE_ID1)).isEqualTo(MarketDataBox.ofScenarioValues(1d, 2d));
+    assertThat(test.getTimeSeries(QUOTE_ID1)).isEqualTo(TIME_SERIES2);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parse_invalid() {
+    byte[] bytes = write(MARKET_DATA);
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(new byte[0])));
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(Arrays.copyOf(bytes, 40))));
+    byte[] badVersion = bytes.clone();
+    badVersion[7] = 99;
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(badVersion)), ".*version.*");
+    byte[] badType = bytes.clone();
+    badType[8] = 99;
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteSource.wrap(badType)), ".*type.*");
+  }
+
+  public void test_write_notBean() {
+    MarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(new NonBeanId(), "Value")
+        .build();
+    assertThrowsIllegalArg(() -> write(marketData));
+  }
+
+  public void test_write_wrongType() {
+    // the type of the first scenario only is checked when the market data is built
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBoxMap(ImmutableMap.of(CURVE_ID, MarketDataBox.ofScenarioValues(CURVE, FxRate.of(GBP, USD, 1.5d))))
+        .build();
+    assertThrowsIllegalArg(() -> write(marketData), ".*expected type Curve.*");
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the loaded market data matches the expected market data
+  private static void assertMarketData(MarketData test, MarketData expected) {
+    assertThat(test.getValuationDate()).isEqualTo(expected.getValuationDate());
+    assertThat(test.getIds()).isEqualTo(expected.getIds());
+    for (MarketDataId<?> id : expected.getIds()) {
+      assertThat(test.containsValue(id)).isTrue();
+      assertThat(test.getValue(id)).isEqualTo(expected.getValue(id));
+    }
+    assertThat(test.getTimeSeriesIds()).isEqualTo(expected.getTimeSeriesIds());
+    for (ObservableId id : expected.getTimeSeriesIds()) {
+      assertThat(test.getTimeSeries(id)).isEqualTo(expected.getTimeSeries(id));
+    }
+  }
+
+  // writes the market data
+  private static byte[] write(MarketData marketData) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MarketDataSnapshotWriter.write(marketData, out);
+    return out.toByteArray();
+  }
+
+  // writes the scenario market data
+  private static byte[] write(ScenarioMarketData marketData) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MarketDataSnapshotWriter.write(marketData, out);
+    return out.toByteArray();
+  }
+
+  // writes the bytes to a temporary file
+  private static Path tempFile(byte[] bytes) throws IOException {
+    File file = File.createTempFile("market-data-snapshot-test", ".bin");
+    file.deleteOnExit();
+    Files.write(bytes, file);
+    return file.toPath();
+  }
+
+  // an identifier that is not a bean
+  private static final class NonBeanId implements MarketDataId<String> {
+    @Override
+    public Class<String> getMarketDataType() {
+      return String.class;
+    }
+  }
+
+}
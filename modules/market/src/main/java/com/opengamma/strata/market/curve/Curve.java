@@ -91,6 +91,21 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double yValue(double x);
 
+  /**
+   * Computes the y-values for the specified x-values, storing them in an array.
+   * <p>
+   * This is equivalent to calling {@link #yValue(double)} for each x-value.
+   * Implementations may be faster when the x-values are sorted in ascending order.
+   * 
+   * @param x  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, with at least one element for each x-value
+   */
+  public default void yValues(double[] x, double[] result) {
+    for (int i = 0; i < x.length; i++) {
+      result[i] = yValue(x[i]);
+    }
+  }
+
   /**
    * Computes the sensitivity of the y-value with respect to the curve parameters.
    * <p>
@@ -103,6 +118,22 @@ public interface Curve extends ParameterizedData {
    */
   public abstract UnitParameterSensitivity yValueParameterSensitivity(double x);
 
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters, storing it in an array.
+   * <p>
+   * This is equivalent to {@link #yValueParameterSensitivity(double)}, but writes the raw sensitivity
+   * into an array supplied by the caller rather than creating a new sensitivity object.
+   * This allows a single array to be reused when the sensitivity is needed at many x-values.
+   * The first {@linkplain #getParameterCount() parameter count} elements of the array are overwritten.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param result  the array to store the sensitivity in, with at least one element for each parameter
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void yValueParameterSensitivity(double x, double[] result) {
+    yValueParameterSensitivity(x).getSensitivity().copyInto(result, 0);
+  }
+
   /**
    * Computes the first derivative of the curve.
    * <p>
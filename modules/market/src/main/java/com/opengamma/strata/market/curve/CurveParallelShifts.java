@@ -39,6 +39,8 @@ import com.opengamma.strata.market.ShiftType;
  * <p>
  * For example, a relative shift of 0.1 (10%) multiplies each value on the curve by 1.1, and a shift of -0.2 (-20%)
  * multiplies the value by 0.8. So for relative shifts the shifted value is {@code (value x (1 + shift))}.
+ * <p>
+ * The shifted curve for each scenario is created when it is requested, sharing the underlying curve.
  */
 @BeanDefinition(builderScope = "private")
 public final class CurveParallelShifts
@@ -86,7 +88,7 @@ public final class CurveParallelShifts
   //-------------------------------------------------------------------------
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> curve, ReferenceData refData) {
-    return curve.mapWithIndex(getScenarioCount(), this::applyShift);
+    return MarketDataBox.ofPerturbedValues(curve, this, this::applyShift);
   }
 
   private Curve applyShift(Curve curve, int scenarioIndex) {
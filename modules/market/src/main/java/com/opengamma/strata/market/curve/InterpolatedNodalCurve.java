@@ -30,6 +30,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
@@ -243,11 +244,31 @@ public final class InterpolatedNodalCurve
     return boundInterpolator.interpolate(x);
   }
 
+  @Override
+  public void yValues(double[] x, double[] result) {
+    ArgChecker.isTrue(
+        result.length >= x.length,
+        "Result array must have at least {} elements, but was {}",
+        x.length,
+        result.length);
+    boundInterpolator.interpolate(x, result);
+  }
+
   @Override
   public UnitParameterSensitivity yValueParameterSensitivity(double x) {
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
   }
 
+  @Override
+  public void yValueParameterSensitivity(double x, double[] result) {
+    ArgChecker.isTrue(
+        result.length >= getParameterCount(),
+        "Sensitivity array must have at least {} elements, but was {}",
+        getParameterCount(),
+        result.length);
+    boundInterpolator.parameterSensitivity(x, result);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return boundInterpolator.firstDerivative(x);
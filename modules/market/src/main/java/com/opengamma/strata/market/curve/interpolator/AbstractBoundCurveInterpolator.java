@@ -152,6 +152,94 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final void parameterSensitivity(double xValue, double[] result) {
+    if (xValue < firstXValue) {
+      extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue).copyInto(result, 0);
+    } else if (xValue > lastXValue) {
+      extrapolatorRight.rightExtrapolateParameterSensitivity(xValue).copyInto(result, 0);
+    } else {
+      doParameterSensitivity(xValue, result);
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate parameter sensitivity, storing it in an array.
+   * <p>
+   * Every element of the array up to the number of curve parameters must be overwritten.
+   * By default, this copies the result of {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param result  the array to store the sensitivity in
+   */
+  protected void doParameterSensitivity(double xValue, double[] result) {
+    doParameterSensitivity(xValue).copyInto(result, 0);
+  }
+
+  @Override
+  public final void interpolate(double[] xValues, double[] result) {
+    // the cursor is local to this call, thus not shared between threads
+    Cursor cursor = new Cursor();
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        result[i] = doInterpolate(xValue, cursor);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value, using a cursor to find the interval.
+   * <p>
+   * Callers can assume that {@code xValue} is less than the x-value of the last node.
+   * This is called for each x-value by {@link #interpolate(double[], double[])}.
+   * By default, this ignores the cursor and calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param cursor  the cursor, used to find the interval containing the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, Cursor cursor) {
+    return doInterpolate(xValue);
+  }
+
+  @Override
+  public final void parameterSensitivity(double[] xValues, double[][] result) {
+    // the cursor is local to this call, thus not shared between threads
+    Cursor cursor = new Cursor();
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue).copyInto(result[i], 0);
+      } else if (xValue > lastXValue) {
+        extrapolatorRight.rightExtrapolateParameterSensitivity(xValue).copyInto(result[i], 0);
+      } else {
+        doParameterSensitivity(xValue, result[i], cursor);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate parameter sensitivity, using a cursor to find the interval.
+   * <p>
+   * Every element of the array up to the number of curve parameters must be overwritten.
+   * This is called for each x-value by {@link #parameterSensitivity(double[], double[][])}.
+   * By default, this ignores the cursor and calls {@link #doParameterSensitivity(double, double[])}.
+   * 
+   * @param xValue  the x-value
+   * @param result  the array to store the sensitivity in
+   * @param cursor  the cursor, used to find the interval containing the x-value
+   */
+  protected void doParameterSensitivity(double xValue, double[] result, Cursor cursor) {
+    doParameterSensitivity(xValue, result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -197,4 +285,57 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * A cursor that remembers the interval found by the previous lookup.
+   * <p>
+   * When x-values are looked up in ascending order, each x-value is normally in the same interval
+   * as the previous one, or the next interval. The cursor checks these two intervals first,
+   * only performing the binary search of {@link AbstractBoundCurveInterpolator#lowerBoundIndex(double, double[])}
+   * if neither matches.
+   * <p>
+   * A cursor is mutable and must not be shared between threads.
+   * It is created for each batch of lookups, rather than being held by the bound interpolator,
+   * which is immutable and shared.
+   */
+  protected static final class Cursor {
+
+    /**
+     * The index found by the previous lookup.
+     */
+    private int index;
+
+    /**
+     * Creates an instance, starting at the first interval.
+     */
+    Cursor() {
+    }
+
+    /**
+     * Returns the index of the last value in the input array which is lower than the specified value.
+     * <p>
+     * The result is the same as {@link AbstractBoundCurveInterpolator#lowerBoundIndex(double, double[])},
+     * and the same conditions must be true for this method to work correctly.
+     * The same array must be used for every lookup with this cursor.
+     *
+     * @param xValue  a value which is less than the last element in {@code xValues}
+     * @param xValues  an array of values sorted in ascending order
+     * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+     */
+    public int lowerBoundIndex(double xValue, double[] xValues) {
+      int last = xValues.length - 1;
+      int hint = index;
+      if (hint < last && xValue < xValues[hint + 1] && (hint == 0 || xValue >= xValues[hint])) {
+        return hint;
+      }
+      hint++;
+      if (hint < last && xValue < xValues[hint + 1] && xValue >= xValues[hint]) {
+        index = hint;
+        return hint;
+      }
+      index = AbstractBoundCurveInterpolator.lowerBoundIndex(xValue, xValues);
+      return index;
+    }
+  }
+
 }
@@ -52,6 +52,58 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters, storing it in an array.
+   * <p>
+   * This is equivalent to {@link #parameterSensitivity(double)}, but writes the sensitivity into
+   * an array supplied by the caller, which allows the array to be reused for many x-values.
+   * Every element of the array up to the number of curve parameters is overwritten.
+   * Implementations may override this to avoid creating an intermediate array.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param result  the array to store the sensitivity in, one element for each parameter of the curve
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void parameterSensitivity(double x, double[] result) {
+    parameterSensitivity(x).copyInto(result, 0);
+  }
+
+  /**
+   * Computes the y-values for the specified x-values by interpolation, storing them in an array.
+   * <p>
+   * This is equivalent to calling {@link #interpolate(double)} for each x-value.
+   * Implementations may be faster when the x-values are sorted in ascending order,
+   * such as the dates of a schedule, by starting the search for each x-value from the previous one.
+   * 
+   * @param x  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, with at least one element for each x-value
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] x, double[] result) {
+    for (int i = 0; i < x.length; i++) {
+      result[i] = interpolate(x[i]);
+    }
+  }
+
+  /**
+   * Computes the sensitivity of the y-values with respect to the curve parameters, storing them in arrays.
+   * <p>
+   * This is equivalent to calling {@link #parameterSensitivity(double, double[])} for each x-value,
+   * storing the sensitivity of each x-value in the corresponding array.
+   * Implementations may be faster when the x-values are sorted in ascending order,
+   * such as the dates of a schedule, by starting the search for each x-value from the previous one.
+   * 
+   * @param x  the x-values at which the parameter sensitivity is computed
+   * @param result  the arrays to store the sensitivities in, one for each x-value,
+   *   each with at least one element for each parameter of the curve
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default void parameterSensitivity(double[] x, double[][] result) {
+    for (int i = 0; i < x.length; i++) {
+      parameterSensitivity(x[i], result[i]);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -149,7 +150,16 @@ final class DoubleQuadraticCurveInterpolator
     @Override
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return interpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, Cursor cursor) {
+      return interpolate(xValue, cursor.lowerBoundIndex(xValue, xValues));
+    }
+
+    // interpolates within the interval starting at the lower index
+    private double interpolate(double xValue, int lowerIndex) {
       int higherIndex = lowerIndex + 1;
       // at start of curve
       if (lowerIndex == 0) {
@@ -201,50 +211,61 @@ final class DoubleQuadraticCurveInterpolator
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      double[] result = new double[xValues.length];
+      doParameterSensitivity(xValue, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result) {
+      parameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result, Cursor cursor) {
+      parameterSensitivity(xValue, cursor.lowerBoundIndex(xValue, xValues), result);
+    }
+
+    // calculates the sensitivity within the interval starting at the lower index
+    private void parameterSensitivity(double xValue, int lowerIndex, double[] result) {
       int higherIndex = lowerIndex + 1;
       int n = xValues.length;
-      double[] result = new double[n];
+      Arrays.fill(result, 0, n, 0d);
       // at start of curve
       if (lowerIndex == 0) {
-        double[] temp = quadraticSensitivities(xValues, xValue, 1);
-        result[0] = temp[0];
-        result[1] = temp[1];
-        result[2] = temp[2];
-        return DoubleArray.ofUnsafe(result);
+        addQuadraticSensitivities(xValues, xValue, 1, 1d, result, 0);
+        return;
       }
       // at end of curve
       if (higherIndex == intervalCount) {
-        double[] temp = quadraticSensitivities(xValues, xValue, n - 2);
-        result[n - 3] = temp[0];
-        result[n - 2] = temp[1];
-        result[n - 1] = temp[2];
-        return DoubleArray.ofUnsafe(result);
+        addQuadraticSensitivities(xValues, xValue, n - 2, 1d, result, n - 3);
+        return;
       }
       // at last node
       if (lowerIndex == intervalCount) {
         result[n - 1] = 1;
-        return DoubleArray.ofUnsafe(result);
+        return;
       }
-      double[] temp1 = quadraticSensitivities(xValues, xValue, lowerIndex);
-      double[] temp2 = quadraticSensitivities(xValues, xValue, higherIndex);
       double w = WEIGHT_FUNCTION.getWeight((xValues[higherIndex] - xValue) / (xValues[higherIndex] - xValues[lowerIndex]));
-      result[lowerIndex - 1] = w * temp1[0];
-      result[lowerIndex] = w * temp1[1] + (1 - w) * temp2[0];
-      result[higherIndex] = w * temp1[2] + (1 - w) * temp2[1];
-      result[higherIndex + 1] = (1 - w) * temp2[2];
-      return DoubleArray.ofUnsafe(result);
+      addQuadraticSensitivities(xValues, xValue, lowerIndex, w, result, lowerIndex - 1);
+      addQuadraticSensitivities(xValues, xValue, higherIndex, 1 - w, result, higherIndex - 1);
     }
 
-    private static double[] quadraticSensitivities(double[] xValues, double x, int i) {
-      double[] result = new double[3];
+    // adds the weighted sensitivities of the quadratic centered on node i to three elements of the result
+    private static void addQuadraticSensitivities(
+        double[] xValues,
+        double x,
+        int i,
+        double weight,
+        double[] result,
+        int offset) {
+
       double deltaX = x - xValues[i];
       double h1 = xValues[i] - xValues[i - 1];
       double h2 = xValues[i + 1] - xValues[i];
-      result[0] = deltaX * (deltaX - h2) / h1 / (h1 + h2);
-      result[1] = 1 + deltaX * (h2 - h1 - deltaX) / h1 / h2;
-      result[2] = deltaX * (h1 + deltaX) / (h1 + h2) / h2;
-      return result;
+      result[offset] += weight * (deltaX * (deltaX - h2) / h1 / (h1 + h2));
+      result[offset + 1] += weight * (1 + deltaX * (h2 - h1 - deltaX) / h1 / h2);
+      result[offset + 2] += weight * (deltaX * (h1 + deltaX) / (h1 + h2) / h2);
     }
 
     @Override
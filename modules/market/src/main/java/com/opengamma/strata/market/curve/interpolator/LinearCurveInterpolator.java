@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -99,7 +100,16 @@ final class LinearCurveInterpolator
     @Override
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return interpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, Cursor cursor) {
+      return interpolate(xValue, cursor.lowerBoundIndex(xValue, xValues));
+    }
+
+    // interpolates within the interval starting at the lower index
+    private double interpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       return y1 + (xValue - x1) * gradients[lowerIndex];
@@ -148,6 +158,30 @@ final class LinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result) {
+      parameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result, Cursor cursor) {
+      parameterSensitivity(xValue, cursor.lowerBoundIndex(xValue, xValues), result);
+    }
+
+    // calculates the sensitivity within the interval starting at the lower index
+    private void parameterSensitivity(double xValue, int lowerIndex, double[] result) {
+      Arrays.fill(result, 0, yValues.length, 0d);
+      // check if x-value is at the last node
+      if (lowerIndex == intervalCount) {
+        // sensitivity is entirely to the last node
+        result[intervalCount] = 1d;
+      } else {
+        double a = (xValues[lowerIndex + 1] - xValue) / (xValues[lowerIndex + 1] - xValues[lowerIndex]);
+        result[lowerIndex] = a;
+        result[lowerIndex + 1] = 1 - a;
+      }
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
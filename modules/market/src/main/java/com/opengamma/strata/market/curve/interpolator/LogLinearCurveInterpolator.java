@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -71,12 +72,22 @@ final class LogLinearCurveInterpolator
     private final double[] xValues;
     private final double[] yValues;
     private final int intervalCount;
+    private final double[] logGradients;
 
     Bound(DoubleArray xValues, DoubleArray yValues) {
       super(xValues, yValues);
       this.xValues = xValues.toArrayUnsafe();
       this.yValues = yValues.toArrayUnsafe();
       this.intervalCount = xValues.size() - 1;
+      // the gradient of the log of the y-values in each interval
+      this.logGradients = new double[intervalCount];
+      for (int i = 0; i < intervalCount; i++) {
+        double x1 = xValues.get(i);
+        double y1 = yValues.get(i);
+        double x2 = xValues.get(i + 1);
+        double y2 = yValues.get(i + 1);
+        this.logGradients[i] = Math.log(y2 / y1) / (x2 - x1);
+      }
     }
 
     Bound(Bound base, BoundCurveExtrapolator extrapolatorLeft, BoundCurveExtrapolator extrapolatorRight) {
@@ -84,6 +95,7 @@ final class LogLinearCurveInterpolator
       this.xValues = base.xValues;
       this.yValues = base.yValues;
       this.intervalCount = base.intervalCount;
+      this.logGradients = base.logGradients;
     }
 
     //-------------------------------------------------------------------------
@@ -91,11 +103,12 @@ final class LogLinearCurveInterpolator
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
       int lowerIndex = lowerBoundIndex(xValue, xValues);
-      double x1 = xValues[lowerIndex];
-      double x2 = xValues[lowerIndex + 1];
-      double y1 = yValues[lowerIndex];
-      double y2 = yValues[lowerIndex + 1];
-      return Math.pow(y2 / y1, (xValue - x1) / (x2 - x1)) * y1;
+      return interpolate(xValue, lowerIndex);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, Cursor cursor) {
+      return interpolate(xValue, cursor.lowerBoundIndex(xValue, xValues));
     }
 
     @Override
@@ -106,11 +119,12 @@ final class LogLinearCurveInterpolator
         // if value is at last node, calculate using the previous interval
         lowerIndex--;
       }
-      double x1 = xValues[lowerIndex];
-      double x2 = xValues[lowerIndex + 1];
-      double y1 = yValues[lowerIndex];
-      double y2 = yValues[lowerIndex + 1];
-      return Math.pow(y2 / y1, (xValue - x1) / (x2 - x1)) * y1;
+      return interpolate(xValue, lowerIndex);
+    }
+
+    // interpolates within the interval starting at the lower index
+    private double interpolate(double xValue, int lowerIndex) {
+      return yValues[lowerIndex] * Math.exp((xValue - xValues[lowerIndex]) * logGradients[lowerIndex]);
     }
 
     @Override
@@ -119,25 +133,31 @@ final class LogLinearCurveInterpolator
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
-        double x1 = xValues[lowerIndex - 1];
-        double x2 = xValues[lowerIndex];
-        double y1 = yValues[lowerIndex - 1];
-        double y2 = yValues[lowerIndex];
-        return y2 * Math.log(y2 / y1) / (x2 - x1);
+        return yValues[lowerIndex] * logGradients[lowerIndex - 1];
       }
-      double x1 = xValues[lowerIndex];
-      double x2 = xValues[lowerIndex + 1];
-      double y1 = yValues[lowerIndex];
-      double y2 = yValues[lowerIndex + 1];
-      double yDiv = y2 / y1;
-      double xDiff = (x2 - x1);
-      return Math.pow(yDiv, (xValue - x1) / xDiff) * y1 * Math.log(yDiv) / xDiff;
+      return interpolate(xValue, lowerIndex) * logGradients[lowerIndex];
     }
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      doParameterSensitivity(xValue, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result) {
+      parameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result, Cursor cursor) {
+      parameterSensitivity(xValue, cursor.lowerBoundIndex(xValue, xValues), result);
+    }
+
+    // calculates the sensitivity within the interval starting at the lower index
+    private void parameterSensitivity(double xValue, int lowerIndex, double[] result) {
+      Arrays.fill(result, 0, yValues.length, 0d);
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
@@ -145,16 +165,13 @@ final class LogLinearCurveInterpolator
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
-        double y1 = yValues[lowerIndex];
-        double y2 = yValues[lowerIndex + 1];
+        double logGradient = logGradients[lowerIndex];
         double diffInv = 1.0 / (x2 - x1);
         double x1diffInv = (xValue - x1) * diffInv;
         double x2diffInv = (x2 - xValue) * diffInv;
-        double yDiv = y1 / y2;
-        result[lowerIndex] = Math.pow(yDiv, -x1diffInv) * x2diffInv;
-        result[lowerIndex + 1] = Math.pow(yDiv, x2diffInv) * x1diffInv;
+        result[lowerIndex] = Math.exp((xValue - x1) * logGradient) * x2diffInv;
+        result[lowerIndex + 1] = Math.exp((xValue - x2) * logGradient) * x1diffInv;
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
@@ -11,13 +11,10 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
-import com.opengamma.strata.math.impl.FunctionUtils;
 import com.opengamma.strata.math.impl.interpolation.NaturalSplineInterpolator;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialInterpolator;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResult;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResultsWithSensitivity;
-import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 
 /**
  * Natural spline interpolator.
@@ -38,10 +35,6 @@ final class NaturalSplineCurveInterpolator
    * The serialization version id.
    */
   private static final long serialVersionUID = 1L;
-  /**
-   * Underlying matrix algebra.
-   */
-  private static final MatrixAlgebra MA = new OGMatrixAlgebra();
 
   /**
    * Restricted constructor.
@@ -78,7 +71,9 @@ final class NaturalSplineCurveInterpolator
   static class Bound extends AbstractBoundCurveInterpolator {
     private final double[] xValues;
     private final double[] yValues;
-    private final PiecewisePolynomialResult poly;
+    private final double[] knots;
+    private final double[][] coefs;
+    private final double[][] firstDerivativeCoefs;
     private final Supplier<PiecewisePolynomialResultsWithSensitivity> polySens;
 
     Bound(DoubleArray xValues, DoubleArray yValues) {
@@ -86,7 +81,10 @@ final class NaturalSplineCurveInterpolator
       this.xValues = xValues.toArrayUnsafe();
       this.yValues = yValues.toArrayUnsafe();
       PiecewisePolynomialInterpolator underlying = new NaturalSplineInterpolator();
-      this.poly = underlying.interpolate(xValues.toArray(), yValues.toArray());
+      PiecewisePolynomialResult poly = underlying.interpolate(xValues.toArray(), yValues.toArray());
+      this.knots = poly.getKnots().toArrayUnsafe();
+      this.coefs = poly.getCoefMatrix().toArrayUnsafe();
+      this.firstDerivativeCoefs = firstDerivativeCoefs(coefs);
       this.polySens = Suppliers.memoize(() -> underlying.interpolateWithSensitivity(xValues.toArray(), yValues.toArray()));
     }
 
@@ -94,39 +92,39 @@ final class NaturalSplineCurveInterpolator
       super(base, extrapolatorLeft, extrapolatorRight);
       this.xValues = base.xValues;
       this.yValues = base.yValues;
-      this.poly = base.poly;
+      this.knots = base.knots;
+      this.coefs = base.coefs;
+      this.firstDerivativeCoefs = base.firstDerivativeCoefs;
       this.polySens = base.polySens;
     }
 
     //-------------------------------------------------------------------------
-    private static double evaluate(
-        double xValue,
-        DoubleArray knots,
-        DoubleMatrix coefMatrix,
-        int dimensions) {
-
-      // check for 1 less interval than knots 
-      int lowerBound = FunctionUtils.getLowerBoundIndex(knots, xValue);
-      int indicator = lowerBound == knots.size() - 1 ? lowerBound - 1 : lowerBound;
-      DoubleArray coefs = coefMatrix.row(dimensions * indicator);
-      return getValue(coefs.toArrayUnsafe(), xValue, knots.get(indicator));
+    // precomputes the coefficients of the first derivative in each interval
+    private static double[][] firstDerivativeCoefs(double[][] coefs) {
+      double[][] result = new double[coefs.length][];
+      for (int i = 0; i < coefs.length; i++) {
+        int nCoefs = coefs[i].length;
+        result[i] = new double[nCoefs - 1];
+        for (int j = 0; j < nCoefs - 1; j++) {
+          result[i][j] = coefs[i][j] * (nCoefs - j - 1);
+        }
+      }
+      return result;
     }
 
-    private static double differentiate(
-        double xValue,
-        DoubleArray knots,
-        DoubleMatrix coefMatrix,
-        int dimensions,
-        int nCoefs,
-        int numberOfIntervals) {
-
-      int rowCount = dimensions * numberOfIntervals;
-      int colCount = nCoefs - 1;
-      DoubleMatrix coef = DoubleMatrix.of(
-          rowCount,
-          colCount,
-          (i, j) -> coefMatrix.get(i, j) * (nCoefs - j - 1));
-      return evaluate(xValue, knots, coef, dimensions);
+    // finds the interval, there is 1 less interval than knots
+    private int interval(double xValue) {
+      return intervalOf(lowerBoundIndex(xValue, knots));
+    }
+
+    // finds the interval using the cursor
+    private int interval(double xValue, Cursor cursor) {
+      return intervalOf(cursor.lowerBoundIndex(xValue, knots));
+    }
+
+    // converts the lower bound index to the interval, the last knot is in the last interval
+    private int intervalOf(int lowerBound) {
+      return lowerBound == knots.length - 1 ? lowerBound - 1 : lowerBound;
     }
 
     /**
@@ -149,31 +147,51 @@ final class NaturalSplineCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
-      return evaluate(xValue, poly.getKnots(), poly.getCoefMatrix(), poly.getDimensions());
+      int interval = interval(xValue);
+      return getValue(coefs[interval], xValue, knots[interval]);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, Cursor cursor) {
+      int interval = interval(xValue, cursor);
+      return getValue(coefs[interval], xValue, knots[interval]);
     }
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int nCoefs = poly.getOrder();
-      int numberOfIntervals = poly.getNumberOfIntervals();
-      return differentiate(xValue, poly.getKnots(), poly.getCoefMatrix(), poly.getDimensions(), nCoefs, numberOfIntervals);
+      int interval = interval(xValue);
+      return getValue(firstDerivativeCoefs[interval], xValue, knots[interval]);
     }
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
-      int interval = FunctionUtils.getLowerBoundIndex(poly.getKnots(), xValue);
-      if (interval == poly.getKnots().size() - 1) {
-        interval--; // there is 1 less interval than knots
-      }
+      double[] result = new double[yValues.length];
+      doParameterSensitivity(xValue, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result) {
+      parameterSensitivity(xValue, interval(xValue), result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, double[] result, Cursor cursor) {
+      parameterSensitivity(xValue, interval(xValue, cursor), result);
+    }
+
+    // calculates the sensitivity within the interval
+    private void parameterSensitivity(double xValue, int interval, double[] result) {
       DoubleMatrix coefficientSensitivity = polySens.get().getCoefficientSensitivity(interval);
       int nCoefs = coefficientSensitivity.rowCount();
-      double s = xValue - poly.getKnots().get(interval);
-      DoubleArray res = coefficientSensitivity.row(0);
-      for (int i = 1; i < nCoefs; i++) {
-        res = (DoubleArray) MA.scale(res, s);
-        res = (DoubleArray) MA.add(res, coefficientSensitivity.row(i));
+      double s = xValue - knots[interval];
+      for (int j = 0; j < coefficientSensitivity.columnCount(); j++) {
+        double res = coefficientSensitivity.get(0, j);
+        for (int i = 1; i < nCoefs; i++) {
+          res = res * s + coefficientSensitivity.get(i, j);
+        }
+        result[j] = res;
       }
-      return res;
     }
 
     @Override
@@ -7,6 +7,7 @@ package com.opengamma.strata.market.param;
 
 import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -17,6 +18,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.joda.beans.Bean;
@@ -131,6 +133,44 @@ public final class CurrencyParameterSensitivities
     return new CurrencyParameterSensitivities(ImmutableList.copyOf(mutable));
   }
 
+  /**
+   * Returns a builder that can be used to aggregate sensitivities.
+   * <p>
+   * The builder merges entries with the same market data name and currency in place,
+   * which is more efficient than repeatedly calling {@link #combinedWith(CurrencyParameterSensitivities)}
+   * when aggregating a large number of sensitivities.
+   * 
+   * @return the builder
+   */
+  public static CurrencyParameterSensitivitiesBuilder builder() {
+    return new CurrencyParameterSensitivitiesBuilder();
+  }
+
+  /**
+   * Returns a collector that can be used to merge a stream of sensitivities.
+   * <p>
+   * Entries with the same market data name and currency are added together,
+   * as per {@link #combinedWith(CurrencyParameterSensitivities)}.
+   * The collector can be used with a parallel stream, such as when aggregating
+   * the sensitivities of a portfolio of trades, in which case the sensitivities
+   * are aggregated in separate builders that are then merged pairwise.
+   * <pre>
+   *   CurrencyParameterSensitivities total = trades.parallelStream()
+   *       .map(trade -> sensitivity(trade))
+   *       .collect(toMergedSensitivities());
+   * </pre>
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyParameterSensitivities, ?, CurrencyParameterSensitivities> toMergedSensitivities() {
+    return Collector.of(
+        CurrencyParameterSensitivitiesBuilder::new,
+        CurrencyParameterSensitivitiesBuilder::add,
+        CurrencyParameterSensitivitiesBuilder::add,
+        CurrencyParameterSensitivitiesBuilder::build,
+        UNORDERED);
+  }
+
   // used when not pre-sorted
   @ImmutableConstructor
   private CurrencyParameterSensitivities(List<? extends CurrencyParameterSensitivity> sensitivities) {
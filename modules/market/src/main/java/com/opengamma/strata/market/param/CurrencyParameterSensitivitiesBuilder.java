@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Mutable builder for aggregating instances of {@link CurrencyParameterSensitivities}.
+ * <p>
+ * This is created via {@link CurrencyParameterSensitivities#builder()}.
+ * <p>
+ * The sensitivities are held in a hash map keyed by market data name and currency.
+ * Adding a sensitivity with the same key as an existing entry sums the sensitivity values in place.
+ * As such, the cost of adding a sensitivity does not depend on the number of entries already added,
+ * unlike {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * To aggregate in parallel, use {@link CurrencyParameterSensitivities#toMergedSensitivities()}.
+ */
+public final class CurrencyParameterSensitivitiesBuilder {
+
+  /**
+   * The sensitivity entries, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, Entry> entries = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor used by {@code CurrencyParameterSensitivities.builder}.
+   */
+  CurrencyParameterSensitivitiesBuilder() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   * <p>
+   * Each entry has a different combination of market data name and currency.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Adds a sensitivity to the builder.
+   * <p>
+   * If the builder already contains an entry for the market data name and currency,
+   * the sensitivity values are added to those of the existing entry.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this builder
+   * @throws IllegalArgumentException if the number of parameters differs from that of the existing entry
+   */
+  public CurrencyParameterSensitivitiesBuilder add(CurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entries.put(key, new Entry(sensitivity));
+    } else {
+      entry.add(sensitivity.getSensitivity());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the sensitivities to the builder.
+   * <p>
+   * Each sensitivity entry is added as per {@link #add(CurrencyParameterSensitivity)}.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this builder
+   * @throws IllegalArgumentException if the number of parameters differs from that of an existing entry
+   */
+  public CurrencyParameterSensitivitiesBuilder add(CurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the sensitivities of another builder to this builder.
+   * <p>
+   * The other builder is not altered.
+   *
+   * @param other  the other builder
+   * @return this builder
+   * @throws IllegalArgumentException if the number of parameters differs from that of an existing entry
+   */
+  public CurrencyParameterSensitivitiesBuilder add(CurrencyParameterSensitivitiesBuilder other) {
+    ArgChecker.notNull(other, "other");
+    for (Entry otherEntry : other.entries.values()) {
+      CurrencyParameterSensitivity base = otherEntry.base;
+      Pair<MarketDataName<?>, Currency> key = Pair.of(base.getMarketDataName(), base.getCurrency());
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        entries.put(key, new Entry(base, otherEntry.values.clone()));
+      } else {
+        entry.add(otherEntry.values);
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the sensitivities from the builder.
+   * <p>
+   * The builder may continue to be used after this method is called.
+   *
+   * @return the sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>(entries.size());
+    for (Entry entry : entries.values()) {
+      sensitivities.add(entry.base.withSensitivity(DoubleArray.copyOf(entry.values)));
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A single mutable sensitivity entry.
+   */
+  private static final class Entry {
+
+    /** The sensitivity that was first added, providing the metadata. */
+    private final CurrencyParameterSensitivity base;
+    /** The sum of the sensitivity values. */
+    private final double[] values;
+
+    private Entry(CurrencyParameterSensitivity base) {
+      this(base, base.getSensitivity().toArray());
+    }
+
+    private Entry(CurrencyParameterSensitivity base, double[] values) {
+      this.base = base;
+      this.values = values;
+    }
+
+    // adds the values in place
+    private void add(DoubleArray other) {
+      checkSize(other.size());
+      for (int i = 0; i < values.length; i++) {
+        values[i] += other.get(i);
+      }
+    }
+
+    // adds the values in place
+    private void add(double[] other) {
+      checkSize(other.length);
+      for (int i = 0; i < values.length; i++) {
+        values[i] += other[i];
+      }
+    }
+
+    private void checkSize(int size) {
+      if (size != values.length) {
+        throw new IllegalArgumentException(Messages.format(
+            "Sensitivity array size {} must match size {} for {} in {}",
+            size, values.length, base.getMarketDataName(), base.getCurrency()));
+      }
+    }
+  }
+
+}
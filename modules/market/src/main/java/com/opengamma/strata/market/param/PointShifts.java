@@ -47,6 +47,9 @@ import com.opengamma.strata.market.ShiftType;
  * <p>
  * When matching the shift to the parameterized data, either the identifier or label parameter may be used.
  * A shift is not applied if there is no point on the parameterized data with a matching identifier.
+ * <p>
+ * The shifted data for each scenario is created when it is requested, thus only the matrix of shifts
+ * is held for each scenario rather than a copy of the parameterized data.
  *
  * @see ParameterMetadata#getIdentifier()
  */
@@ -123,8 +126,9 @@ public final class PointShifts
 
     log.debug("Applying {} point shift to ParameterizedData '{}'", shiftType,
         marketData.getValue(0).toString());
-    return marketData.mapWithIndex(
-        shifts.rowCount(),
+    return MarketDataBox.ofPerturbedValues(
+        marketData,
+        this,
         (prams, scenarioIndex) -> applyShifts(scenarioIndex, prams));
   }
 
@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Mutable builder for sensitivity to a group of curves, backed by primitive arrays.
+ * <p>
+ * This is an alternative to {@link MutablePointSensitivities} intended for building
+ * large numbers of point sensitivities, such as those of a swap with many periods.
+ * <p>
+ * Two parallel arrays are held, one of {@linkplain PointSensitivity point sensitivity} objects
+ * identifying the point on the curve that was queried, and one of sensitivity values.
+ * The value held by the point sensitivity object is ignored in favor of the value in the array.
+ * As such, multiplying, mapping and merging the sensitivities updates the array of values
+ * in place, without creating new point sensitivity objects.
+ * New point sensitivity objects are only created when the builder is built.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create an immutable {@link PointSensitivities} instance.
+ */
+public final class CompactPointSensitivities
+    implements PointSensitivityBuilder {
+
+  /**
+   * The default initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The point sensitivities, identifying the curve query.
+   * The sensitivity value of each entry is not used.
+   */
+  private PointSensitivity[] points;
+  /**
+   * The sensitivity values, parallel to the points.
+   */
+  private double[] values;
+  /**
+   * The number of entries.
+   */
+  private int size;
+
+  /**
+   * Creates an empty instance.
+   */
+  public CompactPointSensitivities() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty instance with the specified initial capacity.
+   *
+   * @param initialCapacity  the initial capacity, the builder will grow as needed
+   */
+  public CompactPointSensitivities(int initialCapacity) {
+    ArgChecker.notNegative(initialCapacity, "initialCapacity");
+    this.points = new PointSensitivity[initialCapacity];
+    this.values = new double[initialCapacity];
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   *
+   * @return the number of point sensitivities
+   */
+  public int size() {
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point sensitivity, mutating the internal arrays.
+   * <p>
+   * This instance will be mutated, with the new sensitivity added at the end.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public CompactPointSensitivities add(PointSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    return add(sensitivity, sensitivity.getSensitivity());
+  }
+
+  /**
+   * Adds a point sensitivity with the specified value, mutating the internal arrays.
+   * <p>
+   * This instance will be mutated, with the new sensitivity added at the end.
+   * The sensitivity value of the point is ignored, with the specified value used instead.
+   * This allows a sensitivity to be added without creating a new point sensitivity object.
+   *
+   * @param point  the point sensitivity identifying the curve query
+   * @param value  the sensitivity value
+   * @return {@code this}, for method chaining
+   */
+  public CompactPointSensitivities add(PointSensitivity point, double value) {
+    ArgChecker.notNull(point, "point");
+    ensureCapacity(size + 1);
+    points[size] = point;
+    values[size] = value;
+    size++;
+    return this;
+  }
+
+  /**
+   * Adds a list of point sensitivities, mutating the internal arrays.
+   * <p>
+   * This instance will be mutated, with the new sensitivities added at the end.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public CompactPointSensitivities addAll(List<? extends PointSensitivity> sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    ensureCapacity(size + sensitivities.size());
+    for (PointSensitivity sensitivity : sensitivities) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities of another instance, mutating the internal arrays.
+   * <p>
+   * This instance will be mutated, with the new sensitivities added at the end.
+   *
+   * @param other  the other sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public CompactPointSensitivities addAll(CompactPointSensitivities other) {
+    ArgChecker.notNull(other, "other");
+    int otherSize = other.size;
+    ensureCapacity(size + otherSize);
+    System.arraycopy(other.points, 0, points, size, otherSize);
+    System.arraycopy(other.values, 0, values, size, otherSize);
+    size += otherSize;
+    return this;
+  }
+
+  // grows the arrays if necessary
+  private void ensureCapacity(int capacity) {
+    if (capacity > points.length) {
+      int newCapacity = Math.max(capacity, points.length * 2);
+      points = Arrays.copyOf(points, newCapacity);
+      values = Arrays.copyOf(values, newCapacity);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CompactPointSensitivities withCurrency(Currency currency) {
+    for (int i = 0; i < size; i++) {
+      points[i] = points[i].withCurrency(currency);
+    }
+    return this;
+  }
+
+  @Override
+  public CompactPointSensitivities multipliedBy(double factor) {
+    for (int i = 0; i < size; i++) {
+      values[i] *= factor;
+    }
+    return this;
+  }
+
+  @Override
+  public CompactPointSensitivities mapSensitivity(DoubleUnaryOperator operator) {
+    for (int i = 0; i < size; i++) {
+      values[i] = operator.applyAsDouble(values[i]);
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Normalizes the point sensitivities by sorting and merging, mutating the internal arrays.
+   * <p>
+   * The sensitivities are sorted and then merged in place.
+   * Any two entries that represent the same curve query are merged.
+   * For example, if there are two point sensitivities that were created based on the same curve,
+   * currency and fixing date, then the entries are combined, summing the sensitivity value.
+   *
+   * @return {@code this}, for method chaining
+   */
+  @Override
+  public CompactPointSensitivities normalize() {
+    if (size < 2) {
+      return this;
+    }
+    sort();
+    int merged = 0;
+    for (int i = 1; i < size; i++) {
+      if (points[i].compareKey(points[merged]) == 0) {
+        values[merged] += values[i];
+      } else {
+        merged++;
+        points[merged] = points[i];
+        values[merged] = values[i];
+      }
+    }
+    Arrays.fill(points, merged + 1, size, null);
+    size = merged + 1;
+    return this;
+  }
+
+  // stable merge sort of the parallel arrays by key
+  private void sort() {
+    PointSensitivity[] pointsTmp = new PointSensitivity[size];
+    double[] valuesTmp = new double[size];
+    for (int width = 1; width < size; width *= 2) {
+      for (int start = 0; start < size - width; start += 2 * width) {
+        merge(start, start + width, Math.min(start + 2 * width, size), pointsTmp, valuesTmp);
+      }
+    }
+  }
+
+  // merges the two sorted runs [start, mid) and [mid, end)
+  private void merge(int start, int mid, int end, PointSensitivity[] pointsTmp, double[] valuesTmp) {
+    if (points[mid - 1].compareKey(points[mid]) <= 0) {
+      return;  // already in order, which is common as sensitivities tend to be added in date order
+    }
+    int length = mid - start;
+    System.arraycopy(points, start, pointsTmp, 0, length);
+    System.arraycopy(values, start, valuesTmp, 0, length);
+    int left = 0;
+    int right = mid;
+    int target = start;
+    while (left < length && right < end) {
+      if (points[right].compareKey(pointsTmp[left]) < 0) {
+        points[target] = points[right];
+        values[target++] = values[right++];
+      } else {
+        points[target] = pointsTmp[left];
+        values[target++] = valuesTmp[left++];
+      }
+    }
+    System.arraycopy(pointsTmp, left, points, target, length - left);
+    System.arraycopy(valuesTmp, left, values, target, length - left);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CompactPointSensitivities combinedWith(PointSensitivityBuilder other) {
+    ArgChecker.notNull(other, "other");
+    if (other instanceof CompactPointSensitivities) {
+      return other == this ? this : addAll((CompactPointSensitivities) other);
+    }
+    if (other instanceof PointSensitivity) {
+      return add((PointSensitivity) other);
+    }
+    if (other instanceof MutablePointSensitivities) {
+      return addAll(((MutablePointSensitivities) other).getSensitivitiesUnsafe());
+    }
+    if (other == NoPointSensitivity.INSTANCE) {
+      return this;
+    }
+    return addAll(other.buildInto(new MutablePointSensitivities()).getSensitivitiesUnsafe());
+  }
+
+  @Override
+  public MutablePointSensitivities buildInto(MutablePointSensitivities combination) {
+    for (int i = 0; i < size; i++) {
+      combination.add(point(i));
+    }
+    return combination;
+  }
+
+  @Override
+  public PointSensitivities build() {
+    List<PointSensitivity> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(point(i));
+    }
+    return PointSensitivities.of(list);
+  }
+
+  // obtains the point sensitivity at the index, only creating a new object if the value differs
+  private PointSensitivity point(int index) {
+    PointSensitivity point = points[index];
+    double value = values[index];
+    return Double.compare(point.getSensitivity(), value) == 0 ? point : point.withSensitivity(value);
+  }
+
+  @Override
+  public CompactPointSensitivities cloned() {
+    CompactPointSensitivities cloned = new CompactPointSensitivities(size);
+    return cloned.addAll(this);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CompactPointSensitivities) {
+      CompactPointSensitivities other = (CompactPointSensitivities) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (!point(i).equals(other.point(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + point(i).hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("CompactPointSensitivities{sensitivities=")
+        .append(build().getSensitivities())
+        .append('}')
+        .toString();
+  }
+
+}
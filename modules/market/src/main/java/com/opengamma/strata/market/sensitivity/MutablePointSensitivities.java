@@ -81,6 +81,18 @@ public final class MutablePointSensitivities
     return ImmutableList.copyOf(sensitivities);
   }
 
+  /**
+   * Gets the underlying list of point sensitivities, without copying.
+   * <p>
+   * This is intended for use within this package, where the list is only read.
+   * The list must not be mutated.
+   *
+   * @return the underlying list of point sensitivities
+   */
+  List<PointSensitivity> getSensitivitiesUnsafe() {
+    return sensitivities;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Adds a point sensitivity, mutating the internal list.
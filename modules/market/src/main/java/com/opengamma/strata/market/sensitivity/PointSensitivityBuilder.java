@@ -161,6 +161,9 @@ public interface PointSensitivityBuilder {
       MutablePointSensitivities otherCombination = (MutablePointSensitivities) other;
       return buildInto(otherCombination);
     }
+    if (other instanceof CompactPointSensitivities) {
+      return ((CompactPointSensitivities) other).combinedWith(this);
+    }
     MutablePointSensitivities combination = new MutablePointSensitivities();
     return other.buildInto(this.buildInto(combination));
   }
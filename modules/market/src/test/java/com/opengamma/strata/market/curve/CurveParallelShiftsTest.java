@@ -39,6 +39,9 @@ public class CurveParallelShiftsTest {
     assertEquals(shiftedCurveBox.getValue(0), ParallelShiftedCurve.absolute(baseCurve, 1d));
     assertEquals(shiftedCurveBox.getValue(1), ParallelShiftedCurve.absolute(baseCurve, 2d));
     assertEquals(shiftedCurveBox.getValue(2), ParallelShiftedCurve.absolute(baseCurve, 4d));
+    assertEquals(
+        shiftedCurveBox,
+        CurveParallelShifts.absolute(1d, 2d, 4d).applyTo(MarketDataBox.ofSingleValue(baseCurve), REF_DATA));
   }
 
   public void test_relative() {
@@ -125,6 +125,29 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_lookup_sensitivityArray() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] result = new double[SIZE + 1];
+    result[SIZE] = 99d;
+    for (double x : new double[] {0.5d, 1d, 1.5d, 2.5d, 3d, 10d, 1.2d}) {
+      test.yValueParameterSensitivity(x, result);
+      assertThat(DoubleArray.copyOf(result, 0, SIZE)).isEqualTo(test.yValueParameterSensitivity(x).getSensitivity());
+      assertThat(result[SIZE]).isEqualTo(99d);
+    }
+    assertThrowsIllegalArg(() -> test.yValueParameterSensitivity(1.5d, new double[SIZE - 1]));
+  }
+
+  public void test_lookup_yValues() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] x = {0.5d, 1d, 1.5d, 2.5d, 3d, 10d, 1.2d};
+    double[] result = new double[x.length];
+    test.yValues(x, result);
+    for (int i = 0; i < x.length; i++) {
+      assertThat(result[i]).isEqualTo(test.yValue(x[i]));
+    }
+    assertThrowsIllegalArg(() -> test.yValues(x, new double[x.length - 1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -90,6 +90,34 @@ public class LinearCurveInterpolatorTest {
     assertEquals(boundInterp.interpolate(3.5), 6, TOL);
   }
 
+  public void test_parameterSensitivity_array() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] result = new double[X_DATA.size()];
+    // ascending, repeated and descending x-values, including nodes and extrapolation
+    double[] xValues = {-0.5, 0.0, 0.1, 0.4, 0.7, 1.0, 1.0, 2.0, 5.0, 6.0, 4.0, 0.2, 2.9, 0.1, -0d};
+    for (double xValue : xValues) {
+      BoundCurveInterpolator expected = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+      bci.parameterSensitivity(xValue, result);
+      assertEquals(DoubleArray.copyOf(result), expected.parameterSensitivity(xValue));
+      assertEquals(bci.interpolate(xValue), expected.interpolate(xValue), TOL);
+      assertEquals(bci.firstDerivative(xValue), expected.firstDerivative(xValue), TOL);
+    }
+  }
+
+  public void test_batch() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    // ascending, repeated and descending x-values, including nodes and extrapolation
+    double[] xValues = {-0.5, 0.0, 0.1, 0.4, 0.7, 1.0, 1.0, 2.0, 5.0, 6.0, 4.0, 0.2, 2.9, 0.1, -0d};
+    double[] values = new double[xValues.length];
+    double[][] sensitivities = new double[xValues.length][X_DATA.size()];
+    bci.interpolate(xValues, values);
+    bci.parameterSensitivity(xValues, sensitivities);
+    for (int i = 0; i < xValues.length; i++) {
+      assertEquals(values[i], bci.interpolate(xValues[i]), TOL);
+      assertEquals(DoubleArray.copyOf(sensitivities[i]), bci.parameterSensitivity(xValues[i]));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(LINEAR_INTERPOLATOR);
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -161,6 +162,45 @@ public class CurrencyParameterSensitivitiesTest {
     assertEquals(test, SENSI_1);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    CurrencyParameterSensitivitiesBuilder builder = CurrencyParameterSensitivities.builder();
+    assertEquals(builder.size(), 0);
+    assertEquals(builder.build(), CurrencyParameterSensitivities.empty());
+    builder.add(ENTRY_EUR).add(SENSI_1);
+    assertEquals(builder.size(), 2);
+    assertEquals(builder.build().getSensitivities(), ImmutableList.of(ENTRY_USD, ENTRY_EUR));
+    builder.add(ENTRY_USD2);
+    assertEquals(builder.size(), 2);
+    assertEquals(builder.build().getSensitivities(), ImmutableList.of(ENTRY_USD_TOTAL, ENTRY_EUR));
+    assertThrowsIllegalArg(() -> builder.add(ENTRY_USD_SMALL));
+  }
+
+  public void test_builder_addBuilder() {
+    CurrencyParameterSensitivitiesBuilder builder1 = CurrencyParameterSensitivities.builder().add(SENSI_1);
+    CurrencyParameterSensitivitiesBuilder builder2 = CurrencyParameterSensitivities.builder().add(SENSI_2);
+    CurrencyParameterSensitivitiesBuilder builder3 = CurrencyParameterSensitivities.builder().add(ENTRY_ZERO0);
+    builder1.add(builder2).add(builder3);
+    assertEquals(builder1.build(), SENSI_1.combinedWith(SENSI_2).combinedWith(ENTRY_ZERO0));
+    // the other builder is not altered
+    assertEquals(builder2.build(), SENSI_2);
+    assertThrowsIllegalArg(() -> builder1.add(CurrencyParameterSensitivities.builder().add(ENTRY_USD_SMALL)));
+  }
+
+  public void test_toMergedSensitivities() {
+    List<CurrencyParameterSensitivities> list = new ArrayList<>();
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < 1000; i++) {
+      CurrencyParameterSensitivities sensi = (i % 2 == 0 ? SENSI_1 : SENSI_2).multipliedBy(i);
+      list.add(sensi);
+      expected = expected.combinedWith(sensi);
+    }
+    CurrencyParameterSensitivities test = list.parallelStream()
+        .collect(CurrencyParameterSensitivities.toMergedSensitivities());
+    assertEquals(test.equalWithTolerance(expected, TOLERENCE_CMP), true);
+    assertEquals(list.stream().collect(CurrencyParameterSensitivities.toMergedSensitivities()), expected);
+  }
+
   //-------------------------------------------------------------------------
   public void test_convertedTo_singleCurrency() {
     CurrencyParameterSensitivities test = SENSI_1.convertedTo(USD, FxMatrix.empty());
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Test {@link CompactPointSensitivities}.
+ */
+@Test
+public class CompactPointSensitivitiesTest {
+
+  private static final PointSensitivity CS1 = DummyPointSensitivity.of(GBP, date(2015, 6, 30), 12d);
+  private static final PointSensitivity CS2 = DummyPointSensitivity.of(GBP, date(2015, 7, 30), 22d);
+  private static final PointSensitivity CS3 = DummyPointSensitivity.of(GBP, date(2015, 8, 30), 32d);
+  private static final PointSensitivity CS3B = DummyPointSensitivity.of(GBP, date(2015, 8, 30), 3d);
+  private static final PointSensitivity CS3C = DummyPointSensitivity.of(GBP, date(2015, 8, 30), 5d);
+
+  //-------------------------------------------------------------------------
+  public void test_size_add_build() {
+    CompactPointSensitivities test = new CompactPointSensitivities(1);
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+    test.add(CS1);
+    assertEquals(test.size(), 1);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(CS1));
+    test.add(CS2);
+    test.add(CS3, 4d);
+    assertEquals(test.size(), 3);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(4d)));
+  }
+
+  public void test_addAll() {
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(Lists.newArrayList(CS2, CS1));
+    CompactPointSensitivities test2 = new CompactPointSensitivities();
+    test2.add(CS3);
+    test.addAll(test2);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(CS2, CS1, CS3));
+  }
+
+  public void test_constructor_negative() {
+    assertThrowsIllegalArg(() -> new CompactPointSensitivities(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_withCurrency() {
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS2, CS1));
+    test.multipliedBy(2d).withCurrency(USD);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(
+            CS3.withCurrency(USD).withSensitivity(64d),
+            CS2.withCurrency(USD).withSensitivity(44d),
+            CS1.withCurrency(USD).withSensitivity(24d)));
+  }
+
+  public void test_multipliedBy() {
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS2, CS1));
+    test.multipliedBy(2d);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(CS3.withSensitivity(64d), CS2.withSensitivity(44d), CS1.withSensitivity(24d)));
+  }
+
+  public void test_mapSensitivity() {
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS2, CS1));
+    test.mapSensitivity(s -> s / 2);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(CS3.withSensitivity(16d), CS2.withSensitivity(11d), CS1.withSensitivity(6d)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normalize() {
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS2, CS1, CS3B, CS3C));
+    assertSame(test.normalize(), test);
+    assertEquals(test.size(), 3);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(CS1, CS2, CS3.withSensitivity(40d)));
+  }
+
+  public void test_normalize_matchesPointSensitivities() {
+    Random random = new Random(1);
+    List<PointSensitivity> list = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      list.add(DummyPointSensitivity.of(
+          random.nextBoolean() ? GBP : USD, date(2015, 1, 1).plusDays(random.nextInt(100)), random.nextDouble()));
+    }
+    CompactPointSensitivities test = new CompactPointSensitivities();
+    test.addAll(list);
+    PointSensitivities expected = PointSensitivities.of(list).normalized();
+    assertEquals(test.normalize().build().equalWithTolerance(expected, 1e-12), true);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_combinedWith() {
+    CompactPointSensitivities base1 = new CompactPointSensitivities().add(CS1);
+    CompactPointSensitivities base2 = new CompactPointSensitivities().add(CS2);
+    PointSensitivityBuilder test = base1.combinedWith(base2)
+        .combinedWith(new MutablePointSensitivities(CS3))
+        .combinedWith(PointSensitivityBuilder.none());
+    assertSame(test, base1);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(CS1, CS2, CS3));
+  }
+
+  public void test_combinedWith_mutable() {
+    MutablePointSensitivities other = new MutablePointSensitivities(ImmutableList.of(CS2, CS3));
+    CompactPointSensitivities test = new CompactPointSensitivities().add(CS1);
+    test.combinedWith(other).multipliedBy(2d);
+    assertEquals(test.build().getSensitivities(),
+        ImmutableList.of(CS1.withSensitivity(24d), CS2.withSensitivity(44d), CS3.withSensitivity(64d)));
+    assertEquals(other.getSensitivities(), ImmutableList.of(CS2, CS3));
+  }
+
+  public void test_combinedWith_fromOtherBuilder() {
+    CompactPointSensitivities base = new CompactPointSensitivities().add(CS1);
+    PointSensitivityBuilder test = PointSensitivityBuilder.none().combinedWith(base);
+    assertSame(test, base);
+    PointSensitivityBuilder test2 = ((DummyPointSensitivity) CS2).combinedWith(base);
+    assertSame(test2, base);
+    assertEquals(test2.build().getSensitivities(), ImmutableList.of(CS1, CS2));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_buildInto() {
+    CompactPointSensitivities base = new CompactPointSensitivities().add(CS1).add(CS2, 1d);
+    MutablePointSensitivities combo = new MutablePointSensitivities();
+    MutablePointSensitivities test = base.buildInto(combo);
+    assertSame(test, combo);
+    assertEquals(test.getSensitivities(), ImmutableList.of(CS1, CS2.withSensitivity(1d)));
+  }
+
+  public void test_cloned() {
+    CompactPointSensitivities base = new CompactPointSensitivities().add(CS3);
+    CompactPointSensitivities test = base.cloned();
+    base.add(CS2);
+    test.add(CS1);
+    assertEquals(base.build().getSensitivities(), ImmutableList.of(CS3, CS2));
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(CS3, CS1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CompactPointSensitivities test = new CompactPointSensitivities().add(CS1);
+    CompactPointSensitivities test2 = new CompactPointSensitivities().add(CS1);
+    assertEquals(test, test);
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertFalse(test.equals(new CompactPointSensitivities().add(CS2)));
+    assertFalse(test.equals(new CompactPointSensitivities()));
+    assertFalse(test.equals(""));
+    assertFalse(test.equals(null));
+    assertEquals(test.toString().contains("CompactPointSensitivities"), true);
+  }
+
+}
@@ -77,6 +77,28 @@ public class BaseNewtonVectorRootFinder
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition) {
 
+    return findRootFromEstimate(function, jacobianFunction, startPosition, null);
+  }
+
+  /**
+   * Finds the root from the specified start position, optionally using an initial matrix estimate.
+   * <p>
+   * The estimate must be in the form produced by the initialization function of this root finder.
+   * If the first step from the estimate fails, the matrix is initialized using the Jacobian function.
+   * 
+   * @param function  the vector function
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param startPosition  the start position
+   * @param initialEstimate  the initial matrix estimate, null to use the initialization function
+   * @return the vector root of the collection of functions
+   * @throws MathException if unable to find the root, such as if unable to converge
+   */
+  protected DoubleArray findRootFromEstimate(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix initialEstimate) {
+
     checkInputs(function, startPosition);
 
     DataBundle data = new DataBundle();
@@ -84,13 +106,22 @@ public class BaseNewtonVectorRootFinder
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix estimate = initialEstimate != null ?
+        initialEstimate :
+        _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
         return data.getX(); // this can happen if the starting position is the root
       }
-      throw new MathException("Cannot work with this starting position. Please choose another point");
+      // the supplied estimate may be too far from the Jacobian, so try again with a full calculation
+      if (initialEstimate == null) {
+        throw new MathException("Cannot work with this starting position. Please choose another point");
+      }
+      estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+      if (!getNextPosition(function, estimate, data)) {
+        throw new MathException("Cannot work with this starting position. Please choose another point");
+      }
     }
 
     int count = 0;
@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
 import com.opengamma.strata.math.linearalgebra.Decomposition;
 
@@ -67,4 +72,26 @@ public class BroydenVectorRootFinder extends BaseNewtonVectorRootFinder {
         new BroydenMatrixUpdateFunction());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The estimate is used as the initial Jacobian, which is then refined using Broyden's update formula.
+   * The Jacobian function is only used if the estimate does not allow progress to be made,
+   * or periodically in the same way as when starting without an estimate.
+   */
+  @Override
+  public DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix jacobianEstimate) {
+
+    ArgChecker.notNull(jacobianEstimate, "jacobianEstimate");
+    ArgChecker.isTrue(
+        jacobianEstimate.rowCount() == startPosition.size() && jacobianEstimate.columnCount() == startPosition.size(),
+        "Jacobian estimate must be a square matrix matching the size of the start position");
+    return findRootFromEstimate(function, jacobianFunction, startPosition, jacobianEstimate);
+  }
+
 }
@@ -71,6 +71,38 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     return _normal.pdf(x);
   }
 
+  /**
+   * Computes the cumulative distribution function of each value in an array.
+   * <p>
+   * The result is the same as calling {@link #getCDF(Double)} for each value, without boxing.
+   * 
+   * @param x  the values
+   * @param result  the array to populate with the results, which may be the input array
+   * @throws IllegalArgumentException if the arrays have different lengths
+   */
+  public void getCDF(double[] x, double[] result) {
+    ArgChecker.isTrue(x.length == result.length, "Arrays must have the same length");
+    for (int i = 0; i < x.length; i++) {
+      result[i] = DERFC.getErfc(-x[i] / ROOT2) / 2;
+    }
+  }
+
+  /**
+   * Computes the probability density function of each value in an array.
+   * <p>
+   * The result is the same as calling {@link #getPDF(Double)} for each value, without boxing.
+   * 
+   * @param x  the values
+   * @param result  the array to populate with the results, which may be the input array
+   * @throws IllegalArgumentException if the arrays have different lengths
+   */
+  public void getPDF(double[] x, double[] result) {
+    ArgChecker.isTrue(x.length == result.length, "Arrays must have the same length");
+    for (int i = 0; i < x.length; i++) {
+      result[i] = _normal.pdf(x[i]);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -95,4 +95,31 @@ public interface NewtonVectorRootFinder {
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition);
 
+  /**
+   * Finds the root from the specified start position, using an estimate of the Jacobian at that position.
+   * <p>
+   * This applies the specified function and Jacobian function to find the root.
+   * The Jacobian estimate is typically the Jacobian from an earlier root finding with similar inputs,
+   * allowing the root finder to avoid calculating the Jacobian at the start position.
+   * The Jacobian function is still used if the estimate proves inadequate.
+   * Note if multiple roots exist which one is found will depend on the start position.
+   * <p>
+   * The default implementation ignores the estimate.
+   * 
+   * @param function   the vector function
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param startPosition  the start position of the root finder for
+   * @param jacobianEstimate  the estimate of the Jacobian at the start position
+   * @return the vector root of the collection of functions
+   * @throws MathException if unable to find the root, such as if unable to converge
+   */
+  public default DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix jacobianEstimate) {
+
+    return findRoot(function, jacobianFunction, startPosition);
+  }
+
 }
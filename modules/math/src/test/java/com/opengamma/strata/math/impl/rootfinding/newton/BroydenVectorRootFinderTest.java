@@ -5,8 +5,16 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 
 /**
@@ -43,4 +51,38 @@ public class BroydenVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(SV_JACOBIAN_3D, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
+
+  @Test
+  public void test_jacobianEstimate() {
+    AtomicInteger jacobianCount = new AtomicInteger();
+    Function<DoubleArray, DoubleMatrix> jacobian = x -> {
+      jacobianCount.incrementAndGet();
+      return JACOBIAN3D.apply(x);
+    };
+    // start close to the root, with the Jacobian at the root
+    DoubleArray x0 = DoubleArray.of(1.0001, 0.0001, -1.0001);
+    DoubleMatrix estimate = JACOBIAN3D.apply(DoubleArray.of(1d, 0d, -1d));
+    DoubleArray x1 = DEFAULT.findRoot(FUNCTION3D, jacobian, x0, estimate);
+    assertEquals(1.0, x1.get(0), EPS);
+    assertEquals(0.0, x1.get(1), EPS);
+    assertEquals(-1.0, x1.get(2), EPS);
+    assertEquals(jacobianCount.get(), 0);
+  }
+
+  @Test
+  public void test_jacobianEstimate_poor() {
+    DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    DoubleMatrix estimate = DoubleMatrix.identity(3);
+    DoubleArray x1 = DEFAULT.findRoot(FUNCTION3D, JACOBIAN3D, x0, estimate);
+    assertEquals(1.0, x1.get(0), EPS);
+    assertEquals(0.0, x1.get(1), EPS);
+    assertEquals(-1.0, x1.get(2), EPS);
+  }
+
+  @Test
+  public void test_jacobianEstimate_wrongSize() {
+    DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    assertThrowsIllegalArg(() -> DEFAULT.findRoot(FUNCTION3D, JACOBIAN3D, x0, DoubleMatrix.identity(2)));
+  }
+
 }
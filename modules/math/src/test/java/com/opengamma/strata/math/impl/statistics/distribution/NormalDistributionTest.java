@@ -36,6 +36,23 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     assertInverseCDF(X, NORMAL);
   }
 
+  public void testArrays() {
+    NormalDistribution normal = new NormalDistribution(0, 1, ENGINE);
+    double[] cdf = new double[X.length];
+    double[] pdf = new double[X.length];
+    normal.getCDF(X, cdf);
+    normal.getPDF(X, pdf);
+    for (int i = 0; i < X.length; i++) {
+      assertEquals(cdf[i], NORMAL.getCDF(X[i]), 0d);
+      assertEquals(pdf[i], NORMAL.getPDF(X[i]), 0d);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testArraysDifferentLength() {
+    new NormalDistribution(0, 1, ENGINE).getCDF(X, new double[1]);
+  }
+
   public void testRoundTrip() {
     int n = 29;
     for (int i = 0; i < n; i++) {
@@ -26,6 +26,7 @@ import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ResolvedTradeCache;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.product.SecuritizedProductPortfolioItem;
 import com.opengamma.strata.product.bond.BondFuture;
@@ -158,7 +159,7 @@ public class BondFutureTradeCalculationFunction<T extends SecuritizedProductPort
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedBondFutureTrade resolved = target.resolve(refData);
+    ResolvedBondFutureTrade resolved = ResolvedTradeCache.resolve(target, parameters, refData);
 
     // use lookup to query market data
     LegalEntityDiscountingMarketDataLookup ledLookup = parameters.getParameter(LegalEntityDiscountingMarketDataLookup.class);
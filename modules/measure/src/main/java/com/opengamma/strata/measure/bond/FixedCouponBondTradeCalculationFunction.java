@@ -24,6 +24,7 @@ import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ResolvedTradeCache;
 import com.opengamma.strata.product.SecuritizedProductPortfolioItem;
 import com.opengamma.strata.product.bond.FixedCouponBond;
 import com.opengamma.strata.product.bond.FixedCouponBondPosition;
@@ -142,7 +143,7 @@ public class FixedCouponBondTradeCalculationFunction<T extends SecuritizedProduc
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedFixedCouponBondTrade resolved = target.resolve(refData);
+    ResolvedFixedCouponBondTrade resolved = ResolvedTradeCache.resolve(target, parameters, refData);
 
     // use lookup to query market data
     LegalEntityDiscountingMarketDataLookup bondLookup = parameters.getParameter(LegalEntityDiscountingMarketDataLookup.class);
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.MapMaker;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * A cache of resolved trades, used by calculation functions.
+ * <p>
+ * Resolving a trade, such as a long-dated swap, involves generating the schedule and
+ * applying holiday adjustments. This can be a large part of the cost of a calculation.
+ * Where the same trades and reference data are used for many calculation runs, such as intraday,
+ * adding the {@linkplain #getId() identifier} of an instance of this class to the {@link CalculationRules}
+ * allows the resolved form of each trade to be reused between runs, and between calculation functions.
+ * <p>
+ * The cache is mutable, thus it is not itself a calculation parameter.
+ * Each instance is registered under its identifier for as long as the application holds a reference to it.
+ * Once the instance is no longer referenced, the identifier no longer finds it, and trades are resolved directly.
+ * <p>
+ * The cache is keyed by the trade or position, using {@code equals}, and the reference data, using identity.
+ * Thus, if a new instance of {@link ReferenceData} is supplied, the trades are resolved again.
+ * The entries resolved against the old reference data will be evicted as the cache fills up.
+ * <p>
+ * The cache is bounded by a maximum total weight. The weight of each entry is determined
+ * by a weigher, which by default is the number of payment periods and events of a swap,
+ * and one for all other trades.
+ * <p>
+ * Although this class holds mutable state, the results of calculations are unaffected by it.
+ * This class is thread-safe, and a single instance is intended to be shared by many calculation runs.
+ */
+public final class ResolvedTradeCache {
+
+  /**
+   * The registered caches, keyed by identifier, weakly referenced.
+   */
+  private static final ConcurrentMap<ResolvedTradeCacheId, ResolvedTradeCache> CACHES =
+      new MapMaker().weakValues().makeMap();
+
+  /**
+   * The identifier of the cache.
+   */
+  private final ResolvedTradeCacheId id;
+  /**
+   * The cache of resolved trades.
+   */
+  private final Cache<Key, ResolvedTrade> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum weight, using the default weigher.
+   * <p>
+   * The instance is registered under a newly generated identifier.
+   * The default weigher uses the number of payment periods and payment events of a swap,
+   * and a weight of one for all other trades.
+   *
+   * @param maximumWeight  the maximum total weight of the cached trades
+   * @return the cache
+   */
+  public static ResolvedTradeCache of(long maximumWeight) {
+    return of(maximumWeight, ResolvedTradeCache::defaultWeight);
+  }
+
+  /**
+   * Obtains an instance with the specified maximum weight and weigher.
+   * <p>
+   * The instance is registered under a newly generated identifier.
+   * The weigher is invoked when a resolved trade is added to the cache.
+   * It must return a non-negative weight.
+   *
+   * @param maximumWeight  the maximum total weight of the cached trades
+   * @param weigher  the function used to determine the weight of each resolved trade
+   * @return the cache
+   */
+  public static ResolvedTradeCache of(long maximumWeight, ToIntFunction<ResolvedTrade> weigher) {
+    ArgChecker.notNegative(maximumWeight, "maximumWeight");
+    ArgChecker.notNull(weigher, "weigher");
+    ResolvedTradeCacheId id = ResolvedTradeCacheId.of(UUID.randomUUID().toString());
+    ResolvedTradeCache cache = new ResolvedTradeCache(id, maximumWeight, weigher);
+    CACHES.put(id, cache);
+    return cache;
+  }
+
+  // the weight of a resolved trade when using the default weigher
+  private static int defaultWeight(ResolvedTrade trade) {
+    if (trade instanceof ResolvedSwapTrade) {
+      int weight = 0;
+      for (ResolvedSwapLeg leg : ((ResolvedSwapTrade) trade).getProduct().getLegs()) {
+        weight += leg.getPaymentPeriods().size() + leg.getPaymentEvents().size();
+      }
+      return Math.max(weight, 1);
+    }
+    return 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trade, using the cache in the parameters if available.
+   * <p>
+   * This is intended to be called by calculation functions in place of {@link Resolvable#resolve(ReferenceData)}.
+   * If the parameters do not contain a {@link ResolvedTradeCacheId}, or no cache is registered
+   * with the identifier, the trade is resolved directly.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade to resolve
+   * @param parameters  the calculation parameters, which may contain a cache identifier
+   * @param refData  the reference data used to resolve the trade
+   * @return the resolved trade
+   * @throws RuntimeException if unable to resolve due to an invalid definition
+   */
+  public static <T extends ResolvedTrade> T resolve(
+      Resolvable<T> trade,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    Optional<ResolvedTradeCacheId> idOpt = parameters.findParameter(ResolvedTradeCacheId.class);
+    ResolvedTradeCache cache = idOpt.isPresent() ? CACHES.get(idOpt.get()) : null;
+    return cache != null ? cache.resolve(trade, refData) : trade.resolve(refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param id  the identifier
+   * @param maximumWeight  the maximum weight
+   * @param weigher  the weigher
+   */
+  private ResolvedTradeCache(ResolvedTradeCacheId id, long maximumWeight, ToIntFunction<ResolvedTrade> weigher) {
+    this.id = id;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight)
+        .<Key, ResolvedTrade>weigher((key, value) -> weigher.applyAsInt(value))
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the identifier of the cache.
+   * <p>
+   * This is the calculation parameter to add to the {@link CalculationRules}.
+   *
+   * @return the identifier
+   */
+  public ResolvedTradeCacheId getId() {
+    return id;
+  }
+
+  /**
+   * Resolves the trade, returning the cached resolved trade if available.
+   * <p>
+   * If the trade has previously been resolved against the same reference data instance,
+   * the previously resolved trade is returned. Otherwise the trade is resolved and added to the cache.
+   * If resolution fails, nothing is cached and the exception is propagated.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade to resolve
+   * @param refData  the reference data used to resolve the trade
+   * @return the resolved trade
+   * @throws RuntimeException if unable to resolve due to an invalid definition
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends ResolvedTrade> T resolve(Resolvable<T> trade, ReferenceData refData) {
+    ArgChecker.notNull(trade, "trade");
+    ArgChecker.notNull(refData, "refData");
+    Key key = new Key(trade, refData);
+    ResolvedTrade cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    // concurrent misses for the same trade may both resolve, which is harmless
+    T resolved = trade.resolve(refData);
+    cache.put(key, resolved);
+    return resolved;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the approximate number of trades in the cache.
+   *
+   * @return the number of cached trades
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the statistics of the cache.
+   * <p>
+   * This provides the number of hits, misses and evictions since the cache was created.
+   *
+   * @return the cache statistics
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Removes all trades from the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ResolvedTradeCache[id=" + id + ", size=" + cache.size() + ", " + cache.stats() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key, matching the trade by equality and the reference data by identity.
+   */
+  private static final class Key {
+
+    /** The trade. */
+    private final Resolvable<?> trade;
+    /** The reference data. */
+    private final ReferenceData refData;
+    /** The hash code. */
+    private final int hashCode;
+
+    private Key(Resolvable<?> trade, ReferenceData refData) {
+      this.trade = trade;
+      this.refData = refData;
+      this.hashCode = trade.hashCode() * 31 + System.identityHashCode(refData);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return refData == other.refData && hashCode == other.hashCode && trade.equals(other.trade);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
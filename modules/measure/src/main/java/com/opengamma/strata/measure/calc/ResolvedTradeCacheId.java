@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import org.joda.convert.FromString;
+
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.collect.TypedString;
+
+/**
+ * A calculation parameter identifying a {@link ResolvedTradeCache}.
+ * <p>
+ * The cache itself is mutable, so it is not held in the calculation parameters.
+ * Instead, this immutable identifier is added to the {@link CalculationRules},
+ * and calculation functions use it to find the cache via {@link ResolvedTradeCache#resolve}.
+ * <p>
+ * If no cache is registered with the identifier, for example because the application
+ * no longer references it, trades are resolved directly.
+ */
+public final class ResolvedTradeCacheId
+    extends TypedString<ResolvedTradeCacheId>
+    implements CalculationParameter {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the specified name.
+   * <p>
+   * Cache identifiers may contain any character, but must not be empty.
+   *
+   * @param name  the name of the cache
+   * @return a cache identifier with the specified name
+   */
+  @FromString
+  public static ResolvedTradeCacheId of(String name) {
+    return new ResolvedTradeCacheId(name);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param name  the name of the cache
+   */
+  private ResolvedTradeCacheId(String name) {
+    super(name);
+  }
+
+}
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.measure.deposit;
 
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
@@ -18,6 +22,7 @@ import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.deposit.DiscountingTermDepositTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.product.deposit.ResolvedTermDeposit;
 import com.opengamma.strata.product.deposit.ResolvedTermDepositTrade;
 
 /**
@@ -62,9 +67,16 @@ final class TermDepositMeasureCalculations {
       ResolvedTermDepositTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return CurrencyScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    // the payments are the same in all scenarios, so only the discounting is per scenario
+    ResolvedTermDeposit deposit = trade.getProduct();
+    Currency currency = deposit.getCurrency();
+    MultiCurrencyScenarioArray pv = marketData.presentValue(ImmutableList.of(
+        Payment.of(currency, -deposit.getNotional(), deposit.getStartDate()),
+        Payment.of(currency, deposit.getNotional() + deposit.getInterest(), deposit.getEndDate())));
+    DoubleArray values = pv.getCurrencies().contains(currency) ?
+        pv.getValues(currency) :
+        DoubleArray.filled(marketData.getScenarioCount());
+    return CurrencyScenarioArray.of(currency, values);
   }
 
   // present value for one scenario
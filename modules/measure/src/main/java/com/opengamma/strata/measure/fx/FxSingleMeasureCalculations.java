@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.measure.fx;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -17,6 +18,7 @@ import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.fx.DiscountingFxSingleTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
 import com.opengamma.strata.product.fx.ResolvedFxSingleTrade;
 
 /**
@@ -61,9 +63,9 @@ final class FxSingleMeasureCalculations {
       ResolvedFxSingleTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return MultiCurrencyScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    // the payments are the same in all scenarios, so only the discounting is per scenario
+    ResolvedFxSingle fx = trade.getProduct();
+    return marketData.presentValue(ImmutableList.of(fx.getBaseCurrencyPayment(), fx.getCounterCurrencyPayment()));
   }
 
   // present value for one scenario
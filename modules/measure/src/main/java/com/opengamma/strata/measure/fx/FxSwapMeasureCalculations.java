@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.measure.fx;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
@@ -16,6 +17,7 @@ import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.fx.DiscountingFxSwapTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.product.fx.ResolvedFxSwap;
 import com.opengamma.strata.product.fx.ResolvedFxSwapTrade;
 
 /**
@@ -60,9 +62,13 @@ final class FxSwapMeasureCalculations {
       ResolvedFxSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return MultiCurrencyScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    // the payments are the same in all scenarios, so only the discounting is per scenario
+    ResolvedFxSwap swap = trade.getProduct();
+    return marketData.presentValue(ImmutableList.of(
+        swap.getNearLeg().getBaseCurrencyPayment(),
+        swap.getNearLeg().getCounterCurrencyPayment(),
+        swap.getFarLeg().getBaseCurrencyPayment(),
+        swap.getFarLeg().getCounterCurrencyPayment()));
   }
 
   // present value for one scenario
@@ -5,7 +5,19 @@
  */
 package com.opengamma.strata.measure.rate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.pricer.DiscountFactors;
 
 /**
  * Market data for rates products, used for calculation across multiple scenarios.
@@ -59,4 +71,58 @@ public interface RatesScenarioMarketData {
    */
   public abstract RatesMarketData scenario(int scenarioIndex);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of a list of known payments in all scenarios.
+   * <p>
+   * The amount of each payment is the same in every scenario, thus only the discount factors
+   * vary by scenario. This allows the payments to be valued across all scenarios without
+   * pricing the underlying product once per scenario.
+   * The discount factors for each currency are obtained once per scenario and shared by all
+   * payments in that currency.
+   * <p>
+   * A payment is ignored in a scenario if the valuation date is after the payment date.
+   * A currency is only present in the result if at least one payment in that currency is
+   * valued in at least one scenario.
+   * 
+   * @param payments  the payments to value
+   * @return the present value of the payments, one amount for each scenario
+   * @throws RuntimeException if the discount curve of a currency is not available
+   */
+  public default MultiCurrencyScenarioArray presentValue(List<Payment> payments) {
+    int scenarioCount = getScenarioCount();
+    Map<Currency, List<Payment>> paymentsByCurrency = new HashMap<>();
+    for (Payment payment : payments) {
+      paymentsByCurrency.computeIfAbsent(payment.getCurrency(), ccy -> new ArrayList<>()).add(payment);
+    }
+    // the market data of each scenario is obtained once and shared by all currencies
+    Map<Currency, double[]> pvsByCurrency = new HashMap<>();
+    for (int i = 0; i < scenarioCount; i++) {
+      RatesMarketData marketData = scenario(i);
+      LocalDate valuationDate = marketData.getValuationDate();
+      for (Map.Entry<Currency, List<Payment>> entry : paymentsByCurrency.entrySet()) {
+        Currency currency = entry.getKey();
+        DiscountFactors discountFactors = null;
+        for (Payment payment : entry.getValue()) {
+          LocalDate paymentDate = payment.getDate();
+          if (!paymentDate.isBefore(valuationDate)) {
+            if (discountFactors == null) {
+              discountFactors = marketData.ratesProvider().discountFactors(currency);
+            }
+            double[] pvs = pvsByCurrency.computeIfAbsent(currency, ccy -> new double[scenarioCount]);
+            pvs[i] += payment.getAmount() * discountFactors.discountFactor(paymentDate);
+          }
+        }
+      }
+    }
+    Map<Currency, DoubleArray> values = new HashMap<>();
+    for (Map.Entry<Currency, double[]> entry : pvsByCurrency.entrySet()) {
+      values.put(entry.getKey(), DoubleArray.ofUnsafe(entry.getValue()));
+    }
+    if (values.isEmpty()) {
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    return MultiCurrencyScenarioArray.of(values);
+  }
+
 }
@@ -5,10 +5,12 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -20,6 +22,8 @@ import com.google.common.collect.Sets;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
+import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
@@ -29,6 +33,7 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.amount.CashFlow;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.amount.LegAmount;
 import com.opengamma.strata.market.amount.LegAmounts;
@@ -45,8 +50,13 @@ import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.swap.DiscountingSwapLegPricer;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NotionalExchange;
 import com.opengamma.strata.product.swap.NotionalPaymentPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwap;
 import com.opengamma.strata.product.swap.ResolvedSwapLeg;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -102,9 +112,67 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return MultiCurrencyScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    ResolvedSwap swap = trade.getProduct();
+    if (marketData.getMarketData().getValuationDate().isScenarioValue() ||
+        !swap.getLegs().stream().anyMatch(SwapMeasureCalculations::hasKnownCashFlows)) {
+      return MultiCurrencyScenarioArray.of(
+          marketData.getScenarioCount(),
+          i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    }
+    // the cash flows of known legs are the same in all scenarios, so only the discounting is per scenario
+    // the remaining legs are priced separately in each scenario
+    DiscountingSwapLegPricer legPricer = tradePricer.getProductPricer().getLegPricer();
+    RatesProvider baseProvider = marketData.scenario(0).ratesProvider();
+    List<Payment> knownPayments = new ArrayList<>();
+    List<ResolvedSwapLeg> otherLegs = new ArrayList<>();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      if (hasKnownCashFlows(leg)) {
+        for (CashFlow cashFlow : legPricer.cashFlows(leg, baseProvider).getCashFlows()) {
+          knownPayments.add(Payment.of(cashFlow.getForecastValue(), cashFlow.getPaymentDate()));
+        }
+      } else {
+        otherLegs.add(leg);
+      }
+    }
+    // the result contains the currency of each leg, even if there are no cash flows
+    MultiCurrencyAmount zeroAmounts = swap.getLegs().stream()
+        .map(leg -> CurrencyAmount.zero(leg.getCurrency()))
+        .collect(toMultiCurrencyAmount());
+    MultiCurrencyAmountArray pv = MultiCurrencyAmountArray.of(marketData.getScenarioCount(), i -> zeroAmounts)
+        .plus(marketData.presentValue(knownPayments).getAmounts())
+        .plus(MultiCurrencyAmountArray.of(
+            marketData.getScenarioCount(),
+            i -> presentValue(otherLegs, legPricer, marketData.scenario(i).ratesProvider())));
+    return MultiCurrencyScenarioArray.of(pv);
+  }
+
+  // present value of a subset of the swap legs for one scenario
+  private static MultiCurrencyAmount presentValue(
+      List<ResolvedSwapLeg> legs,
+      DiscountingSwapLegPricer legPricer,
+      RatesProvider ratesProvider) {
+
+    return legs.stream()
+        .map(leg -> legPricer.presentValue(leg, ratesProvider))
+        .collect(toMultiCurrencyAmount());
+  }
+
+  // checks if the cash flows of the leg are independent of the market data, such as a fixed leg
+  // only the discounting of such a leg varies by scenario
+  private static boolean hasKnownCashFlows(ResolvedSwapLeg leg) {
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (period instanceof RatePaymentPeriod) {
+        RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+        if (ratePeriod.getFxReset().isPresent() ||
+            !ratePeriod.getAccrualPeriods().stream()
+                .allMatch(accrual -> accrual.getRateComputation() instanceof FixedRateComputation)) {
+          return false;
+        }
+      } else if (!(period instanceof KnownAmountSwapPaymentPeriod)) {
+        return false;
+      }
+    }
+    return leg.getPaymentEvents().stream().allMatch(NotionalExchange.class::isInstance);
   }
 
   // present value for one scenario
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link ResolvedTradeCache}.
+ */
+@Test
+public class ResolvedTradeCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final SwapTrade TRADE = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA);
+  private static final SwapTrade TRADE2 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA);
+  private static final ResolvedSwapTrade RTRADE = TRADE.resolve(REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_resolve() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10_000);
+    ResolvedSwapTrade resolved1 = test.resolve(TRADE, REF_DATA);
+    ResolvedSwapTrade resolved2 = test.resolve(TRADE, REF_DATA);
+    assertThat(resolved1).isEqualTo(RTRADE);
+    assertThat(resolved2).isSameAs(resolved1);
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.stats().hitCount()).isEqualTo(1);
+    assertThat(test.stats().missCount()).isEqualTo(1);
+  }
+
+  public void test_resolve_equalTrade() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10_000);
+    SwapTrade copy = TRADE.toBuilder().build();
+    ResolvedSwapTrade resolved1 = test.resolve(TRADE, REF_DATA);
+    ResolvedSwapTrade resolved2 = test.resolve(copy, REF_DATA);
+    assertThat(resolved2).isSameAs(resolved1);
+    assertThat(test.stats().hitCount()).isEqualTo(1);
+  }
+
+  public void test_resolve_differentReferenceData() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10_000);
+    ReferenceData refData2 = REF_DATA.combinedWith(ReferenceData.empty());
+    ResolvedSwapTrade resolved1 = test.resolve(TRADE, REF_DATA);
+    ResolvedSwapTrade resolved2 = test.resolve(TRADE, refData2);
+    assertThat(resolved2).isEqualTo(resolved1);
+    assertThat(resolved2).isNotSameAs(resolved1);
+    assertThat(test.size()).isEqualTo(2);
+    assertThat(test.stats().missCount()).isEqualTo(2);
+  }
+
+  public void test_resolve_eviction() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(1, trade -> 1);
+    test.resolve(TRADE, REF_DATA);
+    test.resolve(TRADE2, REF_DATA);
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.stats().evictionCount()).isEqualTo(1);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  public void test_resolve_defaultWeigher() {
+    // the 10 year swap has 20 fixed and 20 floating periods, thus does not fit
+    ResolvedTradeCache test = ResolvedTradeCache.of(30);
+    assertThat(test.resolve(TRADE, REF_DATA)).isEqualTo(RTRADE);
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.stats().evictionCount()).isEqualTo(1);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ResolvedTradeCache.of(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resolve_parameters() {
+    ResolvedTradeCache cache = ResolvedTradeCache.of(10_000);
+    CalculationParameters parameters = CalculationParameters.of(cache.getId());
+    ResolvedSwapTrade resolved1 = ResolvedTradeCache.resolve(TRADE, parameters, REF_DATA);
+    ResolvedSwapTrade resolved2 = ResolvedTradeCache.resolve(TRADE, parameters, REF_DATA);
+    assertThat(resolved1).isEqualTo(RTRADE);
+    assertThat(resolved2).isSameAs(resolved1);
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+  }
+
+  public void test_resolve_parametersWithoutCache() {
+    ResolvedSwapTrade resolved = ResolvedTradeCache.resolve(TRADE, CalculationParameters.empty(), REF_DATA);
+    assertThat(resolved).isEqualTo(RTRADE);
+  }
+
+  public void test_resolve_parametersUnknownId() {
+    CalculationParameters parameters = CalculationParameters.of(ResolvedTradeCacheId.of("Unknown"));
+    ResolvedSwapTrade resolved = ResolvedTradeCache.resolve(TRADE, parameters, REF_DATA);
+    assertThat(resolved).isEqualTo(RTRADE);
+  }
+
+  public void test_id() {
+    ResolvedTradeCache cache1 = ResolvedTradeCache.of(10_000);
+    ResolvedTradeCache cache2 = ResolvedTradeCache.of(10_000);
+    assertThat(cache1.getId()).isNotEqualTo(cache2.getId());
+    assertThat(ResolvedTradeCacheId.of(cache1.getId().getName())).isEqualTo(cache1.getId());
+    assertThat(CalculationParameters.of(cache1.getId())).isEqualTo(CalculationParameters.of(cache1.getId()));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10_000);
+    assertThat(test.toString()).contains("ResolvedTradeCache");
+    assertSerialization(test.getId());
+  }
+
+}
@@ -31,11 +31,13 @@ import org.joda.beans.ImmutableBean;
 import org.joda.beans.ser.JodaBeanSer;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.calc.runner.FxRateLookup;
@@ -46,6 +48,8 @@ import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.curve.ConstantCurve;
 import com.opengamma.strata.market.curve.Curve;
@@ -156,6 +160,34 @@ public class RatesMarketDataLookupTest {
     assertEquals(scenario.getValuationDate(), valDate);
   }
 
+  public void test_marketDataView_presentValue() {
+    ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
+    RatesMarketDataLookup test = RatesMarketDataLookup.of(discounts, ImmutableMap.of());
+    LocalDate valDate = date(2015, 6, 30);
+    Curve curve1 = ConstantCurve.of(Curves.discountFactors("USD-DSC", ACT_360), 0.99);
+    Curve curve2 = ConstantCurve.of(Curves.discountFactors("USD-DSC", ACT_360), 0.98);
+    ScenarioMarketData md = ImmutableScenarioMarketData.builder(valDate)
+        .addScenarioValue(CURVE_ID_DSC, ImmutableList.of(curve1, curve2))
+        .build();
+    RatesScenarioMarketData multiScenario = test.marketDataView(md);
+
+    Payment payment1 = Payment.of(USD, 100d, date(2015, 12, 30));
+    Payment payment2 = Payment.of(USD, -50d, date(2016, 6, 30));
+    Payment pastPayment = Payment.of(USD, 1000d, date(2015, 6, 29));
+    MultiCurrencyScenarioArray pv = multiScenario.presentValue(ImmutableList.of(payment1, payment2, pastPayment));
+    assertEquals(pv.getScenarioCount(), 2);
+    assertEquals(pv.getCurrencies(), ImmutableSet.of(USD));
+    for (int i = 0; i < 2; i++) {
+      RatesProvider provider = multiScenario.scenario(i).ratesProvider();
+      double expected = 100d * provider.discountFactor(USD, payment1.getDate()) -
+          50d * provider.discountFactor(USD, payment2.getDate());
+      assertEquals(pv.get(i).getAmount(USD).getAmount(), expected, 1e-12);
+    }
+    MultiCurrencyScenarioArray pvPast = multiScenario.presentValue(ImmutableList.of(pastPayment));
+    assertEquals(pvPast.getScenarioCount(), 2);
+    assertEquals(pvPast.getCurrencies(), ImmutableSet.of());
+  }
+
   public void test_ratesProvider() {
     ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
     ImmutableMap<Index, CurveId> forwards =
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.pricer.swap.SwapDummyData.KNOWN_AMOUNT_SWAP_LEG;
 import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP_TRADE;
@@ -12,10 +13,23 @@ import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.amount.LegAmounts;
 import com.opengamma.strata.market.amount.SwapLegAmount;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.swap.RatePaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwap;
 import com.opengamma.strata.product.swap.ResolvedSwapLeg;
@@ -49,4 +63,35 @@ public class SwapMeasureCalculationsTest {
     assertThrowsIllegalArg(() -> SwapMeasureCalculations.DEFAULT.legInitialNotional(trade));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_presentValue_scenarios() {
+    ResolvedSwapTrade trade = SwapTradeCalculationFunctionTest.RTRADE;
+    ResolvedSwapLeg fixedLeg = trade.getProduct().getLegs().get(0);
+    ResolvedSwapTrade fixedTrade = ResolvedSwapTrade.builder()
+        .product(ResolvedSwap.of(fixedLeg, fixedLeg))
+        .build();
+    Curve curve1 = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
+    Curve curve2 = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.97);
+    ScenarioMarketData md = ImmutableScenarioMarketData.builder(trade.getProduct().getStartDate().minusDays(7))
+        .addScenarioValue(CurveId.of("Default", "Discount"), ImmutableList.of(curve1, curve2))
+        .addScenarioValue(CurveId.of("Default", "Forward"), ImmutableList.of(curve2, curve1))
+        .build();
+    RatesMarketDataLookup lookup = SwapTradeCalculationFunctionTest.RATES_LOOKUP;
+    RatesScenarioMarketData ratesMd = lookup.marketDataView(md);
+
+    // a swap with a fixed leg and a floating leg, and a swap with only fixed legs
+    for (ResolvedSwapTrade test : ImmutableList.of(trade, fixedTrade)) {
+      MultiCurrencyScenarioArray computed = SwapMeasureCalculations.DEFAULT.presentValue(test, ratesMd);
+      assertEquals(computed.getScenarioCount(), 2);
+      for (int i = 0; i < 2; i++) {
+        RatesProvider provider = ratesMd.scenario(i).ratesProvider();
+        MultiCurrencyAmount expected = DiscountingSwapTradePricer.DEFAULT.presentValue(test, provider);
+        assertEquals(computed.get(i).getCurrencies(), expected.getCurrencies());
+        for (CurrencyAmount amount : expected.getAmounts()) {
+          assertEquals(computed.get(i).getAmount(amount.getCurrency()).getAmount(), amount.getAmount(), 1e-8);
+        }
+      }
+    }
+  }
+
 }
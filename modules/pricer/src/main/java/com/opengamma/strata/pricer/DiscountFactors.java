@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer;
 import static com.opengamma.strata.pricer.SimpleDiscountFactors.EFFECTIVE_ZERO;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -121,6 +122,21 @@ public interface DiscountFactors
    */
   public abstract double discountFactor(double yearFraction);
 
+  /**
+   * Gets the discount factors for a list of dates.
+   * <p>
+   * This is equivalent to calling {@link #discountFactor(LocalDate)} for each date,
+   * but allows implementations to process the dates together, such as all the payment dates of a leg.
+   * Lookups are most efficient when the dates are in ascending order.
+   * 
+   * @param dates  the dates to discount to
+   * @return the discount factors, one for each date
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default DoubleArray discountFactors(List<LocalDate> dates) {
+    return DoubleArray.of(dates.size(), i -> discountFactor(dates.get(i)));
+  }
+
   /**
    * Returns the discount factor derivative with respect to the year fraction or time.
    * <p>
@@ -447,6 +463,25 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from a list of point sensitivities.
+   * <p>
+   * This is equivalent to combining the result of {@link #parameterSensitivity(ZeroRateSensitivity)}
+   * for each point sensitivity, but allows implementations to accumulate the sensitivities directly
+   * rather than creating and combining an intermediate result for each point.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(List<ZeroRateSensitivity> pointSensitivities) {
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (ZeroRateSensitivity pointSensitivity : pointSensitivities) {
+      result = result.combinedWith(parameterSensitivity(pointSensitivity));
+    }
+    return result;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
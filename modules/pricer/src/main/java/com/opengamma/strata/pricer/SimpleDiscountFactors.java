@@ -7,7 +7,10 @@ package com.opengamma.strata.pricer;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -169,6 +172,15 @@ public final class SimpleDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public DoubleArray discountFactors(List<LocalDate> dates) {
+    double[] result = new double[dates.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = curve.yValue(relativeYearFraction(dates.get(i)));
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     return curve.firstDerivative(yearFraction);
@@ -203,6 +215,33 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(List<ZeroRateSensitivity> pointSensitivities) {
+    // accumulate the sensitivity for each currency, reusing a single array for the unit sensitivity
+    int paramCount = curve.getParameterCount();
+    double[] unitSens = new double[paramCount];
+    Map<Currency, double[]> totals = new LinkedHashMap<>();
+    for (ZeroRateSensitivity pointSens : pointSensitivities) {
+      double yearFraction = pointSens.getYearFraction();
+      if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+        continue; // Discount factor in 0 is always 1, no sensitivity.
+      }
+      double factor = -1d / (yearFraction * discountFactor(yearFraction));
+      curve.yValueParameterSensitivity(yearFraction, unitSens);
+      double[] total = totals.computeIfAbsent(pointSens.getCurrency(), ccy -> new double[paramCount]);
+      double sensitivity = pointSens.getSensitivity();
+      for (int i = 0; i < paramCount; i++) {
+        total[i] += unitSens[i] * factor * sensitivity;
+      }
+    }
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Entry<Currency, double[]> entry : totals.entrySet()) {
+      DoubleArray sensitivities = DoubleArray.ofUnsafe(entry.getValue());
+      result = result.combinedWith(createParameterSensitivity(entry.getKey(), sensitivities));
+    }
+    return result;
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
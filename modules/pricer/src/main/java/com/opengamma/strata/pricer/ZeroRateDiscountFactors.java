@@ -7,7 +7,10 @@ package com.opengamma.strata.pricer;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -165,6 +168,16 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public DoubleArray discountFactors(List<LocalDate> dates) {
+    double[] result = new double[dates.size()];
+    for (int i = 0; i < result.length; i++) {
+      double yearFraction = relativeYearFraction(dates.get(i));
+      result[i] = Math.exp(-yearFraction * curve.yValue(yearFraction));
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
@@ -191,6 +204,28 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(List<ZeroRateSensitivity> pointSensitivities) {
+    // accumulate the sensitivity for each currency, reusing a single array for the unit sensitivity
+    int paramCount = curve.getParameterCount();
+    double[] unitSens = new double[paramCount];
+    Map<Currency, double[]> totals = new LinkedHashMap<>();
+    for (ZeroRateSensitivity pointSens : pointSensitivities) {
+      curve.yValueParameterSensitivity(pointSens.getYearFraction(), unitSens);
+      double[] total = totals.computeIfAbsent(pointSens.getCurrency(), ccy -> new double[paramCount]);
+      double sensitivity = pointSens.getSensitivity();
+      for (int i = 0; i < paramCount; i++) {
+        total[i] += unitSens[i] * sensitivity;
+      }
+    }
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Entry<Currency, double[]> entry : totals.entrySet()) {
+      DoubleArray sensitivities = DoubleArray.ofUnsafe(entry.getValue());
+      result = result.combinedWith(createParameterSensitivity(entry.getKey(), sensitivities));
+    }
+    return result;
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
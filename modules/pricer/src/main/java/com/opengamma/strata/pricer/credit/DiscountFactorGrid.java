@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+
+/**
+ * Discount factors evaluated on the grid of times used by the credit curve calibration.
+ * <p>
+ * The calibration of a credit curve evaluates the discount curve at the integration points
+ * of the premium and protection legs, and at the payment dates, of the CDS at the curve nodes.
+ * When the credit curves of many legal entities are calibrated against the same discount curve,
+ * these points are largely the same for every legal entity.
+ * <p>
+ * This class holds the values of the discount curve at the dates of the CDS of all the legal entities,
+ * and at the times derived from those dates and the discount curve nodes, in primitive arrays.
+ * The integration points are a subset of these times, thus the discount curve is evaluated once for each point.
+ * Any other date or time is evaluated directly, as is everything for a grid created without any CDS.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+final class DiscountFactorGrid {
+
+  /**
+   * An empty array.
+   */
+  private static final long[] EMPTY_LONGS = new long[0];
+  /**
+   * An empty array.
+   */
+  private static final double[] EMPTY_DOUBLES = new double[0];
+
+  /**
+   * The underlying discount factors.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The dates, as epoch days, sorted.
+   */
+  private final long[] epochDays;
+  /**
+   * The year fractions of the dates.
+   */
+  private final double[] yearFractions;
+  /**
+   * The discount factors of the dates.
+   */
+  private final double[] dateDiscountFactors;
+  /**
+   * The year fractions, sorted.
+   */
+  private final double[] times;
+  /**
+   * The zero rates multiplied by the year fraction of the times.
+   */
+  private final double[] zeroRateTimesYearFractions;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty grid for the specified discount factors.
+   * <p>
+   * All values are evaluated directly from the discount factors.
+   *
+   * @param discountFactors  the discount factors
+   * @return the grid
+   */
+  static DiscountFactorGrid of(CreditDiscountFactors discountFactors) {
+    return new DiscountFactorGrid(
+        discountFactors, EMPTY_LONGS, EMPTY_DOUBLES, EMPTY_DOUBLES, EMPTY_DOUBLES, EMPTY_DOUBLES);
+  }
+
+  /**
+   * Obtains a grid for the specified discount factors, evaluated at the dates of the calibration CDS.
+   * <p>
+   * The dates are those used by the fast calibration when pricing the CDS.
+   * The times are the year fractions of the dates and the parameter keys of the discount factors.
+   *
+   * @param discountFactors  the discount factors
+   * @param valuationDate  the valuation date
+   * @param calibrationCdss  the calibration CDS of all the legal entities
+   * @param refData  the reference data
+   * @return the grid
+   */
+  static DiscountFactorGrid of(
+      CreditDiscountFactors discountFactors,
+      LocalDate valuationDate,
+      List<ResolvedCdsTrade> calibrationCdss,
+      ReferenceData refData) {
+
+    TreeSet<LocalDate> dateSet = new TreeSet<>();
+    for (ResolvedCdsTrade trade : calibrationCdss) {
+      ResolvedCds cds = trade.getProduct();
+      LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
+      dateSet.add(cds.calculateEffectiveStartDate(stepinDate));
+      dateSet.add(trade.getInfo().getSettlementDate()
+          .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData)));
+      dateSet.add(cds.getProtectionEndDate());
+      dateSet.add(cds.getAccrualStartDate());
+      for (CreditCouponPaymentPeriod period : cds.getPaymentPeriods()) {
+        dateSet.add(period.getPaymentDate());
+        dateSet.add(period.getEffectiveStartDate());
+        dateSet.add(period.getEffectiveEndDate());
+      }
+    }
+    int nDates = dateSet.size();
+    long[] epochDays = new long[nDates];
+    double[] yearFractions = new double[nDates];
+    double[] dateDiscountFactors = new double[nDates];
+    int i = 0;
+    for (LocalDate date : dateSet) {
+      epochDays[i] = date.toEpochDay();
+      yearFractions[i] = discountFactors.relativeYearFraction(date);
+      dateDiscountFactors[i] = discountFactors.discountFactor(date);
+      i++;
+    }
+    double[] keys = discountFactors.getParameterKeys().toArrayUnsafe();
+    double[] allTimes = Arrays.copyOf(yearFractions, nDates + keys.length);
+    System.arraycopy(keys, 0, allTimes, nDates, keys.length);
+    double[] times = Arrays.stream(allTimes).sorted().distinct().toArray();
+    double[] zeroRateTimesYearFractions = new double[times.length];
+    for (int j = 0; j < times.length; j++) {
+      zeroRateTimesYearFractions[j] = discountFactors.zeroRate(times[j]) * times[j];
+    }
+    return new DiscountFactorGrid(
+        discountFactors, epochDays, yearFractions, dateDiscountFactors, times, zeroRateTimesYearFractions);
+  }
+
+  // restricted constructor
+  private DiscountFactorGrid(
+      CreditDiscountFactors discountFactors,
+      long[] epochDays,
+      double[] yearFractions,
+      double[] dateDiscountFactors,
+      double[] times,
+      double[] zeroRateTimesYearFractions) {
+
+    this.discountFactors = discountFactors;
+    this.epochDays = epochDays;
+    this.yearFractions = yearFractions;
+    this.dateDiscountFactors = dateDiscountFactors;
+    this.times = times;
+    this.zeroRateTimesYearFractions = zeroRateTimesYearFractions;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying discount factors.
+   *
+   * @return the discount factors
+   */
+  CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Calculates the relative time between the valuation date and the specified date.
+   *
+   * @param date  the date
+   * @return the year fraction
+   * @see CreditDiscountFactors#relativeYearFraction(LocalDate)
+   */
+  double relativeYearFraction(LocalDate date) {
+    int index = Arrays.binarySearch(epochDays, date.toEpochDay());
+    return index >= 0 ? yearFractions[index] : discountFactors.relativeYearFraction(date);
+  }
+
+  /**
+   * Gets the discount factor for the specified date.
+   *
+   * @param date  the date
+   * @return the discount factor
+   * @see CreditDiscountFactors#discountFactor(LocalDate)
+   */
+  double discountFactor(LocalDate date) {
+    int index = Arrays.binarySearch(epochDays, date.toEpochDay());
+    return index >= 0 ? dateDiscountFactors[index] : discountFactors.discountFactor(date);
+  }
+
+  /**
+   * Gets the zero rate multiplied by the year fraction, which is minus the log of the discount factor.
+   *
+   * @param yearFraction  the year fraction
+   * @return the zero rate multiplied by the year fraction
+   * @see CreditDiscountFactors#zeroRate(double)
+   */
+  double zeroRateTimesYearFraction(double yearFraction) {
+    int index = Arrays.binarySearch(times, yearFraction);
+    return index >= 0 ? zeroRateTimesYearFractions[index] : discountFactors.zeroRate(yearFraction) * yearFraction;
+  }
+
+}
@@ -111,13 +111,35 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       RecoveryRates recoveryRates,
       ReferenceData refData) {
 
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        DiscountFactorGrid.of(discountFactors),
+        recoveryRates,
+        refData);
+  }
+
+  @Override
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      DiscountFactorGrid discountFactorGrid,
+      RecoveryRates recoveryRates,
+      ReferenceData refData) {
+
     int n = calibrationCDSs.size();
     double[] guess = new double[n];
     double[] t = new double[n];
     double[] lgd = new double[n];
     for (int i = 0; i < n; i++) {
       LocalDate endDate = calibrationCDSs.get(i).getProduct().getProtectionEndDate();
-      t[i] = discountFactors.relativeYearFraction(endDate);
+      t[i] = discountFactorGrid.relativeYearFraction(endDate);
       lgd[i] = 1d - recoveryRates.recoveryRate(endDate);
       guess[i] = (flactionalSpreads.get(i) + pointsUpfront.get(i) / t[i]) / lgd[i];
     }
@@ -126,7 +148,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
         .xValueType(ValueType.YEAR_FRACTION)
         .yValueType(ValueType.ZERO_RATE)
         .curveName(name)
-        .dayCount(discountFactors.getDayCount())
+        .dayCount(discountFactorGrid.getDiscountFactors().getDayCount())
         .build();
     NodalCurve creditCurve = n == 1 ?
         ConstantNodalCurve.of(baseMetadata, t[0], guess[0]) :
@@ -146,7 +168,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
       double accrued = cds.accruedYearFraction(stepinDate);
 
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
+      Pricer pricer = new Pricer(cds, discountFactorGrid, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
           effectiveStartDate, settlementDate, accrued);
       Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
 
@@ -240,7 +262,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
+    public Pricer(ResolvedCds nodeCds, DiscountFactorGrid yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
         double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
         double accruedYearFraction) {
 
@@ -254,14 +276,14 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       proLegIntPoints = DoublesScheduleGenerator.getIntegrationsPoints(
           productEffectiveStart,
           protectionEnd,
-          yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
+          yieldCurve.getDiscountFactors().getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
       lgdDF = lgd / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
-        proYieldCurveRT[i] = yieldCurve.zeroRate(proLegIntPoints[i]) * proLegIntPoints[i];
+        proYieldCurveRT[i] = yieldCurve.zeroRateTimesYearFraction(proLegIntPoints[i]);
         proDF[i] = Math.exp(-proYieldCurveRT[i]);
       }
       // premium leg
@@ -283,7 +305,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
             DoublesScheduleGenerator.getIntegrationsPoints(
                 yieldCurve.relativeYearFraction(tmp),
                 protectionEnd,
-                yieldCurve.getParameterKeys(),
+                yieldCurve.getDiscountFactors().getParameterKeys(),
                 creditCurveKnots);
         accRate = new double[nPayments];
         offsetAccStart = new double[nPayments];
@@ -297,7 +319,8 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           offsetAccStart[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveStartDate());
           offsetAccEnd[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveEndDate());
           accRate[i] = coupon.getYearFraction() /
-              yieldCurve.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+              yieldCurve.getDiscountFactors().getDayCount()
+                  .relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
           double start = Math.max(productEffectiveStart, offsetAccStart[i]);
           if (start >= offsetAccEnd[i]) {
             continue;
@@ -310,7 +333,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           rt[i] = new double[n];
           premDF[i] = new double[n];
           for (int k = 0; k < n; k++) {
-            rt[i][k] = yieldCurve.zeroRate(premLegIntPoints[i][k]) * premLegIntPoints[i][k];
+            rt[i][k] = yieldCurve.zeroRateTimesYearFraction(premLegIntPoints[i][k]);
             premDF[i][k] = Math.exp(-rt[i][k]);
           }
           premDt[i] = new double[n - 1];
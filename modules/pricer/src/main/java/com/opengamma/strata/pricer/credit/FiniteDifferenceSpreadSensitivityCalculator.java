@@ -70,6 +70,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
     StandardId legalEntityId = product.getLegalEntityId();
     LocalDate valuationDate = ratesProvider.getValuationDate();
     ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    // the bumped curves share the nodes of the base curve, thus the integration schedules of the trade are reused
+    IsdaCdsPricingContext context = IsdaCdsPricingContext.of(product, valuationDate, refData);
 
     int nBucket = bucketCds.size();
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
@@ -88,7 +90,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
     CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
         .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
         .build();
-    CurrencyAmount pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData);
+    CurrencyAmount pvBase =
+        getPricer().presentValueOnSettle(trade, context, ratesProviderBase, PriceType.DIRTY, refData);
 
     DoubleArray bumpedSp = DoubleArray.of(nBucket, i -> impSp.get(i) + bumpAmount);
     NodalCurve creditCurveBump = getCalibrator().calibrate(
@@ -105,7 +108,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
         .creditCurves(
             ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
         .build();
-    CurrencyAmount pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData);
+    CurrencyAmount pvBumped =
+        getPricer().presentValueOnSettle(trade, context, ratesProviderBump, PriceType.DIRTY, refData);
 
     return CurrencyAmount.of(currency, (pvBumped.getAmount() - pvBase.getAmount()) / bumpAmount);
   }
@@ -123,6 +127,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
     StandardId legalEntityId = product.getLegalEntityId();
     LocalDate valuationDate = ratesProvider.getValuationDate();
     ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    // the bumped curves share the nodes of the base curve, thus the integration schedules of the trade are reused
+    IsdaCdsPricingContext context = IsdaCdsPricingContext.of(product, valuationDate, refData);
 
     int nBucket = bucketCds.size();
     double[] res = new double[nBucket];
@@ -142,7 +148,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
     CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
         .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
         .build();
-    double pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData).getAmount();
+    double pvBase =
+        getPricer().presentValueOnSettle(trade, context, ratesProviderBase, PriceType.DIRTY, refData).getAmount();
     for (int i = 0; i < nBucket; ++i) {
       double[] bumpedSp = impSp.toArray();
       bumpedSp[i] += bumpAmount;
@@ -159,7 +166,8 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
       CreditRatesProvider ratesProviderBump = immutableRatesProvider.toBuilder()
           .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
           .build();
-      double pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData).getAmount();
+      double pvBumped =
+          getPricer().presentValueOnSettle(trade, context, ratesProviderBump, PriceType.DIRTY, refData).getAmount();
       res[i] = (pvBumped - pvBase) / bumpAmount;
     }
     return DoubleArray.ofUnsafe(res);
@@ -61,7 +61,7 @@ public final class ImmutableCreditRatesProvider
    * <p>
    * The curve data, predicting the survival probability, associated with each legal entity and currency.
    */
-  @PropertyDefinition(validate = "notNull", get = "private")
+  @PropertyDefinition(validate = "notNull")
   private final ImmutableMap<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves;
   /**
    * The discounting curves.
@@ -269,7 +269,7 @@ public final class ImmutableCreditRatesProvider
    * The curve data, predicting the survival probability, associated with each legal entity and currency.
    * @return the value of the property, not null
    */
-  private ImmutableMap<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> getCreditCurves() {
+  public ImmutableMap<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> getCreditCurves() {
     return creditCurves;
   }
 
@@ -0,0 +1,490 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * The pricing context of a single-name CDS for a valuation date.
+ * <p>
+ * Pricing a CDS with {@link IsdaCdsProductPricer} starts with date arithmetic that only depends
+ * on the product, the valuation date and the nodes of the discount and credit curves.
+ * This includes the step-in and effective start dates, the year fractions of the payment periods
+ * and the merged integration schedules of the protection leg and the accrual on default.
+ * <p>
+ * This class computes the dates once, and holds the year fractions and the integration schedules
+ * of the most recently used pair of curves. The cached schedules are reused as long as the day counts
+ * and the nodes of the curves are unchanged, as is the case when the values of a curve are bumped.
+ * An instance may thus be shared between the present value, par spread, risky annuity and
+ * sensitivity calculations of a trade, and between the scenarios of a finite difference calculation.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class IsdaCdsPricingContext {
+
+  /**
+   * The product.
+   */
+  private final ResolvedCds product;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The step-in date.
+   */
+  private final LocalDate stepinDate;
+  /**
+   * The effective start date.
+   */
+  private final LocalDate effectiveStartDate;
+  /**
+   * The schedule of the most recently used curves, null if not computed yet.
+   */
+  private volatile Schedule schedule;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the pricing context of the product for the valuation date.
+   *
+   * @param product  the product
+   * @param valuationDate  the valuation date
+   * @param refData  the reference data
+   * @return the pricing context
+   */
+  public static IsdaCdsPricingContext of(ResolvedCds product, LocalDate valuationDate, ReferenceData refData) {
+    ArgChecker.notNull(product, "product");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNull(refData, "refData");
+    LocalDate stepinDate = product.getStepinDateOffset().adjust(valuationDate, refData);
+    LocalDate effectiveStartDate = product.calculateEffectiveStartDate(stepinDate);
+    return new IsdaCdsPricingContext(product, valuationDate, stepinDate, effectiveStartDate);
+  }
+
+  // restricted constructor
+  private IsdaCdsPricingContext(
+      ResolvedCds product,
+      LocalDate valuationDate,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate) {
+
+    this.product = product;
+    this.valuationDate = valuationDate;
+    this.stepinDate = stepinDate;
+    this.effectiveStartDate = effectiveStartDate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the product.
+   *
+   * @return the product
+   */
+  public ResolvedCds getProduct() {
+    return product;
+  }
+
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Gets the step-in date.
+   *
+   * @return the step-in date
+   */
+  public LocalDate getStepinDate() {
+    return stepinDate;
+  }
+
+  /**
+   * Gets the effective start date of the protection.
+   *
+   * @return the effective start date
+   */
+  public LocalDate getEffectiveStartDate() {
+    return effectiveStartDate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the schedule for the specified curves.
+   * <p>
+   * The schedule of the previous call is returned if the curves have the same day counts and nodes.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @return the schedule
+   */
+  Schedule schedule(CreditDiscountFactors discountFactors, LegalEntitySurvivalProbabilities survivalProbabilities) {
+    ArgChecker.isTrue(discountFactors.getValuationDate().equals(valuationDate),
+        "Valuation date of rates provider {} must match that of pricing context {}",
+        discountFactors.getValuationDate(), valuationDate);
+    DoubleArray discountCurveNodes = discountFactors.getParameterKeys();
+    DoubleArray creditCurveNodes = survivalProbabilities.getParameterKeys();
+    Schedule cached = schedule;
+    if (cached != null &&
+        cached.matches(discountFactors, survivalProbabilities, discountCurveNodes, creditCurveNodes)) {
+      return cached;
+    }
+    Schedule created = new Schedule(
+        product, effectiveStartDate, stepinDate, discountFactors, survivalProbabilities,
+        discountCurveNodes, creditCurveNodes);
+    schedule = created;
+    return created;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "IsdaCdsPricingContext[valuationDate={}, stepinDate={}, effectiveStartDate={}]",
+        valuationDate,
+        stepinDate,
+        effectiveStartDate);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The year fractions and integration schedules of the product for a pair of curves.
+   * <p>
+   * The year fractions are relative to the valuation date, based on the day count of the curves.
+   * The integration schedule of the protection leg is created eagerly.
+   * The premium leg data, being the live payment periods and the accrual on default knots,
+   * is only created when first requested, as the protection leg alone does not need it.
+   */
+  static final class Schedule {
+
+    /**
+     * The product.
+     */
+    private final ResolvedCds cds;
+    /**
+     * The effective start date.
+     */
+    private final LocalDate effectiveStartDate;
+    /**
+     * The step-in date.
+     */
+    private final LocalDate stepinDate;
+    /**
+     * The discount factors, only used for year fractions, which depend on the valuation date and day count.
+     */
+    private final CreditDiscountFactors discountFactors;
+    /**
+     * The survival probabilities, only used for year fractions, which depend on the valuation date and day count.
+     */
+    private final CreditDiscountFactors survivalProbabilities;
+    /**
+     * The day count of the discount curve.
+     */
+    private final DayCount dayCount;
+    /**
+     * The day count of the credit curve.
+     */
+    private final DayCount creditDayCount;
+    /**
+     * The nodes of the discount curve.
+     */
+    private final DoubleArray discountCurveNodes;
+    /**
+     * The nodes of the credit curve.
+     */
+    private final DoubleArray creditCurveNodes;
+    /**
+     * The protection end date year fraction.
+     */
+    private final double protectionEnd;
+    /**
+     * The integration schedule of the protection leg.
+     */
+    private final DoubleArray protectionSchedule;
+    /**
+     * The premium leg data, null if not created yet.
+     */
+    private volatile Premium premium;
+
+    /**
+     * Creates the schedule of the product for a pair of curves, without a pricing context.
+     * <p>
+     * This computes the step-in and effective start dates, as {@link IsdaCdsPricingContext#of} does.
+     * It is used when the product is priced once, where the schedule is not reused.
+     *
+     * @param product  the product
+     * @param valuationDate  the valuation date
+     * @param discountFactors  the discount factors
+     * @param survivalProbabilities  the survival probabilities
+     * @param refData  the reference data
+     * @return the schedule
+     */
+    static Schedule of(
+        ResolvedCds product,
+        LocalDate valuationDate,
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities,
+        ReferenceData refData) {
+
+      LocalDate stepinDate = product.getStepinDateOffset().adjust(valuationDate, refData);
+      LocalDate effectiveStartDate = product.calculateEffectiveStartDate(stepinDate);
+      return new Schedule(
+          product, effectiveStartDate, stepinDate, discountFactors, survivalProbabilities,
+          discountFactors.getParameterKeys(), survivalProbabilities.getParameterKeys());
+    }
+
+    // creates an instance
+    private Schedule(
+        ResolvedCds cds,
+        LocalDate effectiveStartDate,
+        LocalDate stepinDate,
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities,
+        DoubleArray discountCurveNodes,
+        DoubleArray creditCurveNodes) {
+
+      this.cds = cds;
+      this.effectiveStartDate = effectiveStartDate;
+      this.stepinDate = stepinDate;
+      this.discountFactors = discountFactors;
+      this.survivalProbabilities = survivalProbabilities.getSurvivalProbabilities();
+      this.dayCount = discountFactors.getDayCount();
+      this.creditDayCount = this.survivalProbabilities.getDayCount();
+      this.discountCurveNodes = discountCurveNodes;
+      this.creditCurveNodes = creditCurveNodes;
+      this.protectionEnd = discountFactors.relativeYearFraction(cds.getProtectionEndDate());
+      this.protectionSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+          discountFactors.relativeYearFraction(effectiveStartDate), protectionEnd, discountCurveNodes, creditCurveNodes);
+    }
+
+    // gets the premium leg data, creating it if necessary
+    private Premium premium() {
+      Premium cached = premium;
+      if (cached == null) {
+        cached = new Premium(this);
+        premium = cached;
+      }
+      return cached;
+    }
+
+    // checks if the schedule applies to curves with the same day counts and the specified nodes
+    private boolean matches(
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities,
+        DoubleArray discountCurveNodes,
+        DoubleArray creditCurveNodes) {
+
+      return dayCount.equals(discountFactors.getDayCount()) &&
+          creditDayCount.equals(survivalProbabilities.getSurvivalProbabilities().getDayCount()) &&
+          this.discountCurveNodes.equals(discountCurveNodes) &&
+          this.creditCurveNodes.equals(creditCurveNodes);
+    }
+
+    //-------------------------------------------------------------------------
+    /**
+     * Gets the product.
+     *
+     * @return the product
+     */
+    ResolvedCds getProduct() {
+      return cds;
+    }
+
+    /**
+     * Gets the step-in date.
+     *
+     * @return the step-in date
+     */
+    LocalDate getStepinDate() {
+      return stepinDate;
+    }
+
+    /**
+     * Gets the integration schedule of the protection leg.
+     *
+     * @return the integration schedule
+     */
+    DoubleArray getProtectionSchedule() {
+      return protectionSchedule;
+    }
+
+    /**
+     * Gets the number of payment periods whose end date is after the step-in date.
+     *
+     * @return the number of live periods
+     */
+    int getLivePeriodCount() {
+      return premium().livePeriods.length;
+    }
+
+    /**
+     * Gets the live payment period at the specified index.
+     *
+     * @param index  the index of the live period
+     * @return the payment period
+     */
+    CreditCouponPaymentPeriod getLivePeriod(int index) {
+      return premium().livePeriods[index];
+    }
+
+    /**
+     * Gets the payment date year fraction of the live payment period at the specified index.
+     *
+     * @param index  the index of the live period
+     * @return the year fraction
+     */
+    double getPaymentYearFraction(int index) {
+      return premium().paymentYearFractions[index];
+    }
+
+    /**
+     * Gets the effective end date year fraction of the live payment period at the specified index.
+     *
+     * @param index  the index of the live period
+     * @return the year fraction
+     */
+    double getEffectiveEndYearFraction(int index) {
+      return premium().effectiveEndYearFractions[index];
+    }
+
+    /**
+     * Checks if the accrued interest is paid on default.
+     *
+     * @return true if the accrued interest is paid on default
+     */
+    boolean isAccruedInterest() {
+      return cds.getPaymentOnDefault().isAccruedInterest();
+    }
+
+    /**
+     * Gets the accrual on default knots of the payment period at the specified index.
+     * <p>
+     * The index refers to the payment periods of the product.
+     * The result is null if the period has expired.
+     *
+     * @param index  the index of the payment period
+     * @return the knots, null if expired
+     */
+    DoubleArray getAccrualOnDefaultKnots(int index) {
+      return premium().accrualOnDefaultKnots[index];
+    }
+
+    /**
+     * Gets the effective start date year fraction of the payment period at the specified index.
+     *
+     * @param index  the index of the payment period
+     * @return the year fraction
+     */
+    double getEffectiveStartYearFraction(int index) {
+      return premium().effectiveStartYearFractions[index];
+    }
+
+    /**
+     * Gets the year fraction of the payment period at the specified index, based on the day count of the curves.
+     *
+     * @param index  the index of the payment period
+     * @return the year fraction
+     */
+    double getCurveYearFraction(int index) {
+      return premium().curveYearFractions[index];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The premium leg data of a schedule.
+   */
+  private static final class Premium {
+
+    /**
+     * The payment periods whose end date is after the step-in date.
+     */
+    private final CreditCouponPaymentPeriod[] livePeriods;
+    /**
+     * The payment date year fractions of the live payment periods.
+     */
+    private final double[] paymentYearFractions;
+    /**
+     * The effective end date year fractions of the live payment periods.
+     */
+    private final double[] effectiveEndYearFractions;
+    /**
+     * The accrual on default knots of each payment period, null if the period has expired.
+     * <p>
+     * This is null if the product does not pay the accrued interest on default.
+     */
+    private final DoubleArray[] accrualOnDefaultKnots;
+    /**
+     * The effective start date year fractions of each payment period.
+     */
+    private final double[] effectiveStartYearFractions;
+    /**
+     * The year fractions of each payment period based on the day count of the curves.
+     */
+    private final double[] curveYearFractions;
+
+    // creates an instance
+    private Premium(Schedule schedule) {
+      ResolvedCds cds = schedule.cds;
+      LocalDate effectiveStartDate = schedule.effectiveStartDate;
+      CreditDiscountFactors discountFactors = schedule.discountFactors;
+      List<CreditCouponPaymentPeriod> periods = cds.getPaymentPeriods();
+      this.livePeriods = periods.stream()
+          .filter(coupon -> schedule.stepinDate.isBefore(coupon.getEndDate()))
+          .toArray(CreditCouponPaymentPeriod[]::new);
+      this.paymentYearFractions = new double[livePeriods.length];
+      this.effectiveEndYearFractions = new double[livePeriods.length];
+      for (int i = 0; i < livePeriods.length; ++i) {
+        paymentYearFractions[i] = discountFactors.relativeYearFraction(livePeriods[i].getPaymentDate());
+        effectiveEndYearFractions[i] =
+            schedule.survivalProbabilities.relativeYearFraction(livePeriods[i].getEffectiveEndDate());
+      }
+
+      int nPeriods = periods.size();
+      this.effectiveStartYearFractions = new double[nPeriods];
+      this.curveYearFractions = new double[nPeriods];
+      if (!cds.getPaymentOnDefault().isAccruedInterest()) {
+        this.accrualOnDefaultKnots = null;
+        return;
+      }
+      // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used.
+      LocalDate start = nPeriods == 1 ? effectiveStartDate : cds.getAccrualStartDate();
+      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+          discountFactors.relativeYearFraction(start),
+          schedule.protectionEnd,
+          schedule.discountCurveNodes,
+          schedule.creditCurveNodes);
+      this.accrualOnDefaultKnots = new DoubleArray[nPeriods];
+      for (int i = 0; i < nPeriods; ++i) {
+        CreditCouponPaymentPeriod coupon = periods.get(i);
+        LocalDate couponStart = coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ?
+            effectiveStartDate :
+            coupon.getEffectiveStartDate();
+        if (couponStart.isBefore(coupon.getEffectiveEndDate())) {
+          accrualOnDefaultKnots[i] = DoublesScheduleGenerator.truncateSetInclusive(
+              discountFactors.relativeYearFraction(couponStart),
+              discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()),
+              integrationSchedule);
+          effectiveStartYearFractions[i] = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+          curveYearFractions[i] = schedule.dayCount.relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+        }
+      }
+    }
+  }
+
+}
@@ -104,6 +104,28 @@ public class IsdaCdsProductPricer {
     return price(cds, ratesProvider, cds.getFixedRate(), referenceDate, priceType, refData);
   }
 
+  /**
+   * Calculates the price of the CDS product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #price(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @return the price
+   */
+  public double price(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
+    ResolvedCds cds = context.getProduct();
+    return price(context::schedule, cds, ratesProvider, cds.getFixedRate(), referenceDate, priceType);
+  }
+
   // internal price computation with specified coupon rate
   double price(
       ResolvedCds cds,
@@ -113,17 +135,27 @@ public class IsdaCdsProductPricer {
       PriceType priceType,
       ReferenceData refData) {
 
-    if (!cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate())) { //short cut already expired CDSs
+    return price(
+        singleUse(cds, ratesProvider, refData), cds, ratesProvider, fractionalSpread, referenceDate, priceType);
+  }
+
+  // internal price computation with specified coupon rate and schedules
+  private double price(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      double fractionalSpread,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
+    if (isExpired(cds, ratesProvider)) { //short cut already expired CDSs
       return 0d;
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double rpv01 = riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
+    double protectionLeg = protectionLeg(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
+    double rpv01 = riskyAnnuity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, priceType);
     return protectionLeg - rpv01 * fractionalSpread;
   }
 
@@ -144,18 +176,46 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       ReferenceData refData) {
 
+    return priceSensitivity(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate);
+  }
+
+  /**
+   * Calculates the price sensitivity of the product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #priceSensitivity(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @return the present value sensitivity
+   */
+  public PointSensitivityBuilder priceSensitivity(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
+    return priceSensitivity(context::schedule, context.getProduct(), ratesProvider, referenceDate);
+  }
+
+  // internal computation using the schedules
+  private PointSensitivityBuilder priceSensitivity(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
     if (isExpired(cds, ratesProvider)) {
       return PointSensitivityBuilder.none();
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
 
     PointSensitivityBuilder protectionLegSensi =
-        protectionLegSensitivity(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
+        protectionLegSensitivity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
     PointSensitivityBuilder riskyAnnuitySensi =
-        riskyAnnuitySensitivity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate)
+        riskyAnnuitySensitivity(schedule, rates.getFirst(), rates.getSecond(), referenceDate)
             .multipliedBy(-cds.getFixedRate());
 
     return protectionLegSensi.combinedWith(riskyAnnuitySensi);
@@ -189,6 +249,29 @@ public class IsdaCdsProductPricer {
     return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price);
   }
 
+  /**
+   * Calculates the present value of the CDS product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #presentValue(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
+    ResolvedCds cds = context.getProduct();
+    double price = price(context, ratesProvider, referenceDate, priceType);
+    return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price);
+  }
+
   /**
    * Calculates the present value sensitivity of the product. 
    * <p>
@@ -206,20 +289,48 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       ReferenceData refData) {
 
+    return presentValueSensitivity(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #presentValueSensitivity(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @return the present value sensitivity
+   */
+  public PointSensitivityBuilder presentValueSensitivity(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
+    return presentValueSensitivity(context::schedule, context.getProduct(), ratesProvider, referenceDate);
+  }
+
+  // internal computation using the schedules
+  private PointSensitivityBuilder presentValueSensitivity(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
     if (isExpired(cds, ratesProvider)) {
       return PointSensitivityBuilder.none();
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
 
     double signedNotional = cds.getBuySell().normalize(cds.getNotional());
     PointSensitivityBuilder protectionLegSensi =
-        protectionLegSensitivity(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate)
+        protectionLegSensitivity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate)
             .multipliedBy(signedNotional);
     PointSensitivityBuilder riskyAnnuitySensi = riskyAnnuitySensitivity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate)
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate)
             .multipliedBy(-cds.getFixedRate() * signedNotional);
 
     return protectionLegSensi.combinedWith(riskyAnnuitySensi);
@@ -244,15 +355,41 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       ReferenceData refData) {
 
+    return parSpread(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate);
+  }
+
+  /**
+   * Calculates the par spread of the CDS product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #parSpread(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @return the par spread
+   */
+  public double parSpread(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
+    return parSpread(context::schedule, context.getProduct(), ratesProvider, referenceDate);
+  }
+
+  // internal computation using the schedules
+  private double parSpread(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
     ArgChecker.isTrue(cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double riskyAnnuity =
-        riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
+    double protectionLeg = protectionLeg(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
+    double riskyAnnuity = riskyAnnuity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, PriceType.CLEAN);
     return protectionLeg / riskyAnnuity;
   }
 
@@ -274,21 +411,48 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       ReferenceData refData) {
 
+    return parSpreadSensitivity(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate);
+  }
+
+  /**
+   * Calculates the par spread sensitivity of the product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #parSpreadSensitivity(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @return the par spread
+   */
+  public PointSensitivityBuilder parSpreadSensitivity(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
+    return parSpreadSensitivity(context::schedule, context.getProduct(), ratesProvider, referenceDate);
+  }
+
+  // internal computation using the schedules
+  private PointSensitivityBuilder parSpreadSensitivity(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
     ArgChecker.isTrue(cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
+    double protectionLeg = protectionLeg(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
     double riskyAnnuityInv = 1d /
-        riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+        riskyAnnuity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, PriceType.CLEAN);
 
     PointSensitivityBuilder protectionLegSensi =
-        protectionLegSensitivity(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate)
+        protectionLegSensitivity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate)
             .multipliedBy(riskyAnnuityInv);
     PointSensitivityBuilder riskyAnnuitySensi = riskyAnnuitySensitivity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate)
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate)
             .multipliedBy(-protectionLeg * riskyAnnuityInv * riskyAnnuityInv);
 
     return protectionLegSensi.combinedWith(riskyAnnuitySensi);
@@ -310,14 +474,42 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       ReferenceData refData) {
 
+    return protectionLeg(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate);
+  }
+
+  /**
+   * Calculates the price of the protection leg using a pricing context.
+   * <p>
+   * This is equivalent to {@link #protectionLeg(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @return the protection leg price
+   */
+  public double protectionLeg(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
+    return protectionLeg(context::schedule, context.getProduct(), ratesProvider, referenceDate);
+  }
+
+  // internal computation using the schedules
+  private double protectionLeg(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate) {
+
     if (isExpired(cds, ratesProvider)) {
       return 0d;
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    return protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
+    return protectionLeg(schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
   }
 
   //-------------------------------------------------------------------------
@@ -338,13 +530,44 @@ public class IsdaCdsProductPricer {
       PriceType priceType,
       ReferenceData refData) {
 
+    return riskyAnnuity(singleUse(cds, ratesProvider, refData), cds, ratesProvider, referenceDate, priceType);
+  }
+
+  /**
+   * Calculates the risky annuity using a pricing context.
+   * <p>
+   * This is equivalent to {@link #riskyAnnuity(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @return the risky annuity
+   */
+  public double riskyAnnuity(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
+    return riskyAnnuity(context::schedule, context.getProduct(), ratesProvider, referenceDate, priceType);
+  }
+
+  // internal computation using the schedules
+  private double riskyAnnuity(
+      ScheduleProvider schedules,
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
     if (isExpired(cds, ratesProvider)) {
       return 0d;
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    return riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    IsdaCdsPricingContext.Schedule schedule = schedules.schedule(rates.getFirst(), rates.getSecond());
+    return riskyAnnuity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, priceType);
   }
 
   //-------------------------------------------------------------------------
@@ -371,6 +594,29 @@ public class IsdaCdsProductPricer {
     return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * riskyAnnuity);
   }
 
+  /**
+   * Calculates the risky PV01 of the CDS product using a pricing context.
+   * <p>
+   * This is equivalent to {@link #rpv01(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)},
+   * reusing the dates and integration schedules held by the context.
+   * 
+   * @param context  the pricing context of the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @return the RPV01
+   */
+  public CurrencyAmount rpv01(
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType) {
+
+    ResolvedCds cds = context.getProduct();
+    double riskyAnnuity = riskyAnnuity(context, ratesProvider, referenceDate, priceType);
+    return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * riskyAnnuity);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the recovery01 of the CDS product.
@@ -394,11 +640,11 @@ public class IsdaCdsProductPricer {
     if (isExpired(cds, ratesProvider)) {
       return CurrencyAmount.of(cds.getCurrency(), 0d);
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     validateRecoveryRates(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionFull = protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
+    double protectionFull = protectionFull(schedule, rates.getFirst(), rates.getSecond(), referenceDate);
 
     return CurrencyAmount.of(cds.getCurrency(), -cds.getBuySell().normalize(cds.getNotional()) * protectionFull);
   }
@@ -426,14 +672,13 @@ public class IsdaCdsProductPricer {
     if (isExpired(cds, ratesProvider)) {
       return JumpToDefault.of(currency, ImmutableMap.of(legalEntityId, 0d));
     }
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionFull = protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
+    double protectionFull = protectionFull(schedule, rates.getFirst(), rates.getSecond(), referenceDate);
     double lgd = 1d - recoveryRate;
-    double rpv01 = riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    double rpv01 = riskyAnnuity(schedule, rates.getFirst(), rates.getSecond(), referenceDate, PriceType.CLEAN);
     double jtd = lgd - (lgd * protectionFull - cds.getFixedRate() * rpv01);
     return JumpToDefault.of(currency, ImmutableMap.of(legalEntityId, cds.getBuySell().normalize(cds.getNotional()) * jtd));
   }
@@ -465,30 +710,24 @@ public class IsdaCdsProductPricer {
   //-------------------------------------------------------------------------
   // computes protection leg pv per unit notional
   private double protectionLeg(
-      ResolvedCds cds,
+      IsdaCdsPricingContext.Schedule schedule,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities,
       LocalDate referenceDate,
-      LocalDate effectiveStartDate,
       double recoveryRate) {
 
-    double protectionFull = protectionFull(cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate);
+    double protectionFull = protectionFull(schedule, discountFactors, survivalProbabilities, referenceDate);
     return (1d - recoveryRate) * protectionFull;
   }
 
   // computes protection leg pv per unit notional, without loss-given-default rate multiplied
   double protectionFull(
-      ResolvedCds cds,
+      IsdaCdsPricingContext.Schedule schedule,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities,
-      LocalDate referenceDate,
-      LocalDate effectiveStartDate) {
+      LocalDate referenceDate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+    DoubleArray integrationSchedule = schedule.getProtectionSchedule();
 
     double pv = 0d;
     double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
@@ -523,34 +762,25 @@ public class IsdaCdsProductPricer {
 
   // computes risky annuity
   double riskyAnnuity(
-      ResolvedCds cds,
+      IsdaCdsPricingContext.Schedule schedule,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities,
       LocalDate referenceDate,
-      LocalDate stepinDate,
-      LocalDate effectiveStartDate,
       PriceType priceType) {
 
+    CreditDiscountFactors survival = survivalProbabilities.getSurvivalProbabilities();
     double pv = 0d;
-    for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-      if (stepinDate.isBefore(coupon.getEndDate())) {
-        double q = survivalProbabilities.survivalProbability(coupon.getEffectiveEndDate());
-        double p = discountFactors.discountFactor(coupon.getPaymentDate());
-        pv += coupon.getYearFraction() * p * q;
-      }
+    for (int i = 0; i < schedule.getLivePeriodCount(); ++i) {
+      double q = survival.discountFactor(schedule.getEffectiveEndYearFraction(i));
+      double p = discountFactors.discountFactor(schedule.getPaymentYearFraction(i));
+      pv += schedule.getLivePeriod(i).getYearFraction() * p * q;
     }
 
-    if (cds.getPaymentOnDefault().isAccruedInterest()) {
-      // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
-      LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
-      for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
+    if (schedule.isAccruedInterest()) {
+      ResolvedCds cds = schedule.getProduct();
+      for (int i = 0; i < cds.getPaymentPeriods().size(); ++i) {
         pv += singlePeriodAccrualOnDefault(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+            cds.getPaymentPeriods().get(i), schedule, i, discountFactors, survivalProbabilities);
       }
     }
     // roll to the cash settle date
@@ -558,7 +788,7 @@ public class IsdaCdsProductPricer {
     pv /= df;
 
     if (priceType.isCleanPrice()) {
-      pv -= cds.accruedYearFraction(stepinDate);
+      pv -= schedule.getProduct().accruedYearFraction(schedule.getStepinDate());
     }
 
     return pv;
@@ -567,26 +797,22 @@ public class IsdaCdsProductPricer {
   // computes accrual-on-default pv per unit notional for a single payment period
   private double singlePeriodAccrualOnDefault(
       CreditCouponPaymentPeriod coupon,
-      LocalDate effectiveStartDate,
-      DoubleArray integrationSchedule,
+      IsdaCdsPricingContext.Schedule schedule,
+      int periodIndex,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities) {
 
-    LocalDate start =
-        coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
-    if (!start.isBefore(coupon.getEffectiveEndDate())) {
+    DoubleArray knots = schedule.getAccrualOnDefaultKnots(periodIndex);
+    if (knots == null) {
       return 0d; // this coupon has already expired
     }
 
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
-
     double t0Knot = knots.get(0);
     double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
     double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
     double b0 = Math.exp(-rt0 - ht0);
 
-    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+    double effStart = schedule.getEffectiveStartYearFraction(periodIndex);
     double t0 = t0Knot - effStart + omega;
     double pv = 0d;
     final int nItems = knots.size();
@@ -625,25 +851,19 @@ public class IsdaCdsProductPricer {
       b0 = b1;
     }
 
-    double yearFractionCurve =
-        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+    double yearFractionCurve = schedule.getCurveYearFraction(periodIndex);
     return coupon.getYearFraction() * pv / yearFractionCurve;
   }
 
   //-------------------------------------------------------------------------
   PointSensitivityBuilder protectionLegSensitivity(
-      ResolvedCds cds,
+      IsdaCdsPricingContext.Schedule schedule,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities,
       LocalDate referenceDate,
-      LocalDate effectiveStartDate,
       double recoveryRate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+    DoubleArray integrationSchedule = schedule.getProtectionSchedule();
     int n = integrationSchedule.size();
     double[] dht = new double[n - 1];
     double[] drt = new double[n - 1];
@@ -716,38 +936,32 @@ public class IsdaCdsProductPricer {
   }
 
   PointSensitivityBuilder riskyAnnuitySensitivity(
-      ResolvedCds cds,
+      IsdaCdsPricingContext.Schedule schedule,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities,
-      LocalDate referenceDate,
-      LocalDate stepinDate,
-      LocalDate effectiveStartDate) {
+      LocalDate referenceDate) {
 
+    CreditDiscountFactors survival = survivalProbabilities.getSurvivalProbabilities();
     double pv = 0d;
     PointSensitivityBuilder pvSensi = PointSensitivityBuilder.none();
-    for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-      if (stepinDate.isBefore(coupon.getEndDate())) {
-        double q = survivalProbabilities.survivalProbability(coupon.getEffectiveEndDate());
-        PointSensitivityBuilder qSensi = survivalProbabilities.zeroRatePointSensitivity(coupon.getEffectiveEndDate());
-        double p = discountFactors.discountFactor(coupon.getPaymentDate());
-        PointSensitivityBuilder pSensi = discountFactors.zeroRatePointSensitivity(coupon.getPaymentDate());
-        pv += coupon.getYearFraction() * p * q;
-        pvSensi = pvSensi.combinedWith(pSensi.multipliedBy(coupon.getYearFraction() * q)
-            .combinedWith(qSensi.multipliedBy(coupon.getYearFraction() * p)));
-      }
+    for (int i = 0; i < schedule.getLivePeriodCount(); ++i) {
+      CreditCouponPaymentPeriod coupon = schedule.getLivePeriod(i);
+      double effectiveEnd = schedule.getEffectiveEndYearFraction(i);
+      double payment = schedule.getPaymentYearFraction(i);
+      double q = survival.discountFactor(effectiveEnd);
+      PointSensitivityBuilder qSensi = survivalProbabilities.zeroRatePointSensitivity(effectiveEnd);
+      double p = discountFactors.discountFactor(payment);
+      PointSensitivityBuilder pSensi = discountFactors.zeroRatePointSensitivity(payment);
+      pv += coupon.getYearFraction() * p * q;
+      pvSensi = pvSensi.combinedWith(pSensi.multipliedBy(coupon.getYearFraction() * q)
+          .combinedWith(qSensi.multipliedBy(coupon.getYearFraction() * p)));
     }
 
-    if (cds.getPaymentOnDefault().isAccruedInterest()) {
-      // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
-      LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
-      for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
+    if (schedule.isAccruedInterest()) {
+      ResolvedCds cds = schedule.getProduct();
+      for (int i = 0; i < cds.getPaymentPeriods().size(); ++i) {
         Pair<Double, PointSensitivityBuilder> pvAndSensi = singlePeriodAccrualOnDefaultSensitivity(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+            cds.getPaymentPeriods().get(i), schedule, i, discountFactors, survivalProbabilities);
         pv += pvAndSensi.getFirst();
         pvSensi = pvSensi.combinedWith(pvAndSensi.getSecond());
       }
@@ -763,18 +977,15 @@ public class IsdaCdsProductPricer {
 
   private Pair<Double, PointSensitivityBuilder> singlePeriodAccrualOnDefaultSensitivity(
       CreditCouponPaymentPeriod coupon,
-      LocalDate effectiveStartDate,
-      DoubleArray integrationSchedule,
+      IsdaCdsPricingContext.Schedule schedule,
+      int periodIndex,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities) {
 
-    LocalDate start =
-        coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
-    if (!start.isBefore(coupon.getEffectiveEndDate())) {
+    DoubleArray knots = schedule.getAccrualOnDefaultKnots(periodIndex);
+    if (knots == null) {
       return Pair.of(0d, PointSensitivityBuilder.none()); //this coupon has already expired
     }
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
     // pv
     double pv = 0d;
     final int nItems = knots.size();
@@ -789,7 +1000,7 @@ public class IsdaCdsProductPricer {
     q[0] = Math.exp(-ht0);
     p[0] = Math.exp(-rt0);
     double b0 = q[0] * p[0];
-    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+    double effStart = schedule.getEffectiveStartYearFraction(periodIndex);
     double t0 = t - effStart + omega;
     for (int i = 1; i < nItems; ++i) {
       t = knots.get(i);
@@ -840,8 +1051,7 @@ public class IsdaCdsProductPricer {
       rt0 = rt1;
       b0 = b1;
     }
-    double yfRatio = coupon.getYearFraction() /
-        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+    double yfRatio = coupon.getYearFraction() / schedule.getCurveYearFraction(periodIndex);
     // pv sensitivity
     PointSensitivityBuilder qSensiFirst = survivalProbabilities.zeroRatePointSensitivity(knots.get(0))
         .multipliedBy(yfRatio * ((dhrtBar[0] + dhtBar[0]) / q[0] + bBar[0] * p[0]));
@@ -898,4 +1108,24 @@ public class IsdaCdsProductPricer {
     return Pair.of(discountFactors, survivalProbabilities);
   }
 
+  // provides the schedules of a product that is priced once, without creating a pricing context
+  private static ScheduleProvider singleUse(ResolvedCds cds, CreditRatesProvider ratesProvider, ReferenceData refData) {
+    return (discountFactors, survivalProbabilities) -> IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), discountFactors, survivalProbabilities, refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Provides the schedule of the product for a pair of curves.
+   * <p>
+   * This is either a pricing context, which caches the schedule, or a single use schedule.
+   */
+  private interface ScheduleProvider {
+
+    // gets the schedule for the curves
+    IsdaCdsPricingContext.Schedule schedule(
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities);
+  }
+
 }
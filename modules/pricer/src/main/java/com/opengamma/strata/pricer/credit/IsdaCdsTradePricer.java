@@ -245,6 +245,18 @@ public class IsdaCdsTradePricer {
     return productPricer.presentValue(trade.getProduct(), ratesProvider, settlementDate, priceType, refData);
   }
 
+  // calculates the present value of the underlying product, reusing the pricing context of the product
+  CurrencyAmount presentValueOnSettle(
+      ResolvedCdsTrade trade,
+      IsdaCdsPricingContext context,
+      CreditRatesProvider ratesProvider,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    LocalDate settlementDate = calculateSettlementDate(trade, ratesProvider, refData);
+    return productPricer.presentValue(context, ratesProvider, settlementDate, priceType);
+  }
+
   /**
    * Calculates the present value sensitivity of the underlying product. 
    * <p>
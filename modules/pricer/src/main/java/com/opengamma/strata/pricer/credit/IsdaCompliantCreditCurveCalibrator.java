@@ -6,14 +6,19 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -156,12 +161,8 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
 
     ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
         "ratesProvider and curveDefinition must be based on the same valuation date");
-    ImmutableList<CdsIsdaCreditCurveNode> curveNodes = curveDefinition.getCurveNodes().stream()
-        .filter(n -> n instanceof CdsIsdaCreditCurveNode)
-        .map(n -> (CdsIsdaCreditCurveNode) n)
-        .collect(Guavate.toImmutableList());
     return calibrate(
-        curveNodes,
+        curveNodes(curveDefinition),
         curveDefinition.getName(),
         marketData,
         ratesProvider,
@@ -172,6 +173,156 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of many legal entities to the market data.
+   * <p>
+   * This creates a credit curve for each curve definition, as {@link #calibrate(IsdaCreditCurveDefinition,
+   * MarketData, ImmutableCreditRatesProvider, ReferenceData)} does for a single definition.
+   * The curves are calibrated sequentially in the calling thread.
+   * <p>
+   * The node trades of all the legal entities are created first. The discount curves are then evaluated
+   * once for each currency on the dates and integration points of the premium and protection legs
+   * of those trades, with the values shared by the calibrations of all the legal entities.
+   * The curves are the same as those calibrated one at a time.
+   * <p>
+   * The result is the specified rates provider with the calibrated credit curves added.
+   * A credit curve already in the rates provider for the same legal entity and currency is replaced.
+   * 
+   * @param curveDefinitions  the curve definitions, at most one for each legal entity and currency
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the rates provider with the calibrated credit curves
+   * @throws IllegalArgumentException if there are two curve definitions for the same legal entity and currency
+   */
+  public ImmutableCreditRatesProvider calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return calibrate(curveDefinitions, marketData, ratesProvider, refData, Runnable::run);
+  }
+
+  /**
+   * Calibrates the ISDA compliant credit curves of many legal entities to the market data using an executor.
+   * <p>
+   * This is as {@link #calibrate(List, MarketData, ImmutableCreditRatesProvider, ReferenceData)}, except that
+   * the node trades and the credit curve of each legal entity are created as separate tasks on the executor.
+   * The curves are the same as those calibrated sequentially.
+   * 
+   * @param curveDefinitions  the curve definitions, at most one for each legal entity and currency
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @param executor  the executor used to calibrate the curves
+   * @return the rates provider with the calibrated credit curves
+   * @throws IllegalArgumentException if there are two curve definitions for the same legal entity and currency
+   */
+  public ImmutableCreditRatesProvider calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    for (IsdaCreditCurveDefinition curveDefinition : curveDefinitions) {
+      ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
+          "ratesProvider and curveDefinition must be based on the same valuation date");
+    }
+    // create the node trades, then evaluate the discount curve of each currency on the dates of all the trades
+    List<Pair<List<CdsCalibrationTrade>, List<ResolvedCdsTrade>>> nodeTrades = joinAll(curveDefinitions.stream()
+        .map(curveDefinition -> CompletableFuture.supplyAsync(() -> {
+          List<CdsCalibrationTrade> trades = nodeTrades(curveNodes(curveDefinition), marketData, refData);
+          return Pair.of(trades, resolvedTrades(trades, refData));
+        }, executor))
+        .collect(Guavate.toImmutableList()));
+    Map<Currency, List<ResolvedCdsTrade>> tradesByCurrency = new HashMap<>();
+    for (int i = 0; i < curveDefinitions.size(); i++) {
+      tradesByCurrency.computeIfAbsent(curveDefinitions.get(i).getCurrency(), ccy -> new ArrayList<>())
+          .addAll(nodeTrades.get(i).getSecond());
+    }
+    Map<Currency, DiscountFactorGrid> grids = new HashMap<>();
+    for (Map.Entry<Currency, List<ResolvedCdsTrade>> entry : tradesByCurrency.entrySet()) {
+      grids.put(entry.getKey(), DiscountFactorGrid.of(
+          ratesProvider.discountFactors(entry.getKey()), ratesProvider.getValuationDate(), entry.getValue(), refData));
+    }
+    // calibrate each legal entity
+    List<LegalEntitySurvivalProbabilities> calibratedCurves = joinAll(IntStream.range(0, curveDefinitions.size())
+        .mapToObj(i -> {
+          IsdaCreditCurveDefinition curveDefinition = curveDefinitions.get(i);
+          return CompletableFuture.supplyAsync(() -> calibrate(
+              curveNodes(curveDefinition),
+              nodeTrades.get(i).getFirst(),
+              nodeTrades.get(i).getSecond(),
+              curveDefinition.getName(),
+              marketData,
+              ratesProvider,
+              curveDefinition.getDayCount(),
+              curveDefinition.getCurrency(),
+              curveDefinition.isComputeJacobian(),
+              curveDefinition.isStoreNodeTrade(),
+              grids.get(curveDefinition.getCurrency()),
+              refData), executor);
+        })
+        .collect(Guavate.toImmutableList()));
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> calibrated = new HashMap<>();
+    for (LegalEntitySurvivalProbabilities creditCurve : calibratedCurves) {
+      Pair<StandardId, Currency> key = Pair.of(creditCurve.getLegalEntityId(), creditCurve.getCurrency());
+      ArgChecker.isTrue(calibrated.put(key, creditCurve) == null,
+          "Curve definitions must be unique for each legal entity and currency: {}", key);
+    }
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        new HashMap<>(ratesProvider.getCreditCurves());
+    creditCurves.putAll(calibrated);
+    return ratesProvider.toBuilder()
+        .creditCurves(creditCurves)
+        .build();
+  }
+
+  // waits for all the futures, rethrowing the first failure
+  private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+    List<T> results = new ArrayList<>(futures.size());
+    try {
+      for (CompletableFuture<T> future : futures) {
+        results.add(future.join());
+      }
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return results;
+  }
+
+  // creates the calibration trades of the nodes
+  private static List<CdsCalibrationTrade> nodeTrades(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    return curveNodes.stream()
+        .map(node -> node.trade(1d, marketData, refData))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // resolves the underlying trades of the calibration trades
+  private static List<ResolvedCdsTrade> resolvedTrades(List<CdsCalibrationTrade> nodeTrades, ReferenceData refData) {
+    return nodeTrades.stream()
+        .map(trade -> trade.getUnderlyingTrade().resolve(refData))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // extracts the single-name CDS nodes
+  private static ImmutableList<CdsIsdaCreditCurveNode> curveNodes(IsdaCreditCurveDefinition curveDefinition) {
+    return curveDefinition.getCurveNodes().stream()
+        .filter(n -> n instanceof CdsIsdaCreditCurveNode)
+        .map(n -> (CdsIsdaCreditCurveNode) n)
+        .collect(Guavate.toImmutableList());
+  }
+
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
@@ -183,6 +334,37 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       boolean storeTrade,
       ReferenceData refData) {
 
+    List<CdsCalibrationTrade> nodeTrades = nodeTrades(curveNodes, marketData, refData);
+    return calibrate(
+        curveNodes,
+        nodeTrades,
+        resolvedTrades(nodeTrades, refData),
+        name,
+        marketData,
+        ratesProvider,
+        definitionDayCount,
+        definitionCurrency,
+        computeJacobian,
+        storeTrade,
+        DiscountFactorGrid.of(ratesProvider.discountFactors(definitionCurrency)),
+        refData);
+  }
+
+  // calibrates using discount factors that may be shared with other calibrations
+  private LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      List<CdsCalibrationTrade> nodeTrades,
+      List<ResolvedCdsTrade> trades,
+      CurveName name,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      DayCount definitionDayCount,
+      Currency definitionCurrency,
+      boolean computeJacobian,
+      boolean storeTrade,
+      DiscountFactorGrid discountFactorGrid,
+      ReferenceData refData) {
+
     Iterator<StandardId> legalEntities =
         curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
     StandardId legalEntityId = legalEntities.next();
@@ -200,7 +382,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     LocalDate valuationDate = marketData.getValuationDate();
     ArgChecker.isTrue(valuationDate.equals(marketData.getValuationDate()),
         "ratesProvider and marketDate must be based on the same valuation date");
-    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    CreditDiscountFactors discountFactors = discountFactorGrid.getDiscountFactors();
     ArgChecker.isTrue(definitionDayCount.equals(discountFactors.getDayCount()),
         "credit curve and discount curve must be based on the same day count convention");
     RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
@@ -209,16 +391,14 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     double[] coupons = new double[nNodes];
     double[] pufs = new double[nNodes];
     double[][] diag = new double[nNodes][nNodes];
-    Builder<ResolvedCdsTrade> tradesBuilder = ImmutableList.builder();
     for (int i = 0; i < nNodes; i++) {
-      CdsCalibrationTrade tradeCalibration = curveNodes.get(i).trade(1d, marketData, refData);
-      ResolvedCdsTrade trade = tradeCalibration.getUnderlyingTrade().resolve(refData);
-      tradesBuilder.add(trade);
+      CdsCalibrationTrade tradeCalibration = nodeTrades.get(i);
+      ResolvedCdsTrade trade = trades.get(i);
       double[] temp = getStandardQuoteForm(
           trade,
           tradeCalibration.getQuote(),
           valuationDate,
-          discountFactors,
+          discountFactorGrid,
           recoveryRates,
           computeJacobian,
           refData);
@@ -226,14 +406,13 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       pufs[i] = temp[1];
       diag[i][i] = temp[2];
     }
-    ImmutableList<ResolvedCdsTrade> trades = tradesBuilder.build();
     NodalCurve nodalCurve = calibrate(
         trades,
         DoubleArray.ofUnsafe(coupons),
         DoubleArray.ofUnsafe(pufs),
         name,
         valuationDate,
-        discountFactors,
+        discountFactorGrid,
         recoveryRates,
         refData);
 
@@ -324,8 +503,31 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       RecoveryRates recoveryRates,
       ReferenceData refData);
 
+  // calibrates using discount factors that may be shared with other calibrations
+  // subclasses that can use the shared discount factors override this
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      DiscountFactorGrid discountFactorGrid,
+      RecoveryRates recoveryRates,
+      ReferenceData refData) {
+
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        discountFactorGrid.getDiscountFactors(),
+        recoveryRates,
+        refData);
+  }
+
   private double[] getStandardQuoteForm(ResolvedCdsTrade calibrationCds, CdsQuote marketQuote, LocalDate valuationDate,
-      CreditDiscountFactors discountFactors, RecoveryRates recoveryRates, boolean computeJacobian, ReferenceData refData) {
+      DiscountFactorGrid discountFactorGrid, RecoveryRates recoveryRates, boolean computeJacobian, ReferenceData refData) {
 
     double[] res = new double[3];
     res[2] = 1d;
@@ -340,14 +542,14 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
           DoubleArray.of(0d),
           curveName,
           valuationDate,
-          discountFactors,
+          discountFactorGrid,
           recoveryRates,
           refData);
       Currency currency = calibrationCds.getProduct().getCurrency();
       StandardId legalEntityId = calibrationCds.getProduct().getLegalEntityId();
       ImmutableCreditRatesProvider rates = ImmutableCreditRatesProvider.builder()
           .valuationDate(valuationDate)
-          .discountCurves(ImmutableMap.of(currency, discountFactors))
+          .discountCurves(ImmutableMap.of(currency, discountFactorGrid.getDiscountFactors()))
           .recoveryRateCurves(ImmutableMap.of(legalEntityId, recoveryRates))
           .creditCurves(
               ImmutableMap.of(
@@ -137,14 +137,14 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
     Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
     double protectionLeg = (1d - recoveryRate) *
-        underlyingPricer.protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+        underlyingPricer.protectionFull(schedule, rates.getFirst(), rates.getSecond(), referenceDate);
     double rpv01 = underlyingPricer.riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate, priceType);
     double amount =
         cds.getBuySell().normalize(cds.getNotional()) * rates.getThird() * (protectionLeg - rpv01 * cds.getFixedRate());
     return CurrencyAmount.of(cds.getCurrency(), amount);
@@ -171,17 +171,17 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return PointSensitivityBuilder.none();
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
     Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
 
     double signedNotional = cds.getBuySell().normalize(cds.getNotional());
     PointSensitivityBuilder protectionLegSensi = underlyingPricer.protectionLegSensitivity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate, recoveryRate);
     protectionLegSensi = protectionLegSensi.multipliedBy(signedNotional * rates.getThird());
     PointSensitivityBuilder riskyAnnuitySensi = underlyingPricer.riskyAnnuitySensitivity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate);
     riskyAnnuitySensi = riskyAnnuitySensi.multipliedBy(-cds.getFixedRate() * signedNotional * rates.getThird());
 
     return protectionLegSensi.combinedWith(riskyAnnuitySensi);
@@ -256,11 +256,11 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
     double riskyAnnuity = underlyingPricer.riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate, priceType);
     double amount = cds.getBuySell().normalize(cds.getNotional()) * riskyAnnuity * rates.getThird();
     return CurrencyAmount.of(cds.getCurrency(), amount);
   }
@@ -289,12 +289,12 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     underlyingPricer.validateRecoveryRates(cds, ratesProvider);
     Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
     double protectionFull =
-        underlyingPricer.protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+        underlyingPricer.protectionFull(schedule, rates.getFirst(), rates.getSecond(), referenceDate);
     double amount = -cds.getBuySell().normalize(cds.getNotional()) * protectionFull * rates.getThird();
     return CurrencyAmount.of(cds.getCurrency(), amount);
   }
@@ -326,14 +326,14 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return JumpToDefault.of(currency, ImmutableMap.of(indexId, 0d));
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
-    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
-    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
     Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    IsdaCdsPricingContext.Schedule schedule = IsdaCdsPricingContext.Schedule.of(
+        cds, ratesProvider.getValuationDate(), rates.getFirst(), rates.getSecond(), refData);
     double protectionFull = underlyingPricer.protectionFull(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate);
     double rpv01 = underlyingPricer.riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+        schedule, rates.getFirst(), rates.getSecond(), referenceDate, PriceType.CLEAN);
     double lgd = 1d - recoveryRate;
     double numTotal = cdsIndex.getLegalEntityIds().size();
     double jtd = (lgd - (lgd * protectionFull - cds.getFixedRate() * rpv01)) / numTotal;
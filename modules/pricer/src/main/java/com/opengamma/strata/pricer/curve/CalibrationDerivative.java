@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
@@ -41,6 +42,10 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * Whether the derivative of each trade is computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Creates an instance.
@@ -56,10 +61,30 @@ class CalibrationDerivative
       RatesProviderGenerator providerGenerator,
       List<CurveParameterSize> curveOrder) {
 
+    this(trades, measures, providerGenerator, curveOrder, false);
+  }
+
+  /**
+   * Creates an instance, specifying whether the trades are processed in parallel.
+   * 
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param providerGenerator  the provider generator, used to create child providers
+   * @param curveOrder  the curve order
+   * @param parallel  whether the derivative of each trade is computed in parallel
+   */
+  CalibrationDerivative(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProviderGenerator providerGenerator,
+      List<CurveParameterSize> curveOrder,
+      boolean parallel) {
+
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -69,6 +94,13 @@ class CalibrationDerivative
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
     int size = trades.size();
+    if (parallel) {
+      DoubleArray[] rows = IntStream.range(0, size)
+          .parallel()
+          .mapToObj(i -> measures.derivative(trades.get(i), provider, curveOrder))
+          .toArray(DoubleArray[]::new);
+      return DoubleMatrix.ofArrayObjects(size, size, i -> rows[i]);
+    }
     return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
   }
 
@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -34,6 +35,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * Whether the value of each trade is computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Creates an instance.
@@ -47,9 +52,27 @@ class CalibrationValue
       CalibrationMeasures measures,
       RatesProviderGenerator providerGenerator) {
 
+    this(trades, measures, providerGenerator, false);
+  }
+
+  /**
+   * Creates an instance, specifying whether the trades are processed in parallel.
+   * 
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param providerGenerator  the provider generator, used to create child providers
+   * @param parallel  whether the value of each trade is computed in parallel
+   */
+  CalibrationValue(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProviderGenerator providerGenerator,
+      boolean parallel) {
+
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -58,6 +81,12 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
+    if (parallel) {
+      return DoubleArray.ofUnsafe(IntStream.range(0, trades.size())
+          .parallel()
+          .mapToDouble(i -> measures.value(trades.get(i), childProvider))
+          .toArray());
+    }
     return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
   }
 
@@ -8,9 +8,19 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -24,12 +34,16 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
@@ -51,6 +65,14 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * A calibrator may be {@linkplain #withParallel(boolean) configured} to calibrate in parallel.
+ * In this mode, the curves of each group are split into blocks of curves that depend on one another.
+ * The dependencies between curves are determined from the sensitivities of the node trades
+ * at the initial guess. Blocks that do not depend on one another are calibrated in parallel,
+ * with each block calibrated once the blocks it depends on are complete.
+ * The values and sensitivities of the node trades are also computed in parallel.
+ * The calibrated curves are the same as in sequential mode, within the tolerance of the root finder.
  */
 public final class RatesCurveCalibrator {
 
@@ -78,6 +100,10 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * Whether calibration is performed in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   /**
@@ -153,7 +179,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures pvMeasures) {
 
     NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false);
   }
 
   /**
@@ -170,7 +196,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false);
   }
 
   //-------------------------------------------------------------------------
@@ -178,11 +204,13 @@ public final class RatesCurveCalibrator {
   private RatesCurveCalibrator(
       NewtonVectorRootFinder rootFinder,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      boolean parallel) {
 
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -195,6 +223,29 @@ public final class RatesCurveCalibrator {
     return measures;
   }
 
+  /**
+   * Checks whether calibration is performed in parallel.
+   * 
+   * @return true if calibration is performed in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Returns a copy of this calibrator that performs calibration in parallel, or not.
+   * <p>
+   * In parallel mode, the curves of each group are split into blocks of curves that depend on one another.
+   * Independent blocks are calibrated in parallel using the common fork-join pool.
+   * The trades at the nodes of the curves are also valued in parallel.
+   * 
+   * @param parallel  true to calibrate in parallel
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withParallel(boolean parallel) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, parallel);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrates a single curve group, containing one or more curves.
@@ -215,14 +266,7 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
-    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
-        .filter(IndexQuoteId.class::isInstance)
-        .map(IndexQuoteId.class::cast)
-        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
-        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
-        .timeSeries(timeSeries)
-        .build();
+    ImmutableRatesProvider knownData = knownData(marketData);
     return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
@@ -245,6 +289,73 @@ public final class RatesCurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupsDefn, null, knownData, marketData, refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Recalibrates a single curve group, starting from the result of a previous calibration.
+   * <p>
+   * This is intended for recalibration following small changes in market data, such as intraday quote moves.
+   * The curves in the previous provider are used as the starting point of the root finder,
+   * instead of the initial guesses of the curve definitions.
+   * If the previous curves contain the {@linkplain CurveInfoType#JACOBIAN Jacobian} of their calibration,
+   * it is used as the initial estimate of the derivative, which the root finder then updates.
+   * If a curve of the group is not found in the previous provider, or the root finder fails to converge,
+   * the group is calibrated from the initial guesses in the same way as {@link #calibrate}.
+   * <p>
+   * The result is the same as calling {@code calibrate}, within the tolerance of the root finder.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param previousProvider  the rates provider resulting from a previous calibration of the group
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      ImmutableRatesProvider previousProvider,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return recalibrate(ImmutableList.of(curveGroupDefn), previousProvider, knownData, marketData, refData);
+  }
+
+  /**
+   * Recalibrates a list of curve groups, starting from the result of a previous calibration.
+   * <p>
+   * This is intended for recalibration following small changes in market data, such as intraday quote moves.
+   * See {@link #recalibrate(RatesCurveGroupDefinition, ImmutableRatesProvider, MarketData, ReferenceData)}.
+   * <p>
+   * A curve must only exist in one group.
+   *
+   * @param allGroupsDefn  the curve group definitions
+   * @param previousProvider  the rates provider resulting from a previous calibration of the groups
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      List<RatesCurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider previousProvider,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(previousProvider, "previousProvider");
+    return calibrate(allGroupsDefn, previousProvider, knownData, marketData, refData);
+  }
+
+  // calibrates the groups, starting from the previous provider if not null
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider previousProvider,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -272,8 +383,15 @@ public final class RatesCurveCalibrator {
           .build();
 
       // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      ImmutableRatesProvider providerPrev = providerCombined;
+      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerPrev, groupDefnBound, refData);
+      Supplier<DoubleArray> calibration = () -> parallel ?
+          calibrateGroupInBlocks(
+              providerPrev, groupDefnBound, providerGenerator, trades, initialGuesses, orderGroup, refData) :
+          calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams = previousProvider != null ?
+          recalibrateGroup(providerGenerator, trades, orderGroup, previousProvider, calibration) :
+          calibration.get();
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -295,6 +413,18 @@ public final class RatesCurveCalibrator {
     return providerCombined;
   }
 
+  // creates the known data from the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
+        .filter(IndexQuoteId.class::isInstance)
+        .map(IndexQuoteId.class::cast)
+        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .timeSeries(timeSeries)
+        .build();
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(RatesCurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -309,15 +439,303 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, parallel);
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, parallel);
 
     // calibrate
     DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
     return rootFinder.findRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
   }
 
+  //-------------------------------------------------------------------------
+  // calibrates a single group, starting from the curves in the previous provider
+  // the Jacobian in the metadata of the previous curves is used as the initial estimate of the derivative
+  // if the previous curves cannot be used, or the root finder fails, the fallback calibration is used
+  private DoubleArray recalibrateGroup(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<CurveParameterSize> curveOrder,
+      ImmutableRatesProvider previousProvider,
+      Supplier<DoubleArray> fallback) {
+
+    Optional<DoubleArray> previousParams = previousParameters(previousProvider, curveOrder);
+    if (!previousParams.isPresent()) {
+      return fallback.get();
+    }
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, parallel);
+    Function<DoubleArray, DoubleMatrix> derivativeCalculator =
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, parallel);
+    Optional<DoubleMatrix> previousDerivative = previousDerivative(previousProvider, curveOrder);
+    try {
+      if (previousDerivative.isPresent()) {
+        return rootFinder.findRoot(valueCalculator, derivativeCalculator, previousParams.get(), previousDerivative.get());
+      }
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, previousParams.get());
+    } catch (MathException ex) {
+      return fallback.get();
+    }
+  }
+
+  // obtains the parameters of the curves from the previous provider
+  private static Optional<DoubleArray> previousParameters(
+      ImmutableRatesProvider previousProvider,
+      ImmutableList<CurveParameterSize> curveOrder) {
+
+    DoubleArray result = DoubleArray.EMPTY;
+    for (CurveParameterSize cps : curveOrder) {
+      Optional<Curve> curve = previousProvider.findData(cps.getName());
+      if (!curve.isPresent() || curve.get().getParameterCount() != cps.getParameterCount()) {
+        return Optional.empty();
+      }
+      result = result.concat(DoubleArray.of(cps.getParameterCount(), i -> curve.get().getParameter(i)));
+    }
+    return Optional.of(result);
+  }
+
+  // obtains the derivative of the trades with respect to the curve parameters from the previous provider
+  // the Jacobian stored in each curve is the derivative of its parameters with respect to the market quotes
+  // the part relating to the curves of the group is the inverse of the derivative used by the root finder
+  private static Optional<DoubleMatrix> previousDerivative(
+      ImmutableRatesProvider previousProvider,
+      ImmutableList<CurveParameterSize> curveOrder) {
+
+    int totalParams = curveOrder.stream().mapToInt(cps -> cps.getParameterCount()).sum();
+    double[][] inverse = new double[totalParams][];
+    int row = 0;
+    for (CurveParameterSize cps : curveOrder) {
+      Optional<JacobianCalibrationMatrix> jacobian = previousProvider.findData(cps.getName())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.JACOBIAN));
+      if (!jacobian.isPresent() || jacobian.get().getJacobianMatrix().rowCount() != cps.getParameterCount()) {
+        return Optional.empty();
+      }
+      // the group is at the end of the order used in the Jacobian
+      List<CurveParameterSize> jacobianOrder = jacobian.get().getOrder();
+      int offset = jacobianOrder.size() - curveOrder.size();
+      if (offset < 0 || !jacobianOrder.subList(offset, jacobianOrder.size()).equals(curveOrder)) {
+        return Optional.empty();
+      }
+      int start = jacobian.get().getTotalParameterCount() - totalParams;
+      DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+      for (int i = 0; i < cps.getParameterCount(); i++) {
+        inverse[row++] = matrix.row(i).subArray(start).toArrayUnsafe();
+      }
+    }
+    return Optional.of(MATRIX_ALGEBRA.getInverse(DoubleMatrix.ofUnsafe(inverse)));
+  }
+
+  //-------------------------------------------------------------------------
+  // calibrates a single group by splitting it into blocks of curves that depend on one another
+  // each block is calibrated once all the blocks it depends on have been calibrated
+  private DoubleArray calibrateGroupInBlocks(
+      ImmutableRatesProvider knownProvider,
+      RatesCurveGroupDefinition groupDefn,
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<Double> initialGuesses,
+      ImmutableList<CurveParameterSize> curveOrder,
+      ReferenceData refData) {
+
+    int curveCount = curveOrder.size();
+    if (curveCount <= 1) {
+      return calibrateGroup(providerGenerator, trades, initialGuesses, curveOrder);
+    }
+    // the index of the first parameter of each curve, there is one trade for each parameter
+    int[] startIndices = new int[curveCount + 1];
+    for (int i = 0; i < curveCount; i++) {
+      startIndices[i + 1] = startIndices[i] + curveOrder.get(i).getParameterCount();
+    }
+    // a curve depends on another if the trades of its nodes are sensitive to the parameters of the other
+    DoubleArray guesses = DoubleArray.copyOf(initialGuesses);
+    DoubleMatrix sensitivities =
+        derivatives(trades, providerGenerator.generate(guesses), curveOrder, startIndices[curveCount]);
+    BitSet[] dependencies = new BitSet[curveCount];
+    for (int i = 0; i < curveCount; i++) {
+      dependencies[i] = new BitSet(curveCount);
+      for (int j = 0; j < curveCount; j++) {
+        if (i != j &&
+            hasSensitivity(sensitivities, startIndices[i], startIndices[i + 1], startIndices[j], startIndices[j + 1])) {
+          dependencies[i].set(j);
+        }
+      }
+    }
+    List<BitSet> blocks = dependencyBlocks(dependencies);
+    if (blocks.size() == 1) {
+      return calibrateGroup(providerGenerator, trades, initialGuesses, curveOrder);
+    }
+
+    // calibrate each block once the blocks it depends on are complete
+    // the blocks are in dependency order, thus the dependencies of a block always precede it
+    double[] calibrated = guesses.toArray();
+    List<CompletableFuture<DoubleArray>> futures = new ArrayList<>();
+    List<BitSet> blockDependencies = new ArrayList<>();
+    for (BitSet block : blocks) {
+      BitSet curveDependencies = new BitSet(curveCount);
+      block.stream().forEach(i -> curveDependencies.or(dependencies[i]));
+      curveDependencies.andNot(block);
+      List<CompletableFuture<DoubleArray>> dependencyFutures = new ArrayList<>();
+      for (int b = 0; b < futures.size(); b++) {
+        if (blocks.get(b).intersects(curveDependencies)) {
+          // the dependencies of a block are transitive
+          curveDependencies.or(blockDependencies.get(b));
+          dependencyFutures.add(futures.get(b));
+        }
+      }
+      blockDependencies.add(curveDependencies);
+      CompletableFuture<DoubleArray> future = CompletableFuture
+          .allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+          .thenApplyAsync(ignored -> {
+            // the calibrated parameters of the dependencies are visible once their futures are complete
+            DoubleArray dependencyParams =
+                blockParameters(DoubleArray.ofUnsafe(calibrated), curveDependencies, startIndices);
+            return calibrateBlock(
+                knownProvider, groupDefn, trades, guesses, curveOrder, startIndices, block, curveDependencies,
+                dependencyParams, refData);
+          })
+          .thenApply(blockParams -> {
+            // each block writes to a distinct part of the array
+            int index = 0;
+            for (int i = block.nextSetBit(0); i >= 0; i = block.nextSetBit(i + 1)) {
+              for (int p = startIndices[i]; p < startIndices[i + 1]; p++) {
+                calibrated[p] = blockParams.get(index++);
+              }
+            }
+            return blockParams;
+          });
+      futures.add(future);
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return DoubleArray.ofUnsafe(calibrated);
+  }
+
+  // calibrates a single block of curves, given the calibrated parameters of the curves it depends on
+  private DoubleArray calibrateBlock(
+      ImmutableRatesProvider knownProvider,
+      RatesCurveGroupDefinition groupDefn,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray guesses,
+      ImmutableList<CurveParameterSize> curveOrder,
+      int[] startIndices,
+      BitSet block,
+      BitSet dependencies,
+      DoubleArray dependencyParams,
+      ReferenceData refData) {
+
+    ImmutableRatesProvider blockKnownProvider = knownProvider;
+    if (!dependencies.isEmpty()) {
+      RatesCurveGroupDefinition dependencyDefn =
+          groupDefn.withCurveDefinitions(curveDefinitions(groupDefn, dependencies));
+      blockKnownProvider = ImmutableRatesProviderGenerator.of(knownProvider, dependencyDefn, refData)
+          .generate(dependencyParams);
+    }
+    RatesCurveGroupDefinition blockDefn = groupDefn.withCurveDefinitions(curveDefinitions(groupDefn, block));
+    RatesProviderGenerator blockGenerator = ImmutableRatesProviderGenerator.of(blockKnownProvider, blockDefn, refData);
+    ImmutableList.Builder<ResolvedTrade> blockTrades = ImmutableList.builder();
+    ImmutableList.Builder<Double> blockGuesses = ImmutableList.builder();
+    ImmutableList.Builder<CurveParameterSize> blockOrder = ImmutableList.builder();
+    for (int i = block.nextSetBit(0); i >= 0; i = block.nextSetBit(i + 1)) {
+      blockTrades.addAll(trades.subList(startIndices[i], startIndices[i + 1]));
+      for (int p = startIndices[i]; p < startIndices[i + 1]; p++) {
+        blockGuesses.add(guesses.get(p));
+      }
+      blockOrder.add(curveOrder.get(i));
+    }
+    return calibrateGroup(blockGenerator, blockTrades.build(), blockGuesses.build(), blockOrder.build());
+  }
+
+  // splits the curves into blocks, where the curves in a block depend on one another, directly or indirectly
+  // these are the strongly connected components of the dependency graph, found using Tarjan's algorithm
+  // the blocks are returned in dependency order, such that each block only depends on earlier blocks
+  private static List<BitSet> dependencyBlocks(BitSet[] dependencies) {
+    int curveCount = dependencies.length;
+    int[] indices = new int[curveCount];
+    int[] lowLinks = new int[curveCount];
+    Arrays.fill(indices, -1);
+    BitSet onStack = new BitSet(curveCount);
+    Deque<Integer> stack = new ArrayDeque<>();
+    List<BitSet> blocks = new ArrayList<>();
+    int[] counter = new int[1];
+    for (int i = 0; i < curveCount; i++) {
+      if (indices[i] < 0) {
+        connect(i, dependencies, indices, lowLinks, onStack, stack, counter, blocks);
+      }
+    }
+    return blocks;
+  }
+
+  // visits a curve in Tarjan's algorithm
+  private static void connect(
+      int curve,
+      BitSet[] dependencies,
+      int[] indices,
+      int[] lowLinks,
+      BitSet onStack,
+      Deque<Integer> stack,
+      int[] counter,
+      List<BitSet> blocks) {
+
+    indices[curve] = counter[0];
+    lowLinks[curve] = counter[0];
+    counter[0]++;
+    stack.push(curve);
+    onStack.set(curve);
+    for (int dep = dependencies[curve].nextSetBit(0); dep >= 0; dep = dependencies[curve].nextSetBit(dep + 1)) {
+      if (indices[dep] < 0) {
+        connect(dep, dependencies, indices, lowLinks, onStack, stack, counter, blocks);
+        lowLinks[curve] = Math.min(lowLinks[curve], lowLinks[dep]);
+      } else if (onStack.get(dep)) {
+        lowLinks[curve] = Math.min(lowLinks[curve], indices[dep]);
+      }
+    }
+    if (lowLinks[curve] == indices[curve]) {
+      BitSet block = new BitSet(dependencies.length);
+      int member;
+      do {
+        member = stack.pop();
+        onStack.clear(member);
+        block.set(member);
+      } while (member != curve);
+      blocks.add(block);
+    }
+  }
+
+  // selects the curve definitions of the specified curves
+  private static List<CurveDefinition> curveDefinitions(RatesCurveGroupDefinition groupDefn, BitSet curves) {
+    return curves.stream()
+        .mapToObj(i -> groupDefn.getCurveDefinitions().get(i))
+        .collect(toImmutableList());
+  }
+
+  // selects the parameters of the specified curves
+  private static DoubleArray blockParameters(DoubleArray params, BitSet curves, int[] startIndices) {
+    DoubleArray result = DoubleArray.EMPTY;
+    for (int i = curves.nextSetBit(0); i >= 0; i = curves.nextSetBit(i + 1)) {
+      result = result.concat(params.subArray(startIndices[i], startIndices[i + 1]));
+    }
+    return result;
+  }
+
+  // checks if any of the specified rows has a non-zero value in the specified columns
+  private static boolean hasSensitivity(DoubleMatrix matrix, int rowStart, int rowEnd, int columnStart, int columnEnd) {
+    for (int row = rowStart; row < rowEnd; row++) {
+      for (int column = columnStart; column < columnEnd; column++) {
+        if (matrix.get(row, column) != 0d) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   //-------------------------------------------------------------------------
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
@@ -374,6 +792,19 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderGroup) {
 
     Builder<CurveName, DoubleArray> mqsGroup = new Builder<>();
+    if (parallel) {
+      DoubleArray mqsAll = DoubleArray.ofUnsafe(IntStream.range(0, trades.size())
+          .parallel()
+          .mapToDouble(i -> pvMeasures.derivative(trades.get(i), provider, orderGroup).get(i))
+          .toArray());
+      int startIndex = 0;
+      for (CurveParameterSize cps : orderGroup) {
+        int nbParameters = cps.getParameterCount();
+        mqsGroup.put(cps.getName(), mqsAll.subArray(startIndex, startIndex + nbParameters));
+        startIndex += nbParameters;
+      }
+      return mqsGroup.build();
+    }
     int nodeIndex = 0;
     for (CurveParameterSize cps : orderGroup) {
       int nbParameters = cps.getParameterCount();
@@ -395,6 +826,13 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
+    if (parallel) {
+      DoubleArray[] rows = IntStream.range(0, trades.size())
+          .parallel()
+          .mapToObj(i -> measures.derivative(trades.get(i), provider, orderAll))
+          .toArray(DoubleArray[]::new);
+      return DoubleMatrix.ofArrayObjects(trades.size(), totalParamsAll, i -> rows[i]);
+    }
     return DoubleMatrix.ofArrayObjects(
         trades.size(),
         totalParamsAll,
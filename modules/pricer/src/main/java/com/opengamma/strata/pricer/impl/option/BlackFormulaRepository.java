@@ -10,13 +10,16 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 
 /**
  * The primary repository for Black formulas, including the price, common greeks and implied volatility.
@@ -30,7 +33,7 @@ public final class BlackFormulaRepository {
 
   private static final Logger log = LoggerFactory.getLogger(BlackFormulaRepository.class);
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final NormalDistribution NORMAL = new NormalDistribution(0, 1);
   private static final double LARGE = 1e13;
   private static final double SMALL = 1e-13;
   /** The comparison value used to determine near-zero. */
@@ -39,6 +42,10 @@ public final class BlackFormulaRepository {
   private static final double ATM_LIMIT = 1.0E-3;
   private static final double ROOT_ACCURACY = 1.0E-7;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(ROOT_ACCURACY);
+  /** The maximum number of Householder steps in the batch implied volatility. */
+  private static final int MAX_HOUSEHOLDER_STEPS = 20;
+  /** The relative accuracy of the batch implied volatility. */
+  private static final double HOUSEHOLDER_ACCURACY = 1e-12;
 
   // restricted constructor
   private BlackFormulaRepository() {
@@ -103,6 +110,90 @@ public final class BlackFormulaRepository {
     return Math.max(0., res);
   }
 
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The result is the same as calling {@link #price(double, double, double, double, boolean)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop,
+   * allowing many optionlets, such as the caplets of a cap, to be priced in one call.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward prices
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray price(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    int sign = isCall ? 1 : -1;
+    double[] nF = new double[size];
+    double[] nS = new double[size];
+    boolean[] regular = new boolean[size];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double sigmaRootT = lognormalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      regular[i] = isRegular(forward, strike, timesToExpiry.get(i), lognormalVols.get(i), sigmaRootT);
+      if (regular[i]) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        nF[i] = sign * d1;
+        nS[i] = sign * (d1 - sigmaRootT);
+      } else {
+        result[i] = price(forward, strike, timesToExpiry.get(i), lognormalVols.get(i), isCall);
+      }
+    }
+    NORMAL.getCDF(nF, nF);
+    NORMAL.getCDF(nS, nS);
+    for (int i = 0; i < size; i++) {
+      if (regular[i]) {
+        double first = nF[i] == 0d ? 0d : forwards.get(i) * nF[i];
+        double second = nS[i] == 0d ? 0d : strikes.get(i) * nS[i];
+        result[i] = Math.max(0., sign * (first - second));
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // checks the sizes of the arrays are the same, returning the size
+  private static int checkSizes(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols) {
+
+    int size = forwards.size();
+    ArgChecker.isTrue(strikes.size() == size, "strikes must have the same size as forwards");
+    ArgChecker.isTrue(timesToExpiry.size() == size, "timesToExpiry must have the same size as forwards");
+    ArgChecker.isTrue(lognormalVols.size() == size, "lognormalVols must have the same size as forwards");
+    return size;
+  }
+
+  // checks the inputs, returning true if d1 can be computed without the special cases
+  // the special cases are handled by the scalar formulas
+  private static boolean isRegular(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      double sigmaRootT) {
+
+    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+    return sigmaRootT >= SMALL && sigmaRootT <= LARGE &&
+        !(forward > LARGE && strike > LARGE) && Math.abs(forward - strike) >= SMALL;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price without numeraire and its derivatives.
@@ -359,6 +450,52 @@ public final class BlackFormulaRepository {
     return sign * NORMAL.getCDF(sign * d1);
   }
 
+  /**
+   * Computes the forward driftless deltas of a set of options.
+   * <p>
+   * The result is the same as calling {@link #delta(double, double, double, double, boolean)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward driftless deltas
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray delta(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    int sign = isCall ? 1 : -1;
+    double[] nF = new double[size];
+    boolean[] regular = new boolean[size];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double sigmaRootT = lognormalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      regular[i] = isRegular(forward, strike, timesToExpiry.get(i), lognormalVols.get(i), sigmaRootT);
+      if (regular[i]) {
+        nF[i] = sign * (Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT);
+      } else {
+        result[i] = delta(forward, strike, timesToExpiry.get(i), lognormalVols.get(i), isCall);
+      }
+    }
+    NORMAL.getCDF(nF, nF);
+    for (int i = 0; i < size; i++) {
+      if (regular[i]) {
+        result[i] = sign * nF[i];
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the strike for the delta.
@@ -931,6 +1068,49 @@ public final class BlackFormulaRepository {
     return nVal == 0d ? 0d : forward * rootT * nVal;
   }
 
+  /**
+   * Computes the forward vegas of a set of options.
+   * <p>
+   * The result is the same as calling {@link #vega(double, double, double, double)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward vegas
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray vega(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] nVal = new double[size];
+    boolean[] regular = new boolean[size];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double sigmaRootT = lognormalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      regular[i] = isRegular(forward, strike, timesToExpiry.get(i), lognormalVols.get(i), sigmaRootT);
+      if (regular[i]) {
+        nVal[i] = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+      } else {
+        result[i] = vega(forward, strike, timesToExpiry.get(i), lognormalVols.get(i));
+      }
+    }
+    NORMAL.getPDF(nVal, nVal);
+    for (int i = 0; i < size; i++) {
+      if (regular[i]) {
+        result[i] = nVal[i] == 0d ? 0d : forwards.get(i) * Math.sqrt(timesToExpiry.get(i)) * nVal[i];
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the driftless vanna.
@@ -1281,6 +1461,154 @@ public final class BlackFormulaRepository {
     return ValueDerivatives.of(impliedVolatility, DoubleArray.of(dvoldprice));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatilities of a set of options.
+   * <p>
+   * The options are processed together in a small number of passes over the arrays.
+   * The initial guess is the closed-form approximation of Corrado and Miller, refined by
+   * third order Householder steps on the total volatility, safeguarded by bisection.
+   * The evaluation of the normal distribution in each step is shared by all the options.
+   * <p>
+   * An option whose price has no implied volatility, for example because it is less than the intrinsic
+   * value or more than the upper bound, or whose implied volatility does not converge,
+   * has a volatility of NaN and is reported as a failure. If the time value is zero, the volatility is zero.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire,
+   *   for example the zero bond p(0,T) for the T-forward measure
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for calls, false for puts
+   * @return the log-normal (Black) implied volatilities, with NaN and a failure for each option that failed
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static ValueWithFailures<DoubleArray> impliedVolatility(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      boolean isCall) {
+
+    int size = prices.size();
+    ArgChecker.isTrue(forwards.size() == size && strikes.size() == size && timesToExpiry.size() == size,
+        "forwards, strikes and timesToExpiry must have the same size as prices");
+    ImmutableList.Builder<FailureItem> failures = ImmutableList.builder();
+    double[] totalVols = new double[size];
+    double[] lowers = new double[size];
+    double[] uppers = new double[size];
+    double[] targets = new double[size];
+    double[] signs = new double[size];
+    boolean[] active = new boolean[size];
+    int activeCount = 0;
+    for (int i = 0; i < size; i++) {
+      double price = prices.get(i);
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double timeToExpiry = timesToExpiry.get(i);
+      if (!(forward > 0d && strike >= 0d && timeToExpiry >= 0d && price >= 0d) ||
+          Double.isInfinite(forward) || Double.isInfinite(strike) || Double.isInfinite(timeToExpiry)) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.INVALID,
+            "Invalid option {}: price {}, forward {}, strike {}, timeToExpiry {}",
+            i, price, forward, strike, timeToExpiry));
+        continue;
+      }
+      // the out-of-the-money price, by put-call parity
+      double otmPrice = price - Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+      if (otmPrice == 0d) {
+        continue;
+      }
+      if (!(otmPrice > 0d && otmPrice < Math.min(forward, strike) && timeToExpiry > 0d)) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.INVALID,
+            "No implied volatility for option {}: price {} outside the bounds for forward {}, strike {}",
+            i, price, forward, strike));
+        continue;
+      }
+      targets[i] = otmPrice;
+      signs[i] = strike >= forward ? 1d : -1d;
+      uppers[i] = Double.POSITIVE_INFINITY;
+      totalVols[i] = impliedVolatilityGuess(otmPrice + Math.max(0d, forward - strike), forward, strike);
+      active[i] = true;
+      activeCount++;
+    }
+    // all the options take a Householder step together, sharing the evaluation of the normal distribution
+    double[] nd1 = new double[size];
+    double[] nd2 = new double[size];
+    double[] pdf = new double[size];
+    for (int step = 0; step < MAX_HOUSEHOLDER_STEPS && activeCount > 0; step++) {
+      for (int i = 0; i < size; i++) {
+        double d1 = 0d;
+        double sigmaRootT = 0d;
+        if (active[i]) {
+          sigmaRootT = totalVols[i];
+          d1 = Math.log(forwards.get(i) / strikes.get(i)) / sigmaRootT + 0.5 * sigmaRootT;
+        }
+        nd1[i] = signs[i] * d1;
+        nd2[i] = signs[i] * (d1 - sigmaRootT);
+        pdf[i] = d1;
+      }
+      NORMAL.getCDF(nd1, nd1);
+      NORMAL.getCDF(nd2, nd2);
+      NORMAL.getPDF(pdf, pdf);
+      for (int i = 0; i < size; i++) {
+        if (!active[i]) {
+          continue;
+        }
+        double forward = forwards.get(i);
+        double logMoneyness = Math.log(forward / strikes.get(i));
+        double sigmaRootT = totalVols[i];
+        double d1 = logMoneyness / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        double value = signs[i] * (forward * nd1[i] - strikes.get(i) * nd2[i]) - targets[i];
+        if (value > 0d) {
+          uppers[i] = sigmaRootT;
+        } else {
+          lowers[i] = sigmaRootT;
+        }
+        // the derivatives with respect to the total volatility, divided by the first derivative
+        double newton = value / (forward * pdf[i]);
+        double second = d1 * d2 / sigmaRootT;
+        double sigmaRootT2 = sigmaRootT * sigmaRootT;
+        double third = second * second - 3d * logMoneyness * logMoneyness / (sigmaRootT2 * sigmaRootT2) - 0.25;
+        double next = GenericImpliedVolatiltySolver.householderStep(
+            sigmaRootT, newton, second, third, lowers[i], uppers[i]);
+        totalVols[i] = next;
+        if (Math.abs(next - sigmaRootT) <= HOUSEHOLDER_ACCURACY * next) {
+          active[i] = false;
+          activeCount--;
+        }
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      if (active[i]) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.CALCULATION_FAILED,
+            "Implied volatility did not converge for option {}: price {}, forward {}, strike {}",
+            i, prices.get(i), forwards.get(i), strikes.get(i)));
+      } else if (totalVols[i] > 0d) {
+        totalVols[i] /= Math.sqrt(timesToExpiry.get(i));
+      }
+    }
+    return ValueWithFailures.of(DoubleArray.ofUnsafe(totalVols), failures.build());
+  }
+
+  // the approximate total volatility of Corrado and Miller, falling back to the point of maximum vega
+  private static double impliedVolatilityGuess(double callPrice, double forward, double strike) {
+    double intrinsic = forward - strike;
+    double adjusted = callPrice - 0.5 * intrinsic;
+    double root = Math.sqrt(Math.max(0d, adjusted * adjusted - intrinsic * intrinsic / Math.PI));
+    double guess = Math.sqrt(2d * Math.PI) / (forward + strike) * (adjusted + root);
+    if (guess > 0d && guess < LARGE) {
+      return guess;
+    }
+    return Math.sqrt(2d * Math.abs(Math.log(forward / strike)));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the implied strike from delta and volatility in the Black formula.
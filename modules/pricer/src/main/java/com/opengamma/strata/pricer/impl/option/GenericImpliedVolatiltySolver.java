@@ -191,4 +191,26 @@ public class GenericImpliedVolatiltySolver {
     return rootFinder.getRoot(func, lowerSigma, upperSigma);
   }
 
+  //-------------------------------------------------------------------------
+  // the third order Householder step, replaced by bisection if outside the bracket
+  // the derivatives are divided by the first derivative, the Newton step is the value divided by the first derivative
+  static double householderStep(
+      double point,
+      double newton,
+      double second,
+      double third,
+      double lower,
+      double upper) {
+
+    if (newton == 0d) {
+      return point;
+    }
+    double next = point -
+        newton * (1d - 0.5 * second * newton) / (1d - second * newton + third * newton * newton / 6d);
+    if (next > lower && next < upper) {
+      return next;
+    }
+    return upper < Double.POSITIVE_INFINITY ? 0.5 * (lower + upper) : 2d * point;
+  }
+
 }
@@ -7,14 +7,17 @@ package com.opengamma.strata.pricer.impl.option;
 
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.math.impl.rootfinding.BisectionSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -25,7 +28,7 @@ public final class NormalFormulaRepository {
   /**
    * The normal distribution implementation.
    */
-  private static final ProbabilityDistribution<Double> DISTRIBUTION = new NormalDistribution(0, 1);
+  private static final NormalDistribution DISTRIBUTION = new NormalDistribution(0, 1);
   /**
    * The comparison value used to determine near-zero.
    */
@@ -38,6 +41,14 @@ public final class NormalFormulaRepository {
    * The solution precision.
    */
   private static final double EPS = 1e-15;
+  /**
+   * The maximum number of Householder steps in the batch implied volatility.
+   */
+  private static final int MAX_HOUSEHOLDER_STEPS = 20;
+  /**
+   * The relative accuracy of the batch implied volatility.
+   */
+  private static final double HOUSEHOLDER_ACCURACY = 1e-12;
 
   /** Limit defining "close to ATM forward" to avoid the formula singularity in the impliedVolatilityFromBlackVolatility. **/
   private static final double ATM_LIMIT = 1.0E-3;
@@ -72,6 +83,65 @@ public final class NormalFormulaRepository {
     return sign * (forward - strike) * cdf + sigmaRootT * pdf;
   }
 
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The result is the same as calling {@link #price(double, double, double, double, PutCall)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the forward prices
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray price(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] cdf = new double[size];
+    double[] pdf = new double[size];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      cdf[i] = sign * (forwards.get(i) - strikes.get(i)) / sigmaRootT;
+    }
+    DISTRIBUTION.getCDF(cdf, result);
+    DISTRIBUTION.getPDF(cdf, pdf);
+    for (int i = 0; i < size; i++) {
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double sigmaRootT = normalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      if (sigmaRootT < NEAR_ZERO) {
+        result[i] = price(forward, strike, timesToExpiry.get(i), normalVols.get(i), putCall);
+      } else {
+        result[i] = sign * (forward - strike) * result[i] + sigmaRootT * pdf[i];
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // checks the sizes of the arrays are the same, returning the size
+  private static int checkSizes(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols) {
+
+    int size = forwards.size();
+    ArgChecker.isTrue(strikes.size() == size, "strikes must have the same size as forwards");
+    ArgChecker.isTrue(timesToExpiry.size() == size, "timesToExpiry must have the same size as forwards");
+    ArgChecker.isTrue(normalVols.size() == size, "normalVols must have the same size as forwards");
+    return size;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price and first order derivatives.
@@ -167,6 +237,46 @@ public final class NormalFormulaRepository {
     return sign * cdf;
   }
 
+  /**
+   * Computes the deltas of a set of options.
+   * <p>
+   * The result is the same as calling {@link #delta(double, double, double, double, PutCall)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the deltas
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray delta(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      result[i] = sign * (forwards.get(i) - strikes.get(i)) / sigmaRootT;
+    }
+    DISTRIBUTION.getCDF(result, result);
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      if (sigmaRootT < NEAR_ZERO) {
+        result[i] = delta(forwards.get(i), strikes.get(i), timesToExpiry.get(i), normalVols.get(i), putCall);
+      } else {
+        result[i] = sign * result[i];
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the gamma.
@@ -247,6 +357,45 @@ public final class NormalFormulaRepository {
     return pdf * rootT;
   }
 
+  /**
+   * Computes the vegas of a set of options.
+   * <p>
+   * The result is the same as calling {@link #vega(double, double, double, double, PutCall)} for each option.
+   * The normal distribution is evaluated for all the options together in a single loop.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the vegas
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static DoubleArray vega(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols.get(i) * Math.sqrt(timesToExpiry.get(i));
+      result[i] = (forwards.get(i) - strikes.get(i)) / sigmaRootT;
+    }
+    DISTRIBUTION.getPDF(result, result);
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(timesToExpiry.get(i));
+      if (normalVols.get(i) * rootT < NEAR_ZERO) {
+        result[i] = vega(forwards.get(i), strikes.get(i), timesToExpiry.get(i), normalVols.get(i), putCall);
+      } else {
+        result[i] = result[i] * rootT;
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the implied volatility.
@@ -316,6 +465,136 @@ public final class NormalFormulaRepository {
     return sigma;
   }
 
+  /**
+   * Computes the implied volatilities of a set of options.
+   * <p>
+   * The options are processed together in a small number of passes over the arrays.
+   * The initial guess is based on the straddle approximation of Choi, Kim and Kwak, refined by
+   * third order Householder steps on the total volatility, safeguarded by bisection.
+   * The evaluation of the normal distribution in each step is shared by all the options.
+   * <p>
+   * An option whose price is less than the intrinsic value, or whose implied volatility does not converge,
+   * has a volatility of NaN and is reported as a failure. If the time value is zero, the volatility is zero.
+   * <p>
+   * Note that the prices are forward prices, the 'numeraire' is the responsibility of the caller.
+   * 
+   * @param prices  the forward prices of the options
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param putCall  whether they are puts or calls
+   * @return the implied volatilities, with NaN and a failure for each option that failed
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public static ValueWithFailures<DoubleArray> impliedVolatility(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      PutCall putCall) {
+
+    int size = prices.size();
+    ArgChecker.isTrue(forwards.size() == size && strikes.size() == size && timesToExpiry.size() == size,
+        "forwards, strikes and timesToExpiry must have the same size as prices");
+    ImmutableList.Builder<FailureItem> failures = ImmutableList.builder();
+    double[] totalVols = new double[size];
+    double[] lowers = new double[size];
+    double[] uppers = new double[size];
+    double[] targets = new double[size];
+    boolean[] active = new boolean[size];
+    int activeCount = 0;
+    for (int i = 0; i < size; i++) {
+      double price = prices.get(i);
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double timeToExpiry = timesToExpiry.get(i);
+      if (!(timeToExpiry >= 0d && price >= 0d) || Double.isInfinite(price) || Double.isNaN(forward) ||
+          Double.isInfinite(forward) || Double.isNaN(strike) || Double.isInfinite(strike) ||
+          Double.isInfinite(timeToExpiry)) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.INVALID,
+            "Invalid option {}: price {}, forward {}, strike {}, timeToExpiry {}",
+            i, price, forward, strike, timeToExpiry));
+        continue;
+      }
+      // the out-of-the-money price, by put-call parity
+      double otmPrice = price - Math.max(0d, (putCall.isCall() ? 1 : -1) * (forward - strike));
+      if (otmPrice == 0d) {
+        continue;
+      }
+      if (!(otmPrice > 0d && timeToExpiry > 0d)) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.INVALID,
+            "No implied volatility for option {}: price {} less than intrinsic value for forward {}, strike {}",
+            i, price, forward, strike));
+        continue;
+      }
+      targets[i] = otmPrice;
+      uppers[i] = Double.POSITIVE_INFINITY;
+      totalVols[i] = impliedVolatilityGuess(otmPrice, Math.abs(forward - strike));
+      active[i] = true;
+      activeCount++;
+    }
+    // all the options take a Householder step together, sharing the evaluation of the normal distribution
+    double[] cdf = new double[size];
+    double[] pdf = new double[size];
+    for (int step = 0; step < MAX_HOUSEHOLDER_STEPS && activeCount > 0; step++) {
+      for (int i = 0; i < size; i++) {
+        pdf[i] = active[i] ? Math.abs(forwards.get(i) - strikes.get(i)) / totalVols[i] : 0d;
+        cdf[i] = -pdf[i];
+      }
+      DISTRIBUTION.getCDF(cdf, cdf);
+      DISTRIBUTION.getPDF(pdf, pdf);
+      for (int i = 0; i < size; i++) {
+        if (!active[i]) {
+          continue;
+        }
+        double moneyness = Math.abs(forwards.get(i) - strikes.get(i));
+        double sigmaRootT = totalVols[i];
+        double value = sigmaRootT * pdf[i] - moneyness * cdf[i] - targets[i];
+        if (value > 0d) {
+          uppers[i] = sigmaRootT;
+        } else {
+          lowers[i] = sigmaRootT;
+        }
+        // the derivatives with respect to the total volatility, divided by the first derivative
+        double d = moneyness / sigmaRootT;
+        double newton = value / pdf[i];
+        double second = d * d / sigmaRootT;
+        double third = (d * d - 3d) * second / sigmaRootT;
+        double next = GenericImpliedVolatiltySolver.householderStep(
+            sigmaRootT, newton, second, third, lowers[i], uppers[i]);
+        totalVols[i] = next;
+        if (Math.abs(next - sigmaRootT) <= HOUSEHOLDER_ACCURACY * next) {
+          active[i] = false;
+          activeCount--;
+        }
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      if (active[i]) {
+        totalVols[i] = Double.NaN;
+        failures.add(FailureItem.of(
+            FailureReason.CALCULATION_FAILED,
+            "Implied volatility did not converge for option {}: price {}, forward {}, strike {}",
+            i, prices.get(i), forwards.get(i), strikes.get(i)));
+      } else if (totalVols[i] > 0d) {
+        totalVols[i] /= Math.sqrt(timesToExpiry.get(i));
+      }
+    }
+    return ValueWithFailures.of(DoubleArray.ofUnsafe(totalVols), failures.build());
+  }
+
+  // the approximate total volatility from the straddle price, exact at-the-money
+  private static double impliedVolatilityGuess(double otmPrice, double moneyness) {
+    double straddle = 2d * otmPrice + moneyness;
+    double ratio = moneyness / straddle;
+    double eta = ratio < NEAR_ZERO ? 1d : 2d * ratio / Math.log((1d + ratio) / (1d - ratio));
+    return Math.sqrt(0.5 * Math.PI) * straddle * Math.sqrt(eta);
+  }
+
   /**
    * Compute the implied volatility using an approximate explicit transformation formula.
    * <p>
@@ -89,6 +89,16 @@ public class DiscountingKnownAmountPaymentPeriodPricer
     return PointSensitivityBuilder.none();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This returns false for subclasses, as they may override the present value or forecast value.
+   */
+  @Override
+  public boolean isDiscountedForecastValue() {
+    return getClass() == DiscountingKnownAmountPaymentPeriodPricer.class;
+  }
+
   @Override
   public PointSensitivityBuilder pvbpSensitivity(KnownAmountSwapPaymentPeriod period, RatesProvider provider) {
     throw new UnsupportedOperationException("Unable to calculate PVBP for KnownAmountPaymentPeriod");
@@ -8,13 +8,21 @@ package com.opengamma.strata.pricer.impl.swap;
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -23,6 +31,7 @@ import com.opengamma.strata.pricer.fx.FxIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.SwapPaymentPeriodPricer;
+import com.opengamma.strata.product.rate.IborRateComputation;
 import com.opengamma.strata.product.rate.RateComputation;
 import com.opengamma.strata.product.swap.CompoundingMethod;
 import com.opengamma.strata.product.swap.FxReset;
@@ -75,6 +84,50 @@ public class DiscountingRatePaymentPeriodPricer
     return accrualWithNotional(period, notional, provider);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The rates of the periods with a single Ibor accrual period and no FX reset are obtained
+   * from the rates of each index together. The other periods are priced one at a time.
+   * The rates are only obtained together when using the standard rate computation function,
+   * and not for subclasses, as they may override the forecast value.
+   */
+  @Override
+  public DoubleArray forecastValues(List<? extends RatePaymentPeriod> periods, RatesProvider provider) {
+    if (getClass() != DiscountingRatePaymentPeriodPricer.class || rateComputationFn != RateComputationFn.standard()) {
+      return SwapPaymentPeriodPricer.super.forecastValues(periods, provider);
+    }
+    double[] result = new double[periods.size()];
+    Map<IborIndex, List<Integer>> iborPeriods = new HashMap<>();
+    for (int i = 0; i < result.length; i++) {
+      RatePaymentPeriod period = periods.get(i);
+      if (!period.getFxReset().isPresent() && period.getAccrualPeriods().size() == 1 &&
+          period.getAccrualPeriods().get(0).getRateComputation() instanceof IborRateComputation) {
+        IborRateComputation computation = (IborRateComputation) period.getAccrualPeriods().get(0).getRateComputation();
+        iborPeriods.computeIfAbsent(computation.getIndex(), index -> new ArrayList<>()).add(i);
+      } else {
+        result[i] = forecastValue(period, provider);
+      }
+    }
+    for (Entry<IborIndex, List<Integer>> entry : iborPeriods.entrySet()) {
+      List<Integer> positions = entry.getValue();
+      List<IborIndexObservation> observations = new ArrayList<>(positions.size());
+      for (int position : positions) {
+        RateAccrualPeriod accrualPeriod = periods.get(position).getAccrualPeriods().get(0);
+        observations.add(((IborRateComputation) accrualPeriod.getRateComputation()).getObservation());
+      }
+      DoubleArray rates = provider.iborIndexRates(entry.getKey()).rates(observations);
+      for (int j = 0; j < positions.size(); j++) {
+        int position = positions.get(j);
+        RatePaymentPeriod period = periods.get(position);
+        RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+        result[position] = unitNotionalAccrualRaw(accrualPeriod, rates.get(j), accrualPeriod.getSpread()) *
+            period.getNotional();
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public double pvbp(RatePaymentPeriod paymentPeriod, RatesProvider provider) {
     ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
@@ -256,6 +309,16 @@ public class DiscountingRatePaymentPeriodPricer
     return sensiFx.combinedWith(sensiAccrual);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This returns false for subclasses, as they may override the present value or forecast value.
+   */
+  @Override
+  public boolean isDiscountedForecastValue() {
+    return getClass() == DiscountingRatePaymentPeriodPricer.class;
+  }
+
   @Override
   public PointSensitivityBuilder pvbpSensitivity(RatePaymentPeriod paymentPeriod, RatesProvider provider) {
     ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
@@ -5,8 +5,11 @@
  */
 package com.opengamma.strata.pricer.impl.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -104,6 +107,35 @@ public class DispatchingSwapPaymentPeriodPricer
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If all the periods are {@link RatePaymentPeriod}, they are priced together by the rate pricer.
+   * This is not applied for subclasses, as they may override the forecast value.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public DoubleArray forecastValues(List<? extends SwapPaymentPeriod> paymentPeriods, RatesProvider provider) {
+    // dispatch together if all the periods have the same runtime type
+    if (getClass() == DispatchingSwapPaymentPeriodPricer.class &&
+        paymentPeriods.stream().allMatch(RatePaymentPeriod.class::isInstance)) {
+      return ratePaymentPeriodPricer.forecastValues((List<? extends RatePaymentPeriod>) paymentPeriods, provider);
+    }
+    return SwapPaymentPeriodPricer.super.forecastValues(paymentPeriods, provider);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This returns false for subclasses, as they may override the present value or forecast value.
+   */
+  @Override
+  public boolean isDiscountedForecastValue() {
+    return getClass() == DispatchingSwapPaymentPeriodPricer.class &&
+        ratePaymentPeriodPricer.isDiscountedForecastValue() &&
+        knownAmountPaymentPeriodPricer.isDiscountedForecastValue();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double pvbp(SwapPaymentPeriod paymentPeriod, RatesProvider provider) {
@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.rate;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -180,6 +182,33 @@ public final class DiscountIborIndexRates
     return (dfStart / dfEnd - 1) / accrualFactor;
   }
 
+  @Override
+  public DoubleArray rates(List<IborIndexObservation> observations) {
+    // the discount factors of all the forward observations are queried together
+    LocalDate valuationDate = getValuationDate();
+    List<LocalDate> dates = new ArrayList<>(observations.size() * 2);
+    for (IborIndexObservation observation : observations) {
+      if (observation.getFixingDate().isAfter(valuationDate)) {
+        dates.add(observation.getEffectiveDate());
+        dates.add(observation.getMaturityDate());
+      }
+    }
+    DoubleArray dfs = discountFactors.discountFactors(dates);
+    double[] result = new double[observations.size()];
+    int dfIndex = 0;
+    for (int i = 0; i < result.length; i++) {
+      IborIndexObservation observation = observations.get(i);
+      if (observation.getFixingDate().isAfter(valuationDate)) {
+        double dfStart = dfs.get(dfIndex++);
+        double dfEnd = dfs.get(dfIndex++);
+        result[i] = (dfStart / dfEnd - 1) / observation.getYearFraction();
+      } else {
+        result[i] = historicRate(observation);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivityBuilder ratePointSensitivity(IborIndexObservation observation) {
@@ -215,6 +244,37 @@ public final class DiscountIborIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(List<IborRateSensitivity> pointSensitivities) {
+    // the discount factors of all the points are queried together
+    int size = pointSensitivities.size();
+    List<LocalDate> dates = new ArrayList<>(size * 2);
+    for (IborRateSensitivity pointSensitivity : pointSensitivities) {
+      dates.add(pointSensitivity.getObservation().getEffectiveDate());
+      dates.add(pointSensitivity.getObservation().getMaturityDate());
+    }
+    DoubleArray dfs = discountFactors.discountFactors(dates);
+    // the zero rate sensitivities are converted together, avoiding an intermediate result for each point
+    List<ZeroRateSensitivity> zeroRateSensitivities = new ArrayList<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      IborRateSensitivity pointSensitivity = pointSensitivities.get(i);
+      LocalDate fixingStartDate = dates.get(2 * i);
+      LocalDate fixingEndDate = dates.get(2 * i + 1);
+      double accrualFactor = pointSensitivity.getObservation().getYearFraction();
+      double forwardBar = pointSensitivity.getSensitivity();
+      double dfForwardStart = dfs.get(2 * i);
+      double dfForwardEnd = dfs.get(2 * i + 1);
+      double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+      double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+      Currency currency = pointSensitivity.getCurrency();
+      zeroRateSensitivities.add(
+          discountFactors.zeroRatePointSensitivity(fixingStartDate, currency).multipliedBy(dfStartBar));
+      zeroRateSensitivities.add(
+          discountFactors.zeroRatePointSensitivity(fixingEndDate, currency).multipliedBy(dfEndBar));
+    }
+    return discountFactors.parameterSensitivity(zeroRateSensitivities);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.rate;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -240,6 +242,35 @@ public final class DiscountOvernightIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(List<OvernightRateSensitivity> pointSensitivities) {
+    // the discount factors of all the points are queried together
+    int size = pointSensitivities.size();
+    List<LocalDate> dates = new ArrayList<>(size * 2);
+    for (OvernightRateSensitivity pointSensitivity : pointSensitivities) {
+      dates.add(pointSensitivity.getObservation().getEffectiveDate());
+      dates.add(pointSensitivity.getEndDate());
+    }
+    DoubleArray dfs = discountFactors.discountFactors(dates);
+    // the zero rate sensitivities are converted together, avoiding an intermediate result for each point
+    List<ZeroRateSensitivity> zeroRateSensitivities = new ArrayList<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      OvernightRateSensitivity pointSensitivity = pointSensitivities.get(i);
+      LocalDate startDate = dates.get(2 * i);
+      LocalDate endDate = dates.get(2 * i + 1);
+      double accrualFactor = pointSensitivity.getIndex().getDayCount().yearFraction(startDate, endDate);
+      double forwardBar = pointSensitivity.getSensitivity();
+      double dfForwardStart = dfs.get(2 * i);
+      double dfForwardEnd = dfs.get(2 * i + 1);
+      double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+      double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+      Currency currency = pointSensitivity.getCurrency();
+      zeroRateSensitivities.add(discountFactors.zeroRatePointSensitivity(startDate, currency).multipliedBy(dfStartBar));
+      zeroRateSensitivities.add(discountFactors.zeroRatePointSensitivity(endDate, currency).multipliedBy(dfEndBar));
+    }
+    return discountFactors.parameterSensitivity(zeroRateSensitivities);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
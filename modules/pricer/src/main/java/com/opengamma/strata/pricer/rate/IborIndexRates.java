@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Consumer;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -125,6 +126,20 @@ public interface IborIndexRates
    */
   public abstract double rate(IborIndexObservation observation);
 
+  /**
+   * Gets the historic or forward rates for a list of observations.
+   * <p>
+   * This is equivalent to calling {@link #rate(IborIndexObservation)} for each observation,
+   * but allows implementations to process the observations together, such as all the periods of a leg.
+   * 
+   * @param observations  the rate observations, including the fixing dates
+   * @return the rates of the index, either historic or forward, one for each observation
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default DoubleArray rates(List<IborIndexObservation> observations) {
+    return DoubleArray.of(observations.size(), i -> rate(observations.get(i)));
+  }
+
   /**
    * Ignores the time-series of fixings to get the forward rate at the specified
    * fixing date, used in rare and special cases. In most cases callers should use
@@ -217,6 +232,25 @@ public interface IborIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(IborRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from a list of point sensitivities.
+   * <p>
+   * This is equivalent to combining the result of {@link #parameterSensitivity(IborRateSensitivity)}
+   * for each point sensitivity, but allows implementations to accumulate the sensitivities directly
+   * rather than creating and combining an intermediate result for each point.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(List<IborRateSensitivity> pointSensitivities) {
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (IborRateSensitivity pointSensitivity : pointSensitivities) {
+      result = result.combinedWith(parameterSensitivity(pointSensitivity));
+    }
+    return result;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.OvernightIndex;
@@ -211,6 +212,27 @@ public interface OvernightIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from a list of point sensitivities.
+   * <p>
+   * This is equivalent to combining the result of {@link #parameterSensitivity(OvernightRateSensitivity)}
+   * for each point sensitivity, but allows implementations to accumulate the sensitivities directly
+   * rather than creating and combining an intermediate result for each point.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(
+      List<OvernightRateSensitivity> pointSensitivities) {
+
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (OvernightRateSensitivity pointSensitivity : pointSensitivities) {
+      result = result.combinedWith(parameterSensitivity(pointSensitivity));
+    }
+    return result;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
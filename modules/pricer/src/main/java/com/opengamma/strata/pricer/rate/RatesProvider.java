@@ -5,9 +5,15 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.index.FxIndex;
@@ -167,22 +173,23 @@ public interface RatesProvider
    * @return the sensitivity to the curve parameters
    */
   public default CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
+    // the sensitivities to discount factors and forward rates are grouped by curve and converted together
+    Map<Currency, List<ZeroRateSensitivity>> zeroRateSensitivities = new LinkedHashMap<>();
+    Map<IborIndex, List<IborRateSensitivity>> iborRateSensitivities = new LinkedHashMap<>();
+    Map<OvernightIndex, List<OvernightRateSensitivity>> overnightRateSensitivities = new LinkedHashMap<>();
     CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        zeroRateSensitivities.computeIfAbsent(pt.getCurveCurrency(), ccy -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof IborRateSensitivity) {
         IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+        iborRateSensitivities.computeIfAbsent(pt.getIndex(), index -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof OvernightRateSensitivity) {
         OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+        overnightRateSensitivities.computeIfAbsent(pt.getIndex(), index -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof FxIndexSensitivity) {
         FxIndexSensitivity pt = (FxIndexSensitivity) point;
@@ -200,6 +207,18 @@ public interface RatesProvider
         sens = sens.combinedWith(rates.parameterSensitivity(pt));
       }
     }
+    for (Entry<Currency, List<ZeroRateSensitivity>> entry : zeroRateSensitivities.entrySet()) {
+      DiscountFactors factors = discountFactors(entry.getKey());
+      sens = sens.combinedWith(factors.parameterSensitivity(entry.getValue()));
+    }
+    for (Entry<IborIndex, List<IborRateSensitivity>> entry : iborRateSensitivities.entrySet()) {
+      IborIndexRates rates = iborIndexRates(entry.getKey());
+      sens = sens.combinedWith(rates.parameterSensitivity(entry.getValue()));
+    }
+    for (Entry<OvernightIndex, List<OvernightRateSensitivity>> entry : overnightRateSensitivities.entrySet()) {
+      OvernightIndexRates rates = overnightIndexRates(entry.getKey());
+      sens = sens.combinedWith(rates.parameterSensitivity(entry.getValue()));
+    }
     return sens;
   }
 
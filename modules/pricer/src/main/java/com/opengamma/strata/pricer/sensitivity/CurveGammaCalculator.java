@@ -302,17 +302,45 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
-    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
-      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
+    // each curve is bumped once, with the gamma for every curve of the delta obtained from the same bumped deltas
+    ImmutableList<CurrencyParameterSensitivity> baseDeltas = baseDelta.getSensitivities();
+    List<CrossGammaParameterSensitivities> resultInners = new ArrayList<>();
+    baseDeltas.forEach(d -> resultInners.add(CrossGammaParameterSensitivities.empty()));
+    // discount curve
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      Curve curve = entry.getValue();
+      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+        List<CrossGammaParameterSensitivity> gammas = computeGammaForCurve(
+            baseDeltas, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
+        combineGammas(resultInners, gammas);
+      } else if (curve.split().size() > 1) {
+        ImmutableList<Curve> curves = curve.split();
+        int nCurves = curves.size();
+        for (int i = 0; i < nCurves; ++i) {
+          int currentIndex = i;
+          Curve underlyingCurve = curves.get(currentIndex);
+          if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
+            List<CrossGammaParameterSensitivity> gammas = computeGammaForCurve(
+                baseDeltas,
+                underlyingCurve,
+                c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
+                sensitivitiesFn);
+            combineGammas(resultInners, gammas);
+          }
+        }
+      }
+    }
+    // forward curve
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      if (index instanceof RateIndex || index instanceof PriceIndex) {
+        Currency currency = getCurrency(index);
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
+          List<CrossGammaParameterSensitivity> gammas = computeGammaForCurve(
+              baseDeltas, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
+          combineGammas(resultInners, gammas);
         } else if (curve.split().size() > 1) {
           ImmutableList<Curve> curves = curve.split();
           int nCurves = curves.size();
@@ -320,49 +348,34 @@ public final class CurveGammaCalculator {
             int currentIndex = i;
             Curve underlyingCurve = curves.get(currentIndex);
             if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  baseDeltaSingle,
+              List<CrossGammaParameterSensitivity> gammas = computeGammaForCurve(
+                  baseDeltas,
                   underlyingCurve,
-                  c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
+                  c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
                   sensitivitiesFn);
-              resultInner = resultInner.combinedWith(gammaSingle);
-            }
-          }
-        }
-      }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          } else if (curve.split().size() > 1) {
-            ImmutableList<Curve> curves = curve.split();
-            int nCurves = curves.size();
-            for (int i = 0; i < nCurves; ++i) {
-              int currentIndex = i;
-              Curve underlyingCurve = curves.get(currentIndex);
-              if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-                CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                    baseDeltaSingle,
-                    underlyingCurve,
-                    c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                    sensitivitiesFn);
-                resultInner = resultInner.combinedWith(gammaSingle);
-              }
+              combineGammas(resultInners, gammas);
             }
           }
         }
       }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
+    }
+    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    for (int i = 0; i < baseDeltas.size(); i++) {
+      result = result.combinedWith(combineSensitivities(baseDeltas.get(i), resultInners.get(i)));
     }
     return result;
   }
 
+  // adds the gamma of each delta curve to the gamma of the matching delta curve computed so far
+  private static void combineGammas(
+      List<CrossGammaParameterSensitivities> resultInners,
+      List<CrossGammaParameterSensitivity> gammas) {
+
+    for (int i = 0; i < resultInners.size(); i++) {
+      resultInners.set(i, resultInners.get(i).combinedWith(gammas.get(i)));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private Currency getCurrency(Index index) {
     if (index instanceof RateIndex) {
@@ -397,9 +410,10 @@ public final class CurveGammaCalculator {
     return CrossGammaParameterSensitivity.of(curve.getName(), metadata, sensitivityCurrency, sensi);
   }
 
-  // computes the sensitivity of baseDeltaSingle to Curve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      CurrencyParameterSensitivity baseDeltaSingle,
+  // computes the sensitivity of each of the baseDeltas to Curve
+  // the curve is only bumped once for all the deltas
+  List<CrossGammaParameterSensitivity> computeGammaForCurve(
+      List<CurrencyParameterSensitivity> baseDeltas,
       Curve curve,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
@@ -410,7 +424,12 @@ public final class CurveGammaCalculator {
         Curve newCurve = replaceParameters(curve, t);
         ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
         CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+        DoubleArray result = DoubleArray.EMPTY;
+        for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+          result = result.concat(sensiMulti.getSensitivity(
+              baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity());
+        }
+        return result;
       }
     };
     int nParams = curve.getParameterCount();
@@ -418,13 +437,24 @@ public final class CurveGammaCalculator {
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        curve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
+    List<CrossGammaParameterSensitivity> result = new ArrayList<>();
+    int startRow = 0;
+    for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+      int nRows = baseDeltaSingle.getParameterCount();
+      double[][] rows = new double[nRows][];
+      for (int i = 0; i < nRows; i++) {
+        rows[i] = sensi.rowArray(startRow + i);
+      }
+      startRow += nRows;
+      result.add(CrossGammaParameterSensitivity.of(
+          baseDeltaSingle.getMarketDataName(),
+          baseDeltaSingle.getParameterMetadata(),
+          curve.getName(),
+          metadata,
+          baseDeltaSingle.getCurrency(),
+          DoubleMatrix.ofUnsafe(rows)));
+    }
+    return result;
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.CompiledSwapLeg;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+
+/**
+ * Pricer for compiled swap legs.
+ * <p>
+ * This function provides the ability to price a {@link CompiledSwapLeg}.
+ * The discount factors of all the payment dates, and the forward rates of all the observations,
+ * are obtained from the rates provider together, and the leg is then priced in a single loop.
+ * <p>
+ * The results are the same as those of {@link DiscountingSwapLegPricer#DEFAULT}
+ * applied to the swap leg that was compiled.
+ * <p>
+ * This pricer is opt-in. It is not used by {@link DiscountingSwapLegPricer} or the swap measures,
+ * callers must obtain the compiled form using {@link CompiledSwapLeg#of} and use this pricer directly.
+ */
+public class DiscountingCompiledSwapLegPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingCompiledSwapLegPricer DEFAULT = new DiscountingCompiledSwapLegPricer();
+
+  /**
+   * Creates an instance.
+   */
+  public DiscountingCompiledSwapLegPricer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap leg.
+   * <p>
+   * The present value of the leg is the value on the valuation date.
+   * This is the discounted forecast value.
+   * The result is returned using the payment currency of the leg.
+   *
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the present value of the swap leg
+   */
+  public CurrencyAmount presentValue(CompiledSwapLeg leg, RatesProvider provider) {
+    return CurrencyAmount.of(leg.getCurrency(), presentValueInternal(leg, provider));
+  }
+
+  // calculates the present value in the currency of the swap leg
+  double presentValueInternal(CompiledSwapLeg leg, RatesProvider provider) {
+    return presentValuePeriodsInternal(leg, provider) + presentValueEventsInternal(leg, provider);
+  }
+
+  // calculates the present value of the periods composing the leg in the currency of the swap leg
+  double presentValuePeriodsInternal(CompiledSwapLeg leg, RatesProvider provider) {
+    // payment dates are in order, so the periods to value are at the end of the arrays
+    List<LocalDate> paymentDates = leg.getPaymentDates();
+    int size = paymentDates.size();
+    int first = 0;
+    while (first < size && paymentDates.get(first).isBefore(provider.getValuationDate())) {
+      first++;
+    }
+    if (first == size) {
+      return 0d;
+    }
+    DoubleArray discountFactors =
+        provider.discountFactors(leg.getCurrency()).discountFactors(paymentDates.subList(first, size));
+    DoubleArray rates = leg.isFixed() ?
+        leg.getFixedRates().subArray(first) :
+        provider.iborIndexRates(leg.getIndex().get()).rates(leg.getObservations().subList(first, size));
+    DoubleArray notionals = leg.getNotionals();
+    DoubleArray yearFractions = leg.getYearFractions();
+    DoubleArray gearings = leg.getGearings();
+    DoubleArray spreads = leg.getSpreads();
+    NegativeRateMethod negativeRateMethod = leg.getNegativeRateMethod();
+    double total = 0d;
+    for (int i = first; i < size; i++) {
+      double treatedRate = rates.get(i - first) * gearings.get(i) + spreads.get(i);
+      double forecastValue = negativeRateMethod.adjust(treatedRate * yearFractions.get(i)) * notionals.get(i);
+      total += forecastValue * discountFactors.get(i - first);
+    }
+    return total;
+  }
+
+  // calculates the present value of the events composing the leg in the currency of the swap leg
+  double presentValueEventsInternal(CompiledSwapLeg leg, RatesProvider provider) {
+    List<LocalDate> eventPaymentDates = leg.getEventPaymentDates();
+    DoubleArray eventAmounts = leg.getEventAmounts();
+    List<LocalDate> paymentDates = new ArrayList<>(eventPaymentDates.size());
+    List<Double> amounts = new ArrayList<>(eventPaymentDates.size());
+    for (int i = 0; i < eventPaymentDates.size(); i++) {
+      if (!eventPaymentDates.get(i).isBefore(provider.getValuationDate())) {
+        paymentDates.add(eventPaymentDates.get(i));
+        amounts.add(eventAmounts.get(i));
+      }
+    }
+    if (paymentDates.isEmpty()) {
+      return 0d;
+    }
+    DoubleArray discountFactors = provider.discountFactors(leg.getCurrency()).discountFactors(paymentDates);
+    double total = 0d;
+    for (int i = 0; i < discountFactors.size(); i++) {
+      total += amounts.get(i) * discountFactors.get(i);
+    }
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the Present Value of a Basis Point for a swap leg.
+   * <p>
+   * The Present Value of a Basis Point is the value of the leg when the rate is equal to 1.
+   * A better name would be "Present Value of 1".
+   * The quantity is also known as "physical annuity" or "level".
+   * The PV01 of the leg is this amount multiplied by one basis point.
+   *
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the Present Value of a Basis Point
+   */
+  public double pvbp(CompiledSwapLeg leg, RatesProvider provider) {
+    DoubleArray discountFactors = provider.discountFactors(leg.getCurrency()).discountFactors(leg.getPaymentDates());
+    DoubleArray notionals = leg.getNotionals();
+    DoubleArray yearFractions = leg.getYearFractions();
+    double pvbpLeg = 0d;
+    for (int i = 0; i < discountFactors.size(); i++) {
+      pvbpLeg += discountFactors.get(i) * yearFractions.get(i) * notionals.get(i);
+    }
+    return pvbpLeg;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the par rate of a swap formed of a fixed leg and another leg.
+   * <p>
+   * The par rate is the common rate on all payments of the fixed leg for which the total swap present value is 0.
+   * The present value of the other leg is converted to the currency of the fixed leg.
+   *
+   * @param fixedLeg  the compiled fixed leg
+   * @param otherLeg  the compiled other leg
+   * @param provider  the rates provider
+   * @return the par rate
+   * @throws IllegalArgumentException if the first leg is not fixed
+   */
+  public double parRate(CompiledSwapLeg fixedLeg, CompiledSwapLeg otherLeg, RatesProvider provider) {
+    ArgChecker.isTrue(fixedLeg.isFixed(), "First leg must be fixed");
+    Currency ccyFixedLeg = fixedLeg.getCurrency();
+    double otherLegConvertedPv =
+        presentValueInternal(otherLeg, provider) * provider.fxRate(otherLeg.getCurrency(), ccyFixedLeg);
+    double fixedLegEventsPv = presentValueEventsInternal(fixedLeg, provider);
+    return -(otherLegConvertedPv + fixedLegEventsPv) / pvbp(fixedLeg, provider);
+  }
+
+}
@@ -6,6 +6,8 @@
 package com.opengamma.strata.pricer.swap;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
@@ -21,6 +23,7 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.sensitivity.CompactPointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
@@ -251,18 +254,23 @@ public class DiscountingSwapLegPricer {
       BiFunction<SwapPaymentPeriod, RatesProvider, PointSensitivityBuilder> periodFn,
       BiFunction<SwapPaymentEvent, RatesProvider, PointSensitivityBuilder> eventFn) {
 
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    CompactPointSensitivities builder = new CompactPointSensitivities();
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
-        builder = builder.combinedWith(periodFn.apply(period, provider));
+        builder.combinedWith(periodFn.apply(period, provider));
       }
     }
     for (SwapPaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
-        builder = builder.combinedWith(eventFn.apply(event, provider));
+        builder.combinedWith(eventFn.apply(event, provider));
       }
     }
-    return builder;
+    return sensitivity(builder);
+  }
+
+  // the sensitivities of the periods are gathered in arrays, avoiding the creation of intermediate objects
+  private static PointSensitivityBuilder sensitivity(CompactPointSensitivities builder) {
+    return builder.size() == 0 ? PointSensitivityBuilder.none() : builder;
   }
 
   //-------------------------------------------------------------------------
@@ -281,11 +289,11 @@ public class DiscountingSwapLegPricer {
    * @return the Present Value of a Basis Point sensitivity to the curves
    */
   public PointSensitivityBuilder pvbpSensitivity(ResolvedSwapLeg fixedLeg, RatesProvider provider) {
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    CompactPointSensitivities builder = new CompactPointSensitivities();
     for (SwapPaymentPeriod period : fixedLeg.getPaymentPeriods()) {
-      builder = builder.combinedWith(paymentPeriodPricer.pvbpSensitivity(period, provider));
+      builder.combinedWith(paymentPeriodPricer.pvbpSensitivity(period, provider));
     }
-    return builder;
+    return sensitivity(builder);
   }
 
   //-------------------------------------------------------------------------
@@ -525,6 +533,9 @@ public class DiscountingSwapLegPricer {
 
   // calculates the present value of the periods composing the leg in the currency of the swap leg
   double presentValuePeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
+    if (paymentPeriodPricer.isDiscountedForecastValue()) {
+      return presentValuePeriodsDiscounted(leg, provider);
+    }
     double total = 0d;
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
@@ -534,26 +545,42 @@ public class DiscountingSwapLegPricer {
     return total;
   }
 
+  // calculates the present value of the periods, obtaining the forecast values and discount factors together
+  private double presentValuePeriodsDiscounted(ResolvedSwapLeg leg, RatesProvider provider) {
+    List<SwapPaymentPeriod> periods = new ArrayList<>(leg.getPaymentPeriods().size());
+    List<LocalDate> paymentDates = new ArrayList<>(leg.getPaymentPeriods().size());
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        periods.add(period);
+        paymentDates.add(period.getPaymentDate());
+      }
+    }
+    // the forecast values and the discount factors of all the periods are obtained together
+    DoubleArray forecastValues = paymentPeriodPricer.forecastValues(periods, provider);
+    DoubleArray discountFactors = provider.discountFactors(leg.getCurrency()).discountFactors(paymentDates);
+    return forecastValues.multipliedBy(discountFactors).sum();
+  }
+
   // calculates the present value curve sensitivity of the events composing the leg in the currency of the swap leg
   PointSensitivityBuilder presentValueSensitivityEventsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    CompactPointSensitivities builder = new CompactPointSensitivities();
     for (SwapPaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
-        builder = builder.combinedWith(paymentEventPricer.presentValueSensitivity(event, provider));
+        builder.combinedWith(paymentEventPricer.presentValueSensitivity(event, provider));
       }
     }
-    return builder;
+    return sensitivity(builder);
   }
 
   // calculates the present value curve sensitivity of the periods composing the leg in the currency of the swap leg
   PointSensitivityBuilder presentValueSensitivityPeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    CompactPointSensitivities builder = new CompactPointSensitivities();
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
-        builder = builder.combinedWith(paymentPeriodPricer.presentValueSensitivity(period, provider));
+        builder.combinedWith(paymentPeriodPricer.presentValueSensitivity(period, provider));
       }
     }
-    return builder;
+    return sensitivity(builder);
   }
 
   //-------------------------------------------------------------------------
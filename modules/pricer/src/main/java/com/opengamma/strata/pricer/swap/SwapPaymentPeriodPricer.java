@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.pricer.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentPeriodPricer;
@@ -90,6 +93,40 @@ public interface SwapPaymentPeriodPricer<T extends SwapPaymentPeriod> {
    */
   public abstract PointSensitivityBuilder forecastValueSensitivity(T period, RatesProvider provider);
 
+  /**
+   * Calculates the forecast value of a list of payment periods.
+   * <p>
+   * This is equivalent to calling {@link #forecastValue(SwapPaymentPeriod, RatesProvider)} for each period,
+   * but allows implementations to process the periods together, such as all the periods of a leg.
+   * <p>
+   * The payment dates of the periods should not be in the past.
+   * The result of this method for payment dates in the past is undefined.
+   * 
+   * @param periods  the periods
+   * @param provider  the rates provider
+   * @return the forecast values of the periods, one for each period
+   */
+  public default DoubleArray forecastValues(List<? extends T> periods, RatesProvider provider) {
+    return DoubleArray.of(periods.size(), i -> forecastValue(periods.get(i), provider));
+  }
+
+  /**
+   * Checks if the present value is the forecast value discounted from the payment date.
+   * <p>
+   * If true, the present value of any period is equal to the forecast value multiplied by
+   * the discount factor of the period currency at the payment date.
+   * This allows callers, such as a leg pricer, to obtain the discount factors of many periods together,
+   * in which case the present value methods of this pricer are not invoked.
+   * Implementations that can be subclassed should therefore only return true for their own class.
+   * <p>
+   * The default implementation returns false.
+   * 
+   * @return true if the present value is the discounted forecast value
+   */
+  public default boolean isDiscountedForecastValue() {
+    return false;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value of a basis point of a period.
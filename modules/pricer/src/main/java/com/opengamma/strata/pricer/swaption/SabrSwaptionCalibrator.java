@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static java.util.stream.Collectors.toList;
+
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
@@ -12,8 +14,13 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DayCount;
@@ -44,6 +51,8 @@ import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.Swap;
 import com.opengamma.strata.product.swap.SwapTrade;
 import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
 
@@ -67,16 +76,31 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * The executor used to calibrate the tenors of a cube concurrently, null if calibrating sequentially.
+   */
+  private final Executor executor;
+  /**
+   * The cache of resolved forward swaps, keyed by the unresolved swap.
+   * This is shared by the calibrators derived from this one using {@link #withExecutor(Executor)}.
+   */
+  private final Cache<Swap, ResolvedSwap> forwardSwaps;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /** The maximum number of resolved forward swaps to cache. */
+  private static final int FORWARD_SWAP_CACHE_SIZE = 5000;
 
   /**
    * The default instance of the class.
    */
   public static final SabrSwaptionCalibrator DEFAULT =
       new SabrSwaptionCalibrator(
-          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard());
+          SabrVolatilityFormula.hagan(),
+          DiscountingSwapProductPricer.DEFAULT,
+          ReferenceData.standard(),
+          null,
+          newCache());
 
   //-------------------------------------------------------------------------
   /**
@@ -92,7 +116,7 @@ public final class SabrSwaptionCalibrator {
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard());
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard(), null, newCache());
   }
 
   /**
@@ -110,17 +134,51 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData);
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, null, newCache());
+  }
+
+  // creates the cache of resolved forward swaps
+  private static Cache<Swap, ResolvedSwap> newCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(FORWARD_SWAP_CACHE_SIZE)
+        .build();
   }
 
   private SabrSwaptionCalibrator(
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Executor executor,
+      Cache<Swap, ResolvedSwap> forwardSwaps) {
 
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.executor = executor;
+    this.forwardSwaps = forwardSwaps;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calibrator that calibrates the nodes of a cube using the specified executor.
+   * <p>
+   * This affects {@link #calibrateWithFixedBetaAndShift}. The tenors of the cube are calibrated concurrently
+   * as separate tasks on the executor. Within a tenor, the expiries are calibrated in order,
+   * and the fit at each expiry starts from the parameters calibrated at the previous expiry.
+   * The standard starting points are only used for the first expiry, and for any expiry where
+   * the fit from the previous parameters is worse than both the fit at the previous expiry
+   * and the errors on the data.
+   * <p>
+   * As the starting points differ, the calibrated parameters may differ slightly from those of a
+   * sequential calibration, within the tolerance of the least-square fit.
+   * A direct executor may be used to obtain the warm starts without using other threads.
+   *
+   * @param executor  the executor used to calibrate the tenors
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, executor, forwardSwaps);
   }
 
   //-------------------------------------------------------------------------
@@ -193,73 +251,34 @@ public final class SabrSwaptionCalibrator {
     DayCount dayCount = definition.getDayCount();
     SurfaceInterpolator interpolator = definition.getInterpolator();
 
-    BitSet fixed = new BitSet();
-    fixed.set(1); // Beta fixed
-    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
-    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
     // Sorted maps to obtain the surfaces nodes in standard order
     TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+    for (List<CalibratedNode> tenorNodes : calibrateTenors(
+        definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface, stopOnMathException)) {
+      for (CalibratedNode node : tenorNodes) {
+        double timeToExpiry = node.timeToExpiry;
+        double timeTenor = node.timeTenor;
+        if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+          parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+          sabrPointTmp.put(timeToExpiry, new TreeMap<>());
         }
+        TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+        TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+        parameterMetadataExpiryMap.put(timeTenor, node.parameterMetadata);
+        dataSensitivityAlphaExpiryMap.put(timeTenor, node.inverseJacobian.row(0));
+        dataSensitivityRhoExpiryMap.put(timeTenor, node.inverseJacobian.row(2));
+        dataSensitivityNuExpiryMap.put(timeTenor, node.inverseJacobian.row(3));
+        sabrPointExpiryMap.put(timeTenor, node.sabrPoint);
       }
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
@@ -317,9 +336,160 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityNu(dataSensitivityNu).build();
   }
 
+  // calibrates the nodes of each tenor, in the order of the tenors
+  // if the executor is set, the tenors are calibrated concurrently using warm starts
+  private List<List<CalibratedNode>> calibrateTenors(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException) {
+
+    if (executor == null) {
+      return data.getTenors().stream()
+          .map(tenor -> calibrateTenor(
+              definition, calibrationDateTime, data, tenor, ratesProvider, betaSurface, shiftSurface,
+              stopOnMathException, false))
+          .collect(toList());
+    }
+    List<CompletableFuture<List<CalibratedNode>>> futures = data.getTenors().stream()
+        .map(tenor -> CompletableFuture.supplyAsync(
+            () -> calibrateTenor(
+                definition, calibrationDateTime, data, tenor, ratesProvider, betaSurface, shiftSurface,
+                stopOnMathException, true),
+            executor))
+        .collect(toList());
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(toList());
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  // calibrates the nodes of a single tenor, in the order of the expiries
+  // if warm start is true, each expiry starts from the parameters calibrated at the previous expiry
+  private List<CalibratedNode> calibrateTenor(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      Tenor tenor,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      boolean warmStart) {
+
+    FixedIborSwapConvention convention = definition.getConvention();
+    DayCount dayCount = definition.getDayCount();
+    BitSet fixed = new BitSet();
+    fixed.set(1); // Beta fixed
+    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
+    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
+    RawOptionData tenorData = data.getData(tenor);
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    List<Period> expiries = tenorData.getExpiries();
+    int nbExpiries = expiries.size();
+    List<CalibratedNode> nodes = new ArrayList<>();
+    CalibratedNode previousNode = null;
+    for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
+      Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+      if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+        continue;
+      }
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+      double forward = swapPricer.parRate(resolveForwardSwap(swap0.getProduct()), ratesProvider);
+      try {
+        Pair<LeastSquareResultsWithTransform, DoubleArray> fit = null;
+        if (warmStart && previousNode != null) {
+          fit = warmStartFit(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+              availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData, previousNode);
+        }
+        if (fit == null) {
+          fit = bestFit(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+              availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
+        }
+        Pair<SabrFormulaData, DoubleMatrix> calibrationResult = calibrationResult(fit);
+        ParameterMetadata parameterMetadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            expiries.get(loopexpiry).toString() + "x" + tenor.toString());
+        previousNode = new CalibratedNode(
+            timeToExpiry,
+            timeTenor,
+            parameterMetadata,
+            calibrationResult.getFirst(),
+            calibrationResult.getSecond(),
+            fit.getFirst().getChiSq() / availableSmile.getFirst().size());
+        nodes.add(previousNode);
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+              expiries.get(loopexpiry), tenor);
+          throw new MathException(message, e);
+        }
+      }
+    }
+    return nodes;
+  }
+
+  // resolves the forward swap, using the cache if available
+  private ResolvedSwap resolveForwardSwap(Swap swap) {
+    ResolvedSwap cached = forwardSwaps.getIfPresent(swap);
+    if (cached != null) {
+      return cached;
+    }
+    // concurrent misses for the same swap may both resolve, which is harmless
+    ResolvedSwap resolved = swap.resolve(refData);
+    forwardSwaps.put(swap, resolved);
+    return resolved;
+  }
+
+  // calibrates starting from the parameters of the previous node
+  // the result is only used if the fit is no worse than the fit of the previous node or the errors on the data
+  // returns null if the result is not used, in which case the standard starting points should be used
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> warmStartFit(
+      double forward,
+      double shift,
+      double beta,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      CalibratedNode previousNode) {
+
+    SabrFormulaData previous = previousNode.sabrPoint;
+    DoubleArray startParameters = DoubleArray.of(previous.getAlpha(), beta, previous.getRho(), previous.getNu());
+    try {
+      Pair<LeastSquareResultsWithTransform, DoubleArray> fit = fit(forward, shift, fixed, bda, calibrationDateTime,
+          dayCount, strike, data, expiry, rawData, startParameters);
+      // the errors on the data are 1 in the chi-square of each point
+      double maxChiSq = strike.size() * Math.max(1d, previousNode.chiSqPerPoint);
+      return fit.getFirst().getChiSq() <= maxChiSq ? fit : null;
+    } catch (MathException ex) {
+      return null;
+    }
+  }
+
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> bestFit(
       double forward,
       double shift,
       double beta,
@@ -348,32 +518,55 @@ public final class SabrSwaptionCalibrator {
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     for (int i = 0; i < 4; i++) { // Try different starting points and take the best
       DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+      Pair<LeastSquareResultsWithTransform, DoubleArray> r = fit(forward, shift, fixed, bda, calibrationDateTime,
+          dayCount, strike, data, expiry, rawData, startParameters);
+      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+        sabrCalibrationResult = r;
+        chi2 = r.getFirst().getChiSq();
+      }
+    }
+    return sabrCalibrationResult;
+  }
+
+  // Calibrates from a single starting point, using the type of the raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> fit(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    } else {
+      if (rawData.getDataType().equals(ValueType.PRICE)) {
+        return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
             expiry, forward, strike, rawData.getStrikeType(),
             data, startParameters, fixed, shift);
       } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+        if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+          return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
               expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
+              data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
         } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
+          throw new IllegalArgumentException("Data type not supported");
         }
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
-      }
     }
-    @SuppressWarnings("null")
+  }
+
+  // Converts the least-square result to the SABR parameters and their sensitivity to the raw data
+  private Pair<SabrFormulaData, DoubleMatrix> calibrationResult(
+      Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult) {
+
     SabrFormulaData sabrParameters =
         SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
     DoubleMatrix parameterSensitivityToBlackShifted =
@@ -435,7 +628,7 @@ public final class SabrSwaptionCalibrator {
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
         LocalDate endDate = effectiveDate.plus(tenors.get(looptenor));
         SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+        double forward = swapPricer.parRate(resolveForwardSwap(swap0.getProduct()), ratesProvider);
         double atmVolatility = atmVolatilities.volatility(timeToExpiry, timeTenor, forward, forward);
         ValueType volatilityType = atmVolatilities.getVolatilityType();
         // Currently there is no 'SwaptionVolatilities' with Black shifted.
@@ -899,4 +1092,31 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // the result of the calibration of a single expiry and tenor
+  private static final class CalibratedNode {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final ParameterMetadata parameterMetadata;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+    private final double chiSqPerPoint;
+
+    private CalibratedNode(
+        double timeToExpiry,
+        double timeTenor,
+        ParameterMetadata parameterMetadata,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian,
+        double chiSqPerPoint) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.parameterMetadata = parameterMetadata;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+      this.chiSqPerPoint = chiSqPerPoint;
+    }
+  }
+
 }
@@ -15,12 +15,14 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -94,6 +96,14 @@ public class ZeroRateDiscountFactorsTest {
     double expected = Math.exp(-relativeYearFraction * CURVE.yValue(relativeYearFraction));
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
+
+  public void test_discountFactors() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    LocalDate date2 = DATE_AFTER.plusYears(2);
+    DoubleArray expected = DoubleArray.of(test.discountFactor(DATE_VAL), test.discountFactor(DATE_AFTER),
+        test.discountFactor(date2));
+    assertEquals(test.discountFactors(ImmutableList.of(DATE_VAL, DATE_AFTER, date2)), expected);
+  }
   
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -243,6 +253,19 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_list() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ZeroRateSensitivity point1 = ZeroRateSensitivity.of(GBP, 0d, 1d);
+    ZeroRateSensitivity point2 = ZeroRateSensitivity.of(GBP, 1d, 2d);
+    ZeroRateSensitivity point3 = ZeroRateSensitivity.of(GBP, 2.5d, USD, -3d);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(point1)
+        .combinedWith(test.parameterSensitivity(point2))
+        .combinedWith(test.parameterSensitivity(point3));
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(ImmutableList.of(point1, point2, point3));
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+    assertEquals(test.parameterSensitivity(ImmutableList.of()), CurrencyParameterSensitivities.empty());
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
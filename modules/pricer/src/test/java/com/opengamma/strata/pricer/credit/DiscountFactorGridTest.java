@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+
+/**
+ * Test {@link DiscountFactorGrid}.
+ */
+@Test
+public class DiscountFactorGridTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2013, 2, 27);
+  private static final IsdaCreditDiscountFactors DISCOUNT_FACTORS = IsdaCreditDiscountFactors.of(
+      EUR,
+      VALUATION_DATE,
+      CurveName.of("yc_eur"),
+      DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 30d),
+      DoubleArray.of(0.0046, 0.0076, 0.0040, 0.0094, 0.0203, 0.0311),
+      ACT_365F);
+  private static final ResolvedCdsTrade TRADE = CdsConventions.EUR_GB_STANDARD
+      .createTrade(StandardId.of("OG", "ABC"), VALUATION_DATE, LocalDate.of(2012, 12, 20), LocalDate.of(2018, 3, 20),
+          BuySell.BUY, 1d, 0.01, REF_DATA)
+      .resolve(REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    DiscountFactorGrid test = DiscountFactorGrid.of(DISCOUNT_FACTORS);
+    assertSame(test.getDiscountFactors(), DISCOUNT_FACTORS);
+    LocalDate date = LocalDate.of(2015, 6, 20);
+    assertEquals(test.relativeYearFraction(date), DISCOUNT_FACTORS.relativeYearFraction(date));
+    assertEquals(test.discountFactor(date), DISCOUNT_FACTORS.discountFactor(date));
+    assertEquals(test.zeroRateTimesYearFraction(2.5d), DISCOUNT_FACTORS.zeroRate(2.5d) * 2.5d);
+  }
+
+  public void test_of_trades() {
+    DiscountFactorGrid test =
+        DiscountFactorGrid.of(DISCOUNT_FACTORS, VALUATION_DATE, ImmutableList.of(TRADE), REF_DATA);
+    assertSame(test.getDiscountFactors(), DISCOUNT_FACTORS);
+    for (CreditCouponPaymentPeriod period : TRADE.getProduct().getPaymentPeriods()) {
+      LocalDate date = period.getPaymentDate();
+      double yearFraction = DISCOUNT_FACTORS.relativeYearFraction(date);
+      assertEquals(test.relativeYearFraction(date), yearFraction);
+      assertEquals(test.discountFactor(date), DISCOUNT_FACTORS.discountFactor(date));
+      assertEquals(
+          test.zeroRateTimesYearFraction(yearFraction), DISCOUNT_FACTORS.zeroRate(yearFraction) * yearFraction);
+    }
+    // dates and times not in the grid are evaluated directly
+    LocalDate date = LocalDate.of(2015, 6, 21);
+    assertEquals(test.relativeYearFraction(date), DISCOUNT_FACTORS.relativeYearFraction(date));
+    assertEquals(test.discountFactor(date), DISCOUNT_FACTORS.discountFactor(date));
+    assertEquals(test.zeroRateTimesYearFraction(2.5d), DISCOUNT_FACTORS.zeroRate(2.5d) * 2.5d);
+    assertEquals(test.zeroRateTimesYearFraction(5d), DISCOUNT_FACTORS.zeroRate(5d) * 5d);
+  }
+
+}
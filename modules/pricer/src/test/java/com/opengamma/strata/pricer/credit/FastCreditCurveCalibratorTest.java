@@ -8,19 +8,25 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.market.curve.CurveName;
@@ -291,4 +297,74 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+
+  public void multiNameTest() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(
+        EUR,
+        valuationDate,
+        CurveName.of("yc_eur"),
+        DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 30d),
+        DoubleArray.of(0.0046, 0.0076, 0.0040, 0.0094, 0.0203, 0.0311),
+        ACT_365F);
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2013, 9, 20), LocalDate.of(2015, 3, 20), LocalDate.of(2018, 3, 20), LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.006485, 0.011763, 0.021905, 0.027549};
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    List<IsdaCreditCurveDefinition> curveDefinitions = new ArrayList<>();
+    int nNames = 6;
+    for (int k = 0; k < nNames; k++) {
+      StandardId legalEntity = StandardId.of("OG", "ABC" + k);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, valuationDate, 0.25 + 0.05 * k));
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int i = 0; i < pillarDates.length; ++i) {
+        CdsTemplate temp = DatesCdsTemplate.of(startDate, pillarDates[i], conv);
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntity.getValue() + pillarDates[i].toString()));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id, legalEntity));
+        builderCredit.addValue(id, quotes[i] * (1d + 0.2 * k));
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("cc" + k), EUR, valuationDate, ACT_365F, nodes, k % 2 == 0, false));
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    StandardId existingEntity = StandardId.of("OG", "Existing");
+    LegalEntitySurvivalProbabilities existing = LegalEntitySurvivalProbabilities.of(
+        existingEntity,
+        IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("existing"), DoubleArray.of(5d),
+            DoubleArray.of(0.01), ACT_365F));
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(recoveryRates.build())
+        .creditCurves(ImmutableMap.of(Pair.of(existingEntity, EUR), existing))
+        .build();
+    for (FastCreditCurveCalibrator calibrator : new FastCreditCurveCalibrator[] {BUILDER_ISDA, BUILDER_MARKIT}) {
+      ImmutableCreditRatesProvider computed =
+          calibrator.calibrate(curveDefinitions, marketData, ratesProvider, REF_DATA);
+      for (int k = 0; k < nNames; k++) {
+        StandardId legalEntity = StandardId.of("OG", "ABC" + k);
+        LegalEntitySurvivalProbabilities expected =
+            calibrator.calibrate(curveDefinitions.get(k), marketData, ratesProvider, REF_DATA);
+        assertEquals(computed.survivalProbabilities(legalEntity, EUR), expected);
+      }
+      assertEquals(computed.survivalProbabilities(existingEntity, EUR), existing);
+      assertEquals(computed.discountFactors(EUR), yc);
+      ExecutorService executor = Executors.newFixedThreadPool(3);
+      try {
+        assertEquals(calibrator.calibrate(curveDefinitions, marketData, ratesProvider, REF_DATA, executor), computed);
+      } finally {
+        executor.shutdown();
+      }
+    }
+    List<IsdaCreditCurveDefinition> duplicated = ImmutableList.<IsdaCreditCurveDefinition>builder()
+        .addAll(curveDefinitions)
+        .add(IsdaCreditCurveDefinition.of(
+            CurveName.of("other"), EUR, valuationDate, ACT_365F, curveDefinitions.get(0).getCurveNodes(), false, false))
+        .build();
+    assertThrowsIllegalArg(() -> BUILDER_ISDA.calibrate(duplicated, marketData, ratesProvider, REF_DATA));
+  }
+
 }
@@ -14,6 +14,8 @@ import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static com.opengamma.strata.product.common.BuySell.SELL;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -731,6 +733,73 @@ public class IsdaCdsProductPricerTest {
     assertEquals(accEffectiveEndDate, 1.388888888888889E-4, TOL);
   }
 
+  //-------------------------------------------------------------------------
+  public void pricingContextTest() {
+    LocalDate settle = PRODUCT_NS_BTW.getSettlementDateOffset().adjust(VALUATION_DATE, REF_DATA);
+    for (IsdaCdsProductPricer pricer : new IsdaCdsProductPricer[] {PRICER, PRICER_FIX, PRICER_CORRECT}) {
+      for (ResolvedCds product : new ResolvedCds[] {PRODUCT_BEFORE, PRODUCT_AFTER, PRODUCT_NS_BTW}) {
+        IsdaCdsPricingContext context = IsdaCdsPricingContext.of(product, VALUATION_DATE, REF_DATA);
+        assertEquals(context.getProduct(), product);
+        assertEquals(context.getValuationDate(), VALUATION_DATE);
+        assertEquals(context.getStepinDate(), product.getStepinDateOffset().adjust(VALUATION_DATE, REF_DATA));
+        assertEquals(context.getEffectiveStartDate(), product.calculateEffectiveStartDate(context.getStepinDate()));
+        assertEquals(
+            pricer.price(context, RATES_PROVIDER, settle, CLEAN),
+            pricer.price(product, RATES_PROVIDER, settle, CLEAN, REF_DATA));
+        assertEquals(
+            pricer.presentValue(context, RATES_PROVIDER, settle, DIRTY),
+            pricer.presentValue(product, RATES_PROVIDER, settle, DIRTY, REF_DATA));
+        assertEquals(
+            pricer.parSpread(context, RATES_PROVIDER, settle),
+            pricer.parSpread(product, RATES_PROVIDER, settle, REF_DATA));
+        assertEquals(
+            pricer.protectionLeg(context, RATES_PROVIDER, settle),
+            pricer.protectionLeg(product, RATES_PROVIDER, settle, REF_DATA));
+        assertEquals(
+            pricer.riskyAnnuity(context, RATES_PROVIDER, settle, CLEAN),
+            pricer.riskyAnnuity(product, RATES_PROVIDER, settle, CLEAN, REF_DATA));
+        assertEquals(
+            pricer.rpv01(context, RATES_PROVIDER, settle, DIRTY),
+            pricer.rpv01(product, RATES_PROVIDER, settle, DIRTY, REF_DATA));
+        assertEquals(
+            pricer.priceSensitivity(context, RATES_PROVIDER, settle).build(),
+            pricer.priceSensitivity(product, RATES_PROVIDER, settle, REF_DATA).build());
+        assertEquals(
+            pricer.presentValueSensitivity(context, RATES_PROVIDER, settle).build(),
+            pricer.presentValueSensitivity(product, RATES_PROVIDER, settle, REF_DATA).build());
+        assertEquals(
+            pricer.parSpreadSensitivity(context, RATES_PROVIDER, settle).build(),
+            pricer.parSpreadSensitivity(product, RATES_PROVIDER, settle, REF_DATA).build());
+      }
+    }
+  }
+
+  public void pricingContextScheduleTest() {
+    IsdaCdsPricingContext context = IsdaCdsPricingContext.of(PRODUCT_BEFORE, VALUATION_DATE, REF_DATA);
+    LegalEntitySurvivalProbabilities survival = LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, CREDIT_CRVE);
+    IsdaCdsPricingContext.Schedule schedule = context.schedule(YIELD_CRVE, survival);
+    assertSame(context.schedule(YIELD_CRVE, survival), schedule);
+    // bumped values, same nodes
+    LegalEntitySurvivalProbabilities survivalBumped = LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY,
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withYValues(RATE_CC.plus(1.0e-4))));
+    assertSame(context.schedule(YIELD_CRVE, survivalBumped), schedule);
+    // different nodes
+    LegalEntitySurvivalProbabilities survivalNodes = LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY,
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withValues(TIME_CC.plus(0.1), RATE_CC)));
+    IsdaCdsPricingContext.Schedule scheduleNodes = context.schedule(YIELD_CRVE, survivalNodes);
+    assertNotSame(scheduleNodes, schedule);
+    assertNotSame(context.schedule(YIELD_CRVE, survival), scheduleNodes);
+    // different day count of credit curve, same nodes
+    IsdaCdsPricingContext.Schedule scheduleBase = context.schedule(YIELD_CRVE, survival);
+    LegalEntitySurvivalProbabilities survivalDayCount = LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY,
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withMetadata(METADATA_CC.toBuilder().dayCount(ACT_360).build())));
+    assertNotSame(context.schedule(YIELD_CRVE, survivalDayCount), scheduleBase);
+    // different valuation date
+    IsdaCdsPricingContext contextOther = IsdaCdsPricingContext.of(PRODUCT_BEFORE, VALUATION_DATE.plusDays(1), REF_DATA);
+    assertThrowsIllegalArg(() -> contextOther.schedule(YIELD_CRVE, survival));
+    assertThrowsIllegalArg(() -> PRICER.presentValue(contextOther, RATES_PROVIDER, VALUATION_DATE, DIRTY));
+  }
+
   //-------------------------------------------------------------------------
   public void jumpToDefaultTest() {
     JumpToDefault computed = PRICER.jumpToDefault(PRODUCT_BEFORE, RATES_PROVIDER, VALUATION_DATE, REF_DATA);
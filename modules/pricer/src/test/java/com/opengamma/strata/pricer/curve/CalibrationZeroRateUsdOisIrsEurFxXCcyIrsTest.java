@@ -19,6 +19,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.XCcyIborIborSwapConventions.EUR_EURIBOR_3M_USD_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -26,6 +27,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -38,6 +40,8 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
@@ -46,9 +50,12 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -63,6 +70,7 @@ import com.opengamma.strata.market.curve.node.XCcyIborIborSwapCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.deposit.DiscountingTermDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -298,6 +306,7 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
   private static final MarketQuoteSensitivityCalculator MQC = MarketQuoteSensitivityCalculator.DEFAULT;
 
   private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.of(1e-9, 1e-9, 100);
+  private static final RatesCurveCalibrator CALIBRATOR_PARALLEL = CALIBRATOR.withParallel(true);
 
   // Constants
   private static final double TOLERANCE_PV = 1.0E-6;
@@ -383,6 +392,125 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
     assertPresentValue(result);
   }
 
+  public void calibration_present_value_oneGroup_parallel() {
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR_PARALLEL.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    // the curves and Jacobians are the same as sequential calibration, within the tolerance of the root finder
+    List<CurveName> names =
+        ImmutableList.of(USD_DSCON_CURVE_NAME, USD_FWD3_CURVE_NAME, EUR_DSC_CURVE_NAME, EUR_FWD3_CURVE_NAME);
+    for (CurveName name : names) {
+      InterpolatedNodalCurve expectedCurve = (InterpolatedNodalCurve) expected.findData(name).get();
+      InterpolatedNodalCurve curve = (InterpolatedNodalCurve) result.findData(name).get();
+      assertTrue(curve.getYValues().equalWithTolerance(expectedCurve.getYValues(), 1e-8));
+      JacobianCalibrationMatrix expectedJacobian =
+          expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      JacobianCalibrationMatrix jacobian = curve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      assertEquals(jacobian.getOrder(), expectedJacobian.getOrder());
+      for (int i = 0; i < jacobian.getJacobianMatrix().rowCount(); i++) {
+        assertTrue(jacobian.getJacobianMatrix().row(i).equalWithTolerance(
+            expectedJacobian.getJacobianMatrix().row(i), 1e-6));
+      }
+    }
+  }
+
+  public void calibration_present_value_threeGroups_parallel() {
+    RatesProvider result =
+        CALIBRATOR_PARALLEL.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+  }
+
+  public void recalibration_present_value_oneGroup() {
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(CURVE_GROUP_CONFIG, previous, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    assertCurves(result, previous, 1e-10);
+  }
+
+  public void recalibration_present_value_threeGroups() {
+    List<RatesCurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(groups, previous, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    assertCurves(result, previous, 1e-10);
+  }
+
+  public void recalibration_present_value_noPrevious() {
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(CURVE_GROUP_CONFIG, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+  }
+
+  public void recalibration_shifted() {
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    Map<MarketDataId<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    for (int i = 0; i < USD_DSC_NB_NODES; i++) {
+      map.put(QuoteId.of(StandardId.of(SCHEME, USD_DSC_ID_VALUE[i])), USD_DSC_MARKET_QUOTES[i] + 1.0E-4);
+    }
+    ImmutableMarketData shifted = ImmutableMarketData.of(VAL_DATE, map);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(CURVE_GROUP_CONFIG, previous, shifted, REF_DATA);
+    assertCurves(result, expected, 1e-8);
+    // starting from the previous curves and Jacobian avoids calculating the Jacobian
+    CountingRootFinder coldRootFinder = new CountingRootFinder();
+    RatesCurveCalibrator.of(coldRootFinder, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE)
+        .calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA);
+    CountingRootFinder warmRootFinder = new CountingRootFinder();
+    RatesCurveCalibrator.of(warmRootFinder, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE)
+        .recalibrate(CURVE_GROUP_CONFIG, previous, shifted, REF_DATA);
+    assertTrue(warmRootFinder.jacobianCount.get() < coldRootFinder.jacobianCount.get());
+    assertTrue(warmRootFinder.valueCount.get() <= coldRootFinder.valueCount.get());
+  }
+
+  // checks the curves of two providers
+  private void assertCurves(ImmutableRatesProvider result, ImmutableRatesProvider expected, double tolerance) {
+    List<CurveName> names =
+        ImmutableList.of(USD_DSCON_CURVE_NAME, USD_FWD3_CURVE_NAME, EUR_DSC_CURVE_NAME, EUR_FWD3_CURVE_NAME);
+    for (CurveName name : names) {
+      InterpolatedNodalCurve expectedCurve = (InterpolatedNodalCurve) expected.findData(name).get();
+      InterpolatedNodalCurve curve = (InterpolatedNodalCurve) result.findData(name).get();
+      assertTrue(curve.getYValues().equalWithTolerance(expectedCurve.getYValues(), tolerance));
+    }
+  }
+
+  // root finder that counts the evaluations of the function and its derivative
+  private static final class CountingRootFinder implements NewtonVectorRootFinder {
+    private final NewtonVectorRootFinder underlying = NewtonVectorRootFinder.broyden(1e-9, 1e-9, 100);
+    private final AtomicInteger valueCount = new AtomicInteger();
+    private final AtomicInteger jacobianCount = new AtomicInteger();
+
+    @Override
+    public DoubleArray findRoot(Function<DoubleArray, DoubleArray> function, DoubleArray startPosition) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DoubleArray findRoot(
+        Function<DoubleArray, DoubleArray> function,
+        Function<DoubleArray, DoubleMatrix> jacobianFunction,
+        DoubleArray startPosition) {
+
+      return underlying.findRoot(counting(function, valueCount), counting(jacobianFunction, jacobianCount), startPosition);
+    }
+
+    @Override
+    public DoubleArray findRoot(
+        Function<DoubleArray, DoubleArray> function,
+        Function<DoubleArray, DoubleMatrix> jacobianFunction,
+        DoubleArray startPosition,
+        DoubleMatrix jacobianEstimate) {
+
+      return underlying.findRoot(
+          counting(function, valueCount), counting(jacobianFunction, jacobianCount), startPosition, jacobianEstimate);
+    }
+
+    private static <T> Function<DoubleArray, T> counting(Function<DoubleArray, T> function, AtomicInteger count) {
+      return x -> {
+        count.incrementAndGet();
+        return function.apply(x);
+      };
+    }
+  }
+
   private void assertPresentValue(RatesProvider result) {
     // Test PV USD;
     List<ResolvedTrade> usdTrades = new ArrayList<>();
@@ -15,6 +15,14 @@ import org.testng.annotations.Test;
 @Test
 public class RatesCurveCalibratorTest {
 
+  public void test_withParallel() {
+    RatesCurveCalibrator test = RatesCurveCalibrator.standard().withParallel(true);
+    assertThat(RatesCurveCalibrator.standard().isParallel()).isFalse();
+    assertThat(test.isParallel()).isTrue();
+    assertThat(test.getMeasures()).isEqualTo(RatesCurveCalibrator.standard().getMeasures());
+    assertThat(test.withParallel(false).isParallel()).isFalse();
+  }
+
   public void test_toString() {
     assertThat(RatesCurveCalibrator.standard().toString()).isEqualTo("CurveCalibrator[ParSpread]");
   }
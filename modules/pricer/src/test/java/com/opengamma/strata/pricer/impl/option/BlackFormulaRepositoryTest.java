@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
@@ -15,6 +16,9 @@ import java.util.function.Function;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.integration.GaussHermiteQuadratureIntegrator1D;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
@@ -145,6 +149,109 @@ public class BlackFormulaRepositoryTest {
     }
   }
 
+  public void arrayTest() {
+    int n = VOLS.length;
+    int m = STRIKES_INPUT.length;
+    double[] forwards = new double[n * m + 6];
+    double[] strikes = new double[n * m + 6];
+    double[] times = new double[n * m + 6];
+    double[] vols = new double[n * m + 6];
+    for (int i = 0; i < m; i++) {
+      for (int j = 0; j < n; j++) {
+        forwards[i * n + j] = FORWARD;
+        strikes[i * n + j] = STRIKES_INPUT[i];
+        times[i * n + j] = TIME_TO_EXPIRY;
+        vols[i * n + j] = VOLS[j];
+      }
+    }
+    // edge cases: zero vol, zero expiry, zero strike, at-the-money, massive vol, large forward and strike
+    double[][] edgeCases = new double[][] {
+        {FORWARD, 95d, TIME_TO_EXPIRY, 0d},
+        {FORWARD, 110d, 0d, 0.3},
+        {FORWARD, 0d, TIME_TO_EXPIRY, 0.3},
+        {FORWARD, FORWARD, TIME_TO_EXPIRY, 0.3},
+        {FORWARD, 95d, TIME_TO_EXPIRY, 1.e30},
+        {1.e12, 1.e12 + 1d, TIME_TO_EXPIRY, 0.3}};
+    for (int k = 0; k < edgeCases.length; k++) {
+      forwards[n * m + k] = edgeCases[k][0];
+      strikes[n * m + k] = edgeCases[k][1];
+      times[n * m + k] = edgeCases[k][2];
+      vols[n * m + k] = edgeCases[k][3];
+    }
+    DoubleArray forwardArray = DoubleArray.ofUnsafe(forwards);
+    DoubleArray strikeArray = DoubleArray.ofUnsafe(strikes);
+    DoubleArray timeArray = DoubleArray.ofUnsafe(times);
+    DoubleArray volArray = DoubleArray.ofUnsafe(vols);
+    for (boolean isCall : new boolean[] {true, false}) {
+      DoubleArray prices = BlackFormulaRepository.price(forwardArray, strikeArray, timeArray, volArray, isCall);
+      DoubleArray deltas = BlackFormulaRepository.delta(forwardArray, strikeArray, timeArray, volArray, isCall);
+      DoubleArray vegas = BlackFormulaRepository.vega(forwardArray, strikeArray, timeArray, volArray);
+      for (int i = 0; i < forwards.length; i++) {
+        assertEquals(prices.get(i), BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall));
+        assertEquals(deltas.get(i), BlackFormulaRepository.delta(forwards[i], strikes[i], times[i], vols[i], isCall));
+        assertEquals(vegas.get(i), BlackFormulaRepository.vega(forwards[i], strikes[i], times[i], vols[i]));
+      }
+    }
+  }
+
+  public void arrayErrorTest() {
+    DoubleArray forwards = DoubleArray.of(FORWARD, FORWARD);
+    DoubleArray strikes = DoubleArray.of(95d, 105d);
+    DoubleArray times = DoubleArray.of(TIME_TO_EXPIRY, TIME_TO_EXPIRY);
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(forwards, strikes, times, DoubleArray.of(0.3), true));
+    assertThrowsIllegalArg(
+        () -> BlackFormulaRepository.delta(forwards, strikes, times, DoubleArray.of(0.3, -0.3), true));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.vega(forwards, DoubleArray.of(95d), times, times));
+  }
+
+  public void impliedVolatilityArrayTest() {
+    int n = VOLS.length;
+    int m = STRIKES_INPUT.length;
+    double[] forwards = new double[n * m];
+    double[] strikes = new double[n * m];
+    double[] times = new double[n * m];
+    double[] vols = new double[n * m];
+    for (int i = 0; i < m; i++) {
+      for (int j = 0; j < n; j++) {
+        forwards[i * n + j] = FORWARD;
+        strikes[i * n + j] = STRIKES_INPUT[i];
+        times[i * n + j] = TIME_TO_EXPIRY;
+        vols[i * n + j] = VOLS[j];
+      }
+    }
+    DoubleArray forwardArray = DoubleArray.ofUnsafe(forwards);
+    DoubleArray strikeArray = DoubleArray.ofUnsafe(strikes);
+    DoubleArray timeArray = DoubleArray.ofUnsafe(times);
+    for (boolean isCall : new boolean[] {true, false}) {
+      DoubleArray prices =
+          BlackFormulaRepository.price(forwardArray, strikeArray, timeArray, DoubleArray.ofUnsafe(vols), isCall);
+      ValueWithFailures<DoubleArray> computed =
+          BlackFormulaRepository.impliedVolatility(prices, forwardArray, strikeArray, timeArray, isCall);
+      assertTrue(computed.getFailures().isEmpty());
+      for (int i = 0; i < n * m; i++) {
+        assertEquals(computed.getValue().get(i), vols[i], 1e-10);
+      }
+    }
+  }
+
+  public void impliedVolatilityArrayFailureTest() {
+    DoubleArray forwards = DoubleArray.of(FORWARD, FORWARD, FORWARD, FORWARD, -1d);
+    DoubleArray strikes = DoubleArray.of(95d, 95d, 95d, 110d, 95d);
+    DoubleArray times = DoubleArray.of(TIME_TO_EXPIRY, TIME_TO_EXPIRY, TIME_TO_EXPIRY, 0d, TIME_TO_EXPIRY);
+    // intrinsic value, below intrinsic value, above upper bound, expired, invalid forward
+    DoubleArray prices = DoubleArray.of(FORWARD - 95d, 0.5 * (FORWARD - 95d), FORWARD, 2d, 10d);
+    ValueWithFailures<DoubleArray> computed =
+        BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, true);
+    assertEquals(computed.getValue().get(0), 0d);
+    for (int i = 1; i < prices.size(); i++) {
+      assertTrue(Double.isNaN(computed.getValue().get(i)));
+    }
+    assertEquals(computed.getFailures().size(), 4);
+    assertTrue(computed.getFailures().stream().allMatch(f -> f.getReason() == FailureReason.INVALID));
+    assertThrowsIllegalArg(
+        () -> BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, DoubleArray.of(1d), true));
+  }
+
   /**
    * Tests the strikes in a range of strikes, volatilities and call/put.
    */
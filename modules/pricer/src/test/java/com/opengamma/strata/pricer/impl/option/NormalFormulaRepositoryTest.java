@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository}.
+ */
+@Test
+public class NormalFormulaRepositoryTest {
+
+  private static final DoubleArray FORWARDS = DoubleArray.of(0.02, 0.02, 0.02, 0.02, -0.005, 0.01, 0.01, 0.03);
+  private static final DoubleArray STRIKES = DoubleArray.of(0.01, 0.02, 0.03, -0.01, 0.0, 0.01, 0.02, 0.025);
+  private static final DoubleArray TIMES = DoubleArray.of(2.0, 2.0, 2.0, 2.0, 10.0, 1.0, 0.0, 0.5);
+  private static final DoubleArray VOLS = DoubleArray.of(0.01, 0.01, 0.01, 0.005, 0.008, 0.0, 0.01, 0.02);
+
+  //-------------------------------------------------------------------------
+  public void test_arrays() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      DoubleArray prices = NormalFormulaRepository.price(FORWARDS, STRIKES, TIMES, VOLS, putCall);
+      DoubleArray deltas = NormalFormulaRepository.delta(FORWARDS, STRIKES, TIMES, VOLS, putCall);
+      DoubleArray vegas = NormalFormulaRepository.vega(FORWARDS, STRIKES, TIMES, VOLS, putCall);
+      for (int i = 0; i < FORWARDS.size(); i++) {
+        double forward = FORWARDS.get(i);
+        double strike = STRIKES.get(i);
+        double time = TIMES.get(i);
+        double vol = VOLS.get(i);
+        assertEquals(prices.get(i), NormalFormulaRepository.price(forward, strike, time, vol, putCall));
+        assertEquals(deltas.get(i), NormalFormulaRepository.delta(forward, strike, time, vol, putCall));
+        assertEquals(vegas.get(i), NormalFormulaRepository.vega(forward, strike, time, vol, putCall));
+      }
+    }
+  }
+
+  public void test_arrays_differentSizes() {
+    DoubleArray vols = DoubleArray.of(0.01);
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(FORWARDS, STRIKES, TIMES, vols, CALL));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.delta(FORWARDS, vols, TIMES, VOLS, CALL));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.vega(FORWARDS, STRIKES, vols, VOLS, CALL));
+  }
+
+
+  //-------------------------------------------------------------------------
+  public void test_impliedVolatility_arrays() {
+    int size = 41;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = 0.01;
+      strikes[i] = 0.005 + 0.00025 * i;
+      times[i] = 0.25 + 0.5 * (i % 7);
+      vols[i] = 0.002 + 0.0005 * (i % 11);
+    }
+    DoubleArray forwardArray = DoubleArray.ofUnsafe(forwards);
+    DoubleArray strikeArray = DoubleArray.ofUnsafe(strikes);
+    DoubleArray timeArray = DoubleArray.ofUnsafe(times);
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      DoubleArray prices =
+          NormalFormulaRepository.price(forwardArray, strikeArray, timeArray, DoubleArray.ofUnsafe(vols), putCall);
+      ValueWithFailures<DoubleArray> computed =
+          NormalFormulaRepository.impliedVolatility(prices, forwardArray, strikeArray, timeArray, putCall);
+      assertTrue(computed.getFailures().isEmpty());
+      for (int i = 0; i < size; i++) {
+        assertEquals(computed.getValue().get(i), vols[i], 1e-12);
+        double expected = NormalFormulaRepository.impliedVolatility(
+            prices.get(i), forwards[i], strikes[i], times[i], 0.01, 1d, putCall);
+        assertEquals(computed.getValue().get(i), expected, 1e-12);
+      }
+    }
+  }
+
+  public void test_impliedVolatility_arrays_failures() {
+    DoubleArray forwards = DoubleArray.of(0.02, 0.02, 0.02, Double.NaN);
+    DoubleArray strikes = DoubleArray.of(0.01, 0.01, 0.03, 0.01);
+    DoubleArray times = DoubleArray.of(2d, 2d, 0d, 2d);
+    // intrinsic value, below intrinsic value, expired, invalid forward
+    DoubleArray prices = DoubleArray.of(0.01, 0.005, 0.001, 0.01);
+    ValueWithFailures<DoubleArray> computed =
+        NormalFormulaRepository.impliedVolatility(prices, forwards, strikes, times, CALL);
+    assertEquals(computed.getValue().get(0), 0d);
+    assertTrue(Double.isNaN(computed.getValue().get(1)));
+    assertTrue(Double.isNaN(computed.getValue().get(2)));
+    assertTrue(Double.isNaN(computed.getValue().get(3)));
+    assertEquals(computed.getFailures().size(), 3);
+    assertTrue(computed.getFailures().stream().allMatch(f -> f.getReason() == FailureReason.INVALID));
+    assertThrowsIllegalArg(
+        () -> NormalFormulaRepository.impliedVolatility(prices, forwards, strikes, DoubleArray.of(1d), CALL));
+  }
+
+}
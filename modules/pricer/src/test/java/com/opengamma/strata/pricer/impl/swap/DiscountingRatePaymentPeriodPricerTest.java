@@ -41,6 +41,7 @@ import com.opengamma.strata.basics.index.FxIndexObservation;
 import com.opengamma.strata.basics.index.FxIndices;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
@@ -389,6 +390,24 @@ public class DiscountingRatePaymentPeriodPricerTest {
       .notional(NOTIONAL_100)
       .build();
 
+  public void test_forecastValues() {
+    ImmutableRatesProvider provider = MULTI_GBP_USD;
+    List<RatePaymentPeriod> periods = ImmutableList.of(
+        PAYMENT_PERIOD_FLOATING.toBuilder().accrualPeriods(ACCRUAL_PERIOD_2_FLOATING).build(),
+        PAYMENT_PERIOD_COMPOUNDING_FLAT,
+        PAYMENT_PERIOD_FLOATING.toBuilder().accrualPeriods(ACCRUAL_PERIOD_1_FLOATING).build(),
+        PAYMENT_PERIOD_FULL_GS_FX_USD,
+        PAYMENT_PERIOD_FLOATING.toBuilder().accrualPeriods(ACCRUAL_PERIOD_3_FLOATING).build());
+    DiscountingRatePaymentPeriodPricer pricer = DiscountingRatePaymentPeriodPricer.DEFAULT;
+    DoubleArray computed = pricer.forecastValues(periods, provider);
+    assertEquals(computed.size(), periods.size());
+    for (int i = 0; i < periods.size(); i++) {
+      assertEquals(computed.get(i), pricer.forecastValue(periods.get(i), provider), TOLERANCE_PV);
+    }
+    assertEquals(pricer.forecastValues(ImmutableList.of(), provider), DoubleArray.EMPTY);
+  }
+
+  //-------------------------------------------------------------------------
   /**
   * Test present value sensitivity for ibor, no compounding.
   */
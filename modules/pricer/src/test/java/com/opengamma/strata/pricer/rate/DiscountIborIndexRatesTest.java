@@ -15,12 +15,14 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.index.IborIndexObservation;
@@ -160,6 +162,15 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.rate(GBP_LIBOR_3M_AFTER), expected, TOLERANCE_RATE);
   }
 
+  public void test_rates() {
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
+    DoubleArray expected = DoubleArray.of(
+        test.rate(GBP_LIBOR_3M_AFTER), test.rate(GBP_LIBOR_3M_BEFORE), test.rate(GBP_LIBOR_3M_VAL));
+    DoubleArray computed = test.rates(ImmutableList.of(GBP_LIBOR_3M_AFTER, GBP_LIBOR_3M_BEFORE, GBP_LIBOR_3M_VAL));
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_RATE));
+    assertEquals(test.rates(ImmutableList.of()), DoubleArray.EMPTY);
+  }
+
   //-------------------------------------------------------------------------
   public void test_ratePointSensitivity_fixing() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
@@ -194,6 +205,16 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_list() {
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
+    IborRateSensitivity point1 = IborRateSensitivity.of(GBP_LIBOR_3M_AFTER, GBP, 2d);
+    IborRateSensitivity point2 = IborRateSensitivity.of(GBP_LIBOR_3M_VAL, GBP, -3d);
+    CurrencyParameterSensitivities expected =
+        test.parameterSensitivity(point1).combinedWith(test.parameterSensitivity(point2));
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(ImmutableList.of(point1, point2));
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_RATE));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
@@ -15,12 +15,14 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -245,6 +247,16 @@ public class DiscountOvernightIndexRatesTest {
     OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(GBP_SONIA_AFTER, DATE_AFTER_END, GBP, 1d);
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
+
+  public void test_parameterSensitivity_list() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    OvernightRateSensitivity point1 = OvernightRateSensitivity.ofPeriod(GBP_SONIA_AFTER, DATE_AFTER_END, GBP, 2d);
+    OvernightRateSensitivity point2 = OvernightRateSensitivity.of(GBP_SONIA_VAL, GBP, -3d);
+    CurrencyParameterSensitivities expected =
+        test.parameterSensitivity(point1).combinedWith(test.parameterSensitivity(point2));
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(ImmutableList.of(point1, point2));
+    assertTrue(computed.equalWithTolerance(expected, 1e-12));
+  }
   
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -257,6 +258,23 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertFalse(priceIndexSensi.isPresent());
   }
 
+  // each curve is bumped once, independent of the number of curves in the delta
+  public void sensitivity_cross_multi_curve_callCount() {
+    AtomicInteger count = new AtomicInteger();
+    CrossGammaParameterSensitivities sensiComputed = CENTRAL.calculateCrossGammaCrossCurve(
+        RatesProviderDataSets.MULTI_CPI_USD,
+        p -> {
+          count.incrementAndGet();
+          return sensiFn(p);
+        });
+    int paramsTotal = RatesProviderDataSets.TIMES_1.size() + RatesProviderDataSets.TIMES_2.size() +
+        RatesProviderDataSets.TIMES_3.size() + RatesProviderDataSets.TIMES_4.size();
+    assertEquals(sensiComputed.size(), 4);
+    // base delta, then a base and two bumped evaluations per parameter for each of the five curve bumps
+    // the discounting curve is bumped twice as it is also used for the overnight index
+    assertEquals(count.get(), 1 + 5 + 2 * (paramsTotal + RatesProviderDataSets.TIMES_1.size()));
+  }
+
   // test diagonal part against finite difference approximation computed from pv
   public void swap_exampleTest() {
     LocalDate start = LocalDate.of(2014, 3, 10);
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.GBP_FIXED_1Y_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.CompiledSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+
+/**
+ * Test {@link DiscountingCompiledSwapLegPricer}.
+ */
+@Test
+public class DiscountingCompiledSwapLegPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_GBP = RatesProviderDataSets.MULTI_GBP;
+  private static final ResolvedSwap SWAP = GBP_FIXED_1Y_LIBOR_3M
+      .createTrade(RATES_GBP.getValuationDate(), TENOR_5Y, BUY, 1_000_000d, 0.015, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+  private static final ResolvedSwapLeg FIXED_LEG = SWAP.getLegs(SwapLegType.FIXED).get(0);
+  private static final ResolvedSwapLeg IBOR_LEG = SWAP.getLegs(SwapLegType.IBOR).get(0);
+
+  private static final DiscountingCompiledSwapLegPricer PRICER = DiscountingCompiledSwapLegPricer.DEFAULT;
+  private static final DiscountingSwapLegPricer PRICER_LEG = DiscountingSwapLegPricer.DEFAULT;
+  private static final DiscountingSwapProductPricer PRICER_SWAP = DiscountingSwapProductPricer.DEFAULT;
+  private static final double TOLERANCE = 1.0e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_fixed() {
+    CurrencyAmount computed = PRICER.presentValue(CompiledSwapLeg.of(FIXED_LEG), RATES_GBP);
+    CurrencyAmount expected = PRICER_LEG.presentValue(FIXED_LEG, RATES_GBP);
+    assertEquals(computed.getCurrency(), GBP);
+    assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE * Math.abs(expected.getAmount()));
+  }
+
+  public void test_presentValue_ibor() {
+    CurrencyAmount computed = PRICER.presentValue(CompiledSwapLeg.of(IBOR_LEG), RATES_GBP);
+    CurrencyAmount expected = PRICER_LEG.presentValue(IBOR_LEG, RATES_GBP);
+    assertEquals(computed.getCurrency(), GBP);
+    assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE * Math.abs(expected.getAmount()));
+  }
+
+  public void test_presentValue_pastPeriods() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.multiGbp(RATES_GBP.getValuationDate().plusMonths(27));
+    CurrencyAmount computed = PRICER.presentValue(CompiledSwapLeg.of(FIXED_LEG), provider);
+    CurrencyAmount expected = PRICER_LEG.presentValue(FIXED_LEG, provider);
+    assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE * Math.abs(expected.getAmount()));
+    ImmutableRatesProvider providerAfter = RatesProviderDataSets.multiGbp(FIXED_LEG.getEndDate().plusMonths(1));
+    assertEquals(PRICER.presentValue(CompiledSwapLeg.of(FIXED_LEG), providerAfter), CurrencyAmount.zero(GBP));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_pvbp() {
+    double computed = PRICER.pvbp(CompiledSwapLeg.of(FIXED_LEG), RATES_GBP);
+    double expected = PRICER_LEG.pvbp(FIXED_LEG, RATES_GBP);
+    assertEquals(computed, expected, TOLERANCE * Math.abs(expected));
+  }
+
+  public void test_parRate() {
+    double computed = PRICER.parRate(CompiledSwapLeg.of(FIXED_LEG), CompiledSwapLeg.of(IBOR_LEG), RATES_GBP);
+    double expected = PRICER_SWAP.parRate(SWAP, RATES_GBP);
+    assertEquals(computed, expected, TOLERANCE);
+    assertThrowsIllegalArg(
+        () -> PRICER.parRate(CompiledSwapLeg.of(IBOR_LEG), CompiledSwapLeg.of(FIXED_LEG), RATES_GBP));
+  }
+
+}
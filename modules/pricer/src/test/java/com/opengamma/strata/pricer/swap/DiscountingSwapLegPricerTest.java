@@ -77,14 +77,20 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.impl.MockRatesProvider;
 import com.opengamma.strata.pricer.impl.rate.ForwardInflationInterpolatedRateComputationFn;
 import com.opengamma.strata.pricer.impl.rate.ForwardInflationMonthlyRateComputationFn;
+import com.opengamma.strata.pricer.impl.swap.DiscountingKnownAmountPaymentPeriodPricer;
+import com.opengamma.strata.pricer.impl.swap.DiscountingRatePaymentPeriodPricer;
 import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentEventPricer;
+import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentPeriodPricer;
 import com.opengamma.strata.pricer.rate.IborRateSensitivity;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
 import com.opengamma.strata.product.common.BuySell;
@@ -93,6 +99,7 @@ import com.opengamma.strata.product.rate.InflationInterpolatedRateComputation;
 import com.opengamma.strata.product.rate.InflationMonthlyRateComputation;
 import com.opengamma.strata.product.swap.FixedRateCalculation;
 import com.opengamma.strata.product.swap.InflationRateCalculation;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
 import com.opengamma.strata.product.swap.NotionalExchange;
 import com.opengamma.strata.product.swap.NotionalSchedule;
 import com.opengamma.strata.product.swap.PaymentSchedule;
@@ -152,6 +159,11 @@ public class DiscountingSwapLegPricerTest {
     double df2 = 0.98d;
     when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate()))
         .thenReturn(df2);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDf);
+    when(mockDf.discountFactors(ImmutableList.of(
+        FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate(), FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate())))
+            .thenReturn(DoubleArray.of(df1, df2));
     when(mockProv.getValuationDate()).thenReturn(RatesProviderDataSets.VAL_DATE_2014_01_22);
     double pvbp = PRICER_LEG.pvbp(leg, mockProv);
     double ceExpected = PRICER_LEG.presentValuePeriodsInternal(leg, mockProv) / pvbp;
@@ -200,6 +212,9 @@ public class DiscountingSwapLegPricerTest {
     double df1 = 0.99d;
     when(mockProv.discountFactor(GBP, p.getPaymentDate()))
         .thenReturn(df1);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(GBP)).thenReturn(mockDf);
+    when(mockDf.discountFactors(ImmutableList.of(p.getPaymentDate()))).thenReturn(DoubleArray.of(df1));
     double spread = 1.0E-6;
     RateAccrualPeriod ap1 = FIXED_RATE_ACCRUAL_PERIOD.toBuilder().spread(spread).build();
     RateAccrualPeriod ap2 = FIXED_RATE_ACCRUAL_PERIOD_2.toBuilder().spread(spread).build();
@@ -303,6 +318,46 @@ public class DiscountingSwapLegPricerTest {
     assertEquals(test.presentValuePeriodsInternal(IBOR_SWAP_LEG_REC_GBP, MOCK_PROV), 500d);
   }
 
+  public void test_presentValue_periodsDiscounted() {
+    SwapPaymentPeriodPricer<SwapPaymentPeriod> periodPricer = PRICER_LEG.getPeriodPricer();
+    assertTrue(periodPricer.isDiscountedForecastValue());
+    ResolvedSwapLeg leg = IBOR_SWAP_LEG_REC_GBP_MULTI;
+    double expected = 0d;
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(RATES_GBP.getValuationDate())) {
+        expected += periodPricer.presentValue(period, RATES_GBP);
+      }
+    }
+    assertEquals(PRICER_LEG.presentValuePeriodsInternal(leg, RATES_GBP), expected, TOLERANCE);
+  }
+
+  public void test_presentValue_periodsDiscounted_subclass() {
+    SwapPaymentPeriodPricer<RatePaymentPeriod> ratePricer =
+        new DiscountingRatePaymentPeriodPricer(RateComputationFn.standard()) {
+          @Override
+          public double presentValue(RatePaymentPeriod period, RatesProvider provider) {
+            return 1d;
+          }
+        };
+    SwapPaymentPeriodPricer<KnownAmountSwapPaymentPeriod> knownAmountPricer =
+        new DiscountingKnownAmountPaymentPeriodPricer(DiscountingPaymentPricer.DEFAULT) {
+        };
+    assertFalse(ratePricer.isDiscountedForecastValue());
+    assertFalse(knownAmountPricer.isDiscountedForecastValue());
+    SwapPaymentPeriodPricer<SwapPaymentPeriod> periodPricer =
+        new DispatchingSwapPaymentPeriodPricer(ratePricer, DiscountingKnownAmountPaymentPeriodPricer.DEFAULT);
+    assertFalse(periodPricer.isDiscountedForecastValue());
+    DiscountingSwapLegPricer test = new DiscountingSwapLegPricer(periodPricer, DispatchingSwapPaymentEventPricer.DEFAULT);
+    ResolvedSwapLeg leg = IBOR_SWAP_LEG_REC_GBP_MULTI;
+    double expected = 0d;
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(RATES_GBP.getValuationDate())) {
+        expected += periodPricer.presentValue(period, RATES_GBP);
+      }
+    }
+    assertEquals(test.presentValuePeriodsInternal(leg, RATES_GBP), expected, TOLERANCE);
+  }
+
   //-------------------------------------------------------------------------
   public void test_forecastValue() {
     SwapPaymentPeriodPricer<SwapPaymentPeriod> mockPeriod = mock(SwapPaymentPeriodPricer.class);
@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -164,6 +166,43 @@ public class SabrSwaptionCalibratorCubeBlackCleanDataTest {
     }
   }
 
+  @Test
+  public void log_normal_cube_executor() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0000)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      SabrParametersSwaptionVolatilities computed = SABR_CALIBRATION.withExecutor(executor).calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+      assertEquals(computed.getParameters().getAlphaSurface().getParameterCount(), TENORS.size() * EXPIRIES.size());
+      assertEquals(
+          computed.getParameters().getAlphaSurface().getParameterMetadata(0),
+          expected.getParameters().getAlphaSurface().getParameterMetadata(0));
+      for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
+        double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
+        for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
+          ZonedDateTime expiryDateTime = CALIBRATION_TIME.plus(EXPIRIES.get(loopexpiry));
+          for (int loopmoney = 0; loopmoney < MONEYNESS.size(); loopmoney++) {
+            double strike = 0.01 + MONEYNESS.get(loopmoney);
+            assertEquals(
+                computed.volatility(expiryDateTime, tenor, strike, 0.01),
+                expected.volatility(expiryDateTime, tenor, strike, 0.01),
+                TOLERANCE_PRICE_CALIBRATION_LS);
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test(enabled = true)
   public void log_normal_atm() {
     double beta = 0.50;
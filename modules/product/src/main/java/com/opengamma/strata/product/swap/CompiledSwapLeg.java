@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.swap;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+
+/**
+ * A compiled form of a resolved swap leg, holding the data needed for pricing in flat arrays.
+ * <p>
+ * A {@link ResolvedSwapLeg} holds a list of payment periods, each of which holds accrual periods
+ * and rate computations. Pricing walks this object graph for every period.
+ * This class holds the same information for simple legs in a set of parallel arrays,
+ * one element for each payment period, allowing the leg to be priced in a tight loop.
+ * <p>
+ * Only simple legs can be compiled. Each payment period must be a {@link RatePaymentPeriod}
+ * with a single accrual period and no FX reset, with payment dates in order.
+ * The rate computations must either all be fixed, or all be Ibor on the same index.
+ * The negative rate method must be the same for all periods.
+ * The payment events, if any, must be of type {@link NotionalExchange}.
+ * <p>
+ * The compiled form is created when first requested and cached by the leg, see {@link ResolvedSwapLeg#findCompiled()}.
+ */
+public final class CompiledSwapLeg {
+
+  /**
+   * The currency of the leg.
+   */
+  private final Currency currency;
+  /**
+   * The payment dates of the payment periods.
+   */
+  private final ImmutableList<LocalDate> paymentDates;
+  /**
+   * The notionals of the payment periods.
+   */
+  private final DoubleArray notionals;
+  /**
+   * The year fractions of the accrual periods.
+   */
+  private final DoubleArray yearFractions;
+  /**
+   * The gearings of the accrual periods.
+   */
+  private final DoubleArray gearings;
+  /**
+   * The spreads of the accrual periods.
+   */
+  private final DoubleArray spreads;
+  /**
+   * The fixed rates of the accrual periods, empty if the leg is not fixed.
+   */
+  private final DoubleArray fixedRates;
+  /**
+   * The Ibor index, null if the leg is fixed.
+   */
+  private final IborIndex index;
+  /**
+   * The Ibor index observations of the accrual periods, empty if the leg is fixed.
+   */
+  private final ImmutableList<IborIndexObservation> observations;
+  /**
+   * The negative rate method.
+   */
+  private final NegativeRateMethod negativeRateMethod;
+  /**
+   * The payment dates of the notional exchange events.
+   */
+  private final ImmutableList<LocalDate> eventPaymentDates;
+  /**
+   * The amounts of the notional exchange events.
+   */
+  private final DoubleArray eventAmounts;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the compiled form of the specified swap leg.
+   *
+   * @param leg  the swap leg
+   * @return the compiled form of the leg
+   * @throws IllegalArgumentException if the leg cannot be compiled
+   */
+  public static CompiledSwapLeg of(ResolvedSwapLeg leg) {
+    return leg.findCompiled().orElseThrow(
+        () -> new IllegalArgumentException(Messages.format("Swap leg cannot be compiled: {}", leg.getType())));
+  }
+
+  // compiles the leg, returning empty if not supported
+  static Optional<CompiledSwapLeg> compile(
+      List<SwapPaymentPeriod> paymentPeriods,
+      List<SwapPaymentEvent> paymentEvents,
+      Currency currency) {
+
+    int size = paymentPeriods.size();
+    LocalDate[] paymentDates = new LocalDate[size];
+    double[] notionals = new double[size];
+    double[] yearFractions = new double[size];
+    double[] gearings = new double[size];
+    double[] spreads = new double[size];
+    double[] fixedRates = new double[size];
+    IborIndexObservation[] observations = new IborIndexObservation[size];
+    int fixedCount = 0;
+    IborIndex index = null;
+    NegativeRateMethod negativeRateMethod = null;
+    for (int i = 0; i < size; i++) {
+      SwapPaymentPeriod paymentPeriod = paymentPeriods.get(i);
+      if (!(paymentPeriod instanceof RatePaymentPeriod)) {
+        return Optional.empty();
+      }
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) paymentPeriod;
+      if (ratePeriod.getFxReset().isPresent() || ratePeriod.getAccrualPeriods().size() != 1 ||
+          (i > 0 && ratePeriod.getPaymentDate().isBefore(paymentDates[i - 1]))) {
+        return Optional.empty();
+      }
+      RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+      if (negativeRateMethod != null && negativeRateMethod != accrualPeriod.getNegativeRateMethod()) {
+        return Optional.empty();
+      }
+      negativeRateMethod = accrualPeriod.getNegativeRateMethod();
+      RateComputation computation = accrualPeriod.getRateComputation();
+      if (computation instanceof FixedRateComputation) {
+        fixedRates[i] = ((FixedRateComputation) computation).getRate();
+        fixedCount++;
+      } else if (computation instanceof IborRateComputation) {
+        IborRateComputation iborComputation = (IborRateComputation) computation;
+        if (index != null && !index.equals(iborComputation.getIndex())) {
+          return Optional.empty();
+        }
+        index = iborComputation.getIndex();
+        observations[i] = iborComputation.getObservation();
+      } else {
+        return Optional.empty();
+      }
+      paymentDates[i] = ratePeriod.getPaymentDate();
+      notionals[i] = ratePeriod.getNotional();
+      yearFractions[i] = accrualPeriod.getYearFraction();
+      gearings[i] = accrualPeriod.getGearing();
+      spreads[i] = accrualPeriod.getSpread();
+    }
+    if (fixedCount != 0 && fixedCount != size) {
+      return Optional.empty();
+    }
+    LocalDate[] eventPaymentDates = new LocalDate[paymentEvents.size()];
+    double[] eventAmounts = new double[paymentEvents.size()];
+    for (int i = 0; i < eventAmounts.length; i++) {
+      SwapPaymentEvent paymentEvent = paymentEvents.get(i);
+      if (!(paymentEvent instanceof NotionalExchange)) {
+        return Optional.empty();
+      }
+      NotionalExchange exchange = (NotionalExchange) paymentEvent;
+      eventPaymentDates[i] = exchange.getPaymentDate();
+      eventAmounts[i] = exchange.getPaymentAmount().getAmount();
+    }
+    boolean fixed = fixedCount == size;
+    return Optional.of(new CompiledSwapLeg(
+        currency,
+        ImmutableList.copyOf(paymentDates),
+        DoubleArray.ofUnsafe(notionals),
+        DoubleArray.ofUnsafe(yearFractions),
+        DoubleArray.ofUnsafe(gearings),
+        DoubleArray.ofUnsafe(spreads),
+        fixed ? DoubleArray.ofUnsafe(fixedRates) : DoubleArray.EMPTY,
+        fixed ? null : index,
+        fixed ? ImmutableList.of() : ImmutableList.copyOf(observations),
+        negativeRateMethod,
+        ImmutableList.copyOf(eventPaymentDates),
+        DoubleArray.ofUnsafe(eventAmounts)));
+  }
+
+  // restricted constructor
+  private CompiledSwapLeg(
+      Currency currency,
+      ImmutableList<LocalDate> paymentDates,
+      DoubleArray notionals,
+      DoubleArray yearFractions,
+      DoubleArray gearings,
+      DoubleArray spreads,
+      DoubleArray fixedRates,
+      IborIndex index,
+      ImmutableList<IborIndexObservation> observations,
+      NegativeRateMethod negativeRateMethod,
+      ImmutableList<LocalDate> eventPaymentDates,
+      DoubleArray eventAmounts) {
+
+    this.currency = currency;
+    this.paymentDates = paymentDates;
+    this.notionals = notionals;
+    this.yearFractions = yearFractions;
+    this.gearings = gearings;
+    this.spreads = spreads;
+    this.fixedRates = fixedRates;
+    this.index = index;
+    this.observations = observations;
+    this.negativeRateMethod = negativeRateMethod;
+    this.eventPaymentDates = eventPaymentDates;
+    this.eventAmounts = eventAmounts;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency of the leg.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the number of payment periods.
+   *
+   * @return the number of payment periods
+   */
+  public int getPeriodCount() {
+    return paymentDates.size();
+  }
+
+  /**
+   * Gets the payment dates of the payment periods, in order.
+   *
+   * @return the payment dates
+   */
+  public ImmutableList<LocalDate> getPaymentDates() {
+    return paymentDates;
+  }
+
+  /**
+   * Gets the notionals of the payment periods.
+   *
+   * @return the notionals
+   */
+  public DoubleArray getNotionals() {
+    return notionals;
+  }
+
+  /**
+   * Gets the year fractions of the accrual periods.
+   *
+   * @return the year fractions
+   */
+  public DoubleArray getYearFractions() {
+    return yearFractions;
+  }
+
+  /**
+   * Gets the gearings of the accrual periods.
+   *
+   * @return the gearings
+   */
+  public DoubleArray getGearings() {
+    return gearings;
+  }
+
+  /**
+   * Gets the spreads of the accrual periods.
+   *
+   * @return the spreads
+   */
+  public DoubleArray getSpreads() {
+    return spreads;
+  }
+
+  /**
+   * Checks if the leg is fixed.
+   * <p>
+   * If true, the rates are available from {@link #getFixedRates()}.
+   * If false, the rates are based on the observations available from {@link #getObservations()}.
+   *
+   * @return true if the leg is fixed
+   */
+  public boolean isFixed() {
+    return index == null;
+  }
+
+  /**
+   * Gets the fixed rates of the accrual periods.
+   * <p>
+   * This is empty if the leg is not fixed.
+   *
+   * @return the fixed rates
+   */
+  public DoubleArray getFixedRates() {
+    return fixedRates;
+  }
+
+  /**
+   * Gets the Ibor index of the leg.
+   * <p>
+   * This is empty if the leg is fixed.
+   *
+   * @return the Ibor index
+   */
+  public Optional<IborIndex> getIndex() {
+    return Optional.ofNullable(index);
+  }
+
+  /**
+   * Gets the Ibor index observations of the accrual periods, including the fixing dates.
+   * <p>
+   * This is empty if the leg is fixed.
+   *
+   * @return the observations
+   */
+  public ImmutableList<IborIndexObservation> getObservations() {
+    return observations;
+  }
+
+  /**
+   * Gets the negative rate method applied to the accrual periods.
+   *
+   * @return the negative rate method
+   */
+  public NegativeRateMethod getNegativeRateMethod() {
+    return negativeRateMethod;
+  }
+
+  /**
+   * Gets the payment dates of the notional exchange events.
+   *
+   * @return the event payment dates
+   */
+  public ImmutableList<LocalDate> getEventPaymentDates() {
+    return eventPaymentDates;
+  }
+
+  /**
+   * Gets the amounts of the notional exchange events.
+   *
+   * @return the event amounts
+   */
+  public DoubleArray getEventAmounts() {
+    return eventAmounts;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "CompiledSwapLeg[currency={}, index={}, periodCount={}, eventCount={}]",
+        currency,
+        isFixed() ? "Fixed" : index,
+        paymentDates.size(),
+        eventAmounts.size());
+  }
+
+}
@@ -102,6 +102,10 @@ public final class ResolvedSwapLeg
    * The currency of the leg.
    */
   private final transient Currency currency;  // not a property, derived and cached from input data
+  /**
+   * The compiled form of the leg, empty if the leg cannot be compiled, null until first requested.
+   */
+  private transient volatile Optional<CompiledSwapLeg> compiled;  // not a property, derived and cached on demand
 
   //-------------------------------------------------------------------------
   @ImmutableConstructor
@@ -181,6 +185,25 @@ public final class ResolvedSwapLeg
     return currency;
   }
 
+  /**
+   * Finds the compiled form of the swap leg.
+   * <p>
+   * The compiled form holds the data needed to price the leg in flat arrays.
+   * It is created the first time this method is called, and is only available for simple legs,
+   * see {@link CompiledSwapLeg} for details.
+   * 
+   * @return the compiled form of the leg, empty if the leg cannot be compiled
+   */
+  public Optional<CompiledSwapLeg> findCompiled() {
+    // the compiled form is immutable, thus compiling twice in different threads is harmless
+    Optional<CompiledSwapLeg> cached = compiled;
+    if (cached == null) {
+      cached = CompiledSwapLeg.compile(paymentPeriods, paymentEvents, currency);
+      compiled = cached;
+    }
+    return cached;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Finds the payment period applicable for the specified accrual date.
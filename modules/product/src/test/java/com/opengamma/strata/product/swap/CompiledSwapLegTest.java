@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.PayReceive.PAY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static com.opengamma.strata.product.swap.SwapLegType.FIXED;
+import static com.opengamma.strata.product.swap.SwapLegType.IBOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+
+/**
+ * Test {@link CompiledSwapLeg}.
+ */
+@Test
+public class CompiledSwapLegTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate DATE_2014_06_30 = date(2014, 6, 30);
+  private static final LocalDate DATE_2014_09_30 = date(2014, 9, 30);
+  private static final LocalDate DATE_2014_12_30 = date(2014, 12, 30);
+  private static final LocalDate DATE_2014_10_01 = date(2014, 10, 1);
+  private static final LocalDate DATE_2015_01_01 = date(2015, 1, 1);
+  private static final IborRateComputation GBP_LIBOR_3M_2014_06_28 =
+      IborRateComputation.of(GBP_LIBOR_3M, date(2014, 6, 28), REF_DATA);
+  private static final IborRateComputation GBP_LIBOR_3M_2014_09_28 =
+      IborRateComputation.of(GBP_LIBOR_3M, date(2014, 9, 28), REF_DATA);
+  private static final NotionalExchange NOTIONAL_EXCHANGE =
+      NotionalExchange.of(CurrencyAmount.of(GBP, 2000d), DATE_2015_01_01);
+  private static final RateAccrualPeriod RAP1 = RateAccrualPeriod.builder()
+      .startDate(DATE_2014_06_30)
+      .endDate(DATE_2014_09_30)
+      .yearFraction(0.25d)
+      .rateComputation(GBP_LIBOR_3M_2014_06_28)
+      .spread(0.001d)
+      .build();
+  private static final RateAccrualPeriod RAP2 = RateAccrualPeriod.builder()
+      .startDate(DATE_2014_09_30)
+      .endDate(DATE_2014_12_30)
+      .yearFraction(0.26d)
+      .rateComputation(GBP_LIBOR_3M_2014_09_28)
+      .gearing(2d)
+      .build();
+  private static final RatePaymentPeriod RPP1 = ratePaymentPeriod(DATE_2014_10_01, 5000d, RAP1);
+  private static final RatePaymentPeriod RPP2 = ratePaymentPeriod(DATE_2015_01_01, 6000d, RAP2);
+  private static final RatePaymentPeriod RPP1_FIXED = ratePaymentPeriod(
+      DATE_2014_10_01, -5000d, RAP1.toBuilder().rateComputation(FixedRateComputation.of(0.01d)).build());
+  private static final RatePaymentPeriod RPP2_FIXED = ratePaymentPeriod(
+      DATE_2015_01_01, -6000d, RAP2.toBuilder().rateComputation(FixedRateComputation.of(0.02d)).build());
+
+  private static RatePaymentPeriod ratePaymentPeriod(LocalDate paymentDate, double notional, RateAccrualPeriod rap) {
+    return RatePaymentPeriod.builder()
+        .paymentDate(paymentDate)
+        .accrualPeriods(rap)
+        .dayCount(ACT_365F)
+        .currency(GBP)
+        .notional(notional)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ibor() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1, RPP2)
+        .paymentEvents(NOTIONAL_EXCHANGE)
+        .build();
+    CompiledSwapLeg test = CompiledSwapLeg.of(leg);
+    assertThat(leg.findCompiled()).hasValue(test);
+    assertThat(CompiledSwapLeg.of(leg)).isSameAs(test);
+    assertThat(test.getCurrency()).isEqualTo(GBP);
+    assertThat(test.getPeriodCount()).isEqualTo(2);
+    assertThat(test.getPaymentDates()).containsExactly(DATE_2014_10_01, DATE_2015_01_01);
+    assertThat(test.getNotionals()).isEqualTo(DoubleArray.of(5000d, 6000d));
+    assertThat(test.getYearFractions()).isEqualTo(DoubleArray.of(0.25d, 0.26d));
+    assertThat(test.getGearings()).isEqualTo(DoubleArray.of(1d, 2d));
+    assertThat(test.getSpreads()).isEqualTo(DoubleArray.of(0.001d, 0d));
+    assertThat(test.isFixed()).isFalse();
+    assertThat(test.getFixedRates()).isEqualTo(DoubleArray.EMPTY);
+    assertThat(test.getIndex()).hasValue(GBP_LIBOR_3M);
+    assertThat(test.getObservations())
+        .containsExactly(GBP_LIBOR_3M_2014_06_28.getObservation(), GBP_LIBOR_3M_2014_09_28.getObservation());
+    assertThat(test.getNegativeRateMethod()).isEqualTo(NegativeRateMethod.ALLOW_NEGATIVE);
+    assertThat(test.getEventPaymentDates()).containsExactly(DATE_2015_01_01);
+    assertThat(test.getEventAmounts()).isEqualTo(DoubleArray.of(2000d));
+    assertThat(test.toString()).contains("GBP-LIBOR-3M");
+  }
+
+  public void test_fixed() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(FIXED)
+        .payReceive(PAY)
+        .paymentPeriods(RPP1_FIXED, RPP2_FIXED)
+        .build();
+    CompiledSwapLeg test = CompiledSwapLeg.of(leg);
+    assertThat(test.getPaymentDates()).containsExactly(DATE_2014_10_01, DATE_2015_01_01);
+    assertThat(test.getNotionals()).isEqualTo(DoubleArray.of(-5000d, -6000d));
+    assertThat(test.isFixed()).isTrue();
+    assertThat(test.getFixedRates()).isEqualTo(DoubleArray.of(0.01d, 0.02d));
+    assertThat(test.getIndex()).isEqualTo(Optional.empty());
+    assertThat(test.getObservations()).isEmpty();
+    assertThat(test.getEventPaymentDates()).isEmpty();
+    assertThat(test.getEventAmounts()).isEqualTo(DoubleArray.EMPTY);
+  }
+
+  public void test_resolve() {
+    ResolvedSwapLeg leg = RateCalculationSwapLeg.builder()
+        .payReceive(PAY)
+        .accrualSchedule(PeriodicSchedule.of(
+            date(2014, 1, 6),
+            date(2016, 1, 6),
+            Frequency.P6M,
+            BusinessDayAdjustment.NONE,
+            StubConvention.NONE,
+            RollConventions.NONE))
+        .paymentSchedule(PaymentSchedule.builder()
+            .paymentFrequency(Frequency.P6M)
+            .paymentDateOffset(DaysAdjustment.NONE)
+            .build())
+        .notionalSchedule(NotionalSchedule.of(GBP, 1000d))
+        .calculation(IborRateCalculation.of(GBP_LIBOR_6M))
+        .build()
+        .resolve(REF_DATA);
+    CompiledSwapLeg test = CompiledSwapLeg.of(leg);
+    assertThat(test.getPeriodCount()).isEqualTo(4);
+    assertThat(test.getIndex()).hasValue(GBP_LIBOR_6M);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_notCompiled_mixedRates() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1_FIXED, RPP2)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+    assertThrowsIllegalArg(() -> CompiledSwapLeg.of(leg));
+  }
+
+  public void test_notCompiled_mixedIndices() {
+    IborRateComputation computation = IborRateComputation.of(GBP_LIBOR_6M, date(2014, 9, 28), REF_DATA);
+    RatePaymentPeriod rpp2 =
+        ratePaymentPeriod(DATE_2015_01_01, 6000d, RAP2.toBuilder().rateComputation(computation).build());
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1, rpp2)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+  }
+
+  public void test_notCompiled_multipleAccrualPeriods() {
+    RatePaymentPeriod rpp = RPP2.toBuilder().accrualPeriods(RAP1, RAP2).build();
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(rpp)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+  }
+
+  public void test_notCompiled_paymentDatesNotInOrder() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP2, RPP1)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+  }
+
+  public void test_notCompiled_negativeRateMethod() {
+    RatePaymentPeriod rpp2 = ratePaymentPeriod(
+        DATE_2015_01_01, 6000d, RAP2.toBuilder().negativeRateMethod(NegativeRateMethod.NOT_NEGATIVE).build());
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1, rpp2)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+  }
+
+  public void test_notCompiled_knownAmount() {
+    KnownAmountSwapPaymentPeriod kapp = KnownAmountSwapPaymentPeriod.builder()
+        .payment(Payment.of(CurrencyAmount.of(GBP, 1000d), DATE_2015_01_01))
+        .startDate(DATE_2014_09_30)
+        .endDate(DATE_2014_12_30)
+        .build();
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(FIXED)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1_FIXED, kapp)
+        .build();
+    assertThat(leg.findCompiled()).isEqualTo(Optional.empty());
+  }
+
+}